@@ -0,0 +1,198 @@
+package mega.privacy.android.app
+
+import android.content.ComponentCallbacks2
+import android.graphics.Bitmap
+import androidx.collection.LruCache
+
+/**
+ * Memory cache of the bitmaps of the legacy views, limited by the size of the bitmaps in bytes.
+ *
+ * [ThumbnailCache] and [PreviewCache] are adapters of this cache, each one with its own [Type] of
+ * keys, so all of them share the same budget. The budget is a share of the memory class of the
+ * device, the rest of it is for the Coil memory cache of the Compose views, see
+ * [getCoilMaxSizeBytes].
+ *
+ * The keys known to have no bitmap are kept in a bounded negative cache.
+ *
+ * [contains] checks the keys without counting a hit or a miss nor refreshing the order of the
+ * bitmaps, so the changes of the cache are synchronized to keep the cached keys in step with it.
+ */
+object BitmapMemoryCache {
+
+    /**
+     * Type of the key of a bitmap
+     */
+    enum class Type {
+        /**
+         * Thumbnail by node handle
+         */
+        Thumbnail,
+
+        /**
+         * Thumbnail by local path
+         */
+        ThumbnailPath,
+
+        /**
+         * Preview by node handle
+         */
+        Preview,
+    }
+
+    /**
+     * Statistics of the cache since it was created
+     *
+     * @property sizeInBytes size of the cached bitmaps
+     * @property maxSizeInBytes budget of the cache
+     * @property hitCount number of times a bitmap was found
+     * @property missCount number of times a bitmap was not found
+     * @property evictionCount number of bitmaps evicted to keep the cache within its budget
+     * @property missingCount number of keys known to have no bitmap
+     */
+    data class Statistics(
+        val sizeInBytes: Long,
+        val maxSizeInBytes: Long,
+        val hitCount: Int,
+        val missCount: Int,
+        val evictionCount: Int,
+        val missingCount: Int,
+    )
+
+    private data class Key(val type: Type, val value: Any)
+
+    private const val BYTES_IN_KB = 1024
+    private const val BYTES_IN_MB = 1024 * 1024
+
+    /**
+     * Share of the memory class used for the bitmaps, in line with the default of Coil
+     */
+    private const val MEMORY_CLASS_SHARE = 0.25
+
+    /**
+     * Share of the bitmaps budget for the legacy views, the rest is for Coil
+     */
+    private const val LEGACY_SHARE = 0.3
+
+    /**
+     * Budget used until [initialize] is called, as the memory class of the most limited devices
+     */
+    private const val DEFAULT_MEMORY_CLASS = 64
+
+    private const val MAX_MISSING_KEYS = 1024
+
+    private val cachedKeys = HashSet<Key>()
+
+    private val cache = object : LruCache<Key, Bitmap>(getLegacyMaxSizeKb(DEFAULT_MEMORY_CLASS)) {
+        override fun sizeOf(key: Key, value: Bitmap) =
+            (value.allocationByteCount / BYTES_IN_KB).coerceAtLeast(1)
+
+        override fun entryRemoved(evicted: Boolean, key: Key, oldValue: Bitmap, newValue: Bitmap?) {
+            if (newValue == null) cachedKeys.remove(key)
+        }
+    }
+
+    // oldest first, the oldest key is forgotten when the limit is exceeded
+    private val missingKeys = object : LinkedHashMap<Key, Boolean>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Key, Boolean>?) =
+            size > MAX_MISSING_KEYS
+    }
+
+    /**
+     * Set the budget of the cache from the [memoryClass] of the device, in megabytes
+     */
+    @JvmStatic
+    @Synchronized
+    fun initialize(memoryClass: Int) {
+        cache.resize(getLegacyMaxSizeKb(memoryClass))
+    }
+
+    /**
+     * Get the maximum size in bytes of the Coil memory cache for the [memoryClass] of the device
+     */
+    @JvmStatic
+    fun getCoilMaxSizeBytes(memoryClass: Int): Int =
+        (getBitmapsMaxSizeBytes(memoryClass) * (1 - LEGACY_SHARE)).toInt()
+
+    /**
+     * Get the bitmap of the [key], if it is cached
+     */
+    @JvmStatic
+    fun get(type: Type, key: Any): Bitmap? = cache[Key(type, key)]
+
+    /**
+     * Cache the [bitmap] of the [key], or remember it has no bitmap if [bitmap] is null
+     */
+    @JvmStatic
+    @Synchronized
+    fun put(type: Type, key: Any, bitmap: Bitmap?) {
+        val cacheKey = Key(type, key)
+        missingKeys.remove(cacheKey)
+        if (bitmap == null) {
+            missingKeys[cacheKey] = true
+        } else {
+            // added before caching the bitmap, which may evict it right away if it's too big
+            cachedKeys.add(cacheKey)
+            cache.put(cacheKey, bitmap)
+        }
+    }
+
+    /**
+     * Remove the bitmap of the [key] and forget whether it has a bitmap
+     */
+    @JvmStatic
+    @Synchronized
+    fun remove(type: Type, key: Any) {
+        val cacheKey = Key(type, key)
+        missingKeys.remove(cacheKey)
+        cache.remove(cacheKey)
+    }
+
+    /**
+     * Check if the [key] has a cached bitmap or is known to have no bitmap
+     */
+    @JvmStatic
+    @Synchronized
+    fun contains(type: Type, key: Any): Boolean {
+        val cacheKey = Key(type, key)
+        return cacheKey in cachedKeys || cacheKey in missingKeys
+    }
+
+    /**
+     * Release memory as requested by the system with [ComponentCallbacks2.onTrimMemory]
+     */
+    @JvmStatic
+    @Synchronized
+    fun onTrimMemory(level: Int) {
+        when {
+            level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                    || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL -> {
+                cache.evictAll()
+                missingKeys.clear()
+            }
+
+            level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW -> {
+                cache.trimToSize(cache.maxSize() / 2)
+            }
+        }
+    }
+
+    /**
+     * Get the [Statistics] of the cache
+     */
+    @JvmStatic
+    @Synchronized
+    fun getStatistics() = Statistics(
+        sizeInBytes = cache.size().toLong() * BYTES_IN_KB,
+        maxSizeInBytes = cache.maxSize().toLong() * BYTES_IN_KB,
+        hitCount = cache.hitCount(),
+        missCount = cache.missCount(),
+        evictionCount = cache.evictionCount(),
+        missingCount = missingKeys.size,
+    )
+
+    private fun getBitmapsMaxSizeBytes(memoryClass: Int) =
+        memoryClass.toLong() * BYTES_IN_MB * MEMORY_CLASS_SHARE
+
+    private fun getLegacyMaxSizeKb(memoryClass: Int) =
+        (getBitmapsMaxSizeBytes(memoryClass) * LEGACY_SHARE / BYTES_IN_KB).toInt()
+}
@@ -1,6 +1,7 @@
 package mega.privacy.android.app
 
 import android.app.Activity
+import android.app.ActivityManager
 import android.content.Intent
 import android.os.Build
 import android.os.Build.VERSION.SDK_INT
@@ -15,6 +16,7 @@ import coil.decode.GifDecoder
 import coil.decode.ImageDecoderDecoder
 import coil.decode.SvgDecoder
 import coil.decode.VideoFrameDecoder
+import coil.memory.MemoryCache
 import com.google.android.gms.ads.MobileAds
 import com.google.firebase.crashlytics.ktx.crashlytics
 import com.google.firebase.ktx.Firebase
@@ -260,6 +262,7 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
 
         myAccountInfo.resetDefaults()
         ContextUtils.initialize(applicationContext)
+        BitmapMemoryCache.initialize(memoryClass)
 
         if (BuildConfig.ACTIVATE_GREETER) greeter.get().initialize()
     }
@@ -267,6 +270,11 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
     override fun newImageLoader(): ImageLoader {
         return ImageLoader.Builder(this)
             .respectCacheHeaders(false)
+            .memoryCache {
+                MemoryCache.Builder(this)
+                    .maxSizeBytes(BitmapMemoryCache.getCoilMaxSizeBytes(memoryClass))
+                    .build()
+            }
             .components {
                 if (SDK_INT >= Build.VERSION_CODES.P) {
                     add(ImageDecoderDecoder.Factory())
@@ -313,6 +321,18 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
         }
     }
 
+    /**
+     * On trim memory
+     *
+     */
+    override fun onTrimMemory(level: Int) {
+        super.onTrimMemory(level)
+        BitmapMemoryCache.onTrimMemory(level)
+    }
+
+    private val memoryClass: Int
+        get() = getSystemService(ActivityManager::class.java).memoryClass
+
     private fun enableStrictMode() {
         if (BuildConfig.DEBUG) {
             StrictMode.setThreadPolicy(
@@ -25,6 +25,7 @@ import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUs
 import mega.privacy.android.domain.usecase.transfers.paused.PauseTransfersQueueUseCase
 import mega.privacy.android.domain.usecase.transfers.sd.DeleteSdTransferByTagUseCase
 import mega.privacy.android.domain.usecase.transfers.sd.GetAllSdTransfersUseCase
+import mega.privacy.android.domain.usecase.transfers.sd.ResumePendingSdCardMovesUseCase
 import nz.mega.sdk.MegaApiAndroid
 import timber.log.Timber
 import java.io.File
@@ -48,6 +49,7 @@ class TransfersManagement @Inject constructor(
     private val getTransferByTagUseCase: GetTransferByTagUseCase,
     private val completedTransferMapper: CompletedTransferMapper,
     private val pauseTransfersQueueUseCase: PauseTransfersQueueUseCase,
+    private val resumePendingSdCardMovesUseCase: ResumePendingSdCardMovesUseCase,
 ) {
 
     companion object {
@@ -170,6 +172,8 @@ class TransfersManagement @Inject constructor(
     fun checkResumedPendingTransfers() {
         if (megaApi.rootNode != null) {
             applicationScope.launch {
+                runCatching { resumePendingSdCardMovesUseCase() }
+                    .onFailure { Timber.e(it) }
                 val completedTransfers = checkSDCardCompletedTransfers()
                 addCompletedTransferIfNotExistUseCase(completedTransfers)
             }
@@ -13,6 +13,7 @@ import mega.privacy.android.domain.entity.chat.ChatHistoryLoadStatus
 import mega.privacy.android.domain.entity.chat.ChatMessage
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
 import mega.privacy.android.domain.entity.chat.messages.paging.FetchMessagePageResponse
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
 import mega.privacy.android.domain.usecase.chat.message.paging.ClearChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.FetchMessagePageUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.SaveChatMessagesUseCase
@@ -35,11 +36,11 @@ class PagedChatMessageRemoteMediator @AssistedInject constructor(
     private val clearChatMessagesUseCase: ClearChatMessagesUseCase,
     @Assisted private val chatId: Long,
     @Assisted private val coroutineScope: CoroutineScope,
-) : RemoteMediator<Int, TypedMessage>() {
+) : RemoteMediator<MessagePagingKey, TypedMessage>() {
 
     override suspend fun load(
         loadType: LoadType,
-        state: PagingState<Int, TypedMessage>,
+        state: PagingState<MessagePagingKey, TypedMessage>,
     ): MediatorResult {
         return try {
             Timber.d("Paging mediator load: loadType : $loadType")
@@ -0,0 +1,159 @@
+package mega.privacy.android.app.presentation.photos.timeline.viewmodel
+
+import mega.privacy.android.app.presentation.photos.model.Sort
+import mega.privacy.android.app.presentation.photos.model.ZoomLevel
+import mega.privacy.android.app.presentation.photos.timeline.model.PhotoListItem
+import mega.privacy.android.domain.entity.photos.Photo
+
+/**
+ * Sorted index of the photos shown in the timeline.
+ *
+ * Every time the photos change, only the photos added, removed or modified since the previous
+ * update are located by binary search and moved in the index, instead of sorting all of them
+ * again. The day and month of each photo are computed once, when it enters the index, so the day
+ * groups and the date separators are built with a single pass comparing them.
+ *
+ * Not thread safe.
+ */
+internal class TimelinePhotosIndex {
+    private var sort: Sort? = null
+    private var comparator: Comparator<Entry> = newestFirst
+    private val entries = ArrayList<Entry>()
+    private val entriesById = HashMap<Long, Entry>()
+
+    /**
+     * The photos of the index, sorted
+     */
+    var sortedPhotos: List<Photo> = emptyList()
+        private set
+
+    /**
+     * Update the index to hold the [photos] sorted by [sort]
+     *
+     * @return true if the index changed
+     */
+    fun update(photos: List<Photo>, sort: Sort): Boolean {
+        if (sort != this.sort) {
+            this.sort = sort
+            comparator = if (sort == Sort.NEWEST) newestFirst else oldestFirst
+            rebuild(photos)
+            return true
+        }
+
+        val ids = HashSet<Long>(photos.size)
+        val added = mutableListOf<Entry>()
+        val removed = mutableListOf<Entry>()
+        photos.forEach { photo ->
+            if (!ids.add(photo.id)) return@forEach
+            val entry = entriesById[photo.id]
+            if (entry == null) {
+                added.add(Entry(photo))
+            } else if (entry.photo != photo) {
+                removed.add(entry)
+                added.add(Entry(photo))
+            }
+        }
+        if (ids.size - added.size + removed.size < entries.size) {
+            entries.filterTo(removed) { it.photo.id !in ids }
+        }
+
+        when {
+            added.isEmpty() && removed.isEmpty() -> return false
+            // sorting everything again is faster than moving many of the photos one by one
+            added.size + removed.size > entries.size / REBUILD_RATIO -> rebuild(photos)
+            else -> {
+                removed.forEach { entry ->
+                    entries.removeAt(entries.binarySearch(entry, comparator))
+                    entriesById.remove(entry.photo.id)
+                }
+                added.forEach { entry ->
+                    entries.add(-(entries.binarySearch(entry, comparator) + 1), entry)
+                    entriesById[entry.photo.id] = entry
+                }
+                sortedPhotos = entries.map { it.photo }
+            }
+        }
+        return true
+    }
+
+    /**
+     * Get the first photo of each day with the number of photos of that day, in the index order
+     */
+    fun getDayPhotos(): Map<Photo, Int> {
+        val dayPhotos = LinkedHashMap<Photo, Int>()
+        var first: Entry? = null
+        var count = 0
+        entries.forEach { entry ->
+            if (first?.epochDay != entry.epochDay) {
+                first?.let { dayPhotos[it.photo] = count }
+                first = entry
+                count = 0
+            }
+            count++
+        }
+        first?.let { dayPhotos[it.photo] = count }
+        return dayPhotos
+    }
+
+    /**
+     * Get the list items of the photos with a date separator before the first photo of each day
+     * for [ZoomLevel.Grid_1], or of each month for the other zoom levels
+     */
+    fun getListItems(zoomLevel: ZoomLevel, isSelected: (Long) -> Boolean): List<PhotoListItem> {
+        val items = ArrayList<PhotoListItem>(entries.size + entries.size / 8)
+        entries.forEachIndexed { index, entry ->
+            val previous = entries.getOrNull(index - 1)
+            val needsDateSeparator = previous == null || if (zoomLevel == ZoomLevel.Grid_1) {
+                previous.epochDay != entry.epochDay
+            } else {
+                previous.month != entry.month
+            }
+            if (needsDateSeparator) {
+                items.add(PhotoListItem.Separator(entry.photo.modificationTime))
+            }
+            items.add(entry.getGridItem(isSelected(entry.photo.id)))
+        }
+        return items
+    }
+
+    private fun rebuild(photos: List<Photo>) {
+        val previousEntries = HashMap(entriesById)
+        entries.clear()
+        entriesById.clear()
+        photos.forEach { photo ->
+            if (photo.id in entriesById) return@forEach
+            val entry = previousEntries[photo.id]?.takeIf { it.photo == photo } ?: Entry(photo)
+            entries.add(entry)
+            entriesById[photo.id] = entry
+        }
+        entries.sortWith(comparator)
+        sortedPhotos = entries.map { it.photo }
+    }
+
+    /**
+     * A photo of the index, with its dates and its last list item
+     */
+    private class Entry(val photo: Photo) {
+        val epochDay = photo.modificationTime.toLocalDate().toEpochDay()
+        val month = photo.modificationTime.monthValue
+        private var gridItem: PhotoListItem.PhotoGridItem? = null
+
+        /**
+         * Reuse the previous grid item while the selection doesn't change, so the list only
+         * contains new items for the photos that changed
+         */
+        fun getGridItem(isSelected: Boolean) = gridItem?.takeIf { it.isSelected == isSelected }
+            ?: PhotoListItem.PhotoGridItem(photo = photo, isSelected = isSelected)
+                .also { gridItem = it }
+    }
+
+    private companion object {
+        const val REBUILD_RATIO = 4
+
+        val newestFirst = compareByDescending<Entry> { it.photo.modificationTime }
+            .thenByDescending { it.photo.id }
+
+        val oldestFirst = compareBy<Entry> { it.photo.modificationTime }
+            .thenByDescending { it.photo.id }
+    }
+}
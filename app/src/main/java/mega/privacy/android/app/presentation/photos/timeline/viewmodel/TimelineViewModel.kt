@@ -14,6 +14,8 @@ import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.app.domain.usecase.GetNodeListByIds
 import mega.privacy.android.app.featuretoggle.AppFeatures
@@ -22,17 +24,14 @@ import mega.privacy.android.app.presentation.photos.model.DateCard
 import mega.privacy.android.app.presentation.photos.model.LocationPreference
 import mega.privacy.android.app.presentation.photos.model.MediaTypePreference
 import mega.privacy.android.app.presentation.photos.model.RememberPreferences
-import mega.privacy.android.app.presentation.photos.model.Sort
 import mega.privacy.android.app.presentation.photos.model.TimeBarTab
 import mega.privacy.android.app.presentation.photos.model.TimelineFilterPreferences
-import mega.privacy.android.app.presentation.photos.model.ZoomLevel
 import mega.privacy.android.app.presentation.photos.timeline.model.CameraUploadsStatus
 import mega.privacy.android.app.presentation.photos.timeline.model.PhotoListItem
 import mega.privacy.android.app.presentation.photos.timeline.model.TimelineViewState
 import mega.privacy.android.app.presentation.photos.util.createDaysCardList
 import mega.privacy.android.app.presentation.photos.util.createMonthsCardList
 import mega.privacy.android.app.presentation.photos.util.createYearsCardList
-import mega.privacy.android.app.presentation.photos.util.groupPhotosByDay
 import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.account.EnableCameraUploadsStatus.CAN_ENABLE_CAMERA_UPLOADS
@@ -131,6 +130,9 @@ class TimelineViewModel @Inject constructor(
 
     internal val selectedPhotosIds = mutableSetOf<Long>()
 
+    private val timelinePhotosIndex = TimelinePhotosIndex()
+    private val timelinePhotosIndexMutex = Mutex()
+
     private var isCameraUploadsFirstSyncTriggered = false
     private var isCameraUploadsUploading = false
     private var showHiddenItems: Boolean? = null
@@ -400,35 +402,45 @@ class TimelineViewModel @Inject constructor(
         showingPhotos: List<Photo>,
     ) = viewModelScope.launch(defaultDispatcher) {
         val nonSensitivePhotos = filterNonSensitivePhotos(showingPhotos)
-        val sortedPhotos = sortPhotos(nonSensitivePhotos)
-
-        async {
-            val items = handleAllPhotoItems(showingPhotos = sortedPhotos)
-            _state.update {
-                it.copy(photosListItems = items)
-            }
+        val (sortedPhotos, listItems, dayPhotos) = timelinePhotosIndexMutex.withLock {
+            val isChanged =
+                timelinePhotosIndex.update(nonSensitivePhotos, _state.value.currentSort)
+            Triple(
+                timelinePhotosIndex.sortedPhotos,
+                timelinePhotosIndex.getListItems(_state.value.currentZoomLevel) {
+                    it in selectedPhotosIds
+                },
+                // the date cards only depend on the photos, so they are kept if these didn't change
+                if (isChanged || !_state.value.loadPhotosDone) {
+                    timelinePhotosIndex.getDayPhotos()
+                } else null,
+            )
         }
 
-        val dayPhotos = groupPhotosByDay(sortedPhotos = sortedPhotos)
+        _state.update {
+            it.copy(photosListItems = listItems)
+        }
 
-        async {
-            val items = createYearsCardList(dayPhotos = dayPhotos)
-            _state.update {
-                it.copy(yearsCardPhotos = items)
+        if (dayPhotos != null) {
+            async {
+                val items = createYearsCardList(dayPhotos = dayPhotos)
+                _state.update {
+                    it.copy(yearsCardPhotos = items)
+                }
             }
-        }
 
-        async {
-            val items = createMonthsCardList(dayPhotos = dayPhotos)
-            _state.update {
-                it.copy(monthsCardPhotos = items)
+            async {
+                val items = createMonthsCardList(dayPhotos = dayPhotos)
+                _state.update {
+                    it.copy(monthsCardPhotos = items)
+                }
             }
-        }
 
-        async {
-            val items = createDaysCardList(dayPhotos = dayPhotos)
-            _state.update {
-                it.copy(daysCardPhotos = items)
+            async {
+                val items = createDaysCardList(dayPhotos = dayPhotos)
+                _state.update {
+                    it.copy(daysCardPhotos = items)
+                }
             }
         }
 
@@ -443,59 +455,12 @@ class TimelineViewModel @Inject constructor(
         handleEnableZoomAndSortOptions()
     }
 
-    private fun handleAllPhotoItems(showingPhotos: List<Photo>): List<PhotoListItem> {
-        val currentZoomLevel = _state.value.currentZoomLevel
-        val photoListItem = mutableListOf<PhotoListItem>()
-        showingPhotos.forEachIndexed { index, photo ->
-            val shouldShowDate = if (index == 0)
-                true
-            else
-                needsDateSeparator(
-                    current = photo,
-                    previous = showingPhotos[index - 1],
-                    currentZoomLevel = currentZoomLevel
-                )
-            if (shouldShowDate) {
-                photoListItem.add(PhotoListItem.Separator(photo.modificationTime))
-            }
-            photoListItem.add(
-                PhotoListItem.PhotoGridItem(
-                    photo = photo,
-                    isSelected = selectedPhotosIds.contains(photo.id),
-                )
-            )
-        }
-        return photoListItem
-    }
-
     internal fun setSelectedPhotos(items: List<PhotoListItem>): List<PhotoListItem> = items.map {
         if (it is PhotoListItem.PhotoGridItem) {
             it.copy(isSelected = it.photo.id in selectedPhotosIds)
         } else it
     }
 
-    private fun needsDateSeparator(
-        current: Photo,
-        previous: Photo,
-        currentZoomLevel: ZoomLevel,
-    ): Boolean {
-        val currentDate = current.modificationTime.toLocalDate()
-        val previousDate = previous.modificationTime.toLocalDate()
-        return if (currentZoomLevel == ZoomLevel.Grid_1) {
-            currentDate != previousDate
-        } else {
-            currentDate.month != previousDate.month
-        }
-    }
-
-    private fun sortPhotos(photos: List<Photo>): List<Photo> {
-        return if (_state.value.currentSort == Sort.NEWEST) {
-            photos.sortedWith(compareByDescending<Photo> { it.modificationTime }.thenByDescending { it.id })
-        } else {
-            photos.sortedWith(compareBy<Photo> { it.modificationTime }.thenByDescending { it.id })
-        }
-    }
-
     private fun filterNonSensitivePhotos(photos: List<Photo>): List<Photo> {
         val showHiddenItems = showHiddenItems ?: return photos
         val isPaid = _state.value.accountType?.isPaid ?: return photos
@@ -11,7 +11,6 @@ import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.collectLatest
 import kotlinx.coroutines.flow.conflate
 import kotlinx.coroutines.flow.launchIn
-import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
@@ -24,6 +23,8 @@ import mega.privacy.android.app.presentation.search.mapper.NodeSourceTypeToSearc
 import mega.privacy.android.app.presentation.search.mapper.SearchFilterMapper
 import mega.privacy.android.app.presentation.search.mapper.TypeFilterOptionStringResMapper
 import mega.privacy.android.app.presentation.search.mapper.TypeFilterToSearchMapper
+import mega.privacy.android.app.presentation.search.model.CompletedSearch
+import mega.privacy.android.app.presentation.search.model.CompletedSearch.Companion.matches
 import mega.privacy.android.app.presentation.search.model.DateFilterWithName
 import mega.privacy.android.app.presentation.search.model.FilterOptionEntity
 import mega.privacy.android.app.presentation.search.model.SearchActivityState
@@ -32,10 +33,14 @@ import mega.privacy.android.app.presentation.search.navigation.DATE_ADDED
 import mega.privacy.android.app.presentation.search.navigation.DATE_MODIFIED
 import mega.privacy.android.app.presentation.search.navigation.TYPE
 import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.FolderNode
+import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.NodeSourceType.OTHER
+import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.preference.ViewType
 import mega.privacy.android.domain.entity.search.DateFilterOption
 import mega.privacy.android.domain.entity.search.SearchCategory
@@ -43,11 +48,11 @@ import mega.privacy.android.domain.entity.search.SearchParameters
 import mega.privacy.android.domain.entity.search.TypeFilterOption
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.account.MonitorAccountDetailUseCase
-import mega.privacy.android.domain.usecase.canceltoken.CancelCancelTokenUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
-import mega.privacy.android.domain.usecase.search.SearchUseCase
+import mega.privacy.android.domain.usecase.search.SearchWithFirstPageUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.viewtype.MonitorViewType
 import mega.privacy.android.domain.usecase.viewtype.SetViewType
@@ -60,11 +65,12 @@ import kotlin.coroutines.cancellation.CancellationException
  * SearchActivity View Model
  * @property getFeatureFlagValueUseCase [GetFeatureFlagValueUseCase]
  * @property monitorNodeUpdatesUseCase [MonitorNodeUpdatesUseCase]
+ * @property searchWithFirstPageUseCase [SearchWithFirstPageUseCase]
+ * @property addNodesTypeUseCase [AddNodesTypeUseCase]
  * @property searchFilterMapper [SearchFilterMapper]
  * @property nodeSourceTypeToSearchTargetMapper [NodeSourceTypeToSearchTargetMapper]
  * @property typeFilterToSearchMapper [TypeFilterToSearchMapper]
  * @property emptySearchViewMapper [EmptySearchViewMapper]
- * @property cancelCancelTokenUseCase [CancelCancelTokenUseCase]
  * @property setViewType [SetViewType]
  * @property monitorViewType [MonitorViewType]
  * @property getCloudSortOrder [GetCloudSortOrder]
@@ -74,14 +80,14 @@ import kotlin.coroutines.cancellation.CancellationException
 class SearchActivityViewModel @Inject constructor(
     private val getFeatureFlagValueUseCase: GetFeatureFlagValueUseCase,
     private val monitorNodeUpdatesUseCase: MonitorNodeUpdatesUseCase,
-    private val searchUseCase: SearchUseCase,
+    private val searchWithFirstPageUseCase: SearchWithFirstPageUseCase,
+    private val addNodesTypeUseCase: AddNodesTypeUseCase,
     private val searchFilterMapper: SearchFilterMapper,
     private val nodeSourceTypeToSearchTargetMapper: NodeSourceTypeToSearchTargetMapper,
     private val typeFilterToSearchMapper: TypeFilterToSearchMapper,
     private val typeFilterOptionStringResMapper: TypeFilterOptionStringResMapper,
     private val dateFilterOptionStringResMapper: DateFilterOptionStringResMapper,
     private val emptySearchViewMapper: EmptySearchViewMapper,
-    private val cancelCancelTokenUseCase: CancelCancelTokenUseCase,
     private val setViewType: SetViewType,
     private val monitorViewType: MonitorViewType,
     private val getCloudSortOrder: GetCloudSortOrder,
@@ -101,6 +107,12 @@ class SearchActivityViewModel @Inject constructor(
     val state: StateFlow<SearchActivityState> = _state
     private var searchJob: Job? = null
 
+    /**
+     * Last completed search, kept to refine its results in memory when the query is narrowed and
+     * to patch them with the node updates
+     */
+    private var completedSearch: CompletedSearch? = null
+
     private val nodeSourceType =
         stateHandle.get<NodeSourceType>(SearchActivity.SEARCH_TYPE) ?: OTHER
     private val parentHandle =
@@ -148,47 +160,122 @@ class SearchActivityViewModel @Inject constructor(
 
     private fun monitorNodeUpdatesForSearch() {
         viewModelScope.launch {
-            merge(monitorNodeUpdatesUseCase(), monitorOfflineNodeUpdatesUseCase()).conflate()
+            monitorNodeUpdatesUseCase().conflate()
+                .collectLatest {
+                    onNodeUpdate(it)
+                }
+        }
+        viewModelScope.launch {
+            monitorOfflineNodeUpdatesUseCase().conflate()
                 .collectLatest {
                     performSearch()
                 }
         }
     }
 
+    /**
+     * Patch the results of the completed search with the node update, or search again if the
+     * update may add nodes to the results
+     */
+    private suspend fun onNodeUpdate(nodeUpdate: NodeUpdate) {
+        val search = completedSearch
+        if (search == null || searchJob?.isActive == true) {
+            performSearch()
+            return
+        }
+        val patchedResults = runCatching { search.patch(nodeUpdate) }.getOrNull()
+        when {
+            patchedResults == null -> performSearch()
+            patchedResults !== search.results -> {
+                completedSearch = search.copy(results = patchedResults)
+                onSearchSuccess(patchedResults)
+            }
+        }
+    }
+
+    /**
+     * @return the results of this search with the [nodeUpdate] applied, or null if they can't be
+     * patched
+     */
+    private suspend fun CompletedSearch.patch(nodeUpdate: NodeUpdate): List<TypedNode>? {
+        val resultIds = results.mapTo(HashSet()) { it.id }
+        val removedIds = HashSet<NodeId>()
+        val updatedNodes = ArrayList<UnTypedNode>()
+        nodeUpdate.changes.forEach { (node, changes) ->
+            val isInResults = node.id in resultIds
+            when {
+                NodeChanges.Remove in changes -> {
+                    // the removed descendants of a folder are not always notified
+                    if (node is FolderNode) return null
+                    if (isInResults) removedIds.add(node.id)
+                }
+
+                changes.all { isPatchable(node, it) } -> if (isInResults) {
+                    updatedNodes.add(node as? UnTypedNode ?: return null)
+                }
+
+                else -> return null
+            }
+        }
+        if (removedIds.isEmpty() && updatedNodes.isEmpty()) return results
+        val typedNodes = addNodesTypeUseCase(updatedNodes).associateBy { it.id }
+        return results.mapNotNull { node ->
+            typedNodes[node.id] ?: node.takeUnless { node.id in removedIds }
+        }
+    }
+
     /**
      * Perform search by entering query or change in search type
      */
     private fun performSearch() {
         searchJob?.cancel()
+        val parentHandle = getCurrentParentHandle()
+        val searchParameters = getSearchParameters()
+        completedSearch?.takeIf { it.canBeRefinedTo(parentHandle, searchParameters) }?.let {
+            searchJob = viewModelScope.launch {
+                val results = it.results.filter { node -> node.matches(searchParameters) }
+                completedSearch = it.copy(parameters = searchParameters, results = results)
+                onSearchSuccess(results)
+            }
+            return
+        }
+        completedSearch = null
         _state.update { it.copy(isSearching = true) }
         searchJob = viewModelScope.launch {
             runCatching {
-                cancelCancelTokenUseCase()
-                searchUseCase(
-                    parentHandle = NodeId(getCurrentParentHandle()),
+                val sortOrder = getCloudSortOrder()
+                var results = emptyList<TypedNode>()
+                searchWithFirstPageUseCase(
+                    parentHandle = NodeId(parentHandle),
                     nodeSourceType = nodeSourceType,
-                    searchParameters = SearchParameters(
-                        query = getCurrentQueryWithSearchByTags(),
-                        searchTarget = nodeSourceTypeToSearchTargetMapper(nodeSourceType),
-                        searchCategory = state.value.typeSelectedFilterOption?.let {
-                            typeFilterToSearchMapper(it.type)
-                        } ?: SearchCategory.ALL,
-                        modificationDate = state.value.dateModifiedSelectedFilterOption?.date,
-                        creationDate = state.value.dateAddedSelectedFilterOption?.date,
-                        description = if (state.value.searchDescriptionEnabled == true) getCurrentQueryWithSearchByTags() else null,
-                        tag = if (state.value.searchTagsEnabled == true) getCurrentSearchQuery().removePrefix(
-                            "#"
-                        ) else null,
-                    )
-                )
+                    searchParameters = searchParameters,
+                ).collect {
+                    results = it
+                    onSearchSuccess(it)
+                }
+                CompletedSearch(parentHandle, searchParameters, results, sortOrder)
             }.onSuccess {
-                onSearchSuccess(it)
+                completedSearch = it
             }.onFailure { ex ->
                 onSearchFailure(ex)
             }
         }
     }
 
+    private fun getSearchParameters() = SearchParameters(
+        query = getCurrentQueryWithSearchByTags(),
+        searchTarget = nodeSourceTypeToSearchTargetMapper(nodeSourceType),
+        searchCategory = state.value.typeSelectedFilterOption?.let {
+            typeFilterToSearchMapper(it.type)
+        } ?: SearchCategory.ALL,
+        modificationDate = state.value.dateModifiedSelectedFilterOption?.date,
+        creationDate = state.value.dateAddedSelectedFilterOption?.date,
+        description = if (state.value.searchDescriptionEnabled == true) getCurrentQueryWithSearchByTags() else null,
+        tag = if (state.value.searchTagsEnabled == true) getCurrentSearchQuery().removePrefix(
+            "#"
+        ) else null,
+    )
+
     // Get current query adjusted by search by tags
     private fun getCurrentQueryWithSearchByTags() =
         getCurrentSearchQuery().takeUnless {
@@ -231,17 +318,23 @@ class SearchActivityViewModel @Inject constructor(
                 )
             }
         } else {
+            val selectedIds = state.value.selectedNodes.mapTo(HashSet()) { it.id }
             val nodeUIItems = searchResults.distinctBy { it.id.longValue }.map { typedNode ->
                 NodeUIItem(
                     node = typedNode,
-                    isSelected = false,
+                    isSelected = typedNode.id in selectedIds,
                 )
             }
             val cloudSortOrder =
                 runCatching { getCloudSortOrder() }.getOrDefault(SortOrder.ORDER_NONE)
             _state.update { state ->
+                val resultsById = nodeUIItems.associateBy { it.node.id }
                 state.copy(
                     searchItemList = nodeUIItems,
+                    // keep the selected nodes up to date with the patched results
+                    selectedNodes = state.selectedNodes.mapTo(LinkedHashSet()) {
+                        resultsById[it.id]?.node ?: it
+                    },
                     isSearching = false,
                     sortOrder = cloudSortOrder
                 )
@@ -425,7 +518,10 @@ class SearchActivityViewModel @Inject constructor(
     /**
      * When we change sort order from UI
      */
-    fun onSortOrderChanged() = performSearch()
+    fun onSortOrderChanged() {
+        completedSearch = null
+        performSearch()
+    }
 
     /**
      * Show error message on UI
@@ -0,0 +1,111 @@
+package mega.privacy.android.app.presentation.search.model
+
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.Node
+import mega.privacy.android.domain.entity.node.NodeChanges
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.search.SearchParameters
+import java.text.Normalizer
+
+/**
+ * Search whose results have been fully received
+ *
+ * @property parentHandle handle of the node the search was done from
+ * @property parameters parameters of the search
+ * @property results all the results of the search
+ * @property sortOrder order of the [results]
+ */
+data class CompletedSearch(
+    val parentHandle: Long,
+    val parameters: SearchParameters,
+    val results: List<TypedNode>,
+    val sortOrder: SortOrder,
+) {
+
+    /**
+     * Check if the results of a search with these [parameters] are a subset of [results], so they
+     * can be obtained by filtering them with [matches] instead of searching again.
+     *
+     * That is the case when only the text criteria change, and each of them is either the same or
+     * narrowed by appending characters to it.
+     */
+    fun canBeRefinedTo(parentHandle: Long, parameters: SearchParameters): Boolean {
+        val previous = this.parameters
+        return this.parentHandle == parentHandle
+                && previous.copy(
+            query = parameters.query,
+            description = parameters.description,
+            tag = parameters.tag,
+        ) == parameters
+                && isNarrowedTo(previous.query, parameters.query)
+                && isNarrowedTo(previous.description, parameters.description)
+                && isNarrowedTo(previous.tag, parameters.tag)
+    }
+
+    /**
+     * Check if the [node] update with these [changes] can be applied to the results in place,
+     * as it can't make nodes enter or leave the results, or change their order
+     */
+    fun isPatchable(node: Node, change: NodeChanges) = when (change) {
+        NodeChanges.Owner,
+        NodeChanges.File_attributes,
+            -> true
+
+        // these changes only change the order of the results when they are sorted by them,
+        // the label being one of the attributes
+        NodeChanges.Attributes -> sortOrder !in LABEL_ORDERS
+        NodeChanges.Favourite -> sortOrder !in FAVOURITE_ORDERS
+        NodeChanges.Public_link -> sortOrder !in LINK_CREATION_ORDERS
+
+        // these changes are inherited by the descendants of a folder
+        NodeChanges.Sensitive,
+        NodeChanges.Inshare,
+        NodeChanges.Outshare,
+        NodeChanges.Pendingshare,
+            -> node is FileNode
+
+        NodeChanges.Description -> parameters.description.isNullOrEmpty()
+        NodeChanges.Tags -> parameters.tag.isNullOrEmpty()
+        else -> false
+    }
+
+    private fun isNarrowedTo(previous: String?, current: String?) = when {
+        previous == current -> true
+        previous.isNullOrEmpty() || current == null -> false
+        else -> WILDCARDS.none { it in current }
+                && current.normalizedForSearch().contains(previous.normalizedForSearch())
+    }
+
+    companion object {
+        private val WILDCARDS = charArrayOf('*', '?')
+        private val LABEL_ORDERS = setOf(SortOrder.ORDER_LABEL_ASC, SortOrder.ORDER_LABEL_DESC)
+        private val FAVOURITE_ORDERS = setOf(SortOrder.ORDER_FAV_ASC, SortOrder.ORDER_FAV_DESC)
+        private val LINK_CREATION_ORDERS =
+            setOf(SortOrder.ORDER_LINK_CREATION_ASC, SortOrder.ORDER_LINK_CREATION_DESC)
+        private val COMBINING_MARKS = "\\p{Mn}+".toRegex()
+
+        /**
+         * Check if the node matches the text criteria of the [parameters], the same way the SDK
+         * search does: ignoring case and accents, and with any of the criteria matching
+         */
+        fun TypedNode.matches(parameters: SearchParameters): Boolean {
+            val criteria = listOfNotNull(
+                parameters.query.takeIf { it.isNotEmpty() }?.let { name.containsForSearch(it) },
+                parameters.description?.takeIf { it.isNotEmpty() }?.let {
+                    description?.containsForSearch(it) == true
+                },
+                parameters.tag?.takeIf { it.isNotEmpty() }?.let { tag ->
+                    tags?.any { it.containsForSearch(tag) } == true
+                },
+            )
+            return criteria.isEmpty() || criteria.any { it }
+        }
+
+        private fun String.containsForSearch(other: String) =
+            normalizedForSearch().contains(other.normalizedForSearch())
+
+        private fun String.normalizedForSearch() =
+            Normalizer.normalize(this, Normalizer.Form.NFD).replace(COMBINING_MARKS, "").lowercase()
+    }
+}
@@ -58,6 +58,7 @@ import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsFol
 import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsSettingsActionsUseCase
 import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsStatusInfoUseCase
 import mega.privacy.android.domain.usecase.camerauploads.PreparePrimaryFolderPathUseCase
+import mega.privacy.android.domain.usecase.camerauploads.ResetMediaScanCursorsUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetCameraUploadsByWifiUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetChargingRequiredForVideoCompressionUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetChargingRequiredToUploadContentUseCase
@@ -127,6 +128,7 @@ import javax.inject.Inject
  * Uploads
  * @property monitorCameraUploadsStatusInfoUseCase Monitors the Camera Uploads status
  * @property preparePrimaryFolderPathUseCase Prepares the Primary Folder path
+ * @property resetMediaScanCursorsUseCase Makes the next Camera Uploads scan retrieve all the media
  * @property setCameraUploadsByWifiUseCase Sets whether Camera Uploads can only run through Wi-Fi / Wi-Fi or Mobile Data
  * @property setChargingRequiredForVideoCompressionUseCase Sets whether or not the Device should be
  * charged when compressing Videos
@@ -184,6 +186,7 @@ internal class SettingsCameraUploadsViewModel @Inject constructor(
     private val monitorCameraUploadsSettingsActionsUseCase: MonitorCameraUploadsSettingsActionsUseCase,
     private val monitorCameraUploadsStatusInfoUseCase: MonitorCameraUploadsStatusInfoUseCase,
     private val preparePrimaryFolderPathUseCase: PreparePrimaryFolderPathUseCase,
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase,
     private val setCameraUploadsByWifiUseCase: SetCameraUploadsByWifiUseCase,
     private val setChargingRequiredForVideoCompressionUseCase: SetChargingRequiredForVideoCompressionUseCase,
     private val setChargingRequiredToUploadContentUseCase: SetChargingRequiredToUploadContentUseCase,
@@ -459,6 +462,8 @@ internal class SettingsCameraUploadsViewModel @Inject constructor(
     fun onMediaPermissionsGranted() {
         viewModelScope.launch {
             runCatching {
+                // The previous scans may have only seen the media allowed by a partial access
+                resetMediaScanCursorsUseCase()
                 checkEnableCameraUploadsStatusUseCase()
             }.onSuccess { cameraUploadsStatus ->
                 if (cameraUploadsStatus == EnableCameraUploadsStatus.CAN_ENABLE_CAMERA_UPLOADS) {
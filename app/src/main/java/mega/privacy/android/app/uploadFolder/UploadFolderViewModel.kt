@@ -13,7 +13,7 @@ import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.catch
-import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.produceIn
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.components.textFormatter.TextFormatterUtils.INVALID_INDEX
@@ -320,13 +320,19 @@ class UploadFolderViewModel @Inject constructor(
                 setFolderItems()
             } else {
                 val currentFolder = currentFolder.value ?: return@launch
-                searchFilesInDocumentFolderRecursiveUseCase(
+                val found = ArrayList<DocumentEntity>()
+                val batches = searchFilesInDocumentFolderRecursiveUseCase(
                     UriPath(currentFolder.uri.toString()),
                     newQuery
                 ).catch { error ->
                     Timber.e(error, "Cannot search")
-                }.collectLatest { result ->
-                    folderEntities = result
+                }.produceIn(this)
+                for (batch in batches) {
+                    found.addAll(batch.files)
+                    // the batches found while sorting the previous result are sorted all at once
+                    generateSequence { batches.tryReceive().getOrNull() }
+                        .forEach { found.addAll(it.files) }
+                    folderEntities = DocumentFolder(found.readOnlyPrefix())
                     applySortAndReorder()
                 }
             }
@@ -411,4 +417,17 @@ class UploadFolderViewModel @Inject constructor(
             it.copy(transferTriggerEvent = consumed())
         }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Read only view of the current elements of this list, so a list that is only appended to can be
+ * published without copying it
+ */
+private fun <T> List<T>.readOnlyPrefix(): List<T> = object : AbstractList<T>() {
+    override val size = this@readOnlyPrefix.size
+
+    override fun get(index: Int): T {
+        if (index >= size) throw IndexOutOfBoundsException("Index $index, size $size")
+        return this@readOnlyPrefix[index]
+    }
+}
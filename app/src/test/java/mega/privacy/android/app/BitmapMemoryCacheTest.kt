@@ -0,0 +1,146 @@
+package mega.privacy.android.app
+
+import android.content.ComponentCallbacks2
+import android.graphics.Bitmap
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+
+class BitmapMemoryCacheTest {
+
+    private val underTest = BitmapMemoryCache
+
+    @BeforeEach
+    fun setUp() {
+        underTest.initialize(MEMORY_CLASS)
+        underTest.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+    }
+
+    @AfterEach
+    fun tearDown() {
+        underTest.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+    }
+
+    @Test
+    fun `test that the budget is a share of the memory class split with coil`() {
+        val legacyBytes = underTest.getStatistics().maxSizeInBytes
+        val coilBytes = underTest.getCoilMaxSizeBytes(MEMORY_CLASS)
+
+        assertThat(legacyBytes + coilBytes).isAtMost(MEMORY_CLASS * MB / 4)
+        assertThat(legacyBytes).isGreaterThan(0)
+        assertThat(coilBytes).isGreaterThan(0)
+    }
+
+    @Test
+    fun `test that the least recently used bitmaps are evicted when the budget is exceeded`() {
+        val maxSize = underTest.getStatistics().maxSizeInBytes
+        val bitmapSize = (maxSize / 4).toInt()
+        val previousEvictions = underTest.getStatistics().evictionCount
+
+        (1L..5L).forEach {
+            underTest.put(BitmapMemoryCache.Type.Thumbnail, it, createBitmap(bitmapSize))
+        }
+
+        assertThat(underTest.get(BitmapMemoryCache.Type.Thumbnail, 1L)).isNull()
+        assertThat(underTest.get(BitmapMemoryCache.Type.Thumbnail, 5L)).isNotNull()
+        assertThat(underTest.getStatistics().sizeInBytes).isAtMost(maxSize)
+        assertThat(underTest.getStatistics().evictionCount - previousEvictions).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that the same key of different types are different entries`() {
+        val thumbnail = createBitmap(1024)
+        val preview = createBitmap(1024)
+
+        underTest.put(BitmapMemoryCache.Type.Thumbnail, 1L, thumbnail)
+        underTest.put(BitmapMemoryCache.Type.Preview, 1L, preview)
+
+        assertThat(underTest.get(BitmapMemoryCache.Type.Thumbnail, 1L)).isSameInstanceAs(thumbnail)
+        assertThat(underTest.get(BitmapMemoryCache.Type.Preview, 1L)).isSameInstanceAs(preview)
+    }
+
+    @Test
+    fun `test that keys without bitmap are remembered until a bitmap is cached for them`() {
+        underTest.put(BitmapMemoryCache.Type.Thumbnail, 1L, null)
+
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 1L)).isTrue()
+        assertThat(underTest.get(BitmapMemoryCache.Type.Thumbnail, 1L)).isNull()
+
+        underTest.remove(BitmapMemoryCache.Type.Thumbnail, 1L)
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 1L)).isFalse()
+    }
+
+    @Test
+    fun `test that the keys without bitmap are bounded`() {
+        (1L..5_000L).forEach { underTest.put(BitmapMemoryCache.Type.Thumbnail, it, null) }
+
+        assertThat(underTest.getStatistics().missingCount).isLessThan(5_000)
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 5_000L)).isTrue()
+    }
+
+    @Test
+    fun `test that hits and misses are counted`() {
+        val previous = underTest.getStatistics()
+        underTest.put(BitmapMemoryCache.Type.Preview, 1L, createBitmap(1024))
+
+        underTest.get(BitmapMemoryCache.Type.Preview, 1L)
+        underTest.get(BitmapMemoryCache.Type.Preview, 2L)
+
+        val actual = underTest.getStatistics()
+        assertThat(actual.hitCount - previous.hitCount).isEqualTo(1)
+        assertThat(actual.missCount - previous.missCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that contains does not count hits nor refresh the order of the bitmaps`() {
+        val maxSize = underTest.getStatistics().maxSizeInBytes
+        (1L..4L).forEach {
+            underTest.put(BitmapMemoryCache.Type.Thumbnail, it, createBitmap((maxSize / 4).toInt()))
+        }
+        val previous = underTest.getStatistics()
+
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 1L)).isTrue()
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 6L)).isFalse()
+        underTest.put(BitmapMemoryCache.Type.Thumbnail, 5L, createBitmap((maxSize / 4).toInt()))
+
+        val actual = underTest.getStatistics()
+        assertThat(actual.hitCount).isEqualTo(previous.hitCount)
+        assertThat(actual.missCount).isEqualTo(previous.missCount)
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 1L)).isFalse()
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 2L)).isTrue()
+    }
+
+    @Test
+    fun `test that half of the cache is released when memory is running low`() {
+        val maxSize = underTest.getStatistics().maxSizeInBytes
+        (1L..4L).forEach {
+            underTest.put(BitmapMemoryCache.Type.Thumbnail, it, createBitmap((maxSize / 4).toInt()))
+        }
+
+        underTest.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+
+        assertThat(underTest.getStatistics().sizeInBytes).isAtMost(maxSize / 2)
+    }
+
+    @Test
+    fun `test that everything is released when the app goes to background`() {
+        underTest.put(BitmapMemoryCache.Type.Thumbnail, 1L, createBitmap(1024))
+        underTest.put(BitmapMemoryCache.Type.Thumbnail, 2L, null)
+
+        underTest.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND)
+
+        assertThat(underTest.getStatistics().sizeInBytes).isEqualTo(0)
+        assertThat(underTest.contains(BitmapMemoryCache.Type.Thumbnail, 2L)).isFalse()
+    }
+
+    private fun createBitmap(sizeInBytes: Int) = mock<Bitmap> {
+        on { allocationByteCount }.thenReturn(sizeInBytes)
+    }
+
+    companion object {
+        private const val MEMORY_CLASS = 64
+        private const val MB = 1024L * 1024L
+    }
+}
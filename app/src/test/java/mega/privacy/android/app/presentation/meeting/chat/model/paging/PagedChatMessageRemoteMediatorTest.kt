@@ -13,6 +13,7 @@ import mega.privacy.android.domain.entity.chat.ChatHistoryLoadStatus
 import mega.privacy.android.domain.entity.chat.ChatMessage
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
 import mega.privacy.android.domain.entity.chat.messages.paging.FetchMessagePageResponse
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
 import mega.privacy.android.domain.usecase.chat.message.paging.ClearChatMessagesUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.FetchMessagePageUseCase
 import mega.privacy.android.domain.usecase.chat.message.paging.SaveChatMessagesUseCase
@@ -39,7 +40,7 @@ class PagedChatMessageRemoteMediatorTest {
     private val clearChatMessagesUseCase = mock<ClearChatMessagesUseCase>()
 
     val pageSize = 10
-    private val state = PagingState<Int, TypedMessage>(
+    private val state = PagingState<MessagePagingKey, TypedMessage>(
         emptyList(),
         null,
         PagingConfig(10),
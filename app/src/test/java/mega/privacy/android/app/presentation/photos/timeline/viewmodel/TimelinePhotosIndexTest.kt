@@ -0,0 +1,153 @@
+package mega.privacy.android.app.presentation.photos.timeline.viewmodel
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.presentation.photos.model.Sort
+import mega.privacy.android.app.presentation.photos.model.ZoomLevel
+import mega.privacy.android.app.presentation.photos.timeline.model.PhotoListItem
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.photos.Photo
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.EnumSource
+import java.time.LocalDateTime
+import kotlin.random.Random
+
+class TimelinePhotosIndexTest {
+
+    private lateinit var underTest: TimelinePhotosIndex
+
+    private val now = LocalDateTime.of(2024, 6, 15, 12, 0)
+
+    @BeforeEach
+    fun setUp() {
+        underTest = TimelinePhotosIndex()
+    }
+
+    @ParameterizedTest(name = "sort {0}")
+    @EnumSource(Sort::class)
+    fun `test that photos are sorted by modification time and then by id`(sort: Sort) {
+        val photos = (1L..50L).map { createPhoto(id = it, hoursAgo = it % 7 * 20) }
+
+        underTest.update(photos, sort)
+
+        assertThat(underTest.sortedPhotos).isEqualTo(sortedReference(photos, sort))
+    }
+
+    @Test
+    fun `test that the index is not changed when the photos are the same`() {
+        val photos = (1L..10L).map { createPhoto(id = it, hoursAgo = it) }
+        underTest.update(photos, Sort.NEWEST)
+
+        assertThat(underTest.update(photos.shuffled().map { it.copy() }, Sort.NEWEST)).isFalse()
+    }
+
+    @Test
+    fun `test that the index is rebuilt when the sort changes`() {
+        val photos = (1L..10L).map { createPhoto(id = it, hoursAgo = it) }
+        underTest.update(photos, Sort.NEWEST)
+
+        assertThat(underTest.update(photos, Sort.OLDEST)).isTrue()
+        assertThat(underTest.sortedPhotos).isEqualTo(sortedReference(photos, Sort.OLDEST))
+    }
+
+    @ParameterizedTest(name = "sort {0}")
+    @EnumSource(Sort::class)
+    fun `test that added, removed and modified photos keep the index sorted`(sort: Sort) {
+        val random = Random(42)
+        var photos = (1L..2_000L).map { createPhoto(id = it, hoursAgo = random.nextLong(5_000)) }
+        underTest.update(photos, sort)
+        var nextId = photos.size + 1L
+
+        repeat(200) {
+            val removedIds = List(random.nextInt(3)) { photos.random(random).id }.toSet()
+            val modifiedIds = List(random.nextInt(3)) { photos.random(random).id }.toSet()
+            photos = photos.filter { it.id !in removedIds }.map {
+                if (it.id in modifiedIds) {
+                    it.copy(modificationTime = now.minusHours(random.nextLong(5_000)))
+                } else it
+            } + List(random.nextInt(3)) {
+                createPhoto(id = nextId++, hoursAgo = random.nextLong(5_000))
+            }
+
+            underTest.update(photos.shuffled(random), sort)
+
+            assertThat(underTest.sortedPhotos).isEqualTo(sortedReference(photos, sort))
+        }
+    }
+
+    @Test
+    fun `test that day photos hold the first photo and the number of photos of each day`() {
+        val photos = listOf(
+            createPhoto(id = 1L, hoursAgo = 1),
+            createPhoto(id = 2L, hoursAgo = 2),
+            createPhoto(id = 3L, hoursAgo = 48),
+            createPhoto(id = 4L, hoursAgo = 24 * 40),
+        )
+        underTest.update(photos, Sort.NEWEST)
+
+        assertThat(underTest.getDayPhotos()).containsExactly(
+            photos[0], 2,
+            photos[2], 1,
+            photos[3], 1,
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that a separator is added for each day in grid 1 and each month in other zoom levels`() {
+        val photos = listOf(
+            createPhoto(id = 1L, hoursAgo = 1),
+            createPhoto(id = 2L, hoursAgo = 48),
+            createPhoto(id = 3L, hoursAgo = 24 * 40),
+        )
+        underTest.update(photos, Sort.NEWEST)
+
+        assertThat(underTest.getListItems(ZoomLevel.Grid_1) { false }).containsExactly(
+            PhotoListItem.Separator(photos[0].modificationTime),
+            PhotoListItem.PhotoGridItem(photos[0], false),
+            PhotoListItem.Separator(photos[1].modificationTime),
+            PhotoListItem.PhotoGridItem(photos[1], false),
+            PhotoListItem.Separator(photos[2].modificationTime),
+            PhotoListItem.PhotoGridItem(photos[2], false),
+        ).inOrder()
+        assertThat(underTest.getListItems(ZoomLevel.Grid_3) { it == 2L }).containsExactly(
+            PhotoListItem.Separator(photos[0].modificationTime),
+            PhotoListItem.PhotoGridItem(photos[0], false),
+            PhotoListItem.PhotoGridItem(photos[1], true),
+            PhotoListItem.Separator(photos[2].modificationTime),
+            PhotoListItem.PhotoGridItem(photos[2], false),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that the list items of the photos not changed are reused`() {
+        val photos = (1L..10L).map { createPhoto(id = it, hoursAgo = it) }
+        underTest.update(photos, Sort.NEWEST)
+        val previousItems = underTest.getListItems(ZoomLevel.Grid_3) { false }
+
+        underTest.update(photos + createPhoto(id = 11L, hoursAgo = 0), Sort.NEWEST)
+        val items = underTest.getListItems(ZoomLevel.Grid_3) { false }
+
+        previousItems.filterIsInstance<PhotoListItem.PhotoGridItem>().forEach { previous ->
+            assertThat(items.any { it === previous }).isTrue()
+        }
+    }
+
+    private fun sortedReference(photos: List<Photo>, sort: Sort) = if (sort == Sort.NEWEST) {
+        photos.sortedWith(compareByDescending<Photo> { it.modificationTime }.thenByDescending { it.id })
+    } else {
+        photos.sortedWith(compareBy<Photo> { it.modificationTime }.thenByDescending { it.id })
+    }
+
+    private fun createPhoto(id: Long, hoursAgo: Long) = Photo.Image(
+        id = id,
+        parentId = 0L,
+        name = "photo$id.jpg",
+        isFavourite = false,
+        creationTime = now.minusHours(hoursAgo),
+        modificationTime = now.minusHours(hoursAgo),
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = StaticImageFileTypeInfo(mimeType = "image/jpeg", extension = "jpg"),
+    )
+}
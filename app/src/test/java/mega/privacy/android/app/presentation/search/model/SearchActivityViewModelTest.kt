@@ -25,6 +25,7 @@ import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.account.AccountDetail
 import mega.privacy.android.domain.entity.account.AccountLevelDetail
 import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.NodeUpdate
@@ -38,11 +39,11 @@ import mega.privacy.android.domain.entity.search.SearchTarget
 import mega.privacy.android.domain.entity.search.TypeFilterOption
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.account.MonitorAccountDetailUseCase
-import mega.privacy.android.domain.usecase.canceltoken.CancelCancelTokenUseCase
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
 import mega.privacy.android.domain.usecase.node.MonitorNodeUpdatesUseCase
 import mega.privacy.android.domain.usecase.offline.MonitorOfflineNodeUpdatesUseCase
-import mega.privacy.android.domain.usecase.search.SearchUseCase
+import mega.privacy.android.domain.usecase.search.SearchWithFirstPageUseCase
 import mega.privacy.android.domain.usecase.setting.MonitorShowHiddenItemsUseCase
 import mega.privacy.android.domain.usecase.viewtype.MonitorViewType
 import mega.privacy.android.domain.usecase.viewtype.SetViewType
@@ -51,11 +52,18 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.extension.ExtendWith
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.Arguments
+import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
+import java.util.stream.Stream
 
 @ExtendWith(CoroutineMainDispatcherExtension::class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -64,7 +72,6 @@ class SearchActivityViewModelTest {
     private val getFeatureFlagValueUseCase: GetFeatureFlagValueUseCase = mock()
     private val monitorNodeUpdatesFakeFlow = MutableSharedFlow<NodeUpdate>()
     private val monitorNodeUpdatesUseCase: MonitorNodeUpdatesUseCase = mock()
-    private val cancelCancelTokenUseCase: CancelCancelTokenUseCase = mock()
     private val searchFilterMapper: SearchFilterMapper = mock()
     private val nodeSourceTypeToSearchTargetMapper: NodeSourceTypeToSearchTargetMapper = mock()
     private val typeFilterToSearchMapper: TypeFilterToSearchMapper = mock()
@@ -76,7 +83,8 @@ class SearchActivityViewModelTest {
     private val typeFilterStringMapper: TypeFilterOptionStringResMapper = mock()
     private val dateFilterStringMapper: DateFilterOptionStringResMapper = mock()
     private val monitorOfflineNodeUpdatesUseCase: MonitorOfflineNodeUpdatesUseCase = mock()
-    private val searchUseCase: SearchUseCase = mock()
+    private val searchWithFirstPageUseCase: SearchWithFirstPageUseCase = mock()
+    private val addNodesTypeUseCase: AddNodesTypeUseCase = mock()
     private val monitorAccountDetailUseCase: MonitorAccountDetailUseCase = mock()
     private val monitorShowHiddenItemsUseCase: MonitorShowHiddenItemsUseCase = mock()
     private val accountDetailFakeFlow = MutableSharedFlow<AccountDetail>()
@@ -103,7 +111,6 @@ class SearchActivityViewModelTest {
             monitorViewType = monitorViewType,
             stateHandle = stateHandle,
             getCloudSortOrder = getCloudSortOrder,
-            cancelCancelTokenUseCase = cancelCancelTokenUseCase,
             searchFilterMapper = searchFilterMapper,
             nodeSourceTypeToSearchTargetMapper = nodeSourceTypeToSearchTargetMapper,
             typeFilterToSearchMapper = typeFilterToSearchMapper,
@@ -111,7 +118,8 @@ class SearchActivityViewModelTest {
             monitorOfflineNodeUpdatesUseCase = monitorOfflineNodeUpdatesUseCase,
             typeFilterOptionStringResMapper = typeFilterStringMapper,
             dateFilterOptionStringResMapper = dateFilterStringMapper,
-            searchUseCase = searchUseCase,
+            searchWithFirstPageUseCase = searchWithFirstPageUseCase,
+            addNodesTypeUseCase = addNodesTypeUseCase,
             monitorAccountDetailUseCase = monitorAccountDetailUseCase,
             monitorShowHiddenItemsUseCase = monitorShowHiddenItemsUseCase,
         )
@@ -133,6 +141,7 @@ class SearchActivityViewModelTest {
         whenever(monitorShowHiddenItemsUseCase()).thenReturn(flowOf(false))
         whenever(monitorAccountDetailUseCase()).thenReturn(accountDetailFakeFlow)
         whenever(nodeSourceTypeToSearchTargetMapper(any())).thenReturn(SearchTarget.ROOT_NODES)
+        whenever(searchWithFirstPageUseCase(any(), any(), any())).thenReturn(emptyFlow())
     }
 
     @AfterEach
@@ -145,7 +154,6 @@ class SearchActivityViewModelTest {
             monitorViewType,
             stateHandle,
             getCloudSortOrder,
-            cancelCancelTokenUseCase,
             searchFilterMapper,
             nodeSourceTypeToSearchTargetMapper,
             typeFilterToSearchMapper,
@@ -153,7 +161,8 @@ class SearchActivityViewModelTest {
             monitorOfflineNodeUpdatesUseCase,
             typeFilterStringMapper,
             dateFilterStringMapper,
-            searchUseCase,
+            searchWithFirstPageUseCase,
+            addNodesTypeUseCase,
             monitorAccountDetailUseCase,
             monitorShowHiddenItemsUseCase,
         )
@@ -338,14 +347,14 @@ class SearchActivityViewModelTest {
             nodeList.add(typedFolderNode)
 
             whenever(
-                searchUseCase(
+                searchWithFirstPageUseCase(
                     parentHandle = NodeId(parentHandle),
                     nodeSourceType = nodeSourceType,
                     searchParameters = SearchParameters(
                         query = query,
                     ),
                 )
-            ).thenReturn(nodeList)
+            ).thenReturn(flowOf(nodeList))
             underTest.updateSearchQuery(query)
             underTest.state.test {
                 val state = awaitItem()
@@ -386,14 +395,14 @@ class SearchActivityViewModelTest {
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
             whenever(
-                searchUseCase(
+                searchWithFirstPageUseCase(
                     parentHandle = NodeId(parentHandle),
                     nodeSourceType = nodeSourceType,
                     searchParameters = SearchParameters(
                         query = query,
                     ),
                 )
-            ).thenReturn(listOf(typedFileNode, typedFolderNode))
+            ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
             underTest.updateSearchQuery(query)
             underTest.state.test {
                 val state = awaitItem()
@@ -442,14 +451,14 @@ class SearchActivityViewModelTest {
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
         whenever(
-            searchUseCase(
+            searchWithFirstPageUseCase(
                 parentHandle = NodeId(parentHandle),
                 nodeSourceType = nodeSourceType,
                 searchParameters = SearchParameters(
                     query = query,
                 ),
             )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
 
         // when
         underTest.updateSearchQuery(query)
@@ -494,14 +503,14 @@ class SearchActivityViewModelTest {
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
         whenever(
-            searchUseCase(
+            searchWithFirstPageUseCase(
                 parentHandle = NodeId(parentHandle),
                 nodeSourceType = nodeSourceType,
                 searchParameters = SearchParameters(
                     query = query,
                 ),
             )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
 
         // when
         underTest.updateSearchQuery(query)
@@ -535,4 +544,182 @@ class SearchActivityViewModelTest {
                 assertThat(state.navigationLevel.size).isEqualTo(0)
             }
         }
+
+    @Test
+    fun `test that narrowing the query filters the previous results without searching again`() =
+        runTest {
+            val matchingNode = mock<TypedFileNode> {
+                on { id }.thenReturn(NodeId(123L))
+                on { name }.thenReturn("Quería.txt")
+            }
+            val notMatchingNode = mock<TypedFolderNode> {
+                on { id }.thenReturn(NodeId(345L))
+                on { name }.thenReturn("quest")
+            }
+            whenever(
+                searchWithFirstPageUseCase(
+                    parentHandle = NodeId(parentHandle),
+                    nodeSourceType = nodeSourceType,
+                    searchParameters = SearchParameters(query = "que"),
+                )
+            ).thenReturn(flowOf(listOf(matchingNode, notMatchingNode)))
+
+            underTest.updateSearchQuery("que")
+            underTest.updateSearchQuery("Queri")
+
+            underTest.state.test {
+                assertThat(awaitItem().searchItemList.map { it.node }).containsExactly(matchingNode)
+            }
+            verify(searchWithFirstPageUseCase, never()).invoke(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = "Queri"),
+            )
+        }
+
+    @Test
+    fun `test that a query that is not narrowed searches again`() = runTest {
+        whenever(searchWithFirstPageUseCase(any(), any(), any()))
+            .thenReturn(flowOf(emptyList()))
+
+        underTest.updateSearchQuery("query")
+        underTest.updateSearchQuery("quer")
+
+        verify(searchWithFirstPageUseCase).invoke(
+            parentHandle = NodeId(parentHandle),
+            nodeSourceType = nodeSourceType,
+            searchParameters = SearchParameters(query = "quer"),
+        )
+    }
+
+    @Test
+    fun `test that the first page of results is shown before the search completes`() =
+        runTest {
+            val query = "query"
+            val nodes = (1L..3L).map { handle ->
+                mock<TypedFileNode> {
+                    on { id }.thenReturn(NodeId(handle))
+                    on { name }.thenReturn("query $handle")
+                }
+            }
+            val results = MutableSharedFlow<List<TypedNode>>()
+            whenever(
+                searchWithFirstPageUseCase(
+                    parentHandle = NodeId(parentHandle),
+                    nodeSourceType = nodeSourceType,
+                    searchParameters = SearchParameters(query = query),
+                )
+            ).thenReturn(results)
+
+            underTest.updateSearchQuery(query)
+            underTest.state.test {
+                assertThat(awaitItem().isSearching).isTrue()
+                results.emit(nodes.take(1))
+                assertThat(awaitItem().searchItemList).hasSize(1)
+                results.emit(nodes)
+                assertThat(awaitItem().searchItemList).hasSize(3)
+            }
+        }
+
+    @Test
+    fun `test that node updates that do not change the results patch them in place`() =
+        runTest {
+            val query = "query"
+            val node = mock<TypedFileNode> {
+                on { id }.thenReturn(NodeId(123L))
+                on { name }.thenReturn("query file")
+            }
+            val updatedNode = mock<TypedFileNode> {
+                on { id }.thenReturn(NodeId(123L))
+                on { name }.thenReturn("query file")
+                on { isFavourite }.thenReturn(true)
+            }
+            whenever(
+                searchWithFirstPageUseCase(
+                    parentHandle = NodeId(parentHandle),
+                    nodeSourceType = nodeSourceType,
+                    searchParameters = SearchParameters(query = query),
+                )
+            ).thenReturn(flowOf(listOf(node)))
+            whenever(addNodesTypeUseCase(listOf(updatedNode))).thenReturn(listOf(updatedNode))
+            underTest.updateSearchQuery(query)
+
+            monitorNodeUpdatesFakeFlow.emit(
+                NodeUpdate(mapOf(updatedNode to listOf(NodeChanges.Favourite)))
+            )
+
+            underTest.state.test {
+                assertThat(awaitItem().searchItemList.map { it.node }).containsExactly(updatedNode)
+            }
+            verify(searchWithFirstPageUseCase, times(1)).invoke(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = query),
+            )
+        }
+
+    @Test
+    fun `test that node updates that may change the results search again`() = runTest {
+        val query = "query"
+        val node = mock<TypedFileNode> {
+            on { id }.thenReturn(NodeId(123L))
+            on { name }.thenReturn("query file")
+        }
+        whenever(
+            searchWithFirstPageUseCase(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = query),
+            )
+        ).thenReturn(flowOf(emptyList()))
+        underTest.updateSearchQuery(query)
+
+        monitorNodeUpdatesFakeFlow.emit(NodeUpdate(mapOf(node to listOf(NodeChanges.New))))
+
+        verify(searchWithFirstPageUseCase, times(2)).invoke(
+            parentHandle = NodeId(parentHandle),
+            nodeSourceType = nodeSourceType,
+            searchParameters = SearchParameters(query = query),
+        )
+        verifyNoInteractions(addNodesTypeUseCase)
+    }
+
+    @ParameterizedTest(name = "when the results are sorted by {0} and the node changes are {1}")
+    @MethodSource("provideChangesOfTheSortOrder")
+    fun `test that node updates that may change the order of the results search again`(
+        sortOrder: SortOrder,
+        change: NodeChanges,
+    ) = runTest {
+        val query = "query"
+        val node = mock<TypedFileNode> {
+            on { id }.thenReturn(NodeId(123L))
+            on { name }.thenReturn("query file")
+        }
+        whenever(getCloudSortOrder()).thenReturn(sortOrder)
+        whenever(
+            searchWithFirstPageUseCase(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = query),
+            )
+        ).thenReturn(flowOf(listOf(node)))
+        underTest.updateSearchQuery(query)
+
+        monitorNodeUpdatesFakeFlow.emit(NodeUpdate(mapOf(node to listOf(change))))
+
+        verify(searchWithFirstPageUseCase, times(2)).invoke(
+            parentHandle = NodeId(parentHandle),
+            nodeSourceType = nodeSourceType,
+            searchParameters = SearchParameters(query = query),
+        )
+        verifyNoInteractions(addNodesTypeUseCase)
+    }
+
+    private fun provideChangesOfTheSortOrder() = Stream.of(
+        Arguments.of(SortOrder.ORDER_FAV_ASC, NodeChanges.Favourite),
+        Arguments.of(SortOrder.ORDER_FAV_DESC, NodeChanges.Favourite),
+        Arguments.of(SortOrder.ORDER_LABEL_ASC, NodeChanges.Attributes),
+        Arguments.of(SortOrder.ORDER_LABEL_DESC, NodeChanges.Attributes),
+        Arguments.of(SortOrder.ORDER_LINK_CREATION_ASC, NodeChanges.Public_link),
+    )
 }
@@ -60,6 +60,7 @@ import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsFol
 import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsSettingsActionsUseCase
 import mega.privacy.android.domain.usecase.camerauploads.MonitorCameraUploadsStatusInfoUseCase
 import mega.privacy.android.domain.usecase.camerauploads.PreparePrimaryFolderPathUseCase
+import mega.privacy.android.domain.usecase.camerauploads.ResetMediaScanCursorsUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetCameraUploadsByWifiUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetChargingRequiredForVideoCompressionUseCase
 import mega.privacy.android.domain.usecase.camerauploads.SetChargingRequiredToUploadContentUseCase
@@ -148,6 +149,7 @@ internal class SettingsCameraUploadsViewModelTest {
     private val monitorCameraUploadsStatusInfoUseCase =
         mock<MonitorCameraUploadsStatusInfoUseCase>()
     private val preparePrimaryFolderPathUseCase = mock<PreparePrimaryFolderPathUseCase>()
+    private val resetMediaScanCursorsUseCase = mock<ResetMediaScanCursorsUseCase>()
     private val setCameraUploadsByWifiUseCase = mock<SetCameraUploadsByWifiUseCase>()
     private val setChargingRequiredForVideoCompressionUseCase =
         mock<SetChargingRequiredForVideoCompressionUseCase>()
@@ -210,6 +212,7 @@ internal class SettingsCameraUploadsViewModelTest {
             monitorCameraUploadsSettingsActionsUseCase,
             monitorCameraUploadsStatusInfoUseCase,
             preparePrimaryFolderPathUseCase,
+            resetMediaScanCursorsUseCase,
             setCameraUploadsByWifiUseCase,
             setChargingRequiredForVideoCompressionUseCase,
             setChargingRequiredToUploadContentUseCase,
@@ -313,6 +316,7 @@ internal class SettingsCameraUploadsViewModelTest {
             monitorCameraUploadsSettingsActionsUseCase = monitorCameraUploadsSettingsActionsUseCase,
             monitorCameraUploadsStatusInfoUseCase = monitorCameraUploadsStatusInfoUseCase,
             preparePrimaryFolderPathUseCase = preparePrimaryFolderPathUseCase,
+            resetMediaScanCursorsUseCase = resetMediaScanCursorsUseCase,
             setCameraUploadsByWifiUseCase = setCameraUploadsByWifiUseCase,
             setChargingRequiredForVideoCompressionUseCase = setChargingRequiredForVideoCompressionUseCase,
             setChargingRequiredToUploadContentUseCase = setChargingRequiredToUploadContentUseCase,
@@ -556,6 +560,19 @@ internal class SettingsCameraUploadsViewModelTest {
                 }
             }
 
+        @ParameterizedTest(name = "camera uploads status: {0}")
+        @EnumSource(EnableCameraUploadsStatus::class)
+        fun `test that the media scan cursors are reset when the media permissions are granted`(
+            cameraUploadsStatus: EnableCameraUploadsStatus,
+        ) = runTest {
+            whenever(checkEnableCameraUploadsStatusUseCase()).thenReturn(cameraUploadsStatus)
+            initializeUnderTest()
+
+            underTest.onMediaPermissionsGranted()
+
+            verify(resetMediaScanCursorsUseCase).invoke()
+        }
+
         @Test
         fun `test that a business account prompt is shown when the business account sub user is active`() =
             runTest {
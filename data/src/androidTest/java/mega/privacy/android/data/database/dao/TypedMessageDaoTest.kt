@@ -0,0 +1,193 @@
+package mega.privacy.android.data.database.dao
+
+import android.content.Context
+import androidx.room.Room
+import androidx.room.withTransaction
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
+import mega.privacy.android.domain.entity.ChatRoomPermission
+import mega.privacy.android.domain.entity.chat.ChatMessageCode
+import mega.privacy.android.domain.entity.chat.ChatMessageStatus
+import mega.privacy.android.domain.entity.chat.ChatMessageTermCode
+import mega.privacy.android.domain.entity.chat.ChatMessageType
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.IOException
+import kotlin.time.Duration
+
+@RunWith(AndroidJUnit4::class)
+class TypedMessageDaoTest {
+    private lateinit var typedMessageDao: TypedMessageDao
+    private lateinit var db: ChatDatabase
+
+    @Before
+    fun createDb() {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        db = Room.inMemoryDatabaseBuilder(
+            context, ChatDatabase::class.java
+        ).build()
+        typedMessageDao = db.typedMessageDao()
+    }
+
+    @After
+    @Throws(IOException::class)
+    fun closeDb() {
+        db.close()
+    }
+
+    @Test
+    fun test_that_paging_by_key_returns_all_the_messages_of_the_chat_newest_first() = runTest {
+        val messages = insertMessages(MESSAGES_COUNT)
+        val expected = messages
+            .filter { it.chatId == CHAT_ID && !it.isDeleted }
+            .sortedWith(
+                compareByDescending<TypedMessageEntity> { it.timestamp }
+                    .thenByDescending { it.messageId }
+            )
+            .map { it.messageId }
+
+        val actual = mutableListOf<Long>()
+        var page = typedMessageDao.getNewestMessages(CHAT_ID, PAGE_SIZE)
+        while (page.isNotEmpty()) {
+            actual.addAll(page.map { it.typedMessageEntity.messageId })
+            val last = page.last().typedMessageEntity
+            page = typedMessageDao.getMessagesOlderThan(
+                chatId = CHAT_ID,
+                timestamp = last.timestamp,
+                messageId = last.messageId,
+                limit = PAGE_SIZE,
+            )
+        }
+
+        Truth.assertThat(actual).isEqualTo(expected)
+    }
+
+    @Test
+    fun test_that_newer_messages_and_messages_from_a_key_are_returned_around_the_key() = runTest {
+        insertMessages(1_000)
+        val newest = typedMessageDao.getNewestMessages(CHAT_ID, 100)
+        val key = newest[50].typedMessageEntity
+
+        val from = typedMessageDao.getMessagesFrom(CHAT_ID, key.timestamp, key.messageId, 10)
+        val newer = typedMessageDao.getMessagesNewerThan(CHAT_ID, key.timestamp, key.messageId, 10)
+
+        Truth.assertThat(from).isEqualTo(newest.subList(50, 60))
+        Truth.assertThat(newer).isEqualTo(newest.subList(40, 50).reversed())
+    }
+
+    @Test
+    fun test_that_the_pages_are_read_from_the_chat_index_without_sorting() {
+        val plan = buildList {
+            db.query(
+                "EXPLAIN QUERY PLAN SELECT * FROM typed_messages WHERE chatId = ? AND isDeleted = 0 AND timestamp <= ? AND (timestamp < ? OR messageId < ?) ORDER BY timestamp DESC, messageId DESC LIMIT ?",
+                arrayOf(CHAT_ID, 0L, 0L, 0L, PAGE_SIZE),
+            ).use { cursor ->
+                val detailIndex = cursor.getColumnIndexOrThrow("detail")
+                while (cursor.moveToNext()) add(cursor.getString(detailIndex))
+            }
+        }.joinToString()
+
+        Truth.assertThat(plan).contains("index_typed_messages_chatId_timestamp_messageId")
+        Truth.assertThat(plan).doesNotContain("TEMP B-TREE")
+    }
+
+    @Test
+    fun test_that_the_time_to_read_a_page_does_not_grow_with_the_position_of_the_page() =
+        runTest {
+            insertMessages(MESSAGES_COUNT)
+
+            val pageTimes = mutableListOf<Long>()
+            var page = typedMessageDao.getNewestMessages(CHAT_ID, PAGE_SIZE)
+            while (page.isNotEmpty()) {
+                val last = page.last().typedMessageEntity
+                val start = System.nanoTime()
+                page = typedMessageDao.getMessagesOlderThan(
+                    chatId = CHAT_ID,
+                    timestamp = last.timestamp,
+                    messageId = last.messageId,
+                    limit = PAGE_SIZE,
+                )
+                pageTimes.add(System.nanoTime() - start)
+            }
+
+            val sampleSize = 100
+            val firstPages = pageTimes.drop(sampleSize).take(sampleSize).sorted()
+            val lastPages = pageTimes.dropLast(1).takeLast(sampleSize).sorted()
+            val firstMedian = firstPages[sampleSize / 2]
+            val lastMedian = lastPages[sampleSize / 2]
+            // an offset would make the last pages hundreds of times slower than the first ones
+            Truth.assertThat(lastMedian).isLessThan(firstMedian * 5 + 1_000_000L)
+        }
+
+    /**
+     * Insert [count] messages, most of them of the chat [CHAT_ID], several with the same timestamp
+     * and some deleted
+     */
+    private suspend fun insertMessages(count: Int): List<TypedMessageEntity> {
+        val messages = (1..count).map {
+            createMessage(
+                messageId = it.toLong(),
+                chatId = if (it % 10 == 0) OTHER_CHAT_ID else CHAT_ID,
+                timestamp = it / 4L,
+                isDeleted = it % 97 == 0,
+            )
+        }
+        db.withTransaction {
+            messages.chunked(5_000).forEach { typedMessageDao.insertAll(it) }
+        }
+        return messages
+    }
+
+    private fun createMessage(
+        messageId: Long,
+        chatId: Long,
+        timestamp: Long,
+        isDeleted: Boolean,
+    ) = TypedMessageEntity(
+        messageId = messageId,
+        chatId = chatId,
+        status = ChatMessageStatus.SEEN,
+        tempId = -1L,
+        msgIndex = 0,
+        userHandle = 1L,
+        type = ChatMessageType.NORMAL,
+        hasConfirmedReactions = false,
+        timestamp = timestamp,
+        content = "Message $messageId",
+        isEdited = false,
+        isDeleted = isDeleted,
+        isEditable = false,
+        isDeletable = false,
+        isManagementMessage = false,
+        handleOfAction = -1L,
+        privilege = ChatRoomPermission.Standard,
+        code = ChatMessageCode.INVALID_FORMAT,
+        usersCount = 0L,
+        userHandles = emptyList(),
+        userNames = emptyList(),
+        userEmails = emptyList(),
+        handleList = emptyList(),
+        duration = Duration.ZERO,
+        retentionTime = 0L,
+        termCode = ChatMessageTermCode.ENDED,
+        rowId = messageId,
+        changes = emptyList(),
+        isMine = false,
+        textMessage = null,
+        reactions = emptyList(),
+        exists = true,
+    )
+
+    companion object {
+        private const val CHAT_ID = 1L
+        private const val OTHER_CHAT_ID = 2L
+        private const val MESSAGES_COUNT = 100_000
+        private const val PAGE_SIZE = 32
+    }
+}
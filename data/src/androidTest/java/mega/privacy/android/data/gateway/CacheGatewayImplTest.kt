@@ -4,8 +4,10 @@ import android.content.Context
 import androidx.test.platform.app.InstrumentationRegistry
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.database.MegaDatabaseConstant
 import org.junit.After
@@ -25,9 +27,11 @@ class CacheGatewayImplTest {
     fun setUp() {
         context = InstrumentationRegistry.getInstrumentation().targetContext
         deleteCache()
+        val ioDispatcher = UnconfinedTestDispatcher()
         underTest = CacheGatewayImpl(
             context = context,
-            ioDispatcher = UnconfinedTestDispatcher(),
+            ioDispatcher = ioDispatcher,
+            mediaDiskCache = MediaDiskCache(context, TestScope(ioDispatcher), ioDispatcher),
         )
     }
 
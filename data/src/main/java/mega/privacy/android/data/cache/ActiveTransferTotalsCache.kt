@@ -0,0 +1,229 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.domain.entity.transfer.ActiveTransfer
+import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
+import mega.privacy.android.domain.entity.transfer.TransferType
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * In memory [ActiveTransferTotals] of each [TransferType].
+ *
+ * The active transfers of each type are read from the database the first time its totals are
+ * requested, then the totals are updated in O(1) for every change, applying only the difference
+ * of the changed transfer instead of recomputing them over all the active transfers.
+ *
+ * The active transfers changes must be saved in the database before being notified here.
+ */
+@Singleton
+internal class ActiveTransferTotalsCache @Inject constructor(
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+) {
+    private val mutex = Mutex()
+    private val accumulators = TransferType.entries.associateWith { TotalsAccumulator(it) }
+
+    /**
+     * Monitor the [ActiveTransferTotals] of the [transferType]
+     */
+    fun monitorActiveTransferTotals(transferType: TransferType): Flow<ActiveTransferTotals> =
+        flow {
+            emitAll(loadedAccumulator(transferType).totals)
+        }
+
+    /**
+     * Get the current [ActiveTransferTotals] of the [transferType]
+     */
+    suspend fun getActiveTransferTotals(transferType: TransferType): ActiveTransferTotals =
+        loadedAccumulator(transferType).totals.value
+
+    /**
+     * Add or replace the [activeTransfers] in the totals
+     */
+    suspend fun insertOrUpdateActiveTransfers(activeTransfers: List<ActiveTransfer>) =
+        mutex.withLock {
+            activeTransfers.forEach {
+                accumulators.getValue(it.transferType).insertOrUpdate(it)
+            }
+        }
+
+    /**
+     * Set the active transfers with these [tags] as finished in the totals
+     */
+    suspend fun setActiveTransfersAsFinished(tags: List<Int>) = mutex.withLock {
+        accumulators.values.forEach { it.setFinished(tags) }
+    }
+
+    /**
+     * Update the transferred bytes of the transfer with this [tag]
+     */
+    suspend fun updateTransferredBytes(transferType: TransferType, tag: Int, bytes: Long) =
+        mutex.withLock {
+            accumulators.getValue(transferType).updateTransferredBytes(tag, bytes)
+        }
+
+    /**
+     * Remove all the active transfers and transferred bytes of the [transferType]
+     */
+    suspend fun clear(transferType: TransferType) = mutex.withLock {
+        accumulators.getValue(transferType).clear()
+    }
+
+    private suspend fun loadedAccumulator(transferType: TransferType) = mutex.withLock {
+        accumulators.getValue(transferType).also {
+            if (!it.isLoaded) {
+                it.load(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            }
+        }
+    }
+
+    /**
+     * The fields of an active transfer involved in the totals
+     */
+    private data class Entry(
+        val totalBytes: Long,
+        val isFinished: Boolean,
+        val isFolderTransfer: Boolean,
+        val isPaused: Boolean,
+        val isAlreadyTransferred: Boolean,
+    ) {
+        constructor(activeTransfer: ActiveTransfer) : this(
+            totalBytes = activeTransfer.totalBytes,
+            isFinished = activeTransfer.isFinished,
+            isFolderTransfer = activeTransfer.isFolderTransfer,
+            isPaused = activeTransfer.isPaused,
+            isAlreadyTransferred = activeTransfer.isAlreadyTransferred,
+        )
+    }
+
+    /**
+     * Running totals of the active transfers of a [TransferType]. Not thread safe.
+     */
+    private class TotalsAccumulator(private val transferType: TransferType) {
+        private val entries = HashMap<Int, Entry>()
+        private val transferredBytes = HashMap<Int, Long>()
+
+        private var totalTransfers = 0
+        private var totalFileTransfers = 0
+        private var pausedFileTransfers = 0
+        private var totalFinishedTransfers = 0
+        private var totalFinishedFileTransfers = 0
+        private var totalCompletedFileTransfers = 0
+        private var totalBytes = 0L
+        private var totalTransferredBytes = 0L
+        private var totalAlreadyTransferredFiles = 0
+
+        /**
+         * True once the active transfers have been read from the database. Until then, the active
+         * transfers changes are ignored, as they are already saved in the database
+         */
+        var isLoaded = false
+            private set
+
+        val totals = MutableStateFlow(buildTotals())
+
+        fun load(activeTransfers: List<ActiveTransfer>) {
+            activeTransfers.forEach { entries[it.tag] = Entry(it) }
+            isLoaded = true
+            recalculate()
+        }
+
+        fun insertOrUpdate(activeTransfer: ActiveTransfer) {
+            if (!isLoaded) return
+            replace(activeTransfer.tag, Entry(activeTransfer))
+        }
+
+        fun setFinished(tags: List<Int>) {
+            if (!isLoaded) return
+            var changed = false
+            tags.forEach { tag ->
+                entries[tag]?.takeUnless { it.isFinished }?.let {
+                    replace(tag, it.copy(isFinished = true), shouldPublish = false)
+                    changed = true
+                }
+            }
+            if (changed) publish()
+        }
+
+        fun updateTransferredBytes(tag: Int, bytes: Long) {
+            val entry = entries[tag]
+            apply(entry, transferredBytes[tag], -1)
+            transferredBytes[tag] = bytes
+            apply(entry, bytes, 1)
+            publish()
+        }
+
+        fun clear() {
+            entries.clear()
+            transferredBytes.clear()
+            isLoaded = true
+            recalculate()
+        }
+
+        private fun replace(tag: Int, entry: Entry, shouldPublish: Boolean = true) {
+            val bytes = transferredBytes[tag]
+            apply(entries[tag], bytes, -1)
+            entries[tag] = entry
+            apply(entry, bytes, 1)
+            if (shouldPublish) publish()
+        }
+
+        private fun recalculate() {
+            totalTransfers = 0
+            totalFileTransfers = 0
+            pausedFileTransfers = 0
+            totalFinishedTransfers = 0
+            totalFinishedFileTransfers = 0
+            totalCompletedFileTransfers = 0
+            totalBytes = 0L
+            totalTransferredBytes = 0L
+            totalAlreadyTransferredFiles = 0
+            entries.forEach { (tag, entry) -> apply(entry, transferredBytes[tag], 1) }
+            publish()
+        }
+
+        /**
+         * Add ([sign] = 1) or subtract ([sign] = -1) the contribution of an [entry] to the totals
+         */
+        private fun apply(entry: Entry?, bytes: Long?, sign: Int) {
+            entry ?: return
+            totalTransfers += sign
+            if (entry.isFinished) totalFinishedTransfers += sign
+            if (entry.isFolderTransfer) return
+
+            totalFileTransfers += sign
+            if (entry.isPaused) pausedFileTransfers += sign
+            if (entry.isFinished) {
+                totalFinishedFileTransfers += sign
+                if (bytes == entry.totalBytes) totalCompletedFileTransfers += sign
+            }
+            if (entry.isAlreadyTransferred) totalAlreadyTransferredFiles += sign
+            totalBytes += sign * entry.totalBytes
+            //if it's finished always totalBytes as it can be cancelled or failed
+            totalTransferredBytes += sign * (if (entry.isFinished) entry.totalBytes else bytes ?: 0L)
+        }
+
+        private fun publish() {
+            totals.value = buildTotals()
+        }
+
+        private fun buildTotals() = ActiveTransferTotals(
+            transfersType = transferType,
+            totalTransfers = totalTransfers,
+            totalFileTransfers = totalFileTransfers,
+            pausedFileTransfers = pausedFileTransfers,
+            totalFinishedTransfers = totalFinishedTransfers,
+            totalFinishedFileTransfers = totalFinishedFileTransfers,
+            totalCompletedFileTransfers = totalCompletedFileTransfers,
+            totalBytes = totalBytes,
+            transferredBytes = totalTransferredBytes,
+            totalAlreadyTransferredFiles = totalAlreadyTransferredFiles,
+        )
+    }
+}
@@ -0,0 +1,325 @@
+package mega.privacy.android.data.cache
+
+import android.content.Context
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.constant.CacheFolderConstant
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import timber.log.Timber
+import java.io.File
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Size-bounded disk cache of the thumbnail and preview folders.
+ *
+ * Each folder has a budget in bytes and its files are kept in least recently used order. Every
+ * time a file is written, the least recently used files are deleted until the folder is back
+ * within its budget. The size and order of the files are kept in a small journal per folder, in
+ * the cache directory, so they are known on startup without listing the folder. The journal is
+ * rebuilt by listing the folder only when it is missing or corrupt, or once every
+ * [RECONCILE_INTERVAL_MILLIS], to pick up the files written without going through this cache.
+ *
+ * The full-size images are kept in the temporary folder, which also holds the sources of the
+ * uploads and the files of the downloads in progress, so it is not managed by this cache.
+ *
+ * The files used are recorded without suspending the caller, and the journal is written in
+ * batches, so losing the last records only makes the order of the files slightly out of date.
+ */
+@Singleton
+internal class MediaDiskCache @Inject constructor(
+    @ApplicationContext private val context: Context,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) {
+    private val mutex = Mutex()
+    private val pendingEvents = ConcurrentLinkedQueue<Event>()
+    private val drainScheduled = AtomicBoolean(false)
+    private val folders = HashMap<String, Folder>()
+    private var flushScheduled = false
+
+    /**
+     * Record that the [file] of the folder [folderName] was written
+     */
+    fun onFileWritten(folderName: String, file: File) =
+        record(Event(EventType.Written, folderName, file))
+
+    /**
+     * Record that the [file] of the folder [folderName] was used
+     */
+    fun onFileRead(folderName: String, file: File) =
+        record(Event(EventType.Read, folderName, file))
+
+    /**
+     * Record that the [file] of the folder [folderName] was deleted
+     */
+    fun onFileDeleted(folderName: String, file: File) =
+        record(Event(EventType.Deleted, folderName, file))
+
+    /**
+     * Get the current size in bytes of each folder of the cache, keyed by folder name
+     */
+    suspend fun getSizes(): Map<String, Long> = mutex.withLock {
+        drainEvents()
+        budgets.keys.associateWith { getFolder(it).size }
+    }
+
+    /**
+     * Forget everything known about the folders, after the cache directory is cleared
+     */
+    suspend fun reset() = mutex.withLock {
+        pendingEvents.clear()
+        folders.clear()
+        budgets.keys.forEach { getJournalFile(it).delete() }
+    }
+
+    private fun record(event: Event) {
+        if (event.folderName !in budgets) return
+        pendingEvents.add(event)
+        if (drainScheduled.compareAndSet(false, true)) {
+            applicationScope.launch(ioDispatcher) {
+                drainScheduled.set(false)
+                mutex.withLock { drainEvents() }
+            }
+        }
+    }
+
+    private fun drainEvents() {
+        while (true) {
+            val event = pendingEvents.poll() ?: break
+            val folder = getFolder(event.folderName)
+            if (event.file.parentFile?.absolutePath != folder.directory.absolutePath) continue
+            runCatching { folder.handle(event) }.onFailure { Timber.e(it) }
+        }
+        if (!flushScheduled && folders.values.any { it.hasPendingRecords() }) {
+            flushScheduled = true
+            applicationScope.launch(ioDispatcher) {
+                delay(FLUSH_DELAY_MILLIS)
+                mutex.withLock {
+                    drainEvents()
+                    folders.values.forEach { folder ->
+                        runCatching { folder.flush() }.onFailure { Timber.e(it) }
+                    }
+                    flushScheduled = false
+                }
+            }
+        }
+    }
+
+    private fun getFolder(name: String) = folders.getOrPut(name) {
+        Folder(name, budgets.getValue(name)).apply { load() }
+    }
+
+    private fun getJournalFile(folderName: String) =
+        File(context.cacheDir, "$folderName$JOURNAL_EXTENSION")
+
+    private fun now() = System.currentTimeMillis()
+
+    private inner class Folder(val name: String, val budget: Budget) {
+        val directory = File(context.cacheDir, name)
+        private val journal = getJournalFile(name)
+        private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+        private val pendingRecords = StringBuilder()
+        private var journalRecords = 0
+        private var reconciledAt = 0L
+
+        var size = 0L
+            private set
+
+        fun hasPendingRecords() = pendingRecords.isNotEmpty()
+
+        fun load() {
+            val loaded = runCatching { readJournal() }
+                .onFailure { Timber.e(it, "Error reading the journal of $name") }
+                .getOrDefault(false)
+            if (!loaded || now() - reconciledAt > RECONCILE_INTERVAL_MILLIS) {
+                reconcile()
+            }
+        }
+
+        fun handle(event: Event) {
+            val fileName = event.file.name
+            when (event.type) {
+                EventType.Written -> if (event.file.isFile) {
+                    put(fileName, event.file.length(), now())
+                    evict()
+                } else {
+                    remove(fileName)
+                }
+
+                EventType.Read -> {
+                    val entry = entries[fileName]
+                    if (entry != null) {
+                        put(fileName, entry.size, now())
+                    } else if (event.file.isFile) {
+                        put(fileName, event.file.length(), now())
+                        evict()
+                    }
+                }
+
+                EventType.Deleted -> remove(fileName)
+            }
+        }
+
+        fun flush() {
+            if (now() - reconciledAt > RECONCILE_INTERVAL_MILLIS) {
+                reconcile()
+                return
+            }
+            if (pendingRecords.isEmpty()) return
+            if (journalRecords > entries.size * COMPACTION_RATIO + COMPACTION_MIN_RECORDS) {
+                writeJournal()
+            } else {
+                journal.appendText(pendingRecords.toString())
+                journalRecords += pendingRecords.count { it == '\n' }
+                pendingRecords.clear()
+            }
+        }
+
+        private fun put(fileName: String, fileSize: Long, lastUsed: Long) {
+            entries.put(fileName, Entry(fileSize, lastUsed))?.let { size -= it.size }
+            size += fileSize
+            pendingRecords.append("$PUT $fileSize $lastUsed $fileName\n")
+        }
+
+        private fun remove(fileName: String) {
+            entries.remove(fileName)?.let {
+                size -= it.size
+                pendingRecords.append("$DELETE $fileName\n")
+            }
+        }
+
+        /**
+         * Delete the least recently used files until the folder is below its budget, leaving
+         * some room so the next writes don't evict files again
+         */
+        private fun evict() {
+            if (size <= budget.maxSizeBytes) return
+            val targetSize = (budget.maxSizeBytes * EVICTION_TARGET).toLong()
+            val iterator = entries.entries.iterator()
+            while (size > targetSize && iterator.hasNext()) {
+                val (fileName, entry) = iterator.next()
+                val file = File(directory, fileName)
+                if (file.exists() && !file.delete()) continue
+                iterator.remove()
+                size -= entry.size
+                pendingRecords.append("$DELETE $fileName\n")
+            }
+        }
+
+        private fun readJournal(): Boolean {
+            if (!journal.isFile) return false
+            return journal.bufferedReader().useLines { lines ->
+                val iterator = lines.iterator()
+                val header = iterator.takeIf { it.hasNext() }?.next()?.split(' ')
+                if (header?.size != 2 || header[0] != JOURNAL_HEADER) return@useLines false
+                reconciledAt = header[1].toLongOrNull() ?: return@useLines false
+                iterator.forEach { line ->
+                    journalRecords++
+                    if (line.startsWith("$PUT ")) {
+                        val fields = line.split(' ', limit = 4)
+                        if (fields.size != 4) return@useLines false
+                        put(
+                            fileName = fields[3],
+                            fileSize = fields[1].toLongOrNull() ?: return@useLines false,
+                            lastUsed = fields[2].toLongOrNull() ?: return@useLines false,
+                        )
+                    } else if (line.startsWith("$DELETE ")) {
+                        remove(line.substring(DELETE.length + 1))
+                    } else {
+                        return@useLines false
+                    }
+                }
+                pendingRecords.clear()
+                true
+            }
+        }
+
+        /**
+         * List the folder and its sub folders to know their files, using their modification time
+         * as the last time they were used. The files of the sub folders are kept by their path
+         * relative to the folder.
+         */
+        private fun reconcile() {
+            entries.clear()
+            size = 0
+            pendingRecords.clear()
+            directory.walkTopDown()
+                .filter { it.isFile }
+                .map { Triple(it.relativeTo(directory).path, it.length(), it.lastModified()) }
+                .sortedBy { it.third }
+                .forEach { (fileName, fileSize, lastModified) ->
+                    entries[fileName] = Entry(fileSize, lastModified)
+                    size += fileSize
+                }
+            reconciledAt = now()
+            evict()
+            writeJournal()
+        }
+
+        /**
+         * Write a journal with a single record per file, replacing the previous one at once
+         */
+        private fun writeJournal() {
+            val temporary = File(journal.path + TEMPORARY_EXTENSION)
+            temporary.bufferedWriter().use { writer ->
+                writer.write("$JOURNAL_HEADER $reconciledAt\n")
+                entries.forEach { (fileName, entry) ->
+                    writer.write("$PUT ${entry.size} ${entry.lastUsed} $fileName\n")
+                }
+            }
+            if (!temporary.renameTo(journal)) {
+                temporary.delete()
+                journal.delete()
+            }
+            journalRecords = entries.size
+            pendingRecords.clear()
+        }
+    }
+
+    private class Entry(val size: Long, val lastUsed: Long)
+
+    private class Budget(val maxSizeBytes: Long)
+
+    private enum class EventType { Written, Read, Deleted }
+
+    private class Event(val type: EventType, val folderName: String, val file: File)
+
+    companion object {
+        private const val MB = 1024L * 1024L
+
+        /**
+         * Maximum time between two listings of a folder to rebuild its journal
+         */
+        private val RECONCILE_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(1)
+
+        private val budgets = mapOf(
+            CacheFolderConstant.THUMBNAIL_FOLDER to Budget(100 * MB),
+            CacheFolderConstant.PREVIEW_FOLDER to Budget(250 * MB),
+        )
+
+        /**
+         * Names of the folders managed by the cache
+         */
+        val FOLDER_NAMES: Set<String> = budgets.keys
+
+        private const val FLUSH_DELAY_MILLIS = 5_000L
+        private const val EVICTION_TARGET = 0.9
+        private const val COMPACTION_RATIO = 2
+        private const val COMPACTION_MIN_RECORDS = 1_000
+        private const val JOURNAL_EXTENSION = ".journal"
+        private const val TEMPORARY_EXTENSION = ".tmp"
+        private const val JOURNAL_HEADER = "MEGA_DISK_CACHE_1"
+        private const val PUT = "P"
+        private const val DELETE = "D"
+    }
+}
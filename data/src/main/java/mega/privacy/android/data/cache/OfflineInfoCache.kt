@@ -0,0 +1,173 @@
+package mega.privacy.android.data.cache
+
+import dagger.Lazy
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * In memory index of the decrypted offline table.
+ *
+ * The offline table is read and decrypted once, the first time the index is used. From then on
+ * the index is updated incrementally with the changes made through it, and kept in sync with the
+ * table by reading it again after every [OfflineDao.monitorOfflineChanges] emission, only
+ * decrypting the rows that changed. Lookups never touch the database nor decrypt anything.
+ *
+ * Every change made through the index increases its write version. A table read is only applied if
+ * no change was made since it started, so a read that doesn't include a change yet never undoes it.
+ * The change itself triggers another read, which does include it.
+ */
+@Singleton
+internal class OfflineInfoCache @Inject constructor(
+    private val offlineDao: Lazy<OfflineDao>,
+    private val offlineModelMapper: OfflineModelMapper,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) {
+    private val mutex = Mutex()
+    private val index = MutableStateFlow<Index?>(null)
+
+    // guarded by mutex
+    private var writeVersion = 0L
+
+    /**
+     * Monitor all the offline information, emitting again after every change
+     */
+    fun monitorAll(): Flow<List<Offline>> = flow {
+        loadedIndex()
+        emitAll(index.filterNotNull().map { it.all })
+    }
+
+    /**
+     * Get all the offline information
+     */
+    suspend fun getAll(): List<Offline> = loadedIndex().all
+
+    /**
+     * Get all the offline information keyed by node handle
+     */
+    suspend fun getAllByHandle(): Map<String, Offline> = loadedIndex().byHandle
+
+    /**
+     * Get the offline information of the node with this [handle]
+     */
+    suspend fun getByHandle(handle: String): Offline? = loadedIndex().byHandle[handle]
+
+    /**
+     * Get the offline information with this [id]
+     */
+    suspend fun getById(id: Int): Offline? = loadedIndex().rows[id]?.offline
+
+    /**
+     * Add the [offline] information, saved in the database as [entity] with [id]
+     */
+    suspend fun insert(id: Int, entity: OfflineEntity, offline: Offline) = update { rows ->
+        // the type is read as empty when it's null, same as it will be read from the database
+        rows[id] = Row(entity.copy(id = id), offline.copy(id = id, type = offline.type.orEmpty()))
+    }
+
+    /**
+     * Remove the offline information of the node with this [handle]
+     */
+    suspend fun removeByHandle(handle: String) = update { rows ->
+        rows.values.removeAll { it.offline.handle == handle }
+    }
+
+    /**
+     * Remove the offline information with these [ids]
+     */
+    suspend fun removeByIds(ids: Collection<Int>) = update { rows ->
+        ids.forEach { rows.remove(it) }
+    }
+
+    /**
+     * Remove all the offline information
+     */
+    suspend fun clear() = update { it.clear() }
+
+    private suspend fun loadedIndex(): Index = index.value ?: mutex.withLock {
+        index.value ?: sync(readTable()).also {
+            applicationScope.launch {
+                offlineDao.get().monitorOfflineChanges().conflate().collect {
+                    val version = mutex.withLock { writeVersion }
+                    val entities = readTable()
+                    mutex.withLock {
+                        // a change was made during the read, which may not include it
+                        if (version == writeVersion) sync(entities)
+                    }
+                }
+            }
+        }
+    }
+
+    private suspend fun readTable() =
+        withContext(ioDispatcher) { offlineDao.get().getOfflineFiles().orEmpty() }
+
+    /**
+     * Replace the index with the content of the table, reusing the already decrypted rows. The
+     * index is not replaced if the table didn't change.
+     */
+    private suspend fun sync(entities: List<OfflineEntity>): Index {
+        val previousIndex = index.value
+        val previousRows = previousIndex?.rows.orEmpty()
+        val rows = LinkedHashMap<Int, Row>(entities.size)
+        var changed = previousIndex == null
+        entities.forEach { entity ->
+            val id = entity.id ?: return@forEach
+            rows[id] = previousRows[id]?.takeIf { it.entity == entity }
+                ?: Row(entity, offlineModelMapper(entity)).also { changed = true }
+        }
+        if (!changed && rows.size == previousRows.size && previousIndex != null) {
+            return previousIndex
+        }
+        return publish(rows)
+    }
+
+    /**
+     * Apply a change to a copy of the rows, so published indexes are never modified
+     */
+    private suspend fun update(change: (MutableMap<Int, Row>) -> Unit) {
+        loadedIndex()
+        mutex.withLock {
+            val rows = LinkedHashMap(index.value?.rows.orEmpty())
+            change(rows)
+            writeVersion++
+            publish(rows)
+        }
+    }
+
+    private fun publish(rows: Map<Int, Row>) = Index(rows).also { index.value = it }
+
+    /**
+     * An offline table row, with its decrypted model
+     */
+    private class Row(val entity: OfflineEntity, val offline: Offline)
+
+    /**
+     * Immutable index of the offline table
+     */
+    private class Index(val rows: Map<Int, Row>) {
+        val all: List<Offline> = rows.values.map { it.offline }
+
+        // if there is more than a row for the same handle, the last one is kept
+        val byHandle: Map<String, Offline> = all.associateBy { it.handle }
+    }
+}
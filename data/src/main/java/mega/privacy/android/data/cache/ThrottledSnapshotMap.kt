@@ -0,0 +1,94 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.update
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration
+
+/**
+ * Concurrent map updated in place, whose immutable snapshots are published at a throttled rate.
+ *
+ * Updates are O(1) and never copy the map, the copies are only made when a snapshot is requested
+ * or emitted by [snapshots].
+ *
+ * @param throttleDuration minimum duration between two emissions of [snapshots]
+ */
+internal class ThrottledSnapshotMap<K : Any, V : Any>(
+    private val throttleDuration: Duration,
+) {
+    private val map = ConcurrentHashMap<K, V>()
+
+    /**
+     * Incremented on every change, so collectors know a new snapshot is needed
+     */
+    private val version = MutableStateFlow(0L)
+
+    /**
+     * Flow of snapshots of the map. The current snapshot is emitted on collection, then the latest
+     * snapshot is emitted after each change, at most once every [throttleDuration]. A snapshot
+     * equal to the previous one, like after replacing a value by an equal one, is not emitted.
+     */
+    val snapshots: Flow<Map<K, V>> = flow {
+        version.collect {
+            emit(snapshot())
+            delay(throttleDuration)
+        }
+    }.distinctUntilChanged()
+
+    /**
+     * Immutable copy of the current content of the map
+     */
+    fun snapshot(): Map<K, V> = HashMap(map)
+
+    /**
+     * Check if the map contains the [key]
+     */
+    fun containsKey(key: K) = map.containsKey(key)
+
+    /**
+     * Add or replace the value of the [key]
+     */
+    fun put(key: K, value: V) {
+        map[key] = value
+        notifyChange()
+    }
+
+    /**
+     * Add or replace the values of all the keys in [values]
+     */
+    fun putAll(values: Map<K, V>) {
+        if (values.isEmpty()) return
+        map.putAll(values)
+        notifyChange()
+    }
+
+    /**
+     * Remove the [key]
+     */
+    fun remove(key: K) {
+        if (map.remove(key) != null) notifyChange()
+    }
+
+    /**
+     * Remove all the [keys]
+     */
+    fun removeAll(keys: Collection<K>) {
+        var removed = false
+        keys.forEach { removed = map.remove(it) != null || removed }
+        if (removed) notifyChange()
+    }
+
+    /**
+     * Remove all the values
+     */
+    fun clear() {
+        map.clear()
+        notifyChange()
+    }
+
+    private fun notifyChange() = version.update { it + 1 }
+}
@@ -0,0 +1,36 @@
+package mega.privacy.android.data.cryptography
+
+/**
+ * Bounded memo of the results of a deterministic crypto operation, keeping the most recently used.
+ *
+ * Only short values are memoized, as they are the frequently repeated ones: handles, ids, states,
+ * types and the "true" / "false" flags used as query parameters and in encrypted columns.
+ *
+ * @param maxSize maximum number of memoized values
+ * @param maxValueLength maximum length of the memoized inputs
+ */
+internal class CryptoMemo(
+    private val maxSize: Int = DEFAULT_MAX_SIZE,
+    private val maxValueLength: Int = DEFAULT_MAX_VALUE_LENGTH,
+) {
+    private val results = object : LinkedHashMap<String, String>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, String>?) =
+            size > maxSize
+    }
+
+    /**
+     * Get the memoized result for the [input], or [compute] it and memoize it if it's not null
+     */
+    fun getOrPut(input: String, compute: (String) -> String?): String? {
+        if (input.length > maxValueLength) return compute(input)
+        synchronized(results) { results[input] }?.let { return it }
+        return compute(input)?.also { synchronized(results) { results[input] = it } }
+    }
+
+    companion object {
+        private const val DEFAULT_MAX_SIZE = 2048
+
+        // enough for the base64 form of two AES blocks, which covers any handle
+        private const val DEFAULT_MAX_VALUE_LENGTH = 48
+    }
+}
@@ -10,27 +10,43 @@ import javax.inject.Singleton
 
 /**
  * Decrypt the data encrypted by EncryptData
+ *
+ * The cipher is initialised once per thread and reused, and the decrypted forms of short values
+ * are memoized, as the encryption is deterministic.
  */
 @Suppress("RedundantSuspendModifier", "GetInstance")
 @Singleton
 class DecryptData @Inject constructor(
     @Named("aes_key") private val aesKey: ByteArray,
 ) {
+    private val cipher = object : ThreadLocal<Cipher>() {
+        override fun initialValue(): Cipher = Cipher.getInstance("AES").apply {
+            init(Cipher.DECRYPT_MODE, SecretKeySpec(aesKey, "AES"))
+        }
+    }
+    private val memo = CryptoMemo()
+
     /**
      * Invoke
      * @param data encrypted String
      * @return decrypted data
      */
-    suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val encoded = Base64.decode(data, Base64.DEFAULT)
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.DECRYPT_MODE, skeySpec)
-            val original = cipher.doFinal(encoded)
-            String(original)
-        }.onFailure {
-            Timber.e(it, "Error decrypting DB field")
-        }.getOrNull()
-    }
-}
\ No newline at end of file
+    suspend operator fun invoke(data: String?) = data?.let { memo.getOrPut(it, ::decrypt) }
+
+    /**
+     * Invoke
+     * @param data encrypted Strings
+     * @return decrypted data, in the same order
+     */
+    suspend operator fun invoke(data: List<String?>): List<String?> =
+        data.map { value -> value?.let { memo.getOrPut(it, ::decrypt) } }
+
+    private fun decrypt(data: String) = runCatching {
+        val encoded = Base64.decode(data, Base64.DEFAULT)
+        String(cipher.get()!!.doFinal(encoded))
+    }.onFailure {
+        // start again with a new cipher, in case this one was left in an unusable state
+        cipher.remove()
+        Timber.e(it, "Error decrypting DB field")
+    }.getOrNull()
+}
@@ -10,26 +10,43 @@ import javax.inject.Singleton
 
 /**
  * Class to encrypt given value
+ *
+ * The cipher is initialised once per thread and reused, and the encrypted forms of short values
+ * are memoized, as the encryption is deterministic.
  */
 @Suppress("RedundantSuspendModifier", "GetInstance")
 @Singleton
 class EncryptData @Inject constructor(
     @Named("aes_key") private val aesKey: ByteArray,
 ) {
+    private val cipher = object : ThreadLocal<Cipher>() {
+        override fun initialValue(): Cipher = Cipher.getInstance("AES").apply {
+            init(Cipher.ENCRYPT_MODE, SecretKeySpec(aesKey, "AES"))
+        }
+    }
+    private val memo = CryptoMemo()
+
     /**
      * Invoke
      * @param data string to be encrypted
      * @return encrypted value
      */
-    suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.ENCRYPT_MODE, skeySpec)
-            val encrypted = cipher.doFinal(it.toByteArray())
-            Base64.encodeToString(encrypted, Base64.DEFAULT)
-        }.onFailure {
-            Timber.e(it, "Error encrypting DB field")
-        }.getOrNull()
-    }
-}
\ No newline at end of file
+    suspend operator fun invoke(data: String?) = data?.let { memo.getOrPut(it, ::encrypt) }
+
+    /**
+     * Invoke
+     * @param data strings to be encrypted
+     * @return encrypted values, in the same order
+     */
+    suspend operator fun invoke(data: List<String?>): List<String?> =
+        data.map { value -> value?.let { memo.getOrPut(it, ::encrypt) } }
+
+    private fun encrypt(data: String) = runCatching {
+        val encrypted = cipher.get()!!.doFinal(data.toByteArray())
+        Base64.encodeToString(encrypted, Base64.DEFAULT)
+    }.onFailure {
+        // start again with a new cipher, in case this one was left in an unusable state
+        cipher.remove()
+        Timber.e(it, "Error encrypting DB field")
+    }.getOrNull()
+}
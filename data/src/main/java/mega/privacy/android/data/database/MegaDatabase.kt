@@ -15,6 +15,7 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PendingSdCardMoveDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
@@ -28,6 +29,7 @@ import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
 import mega.privacy.android.data.database.entity.ContactEntity
 import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.database.entity.PendingSdCardMoveEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
 import mega.privacy.android.data.database.entity.SyncSolvedIssueEntity
@@ -52,6 +54,7 @@ import timber.log.Timber
         ChatPendingChangesEntity::class,
         VideoRecentlyWatchedEntity::class,
         PendingTransferEntity::class,
+        PendingSdCardMoveEntity::class,
     ],
     version = MegaDatabaseConstant.DATABASE_VERSION,
     exportSchema = true,
@@ -71,6 +74,7 @@ import timber.log.Timber
         AutoMigration(88, 89),
         AutoMigration(89, 90),
         AutoMigration(90, 91),
+        AutoMigration(91, 92),
     ],
 )
 internal abstract class MegaDatabase : RoomDatabase() {
@@ -98,6 +102,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
 
     abstract fun pendingTransferDao(): PendingTransferDao
 
+    abstract fun pendingSdCardMoveDao(): PendingSdCardMoveDao
+
     companion object {
 
         /**
@@ -8,7 +8,7 @@ object MegaDatabaseConstant {
     /**
      * Database Version
      */
-    const val DATABASE_VERSION = 91
+    const val DATABASE_VERSION = 92
 
     /**
      * Database Name
@@ -84,4 +84,9 @@ object MegaDatabaseConstant {
      * Table pending transfers
      */
     const val TABLE_PENDING_TRANSFER = "pending_transfer"
+
+    /**
+     * Table pending sd card moves
+     */
+    const val TABLE_PENDING_SD_CARD_MOVE = "pending_sd_card_move"
 }
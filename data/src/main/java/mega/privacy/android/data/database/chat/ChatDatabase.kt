@@ -25,7 +25,7 @@ import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
  */
 const val CHAT_DATABASE_NAME = "chat_database"
 
-private const val DATABASE_VERSION = 4
+private const val DATABASE_VERSION = 5
 
 /**
  * In memory chat database
@@ -47,6 +47,7 @@ private const val DATABASE_VERSION = 4
         AutoMigration(1, 2),
         AutoMigration(2, 3, spec = AutoMigrationSpecChat2to3::class),
         AutoMigration(3, 4),
+        AutoMigration(4, 5),
     ],
 )
 abstract class ChatDatabase : RoomDatabase() {
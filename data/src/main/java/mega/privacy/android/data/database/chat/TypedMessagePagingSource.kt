@@ -0,0 +1,109 @@
+package mega.privacy.android.data.database.chat
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import androidx.room.InvalidationTracker
+import mega.privacy.android.data.database.dao.TypedMessageDao
+import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
+import timber.log.Timber
+
+/**
+ * Paging source of the typed messages of a chat, newest first
+ *
+ * Each page is anchored on the key of the last message of the previous one, instead of on an
+ * offset, so loading a page costs the same anywhere in the chat history: the messages are read
+ * straight from the index on chat id, timestamp and message id of the typed messages table,
+ * without skipping all the messages before them.
+ *
+ * Refreshing loads the message of the key and the older ones, appending loads the messages older
+ * than the key and prepending the messages newer than it.
+ *
+ * @property chatId Chat ID
+ * @property typedMessageDao [TypedMessageDao]
+ */
+internal class TypedMessagePagingSource(
+    private val chatId: Long,
+    private val typedMessageDao: TypedMessageDao,
+    database: ChatDatabase,
+) : PagingSource<MessagePagingKey, MetaTypedMessageEntity>() {
+
+    private val invalidationObserver: InvalidationTracker.Observer =
+        object : InvalidationTracker.Observer("typed_messages") {
+            override fun onInvalidated(tables: Set<String>) {
+                Timber.d("Typed message paging source: invalidated")
+                invalidate()
+            }
+        }
+
+    init {
+        database.invalidationTracker.addObserver(invalidationObserver)
+        registerInvalidatedCallback {
+            database.invalidationTracker.removeObserver(invalidationObserver)
+        }
+    }
+
+    override fun getRefreshKey(state: PagingState<MessagePagingKey, MetaTypedMessageEntity>) =
+        state.anchorPosition
+            ?.let { state.closestItemToPosition(maxOf(0, it - state.config.initialLoadSize / 2)) }
+            ?.pagingKey
+
+    override suspend fun load(
+        params: LoadParams<MessagePagingKey>,
+    ): LoadResult<MessagePagingKey, MetaTypedMessageEntity> = try {
+        val key = params.key
+        val messages = when {
+            key == null -> typedMessageDao.getNewestMessages(chatId, params.loadSize)
+
+            params is LoadParams.Append -> typedMessageDao.getMessagesOlderThan(
+                chatId = chatId,
+                timestamp = key.time,
+                messageId = key.msgId,
+                limit = params.loadSize,
+            )
+
+            params is LoadParams.Prepend -> typedMessageDao.getMessagesNewerThan(
+                chatId = chatId,
+                timestamp = key.time,
+                messageId = key.msgId,
+                limit = params.loadSize,
+            ).asReversed()
+
+            else -> typedMessageDao.getMessagesFrom(
+                chatId = chatId,
+                timestamp = key.time,
+                messageId = key.msgId,
+                limit = params.loadSize,
+            ).ifEmpty {
+                // the messages from the key were removed, so start again from the newest ones
+                return load(LoadParams.Refresh(null, params.loadSize, false))
+            }
+        }
+        val isLastPage = messages.size < params.loadSize
+
+        if (invalid) return LoadResult.Invalid()
+
+        LoadResult.Page(
+            data = messages,
+            prevKey = when {
+                key == null -> null
+                params is LoadParams.Prepend && isLastPage -> null
+                else -> messages.firstOrNull()?.pagingKey
+            },
+            nextKey = when {
+                params is LoadParams.Prepend -> messages.lastOrNull()?.pagingKey
+                isLastPage -> null
+                else -> messages.last().pagingKey
+            },
+        )
+    } catch (e: Exception) {
+        Timber.e(e, "Typed message paging source: error")
+        LoadResult.Error(e)
+    }
+
+    private val MetaTypedMessageEntity.pagingKey
+        get() = MessagePagingKey(
+            time = typedMessageEntity.timestamp,
+            msgId = typedMessageEntity.messageId,
+        )
+}
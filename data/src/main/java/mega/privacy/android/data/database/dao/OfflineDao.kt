@@ -12,6 +12,12 @@ internal interface OfflineDao {
     @Query("SELECT * FROM offline")
     fun monitorOffline(): Flow<List<OfflineEntity>>
 
+    /**
+     * Emits every time the offline table changes, without reading its rows
+     */
+    @Query("SELECT COUNT(*) FROM offline")
+    fun monitorOfflineChanges(): Flow<Int>
+
     @Query("SELECT * FROM offline")
     fun getOfflineFiles(): List<OfflineEntity>?
 
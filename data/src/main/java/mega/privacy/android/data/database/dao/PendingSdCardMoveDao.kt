@@ -0,0 +1,19 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+import mega.privacy.android.data.database.MegaDatabaseConstant.TABLE_PENDING_SD_CARD_MOVE
+import mega.privacy.android.data.database.entity.PendingSdCardMoveEntity
+
+@Dao
+internal interface PendingSdCardMoveDao {
+    @Query("SELECT * FROM $TABLE_PENDING_SD_CARD_MOVE ORDER BY id")
+    suspend fun getAllPendingSdCardMoves(): List<PendingSdCardMoveEntity>
+
+    @Insert
+    suspend fun insertPendingSdCardMove(entity: PendingSdCardMoveEntity): Long
+
+    @Query("DELETE FROM $TABLE_PENDING_SD_CARD_MOVE WHERE id = :id")
+    suspend fun deletePendingSdCardMove(id: Long)
+}
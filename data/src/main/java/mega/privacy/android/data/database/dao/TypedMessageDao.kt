@@ -1,6 +1,5 @@
 package mega.privacy.android.data.database.dao
 
-import androidx.paging.PagingSource
 import androidx.room.Dao
 import androidx.room.Insert
 import androidx.room.OnConflictStrategy
@@ -17,14 +16,69 @@ import mega.privacy.android.domain.entity.chat.ChatMessageType
 interface TypedMessageDao {
 
     /**
-     * Get all as paging source
+     * Get the newest messages of a chat, newest first
      *
      * @param chatId
-     * @return paging source
+     * @param limit maximum number of messages
+     * @return messages
      */
     @Transaction
-    @Query("SELECT * FROM typed_messages WHERE chatId = :chatId AND isDeleted = 0 ORDER BY timestamp DESC")
-    fun getAllAsPagingSource(chatId: Long): PagingSource<Int, MetaTypedMessageEntity>
+    @Query("SELECT * FROM typed_messages WHERE chatId = :chatId AND isDeleted = 0 ORDER BY timestamp DESC, messageId DESC LIMIT :limit")
+    suspend fun getNewestMessages(chatId: Long, limit: Int): List<MetaTypedMessageEntity>
+
+    /**
+     * Get the messages of a chat from the given one, included, to older ones, newest first
+     *
+     * @param chatId
+     * @param timestamp timestamp of the first message
+     * @param messageId id of the first message
+     * @param limit maximum number of messages
+     * @return messages
+     */
+    @Transaction
+    @Query("SELECT * FROM typed_messages WHERE chatId = :chatId AND isDeleted = 0 AND timestamp <= :timestamp AND (timestamp < :timestamp OR messageId <= :messageId) ORDER BY timestamp DESC, messageId DESC LIMIT :limit")
+    suspend fun getMessagesFrom(
+        chatId: Long,
+        timestamp: Long,
+        messageId: Long,
+        limit: Int,
+    ): List<MetaTypedMessageEntity>
+
+    /**
+     * Get the messages of a chat older than the given one, newest first
+     *
+     * @param chatId
+     * @param timestamp timestamp of the message
+     * @param messageId id of the message
+     * @param limit maximum number of messages
+     * @return messages
+     */
+    @Transaction
+    @Query("SELECT * FROM typed_messages WHERE chatId = :chatId AND isDeleted = 0 AND timestamp <= :timestamp AND (timestamp < :timestamp OR messageId < :messageId) ORDER BY timestamp DESC, messageId DESC LIMIT :limit")
+    suspend fun getMessagesOlderThan(
+        chatId: Long,
+        timestamp: Long,
+        messageId: Long,
+        limit: Int,
+    ): List<MetaTypedMessageEntity>
+
+    /**
+     * Get the messages of a chat newer than the given one, oldest first
+     *
+     * @param chatId
+     * @param timestamp timestamp of the message
+     * @param messageId id of the message
+     * @param limit maximum number of messages
+     * @return messages
+     */
+    @Transaction
+    @Query("SELECT * FROM typed_messages WHERE chatId = :chatId AND isDeleted = 0 AND timestamp >= :timestamp AND (timestamp > :timestamp OR messageId > :messageId) ORDER BY timestamp ASC, messageId ASC LIMIT :limit")
+    suspend fun getMessagesNewerThan(
+        chatId: Long,
+        timestamp: Long,
+        messageId: Long,
+        limit: Int,
+    ): List<MetaTypedMessageEntity>
 
     /**
      * Insert all
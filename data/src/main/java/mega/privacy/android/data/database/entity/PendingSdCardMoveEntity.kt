@@ -0,0 +1,23 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant.TABLE_PENDING_SD_CARD_MOVE
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
+
+/**
+ * Pending sd card move database entity for [PendingSdCardMove]
+ *
+ * @property id
+ * @property filePath
+ * @property destinationUri
+ * @property subFolders the sub folders joined with the path separator, which can't be part of a name
+ */
+@Entity(tableName = TABLE_PENDING_SD_CARD_MOVE)
+data class PendingSdCardMoveEntity(
+    @PrimaryKey(autoGenerate = true) @ColumnInfo("id") val id: Long? = null,
+    @ColumnInfo("filePath") val filePath: String,
+    @ColumnInfo("destinationUri") val destinationUri: String,
+    @ColumnInfo("subFolders") val subFolders: String,
+)
@@ -21,6 +21,7 @@ import mega.privacy.android.data.facade.MegaApiFolderFacade
 import mega.privacy.android.data.facade.MegaChatApiFacade
 import mega.privacy.android.data.facade.MegaLocalRoomFacade
 import mega.privacy.android.data.facade.MegaLocalStorageFacade
+import mega.privacy.android.data.facade.NodeUpdateFacade
 import mega.privacy.android.data.facade.NotificationsFacade
 import mega.privacy.android.data.facade.PermissionFacade
 import mega.privacy.android.data.facade.SDCardFacade
@@ -51,6 +52,7 @@ import mega.privacy.android.data.gateway.HttpConnectionGateway
 import mega.privacy.android.data.gateway.MediaRecorderGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
+import mega.privacy.android.data.gateway.NodeUpdateGateway
 import mega.privacy.android.data.gateway.NotificationsGateway
 import mega.privacy.android.data.gateway.PermissionGateway
 import mega.privacy.android.data.gateway.SDCardGateway
@@ -209,6 +211,13 @@ internal abstract class GatewayModule {
     @Singleton
     abstract fun bindAppEventGateway(implementation: AppEventFacade): AppEventGateway
 
+    /**
+     * Provide default implementation of [NodeUpdateGateway]
+     */
+    @Binds
+    @Singleton
+    abstract fun bindNodeUpdateGateway(implementation: NodeUpdateFacade): NodeUpdateGateway
+
 
     /**
      * Provide default implementation of [TelephonyGateway]
@@ -24,6 +24,7 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PendingSdCardMoveDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
@@ -220,4 +221,9 @@ internal object RoomDatabaseModule {
     internal fun providePendingTransferDao(database: MegaDatabase): PendingTransferDao =
         database.pendingTransferDao()
 
+    @Provides
+    @Singleton
+    internal fun providePendingSdCardMoveDao(database: MegaDatabase): PendingSdCardMoveDao =
+        database.pendingSdCardMoveDao()
+
 }
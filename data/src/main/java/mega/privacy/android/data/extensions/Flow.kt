@@ -1,16 +1,20 @@
 package mega.privacy.android.data.extensions
 
 import kotlinx.coroutines.Job
-import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.consumeEach
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.FlowCollector
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
-import kotlinx.coroutines.withContext
 import kotlin.coroutines.cancellation.CancellationException
 import kotlin.time.Duration
 
@@ -29,43 +33,51 @@ private class TimeChunkedFlow<T>(
         get() = _pendingValues
 
     override suspend fun collect(collector: FlowCollector<List<T>>) = coroutineScope {
-        upstream.collect {
-            mutex.withLock {
-                values.add(it)
-            }
-            if (flushOnIdleDuration < chunkDuration) {
-                noEventsFlushJob?.cancel()
-                noEventsFlushJob = launch {
-                    delay(flushOnIdleDuration)
-                    flushEvents(collector)
-                }
-            }
-            if (!flushScheduled) {
-                flushScheduled = true
-                launch {
-                    try {
-                        delay(chunkDuration)
+        // The timers only request the flushes, the chunks are emitted by the collecting coroutine
+        val flushRequests = Channel<Unit>(Channel.CONFLATED)
+        launch {
+            coroutineScope {
+                upstream.collect {
+                    mutex.withLock {
+                        values.add(it)
+                    }
+                    if (flushOnIdleDuration < chunkDuration) {
                         noEventsFlushJob?.cancel()
-                        flushEvents(collector)
-                    } catch (e: CancellationException) {
-                        _pendingValues = values
-                        throw e
+                        noEventsFlushJob = launch {
+                            delay(flushOnIdleDuration)
+                            flushRequests.send(Unit)
+                        }
+                    }
+                    if (!flushScheduled) {
+                        flushScheduled = true
+                        launch {
+                            delay(chunkDuration)
+                            noEventsFlushJob?.cancel()
+                            flushRequests.send(Unit)
+                        }
                     }
                 }
             }
+            flushRequests.close()
+        }
+        try {
+            flushRequests.consumeEach { flushEvents(collector) }
+        } catch (e: CancellationException) {
+            _pendingValues = values
+            throw e
         }
     }
 
     private suspend fun flushEvents(collector: FlowCollector<List<T>>) {
         flushScheduled = false
         mutex.withLock {
-            withContext(NonCancellable) {
-                val toEmit = values.toList()
-                values.clear()
-                _pendingValues = emptyList()
-                if (toEmit.isNotEmpty()) {
-                    collector.emit(toEmit.toList())
-                }
+            // A cancelled collection doesn't receive the values, so they are kept as pending
+            currentCoroutineContext().ensureActive()
+            val toEmit = values.toList()
+            values.clear()
+            _pendingValues = emptyList()
+            if (toEmit.isNotEmpty()) {
+                collector.emit(toEmit)
             }
         }
     }
@@ -109,16 +121,20 @@ class ChunkCancelledWithPendingValuesException(
 fun <T> Flow<T>.chunked(
     chunkDuration: Duration,
     flushOnIdleDuration: Duration = chunkDuration,
-): Flow<List<T>> = TimeChunkedFlow(this, chunkDuration, flushOnIdleDuration)
-    .let {
-        it.onCompletion { e ->
-            if (e is CancellationException && it.pendingValues.isNotEmpty()) {
-                throw ChunkCancelledWithPendingValuesException(it.pendingValues, e)
-            } else if (e != null) {
-                throw e
+): Flow<List<T>> = flow {
+    // A new chunked flow for each collection, so the pending values are never shared by two of them
+    TimeChunkedFlow(this@chunked, chunkDuration, flushOnIdleDuration)
+        .let {
+            it.onCompletion { e ->
+                if (e is CancellationException && it.pendingValues.isNotEmpty()) {
+                    throw ChunkCancelledWithPendingValuesException(it.pendingValues, e)
+                } else if (e != null) {
+                    throw e
+                }
             }
         }
-    }
+        .let { emitAll(it) }
+}
 
 /**
  * Returns a flow emitting every [chunkDuration] a list of the values received since last emission, if any.
@@ -145,4 +161,70 @@ suspend fun <T> Flow<T>.collectChunked(
                 throw e
             }
         }
-    }.collect(collector)
\ No newline at end of file
+    }.collect(collector)
+
+/**
+ * Holder of a pending value of [conflateLatestBy], so a conflatable value can be replaced while
+ * keeping its position
+ */
+private class ConflatedSlot<T, K>(val key: K, var value: T)
+
+/**
+ * Returns a flow that, while the collector is busy, only keeps the latest conflatable value for each key.
+ *
+ * A conflatable value replaces the pending conflatable value with the same key, keeping its position.
+ * Values that are not conflatable are always emitted, in the same order they were received.
+ * A conflatable value received after a not conflatable one with the same key is never emitted before it.
+ *
+ * Upstream is collected in a separate coroutine, so it is never suspended by a slow collector
+ * and the pending values are bounded by the number of keys and not conflatable values.
+ *
+ * @param key returns the key of a value
+ * @param isConflatable returns true if the value can be replaced by a newer value with the same key
+ * @return flow emitting the values received, conflating the conflatable ones by key
+ */
+fun <T, K> Flow<T>.conflateLatestBy(
+    key: (T) -> K,
+    isConflatable: (T) -> Boolean,
+): Flow<T> = flow {
+    val pendingSlots = ArrayDeque<ConflatedSlot<T, K>>()
+    val conflatableSlots = HashMap<K, ConflatedSlot<T, K>>()
+    coroutineScope {
+        val pendingSignal = Channel<Unit>(Channel.CONFLATED)
+
+        launch {
+            this@conflateLatestBy.collect { value ->
+                val valueKey = key(value)
+                synchronized(pendingSlots) {
+                    val slot = conflatableSlots[valueKey]
+                    when {
+                        !isConflatable(value) -> {
+                            // Later values with this key must be emitted after this one
+                            conflatableSlots.remove(valueKey)
+                            pendingSlots.addLast(ConflatedSlot(valueKey, value))
+                        }
+
+                        slot != null -> slot.value = value
+                        else -> ConflatedSlot(valueKey, value).let {
+                            conflatableSlots[valueKey] = it
+                            pendingSlots.addLast(it)
+                        }
+                    }
+                }
+                pendingSignal.trySend(Unit)
+            }
+            pendingSignal.close()
+        }
+
+        pendingSignal.consumeEach {
+            while (true) {
+                val slot = synchronized(pendingSlots) {
+                    pendingSlots.removeFirstOrNull()?.also {
+                        if (conflatableSlots[it.key] === it) conflatableSlots.remove(it.key)
+                    }
+                } ?: break
+                emit(slot.value)
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant.CHAT_TEMPORARY_FOLDER
 import mega.privacy.android.data.gateway.CacheFolderGateway
 import mega.privacy.android.data.gateway.FileGateway
@@ -24,12 +25,14 @@ import javax.inject.Inject
  * @property fileGateway [FileGateway]
  * @property appScope [CoroutineScope]
  * @property ioDispatcher [CoroutineDispatcher]
+ * @property mediaDiskCache [MediaDiskCache]
  */
 internal class CacheFolderFacade @Inject constructor(
     @ApplicationContext private val context: Context,
     private val fileGateway: FileGateway,
     @ApplicationScope private val appScope: CoroutineScope,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    private val mediaDiskCache: MediaDiskCache,
 ) : CacheFolderGateway {
 
     override fun getCacheFolder(folderName: String): File? =
@@ -85,7 +88,14 @@ internal class CacheFolderFacade @Inject constructor(
         cacheIntDir?.let {
             Timber.d("Path to check internal: ${it.absolutePath}")
         }
-        fileGateway.getTotalSize(cacheIntDir).plus(fileGateway.getTotalSize(cacheExtDir))
+        // the size of the media folders is known by the disk cache without listing them
+        val internalSize = cacheIntDir?.let { dir ->
+            val mediaSizes = mediaDiskCache.getSizes()
+            mediaSizes.values.sum() + (dir.listFiles()
+                ?.filter { it.name !in mediaSizes }
+                ?.sumOf { fileGateway.getTotalSize(it) } ?: 0L)
+        } ?: fileGateway.getTotalSize(null)
+        internalSize.plus(fileGateway.getTotalSize(cacheExtDir))
     }
 
     override suspend fun clearCache() {
@@ -95,6 +105,7 @@ internal class CacheFolderFacade @Inject constructor(
         } catch (e: IOException) {
             Timber.e("Exception deleting private cache", e)
         }
+        mediaDiskCache.reset()
         clearPublicCache()
     }
 
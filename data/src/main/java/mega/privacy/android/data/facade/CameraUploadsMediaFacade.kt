@@ -11,6 +11,7 @@ import dagger.hilt.android.qualifiers.ApplicationContext
 import mega.privacy.android.data.gateway.CameraUploadsMediaGateway
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import timber.log.Timber
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import kotlin.math.max
 
@@ -43,8 +44,18 @@ internal class CameraUploadsMediaFacade @Inject constructor(
         emptyList()
     }
 
-    override fun getMediaSelectionQuery(parentPath: String): String =
-        "${MediaStore.MediaColumns.DATA} LIKE '${parentPath}%'"
+    override fun getMediaSelectionQuery(
+        parentPath: String,
+        addedOrModifiedSince: Long?,
+    ): String = buildString {
+        append("${MediaStore.MediaColumns.DATA} LIKE '${parentPath}%'")
+        addedOrModifiedSince?.let {
+            // Media Store dates are stored in seconds
+            val seconds = TimeUnit.MILLISECONDS.toSeconds(it)
+            append(" AND (${MediaStore.MediaColumns.DATE_ADDED} >= $seconds")
+            append(" OR ${MediaStore.MediaColumns.DATE_MODIFIED} >= $seconds)")
+        }
+    }
 
     /**
      *  Return the column of the media store to retrieve data from
@@ -35,6 +35,7 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.isActive
@@ -43,6 +44,7 @@ import kotlinx.coroutines.sync.withPermit
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.mapper.file.DocumentFileMapper
+import mega.privacy.android.data.model.document.ChildDocument
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.document.DocumentFolder
 import mega.privacy.android.domain.entity.uri.UriPath
@@ -54,9 +56,7 @@ import java.io.File
 import java.io.FileNotFoundException
 import java.io.FileOutputStream
 import java.io.IOException
-import java.util.Stack
 import javax.inject.Inject
-import kotlin.coroutines.coroutineContext
 import kotlin.math.sqrt
 
 /**
@@ -553,74 +553,129 @@ internal class FileFacade @Inject constructor(
         context.contentResolver.delete(uri, null, null) > 0
 
     override suspend fun getFilesInDocumentFolder(folder: UriPath): DocumentFolder {
-        val uri = Uri.parse(folder.value)
-        val semaphore = Semaphore(10)
-        val document = DocumentFile.fromTreeUri(context, uri) ?: throw FileNotFoundException()
-        val files = document.listFiles()
-        val folders = files.filter { it.isDirectory }
-        val countMap = coroutineScope {
-            folders.map {
-                async {
-                    semaphore.withPermit {
-                        val childFiles = it.listFiles()
-                        val totalDirectory = childFiles.count { it.isDirectory }
-                        val totalFiles = childFiles.size - totalDirectory
-                        totalFiles to totalDirectory
-                    }
-                }
-            }
-        }.awaitAll()
-            .mapIndexed { index, pair ->
-                val file = folders[index]
-                file.uri to pair
-            }.toMap()
-
-        // length, lastModified is heavy operation, so we do it in parallel
-        val entities = coroutineScope {
-            files.mapNotNull { file ->
-                async {
-                    semaphore.withPermit {
-                        val documentUri = file.uri
-                        documentFileMapper(
-                            file = file,
-                            numFiles = countMap[documentUri]?.first ?: 0,
-                            numFolders = countMap[documentUri]?.second ?: 0
-                        )
-                    }
-                }
-            }.awaitAll()
-        }
-        return DocumentFolder(entities)
+        val treeUri = Uri.parse(folder.value)
+        val documents = queryChildDocuments(treeUri, getDocumentId(treeUri))
+            ?: throw FileNotFoundException()
+        val semaphore = Semaphore(MAX_CONCURRENT_DOCUMENT_QUERIES)
+        val children = listChildDocuments(treeUri, documents.filter { it.isFolder }, semaphore)
+        return DocumentFolder(documents.map { mapDocument(it, children[it.documentId]) })
     }
 
     override fun searchFilesInDocumentFolderRecursive(
         folder: UriPath,
         query: String,
     ): Flow<DocumentFolder> = flow {
-        // using stack to avoid recursive call and optimize memory usage
-        val stack = Stack<DocumentFile>()
-        val uri = Uri.parse(folder.value)
-        val document = DocumentFile.fromTreeUri(context, uri) ?: throw FileNotFoundException()
-        stack.addAll(document.listFiles().toList())
-        val result = mutableListOf<DocumentEntity>()
-        while (stack.isNotEmpty() && coroutineContext.isActive) {
-            val file = stack.pop()
-            val childFiles = if (file.isDirectory) file.listFiles().toList() else emptyList()
-            if (file.name.orEmpty().contains(other = query, ignoreCase = true)) {
-                result.add(
-                    documentFileMapper(
-                        file = file,
-                        numFiles = childFiles.count { it.isFile },
-                        numFolders = childFiles.count { it.isDirectory },
-                    )
-                )
-                emit(DocumentFolder(result))
+        val treeUri = Uri.parse(folder.value)
+        val semaphore = Semaphore(MAX_CONCURRENT_DOCUMENT_QUERIES)
+        var documents = queryChildDocuments(treeUri, getDocumentId(treeUri))
+            ?: throw FileNotFoundException()
+        var hasEmitted = false
+        // walk the tree breadth first, a level at a time, emitting the new matches of each batch
+        while (documents.isNotEmpty() && currentCoroutineContext().isActive) {
+            val nextLevel = mutableListOf<ChildDocument>()
+            documents.chunked(SEARCH_BATCH_SIZE).forEach { batch ->
+                // the children of the folders are listed once, to count them and to walk them
+                val children =
+                    listChildDocuments(treeUri, batch.filter { it.isFolder }, semaphore)
+                children.values.forEach { nextLevel.addAll(it) }
+                val matches = batch.filter { it.name.contains(other = query, ignoreCase = true) }
+                if (matches.isNotEmpty()) {
+                    emit(DocumentFolder(matches.map { mapDocument(it, children[it.documentId]) }))
+                    hasEmitted = true
+                }
             }
-            if (file.isDirectory) {
-                stack.addAll(childFiles)
+            documents = nextLevel
+        }
+        if (!hasEmitted) emit(DocumentFolder(emptyList()))
+    }
+
+    /**
+     * Get the id of the document of a tree uri, or of the root of the tree if it is not a
+     * document uri
+     */
+    private fun getDocumentId(treeUri: Uri): String =
+        if (DocumentsContract.isDocumentUri(context, treeUri)) {
+            DocumentsContract.getDocumentId(treeUri)
+        } else {
+            DocumentsContract.getTreeDocumentId(treeUri)
+        }
+
+    /**
+     * List the children of the [folders] in parallel, by at most [semaphore] permits at a time
+     *
+     * @return the children of each folder by its document id
+     */
+    private suspend fun listChildDocuments(
+        treeUri: Uri,
+        folders: List<ChildDocument>,
+        semaphore: Semaphore,
+    ): Map<String, List<ChildDocument>> = coroutineScope {
+        folders.map { folder ->
+            async {
+                semaphore.withPermit {
+                    val children = runCatching { queryChildDocuments(treeUri, folder.documentId) }
+                        .onFailure { Timber.w(it, "Cannot list the children of a document") }
+                        .getOrNull()
+                    folder.documentId to children.orEmpty()
+                }
+            }
+        }.awaitAll().toMap()
+    }
+
+    /**
+     * Query the children of a document of a tree with a single query that reads all the columns
+     * needed to map them, instead of a query for each column of each child
+     *
+     * @return the children of the document, or null if the provider cannot be queried
+     */
+    private fun queryChildDocuments(treeUri: Uri, documentId: String): List<ChildDocument>? =
+        context.contentResolver.query(
+            DocumentsContract.buildChildDocumentsUriUsingTree(treeUri, documentId),
+            CHILD_DOCUMENT_PROJECTION,
+            null,
+            null,
+            null,
+        )?.use { cursor ->
+            val idIndex =
+                cursor.getColumnIndexOrThrow(DocumentsContract.Document.COLUMN_DOCUMENT_ID)
+            val nameIndex =
+                cursor.getColumnIndexOrThrow(DocumentsContract.Document.COLUMN_DISPLAY_NAME)
+            val sizeIndex = cursor.getColumnIndexOrThrow(DocumentsContract.Document.COLUMN_SIZE)
+            val lastModifiedIndex =
+                cursor.getColumnIndexOrThrow(DocumentsContract.Document.COLUMN_LAST_MODIFIED)
+            val mimeTypeIndex =
+                cursor.getColumnIndexOrThrow(DocumentsContract.Document.COLUMN_MIME_TYPE)
+            buildList(cursor.count) {
+                while (cursor.moveToNext()) {
+                    val childId = cursor.getString(idIndex)
+                    add(
+                        ChildDocument(
+                            documentId = childId,
+                            uri = DocumentsContract.buildDocumentUriUsingTree(treeUri, childId)
+                                .toString(),
+                            name = cursor.getString(nameIndex).orEmpty(),
+                            size = cursor.getLongOrZero(sizeIndex),
+                            lastModified = cursor.getLongOrZero(lastModifiedIndex),
+                            isFolder = cursor.getString(mimeTypeIndex) ==
+                                    DocumentsContract.Document.MIME_TYPE_DIR,
+                        )
+                    )
+                }
             }
         }
-        emit(DocumentFolder(result))
+
+    private fun Cursor.getLongOrZero(index: Int) = if (isNull(index)) 0L else getLong(index)
+
+    private fun mapDocument(
+        document: ChildDocument,
+        children: List<ChildDocument>?,
+    ): DocumentEntity {
+        val numFolders = children?.count { it.isFolder } ?: 0
+        return documentFileMapper(
+            document = document,
+            numFiles = (children?.size ?: 0) - numFolders,
+            numFolders = numFolders,
+        )
     }
 
     @Suppress("Deprecation")
@@ -717,6 +772,15 @@ internal class FileFacade @Inject constructor(
     }
 
     private companion object {
+        const val MAX_CONCURRENT_DOCUMENT_QUERIES = 10
+        const val SEARCH_BATCH_SIZE = 200
+        val CHILD_DOCUMENT_PROJECTION = arrayOf(
+            DocumentsContract.Document.COLUMN_DOCUMENT_ID,
+            DocumentsContract.Document.COLUMN_DISPLAY_NAME,
+            DocumentsContract.Document.COLUMN_SIZE,
+            DocumentsContract.Document.COLUMN_LAST_MODIFIED,
+            DocumentsContract.Document.COLUMN_MIME_TYPE,
+        )
         const val DOWNLOAD_DIR = "MEGA Downloads"
         const val PHOTO_DIR = "MEGA Photos"
         const val OFFLINE_DIR = "MEGA Offline"
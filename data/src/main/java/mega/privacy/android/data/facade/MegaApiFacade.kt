@@ -1,14 +1,14 @@
 package mega.privacy.android.data.facade
 
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.channels.trySendBlocking
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
-import kotlinx.coroutines.flow.buffer
 import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.shareIn
 import kotlinx.coroutines.launch
+import mega.privacy.android.data.extensions.conflateLatestBy
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.listener.IgnoredRequestListener
 import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
@@ -282,22 +282,24 @@ internal class MegaApiFacade @Inject constructor(
         SharingStarted.WhileSubscribed()
     )
 
+    // The events are queued in the default buffer of the callback flow, which the conflation
+    // drains continuously, so the sdk thread only waits if it outpaces the conflation itself
     override val globalTransfer: Flow<GlobalTransfer> = callbackFlow {
         val listener = OptionalMegaTransferListenerInterface(
             onTransferStart = { transfer ->
-                trySend(GlobalTransfer.OnTransferStart(transfer))
+                trySendBlocking(GlobalTransfer.OnTransferStart(transfer))
             },
             onTransferFinish = { transfer, error ->
-                trySend(GlobalTransfer.OnTransferFinish(transfer, error))
+                trySendBlocking(GlobalTransfer.OnTransferFinish(transfer, error))
             },
             onTransferUpdate = { transfer ->
-                trySend(GlobalTransfer.OnTransferUpdate(transfer))
+                trySendBlocking(GlobalTransfer.OnTransferUpdate(transfer))
             },
             onTransferTemporaryError = { transfer, error ->
-                trySend(GlobalTransfer.OnTransferTemporaryError(transfer, error))
+                trySendBlocking(GlobalTransfer.OnTransferTemporaryError(transfer, error))
             },
             onTransferData = { transfer, buffer ->
-                trySend(GlobalTransfer.OnTransferData(transfer, buffer))
+                trySendBlocking(GlobalTransfer.OnTransferData(transfer, buffer))
             },
             onFolderTransferUpdate = {
                     transfer,
@@ -308,7 +310,7 @@ internal class MegaApiFacade @Inject constructor(
                     currentFolder,
                     currentFileLeafName,
                 ->
-                trySend(
+                trySendBlocking(
                     GlobalTransfer.OnFolderTransferUpdate(
                         transfer,
                         stage,
@@ -327,7 +329,10 @@ internal class MegaApiFacade @Inject constructor(
         awaitClose {
             removeTransferListener(listener)
         }
-    }.buffer(Channel.Factory.UNLIMITED).shareIn(sharingScope, SharingStarted.WhileSubscribed())
+    }.conflateLatestBy(
+        key = { it.transfer.tag },
+        isConflatable = { it is GlobalTransfer.OnTransferUpdate },
+    ).shareIn(sharingScope, SharingStarted.WhileSubscribed())
 
     override fun getFavourites(
         node: MegaNode?,
@@ -4,6 +4,7 @@ import dagger.Lazy
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.map
+import mega.privacy.android.data.cache.OfflineInfoCache
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
@@ -13,6 +14,7 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PendingSdCardMoveDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
@@ -27,7 +29,6 @@ import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesModelMapper
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
-import mega.privacy.android.data.mapper.offline.OfflineModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferLegacyModelMapper
@@ -35,6 +36,8 @@ import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferMode
 import mega.privacy.android.data.mapper.transfer.pending.InsertPendingTransferRequestMapper
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferModelMapper
+import mega.privacy.android.data.mapper.transfer.sd.PendingSdCardMoveEntityMapper
+import mega.privacy.android.data.mapper.transfer.sd.PendingSdCardMoveModelMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferModelMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedEntityMapper
@@ -60,6 +63,7 @@ import mega.privacy.android.domain.entity.transfer.pending.UpdateAlreadyTransfer
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferRequest
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdateScanningFoldersData
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
 import javax.inject.Inject
 
 internal class MegaLocalRoomFacade @Inject constructor(
@@ -85,8 +89,8 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val encryptData: EncryptData,
     private val decryptData: DecryptData,
     private val offlineDao: Lazy<OfflineDao>,
-    private val offlineModelMapper: OfflineModelMapper,
     private val offlineEntityMapper: OfflineEntityMapper,
+    private val offlineInfoCache: OfflineInfoCache,
     private val chatPendingChangesDao: Lazy<ChatPendingChangesDao>,
     private val chatRoomPendingChangesEntityMapper: ChatRoomPendingChangesEntityMapper,
     private val chatRoomPendingChangesModelMapper: ChatRoomPendingChangesModelMapper,
@@ -97,6 +101,9 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val pendingTransferEntityMapper: PendingTransferEntityMapper,
     private val pendingTransferModelMapper: PendingTransferModelMapper,
     private val insertPendingTransferRequestMapper: InsertPendingTransferRequestMapper,
+    private val pendingSdCardMoveDao: Lazy<PendingSdCardMoveDao>,
+    private val pendingSdCardMoveEntityMapper: PendingSdCardMoveEntityMapper,
+    private val pendingSdCardMoveModelMapper: PendingSdCardMoveModelMapper,
 ) : MegaLocalRoomGateway {
     override suspend fun insertContact(contact: Contact) {
         contactDao.get().insertOrUpdateContact(contactEntityMapper(contact))
@@ -186,13 +193,13 @@ internal class MegaLocalRoomFacade @Inject constructor(
         completedTransferDao.get().deleteAllCompletedTransfers()
 
     override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
+        val encryptedStates = encryptData(states.map { it.toString() }).filterNotNull()
         return completedTransferDao.get().getCompletedTransfersByState(encryptedStates)
             .map { entity -> completedTransferModelMapper(entity) }
     }
 
     override suspend fun deleteCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
+        val encryptedStates = encryptData(states.map { it.toString() }).filterNotNull()
         val entities = completedTransferDao.get().getCompletedTransfersByState(encryptedStates)
         deleteCompletedTransferBatch(entities.mapNotNull { it.id })
         return entities.map { entity -> completedTransferModelMapper(entity) }
@@ -227,7 +234,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
                 val firstHundred = legacyEntities
                     .sortedWith(compareByDescending { it.timestamp })
                     .take(100)
-                addCompletedTransfers(firstHundred.map { completedTransferLegacyModelMapper(it) })
+                addCompletedTransfers(completedTransferLegacyModelMapper(firstHundred))
                 completedTransferDao.get().deleteAllLegacyCompletedTransfers()
             }
     }
@@ -283,6 +290,17 @@ internal class MegaLocalRoomFacade @Inject constructor(
         sdTransferDao.get().deleteSdTransferByTag(tag)
     }
 
+    override suspend fun getAllPendingSdCardMoves(): List<PendingSdCardMove> =
+        pendingSdCardMoveDao.get().getAllPendingSdCardMoves()
+            .map { pendingSdCardMoveModelMapper(it) }
+
+    override suspend fun insertPendingSdCardMove(move: PendingSdCardMove): Long =
+        pendingSdCardMoveDao.get().insertPendingSdCardMove(pendingSdCardMoveEntityMapper(move))
+
+    override suspend fun deletePendingSdCardMove(id: Long) {
+        pendingSdCardMoveDao.get().deletePendingSdCardMove(id)
+    }
+
     override suspend fun getCompletedTransferById(id: Int) = completedTransferDao.get()
         .getCompletedTransferById(id)?.let { completedTransferModelMapper(it) }
 
@@ -416,49 +434,49 @@ internal class MegaLocalRoomFacade @Inject constructor(
     }
 
     override suspend fun isOfflineInformationAvailable(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}") != null
+        offlineInfoCache.getByHandle("$nodeHandle") != null
 
     override suspend fun getOfflineInformation(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}")?.let {
-            offlineModelMapper(it)
-        }
+        offlineInfoCache.getByHandle("$nodeHandle")
 
     override suspend fun saveOfflineInformation(offline: Offline) =
         offlineEntityMapper(offline).let {
-            offlineDao.get().insertOrUpdateOffline(it)
+            offlineDao.get().insertOrUpdateOffline(it).also { id ->
+                offlineInfoCache.insert(id.toInt(), it, offline)
+            }
         }
 
-    override suspend fun clearOffline() = offlineDao.get().deleteAllOffline()
+    override suspend fun clearOffline() {
+        offlineDao.get().deleteAllOffline()
+        offlineInfoCache.clear()
+    }
 
-    override fun monitorOfflineUpdates() = offlineDao.get().monitorOffline()
-        .map { it.map { offlineEntity -> offlineModelMapper(offlineEntity) } }
+    override fun monitorOfflineUpdates() = offlineInfoCache.monitorAll()
 
+    override suspend fun getAllOfflineInfo() = offlineInfoCache.getAll()
 
-    override suspend fun getAllOfflineInfo() =
-        offlineDao.get().getOfflineFiles()?.map { offlineModelMapper(it) } ?: emptyList()
+    override suspend fun getAllOfflineInfoByHandle() = offlineInfoCache.getAllByHandle()
 
     override suspend fun removeOfflineInformation(nodeId: String) {
         encryptData(nodeId)?.let {
             offlineDao.get().deleteOfflineByHandle(it)
+            offlineInfoCache.removeByHandle(nodeId)
         }
     }
 
     override suspend fun getOfflineInfoByParentId(parentId: Int): List<Offline> =
-        offlineDao.get().getOfflineByParentId(parentId)?.map {
-            offlineModelMapper(it)
-        } ?: emptyList()
+        offlineInfoCache.getAll().filter { it.parentId == parentId }
 
-    override suspend fun getOfflineLineById(id: Int): Offline? =
-        offlineDao.get().getOfflineById(id)?.let {
-            offlineModelMapper(it)
-        }
+    override suspend fun getOfflineLineById(id: Int): Offline? = offlineInfoCache.getById(id)
 
     override suspend fun removeOfflineInformationById(id: Int) {
         offlineDao.get().deleteOfflineById(id)
+        offlineInfoCache.removeByIds(listOf(id))
     }
 
     override suspend fun removeOfflineInformationByIds(ids: List<Int>) {
         offlineDao.get().deleteOfflineByIds(ids)
+        offlineInfoCache.removeByIds(ids)
     }
 
     private suspend fun deleteCompletedTransferBatch(ids: List<Int>) {
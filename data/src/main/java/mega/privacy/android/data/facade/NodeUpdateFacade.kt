@@ -0,0 +1,101 @@
+package mega.privacy.android.data.facade
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.filterIsInstance
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.mapNotNull
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.flow.update
+import mega.privacy.android.data.extensions.chunked
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.gateway.NodeUpdateGateway
+import mega.privacy.android.data.mapper.NodeUpdateMapper
+import mega.privacy.android.data.mapper.node.NodeMapper
+import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.data.model.node.NodeUpdateStatistics
+import mega.privacy.android.domain.entity.node.NodeChanges
+import mega.privacy.android.domain.entity.node.NodeUpdate
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import nz.mega.sdk.MegaNode
+import timber.log.Timber
+import javax.inject.Inject
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.measureTimedValue
+
+/**
+ * Default implementation of [NodeUpdateGateway]
+ */
+internal class NodeUpdateFacade @Inject constructor(
+    private val megaApiGateway: MegaApiGateway,
+    private val nodeMapper: NodeMapper,
+    private val nodeUpdateMapper: NodeUpdateMapper,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @ApplicationScope private val appScope: CoroutineScope,
+) : NodeUpdateGateway {
+
+    private val _statistics = MutableStateFlow(NodeUpdateStatistics())
+
+    override val statistics: StateFlow<NodeUpdateStatistics> = _statistics.asStateFlow()
+
+    override val nodeUpdates: Flow<NodeUpdate> = megaApiGateway.globalUpdates
+        .filterIsInstance<GlobalUpdate.OnNodesUpdate>()
+        .mapNotNull { it.nodeList }
+        .chunked(BURST_DURATION, BURST_IDLE_DURATION)
+        .map { mapNodeUpdate(it) }
+        .flowOn(ioDispatcher)
+        .shareIn(appScope, SharingStarted.WhileSubscribed())
+
+    /**
+     * Merge the node lists of a burst, keeping the latest version of each node and all its
+     * changes, and map each node once
+     */
+    private suspend fun mapNodeUpdate(nodeLists: List<List<MegaNode>>): NodeUpdate {
+        val nodes = LinkedHashMap<Long, MegaNode>()
+        val changes = HashMap<Long, LinkedHashSet<NodeChanges>>()
+        nodeLists.forEach { nodeList ->
+            nodeList.forEach { megaNode ->
+                nodes[megaNode.handle] = megaNode
+                changes.getOrPut(megaNode.handle) { LinkedHashSet() }
+                    .addAll(nodeUpdateMapper(megaNode))
+            }
+        }
+        val (nodeUpdate, mappingTime) = measureTimedValue {
+            NodeUpdate(
+                nodes.entries.associate { (handle, megaNode) ->
+                    nodeMapper(megaNode = megaNode) to changes.getValue(handle).toList()
+                }
+            )
+        }
+        Timber.d("Mapped a node update batch of %d nodes in %s", nodes.size, mappingTime)
+        _statistics.update {
+            it.copy(
+                batches = it.batches + 1,
+                nodes = it.nodes + nodes.size,
+                lastBatchSize = nodes.size,
+                maxBatchSize = maxOf(it.maxBatchSize, nodes.size),
+                totalMappingTimeMillis = it.totalMappingTimeMillis + mappingTime.inWholeMilliseconds,
+            )
+        }
+        return nodeUpdate
+    }
+
+    companion object {
+        /**
+         * Maximum time node updates are held to be merged with the following ones
+         */
+        private val BURST_DURATION = 200.milliseconds
+
+        /**
+         * Time without new node updates after which the merged ones are emitted
+         */
+        private val BURST_IDLE_DURATION = 50.milliseconds
+    }
+}
@@ -4,6 +4,7 @@ import androidx.room.withTransaction
 import dagger.Lazy
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.database.chat.TypedMessagePagingSource
 import mega.privacy.android.data.database.dao.ChatMessageMetaDao
 import mega.privacy.android.data.database.dao.ChatNodeDao
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
@@ -40,8 +41,9 @@ internal class ChatStorageFacade @Inject constructor(
      * @param chatId Chat ID
      * @return paging source
      */
-    override fun getTypedMessageRequestPagingSource(chatId: Long) =
-        database.get().typedMessageDao().getAllAsPagingSource(chatId)
+    override fun getTypedMessageRequestPagingSource(chatId: Long) = with(database.get()) {
+        TypedMessagePagingSource(chatId, typedMessageDao(), this)
+    }
 
     /**
      * Store messages
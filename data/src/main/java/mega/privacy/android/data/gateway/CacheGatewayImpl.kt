@@ -4,6 +4,7 @@ import android.content.Context
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.database.MegaDatabaseConstant
 import mega.privacy.android.domain.qualifier.IoDispatcher
@@ -16,10 +17,12 @@ import javax.inject.Inject
  *
  * @property context
  * @property ioDispatcher
+ * @property mediaDiskCache
  */
 internal class CacheGatewayImpl @Inject constructor(
     @ApplicationContext private val context: Context,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    private val mediaDiskCache: MediaDiskCache,
 ) : CacheGateway {
 
     companion object {
@@ -48,6 +51,7 @@ internal class CacheGatewayImpl @Inject constructor(
             dir.list()?.forEach {
                 deleteDir(File(dir, it))
             }
+            mediaDiskCache.reset()
         } catch (e: Exception) {
             Timber.e(e)
         }
@@ -25,6 +25,8 @@ interface CameraUploadsMediaGateway {
      * Get the selection query to filter the media based on the parent path
      *
      * @param parentPath path that contains the media
+     * @param addedOrModifiedSince if not null, only the media added or modified since this
+     *                             timestamp (in milliseconds) are selected
      */
-    fun getMediaSelectionQuery(parentPath: String): String
+    fun getMediaSelectionQuery(parentPath: String, addedOrModifiedSince: Long?): String
 }
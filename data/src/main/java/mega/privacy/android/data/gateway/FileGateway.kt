@@ -342,6 +342,9 @@ interface FileGateway {
     /**
      * Search files in document folder recursive
      *
+     * The matches are emitted in batches as they are found, each batch only with the new ones.
+     * An empty folder is emitted if nothing matches.
+     *
      * @param folder
      * @param query
      */
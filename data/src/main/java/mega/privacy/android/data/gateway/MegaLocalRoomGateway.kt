@@ -18,6 +18,7 @@ import mega.privacy.android.domain.entity.transfer.pending.InsertPendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferRequest
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
 
 /**
  * Mega local room gateway
@@ -253,6 +254,23 @@ interface MegaLocalRoomGateway {
      */
     suspend fun deleteSdTransferByTag(tag: Int)
 
+    /**
+     * Get all the pending sd card moves, in the order they were inserted
+     */
+    suspend fun getAllPendingSdCardMoves(): List<PendingSdCardMove>
+
+    /**
+     * Insert a pending sd card move
+     *
+     * @return the id of the inserted move
+     */
+    suspend fun insertPendingSdCardMove(move: PendingSdCardMove): Long
+
+    /**
+     * Delete a pending sd card move by id
+     */
+    suspend fun deletePendingSdCardMove(id: Long)
+
     /**
      * Get completed transfer by id
      *
@@ -426,6 +444,11 @@ interface MegaLocalRoomGateway {
      */
     suspend fun getAllOfflineInfo(): List<Offline>
 
+    /**
+     * Get all offline files keyed by node handle
+     */
+    suspend fun getAllOfflineInfoByHandle(): Map<String, Offline>
+
     /**
      * Remove offline node
      */
@@ -0,0 +1,23 @@
+package mega.privacy.android.data.gateway
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.StateFlow
+import mega.privacy.android.data.model.node.NodeUpdateStatistics
+import mega.privacy.android.domain.entity.node.NodeUpdate
+
+/**
+ * Node update gateway
+ */
+internal interface NodeUpdateGateway {
+
+    /**
+     * Hot flow of node updates shared by all the collectors. The nodes of each update are mapped
+     * once, and the updates received in a short window are merged into a single [NodeUpdate].
+     */
+    val nodeUpdates: Flow<NodeUpdate>
+
+    /**
+     * Counters of the batch sizes and mapping time of [nodeUpdates]
+     */
+    val statistics: StateFlow<NodeUpdateStatistics>
+}
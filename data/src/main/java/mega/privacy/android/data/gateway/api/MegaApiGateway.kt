@@ -294,6 +294,9 @@ interface MegaApiGateway {
 
     /**
      * Global transfer
+     *
+     * Pending [GlobalTransfer.OnTransferUpdate] events are conflated by transfer tag, so slow
+     * collectors only receive the latest update of each transfer. Any other event is always emitted.
      */
     val globalTransfer: Flow<GlobalTransfer>
 
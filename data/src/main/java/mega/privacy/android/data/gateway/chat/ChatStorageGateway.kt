@@ -11,6 +11,7 @@ import mega.privacy.android.data.database.entity.chat.RichPreviewEntity
 import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
 import mega.privacy.android.domain.entity.chat.ChatMessageType
 import mega.privacy.android.domain.entity.chat.PendingMessageState
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageRequest
 
 /**
@@ -23,7 +24,7 @@ interface ChatStorageGateway {
      * @param chatId
      * @return
      */
-    fun getTypedMessageRequestPagingSource(chatId: Long): PagingSource<Int, MetaTypedMessageEntity>
+    fun getTypedMessageRequestPagingSource(chatId: Long): PagingSource<MessagePagingKey, MetaTypedMessageEntity>
 
     /**
      * Store messages
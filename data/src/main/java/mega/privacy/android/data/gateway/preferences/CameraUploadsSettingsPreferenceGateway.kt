@@ -205,4 +205,50 @@ interface CameraUploadsSettingsPreferenceGateway {
      * @param chargingRequired the new Device charging state
      */
     suspend fun setChargingRequiredToUploadContent(chargingRequired: Boolean)
+
+    /**
+     * Gets the timestamp of the last Media Store scan of the Primary Folder. Only the media added
+     * or modified since then need to be retrieved in the next scan
+     *
+     * @return the scan cursor timestamp in milliseconds, or null if no scan has been recorded
+     */
+    suspend fun getPrimaryMediaScanCursor(): Long?
+
+    /**
+     * Sets the timestamp of the last Media Store scan of the Primary Folder
+     *
+     * @param timestamp the scan cursor timestamp in milliseconds. If null, the next scan will
+     * retrieve all media in the Primary Folder
+     */
+    suspend fun setPrimaryMediaScanCursor(timestamp: Long?)
+
+    /**
+     * Gets the timestamp of the last Media Store scan of the Secondary Folder. Only the media added
+     * or modified since then need to be retrieved in the next scan
+     *
+     * @return the scan cursor timestamp in milliseconds, or null if no scan has been recorded
+     */
+    suspend fun getSecondaryMediaScanCursor(): Long?
+
+    /**
+     * Sets the timestamp of the last Media Store scan of the Secondary Folder
+     *
+     * @param timestamp the scan cursor timestamp in milliseconds. If null, the next scan will
+     * retrieve all media in the Secondary Folder
+     */
+    suspend fun setSecondaryMediaScanCursor(timestamp: Long?)
+
+    /**
+     * Gets the timestamp of the last full Media Store scan
+     *
+     * @return the timestamp in milliseconds, or null if no full scan has been recorded
+     */
+    suspend fun getLastFullMediaScanTimestamp(): Long?
+
+    /**
+     * Sets the timestamp of the last full Media Store scan
+     *
+     * @param timestamp the timestamp in milliseconds
+     */
+    suspend fun setLastFullMediaScanTimestamp(timestamp: Long)
 }
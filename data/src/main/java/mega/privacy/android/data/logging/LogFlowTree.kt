@@ -3,7 +3,7 @@ package mega.privacy.android.data.logging
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
-import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.launch
@@ -14,12 +14,19 @@ import mega.privacy.android.domain.entity.logging.LogEntry
 import mega.privacy.android.domain.entity.logging.LogPriority
 import mega.privacy.android.domain.usecase.CreateLogEntry
 import timber.log.Timber
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Sdk log flow tree
  *
  * Implementation of [Timber.Tree] that converts logging events from the sdk listener to a flow
  *
+ * Logging calls only capture the call site and queue the request in a bounded buffer, a single
+ * coroutine drains it to create the log entries. The call site is only captured for untagged lines,
+ * as the caller of tagged lines, like the sdk ones, is never used, and its stack trace is only
+ * resolved if the log entry needs it. If the buffer is full the log line is dropped and counted, and the
+ * number of dropped lines is logged before the next entry.
+ *
  * @property logFlow a flow where all sdk log messages are emitted
  */
 internal class LogFlowTree(
@@ -29,14 +36,19 @@ internal class LogFlowTree(
 
     private val scope = CoroutineScope(Job() + dispatcher)
 
-    private val _logFlow =
-        MutableSharedFlow<LogEntry>(
-            replay = 0,
-            extraBufferCapacity = 1,
-            onBufferOverflow = BufferOverflow.DROP_OLDEST
-        )
+    private val _logFlow = MutableSharedFlow<LogEntry>()
     val logFlow: SharedFlow<LogEntry> = _logFlow
 
+    private val pendingRequests = Channel<CreateLogEntryRequest>(LOG_BUFFER_CAPACITY)
+
+    private val droppedLinesCount = AtomicInteger(0)
+
+    /**
+     * Number of log lines dropped because the buffer was full, since the last time they were reported
+     */
+    val droppedLines: Int
+        get() = droppedLinesCount.get()
+
     private val ignoredClasses = listOf(
         Timber::class.java.name,
         Timber.Forest::class.java.name,
@@ -50,20 +62,60 @@ internal class LogFlowTree(
         TimberMegaLogger::class.java.name
     )
 
-    override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
-        val trace = Throwable().stackTrace
+    init {
         scope.launch {
-            createLogEntry(
-                CreateLogEntryRequest(
-                    tag = tag,
-                    message = message,
-                    priority = LogPriority.fromInt(priority),
-                    throwable = t,
-                    trace = trace.asList(),
-                    loggingClasses = ignoredClasses,
-                    sdkLoggers = sdkLoggers)
-            )?.let { _logFlow.emit(it) }
+            for (request in pendingRequests) {
+                reportDroppedLines()
+                createLogEntry(request)?.let { _logFlow.emit(it) }
+            }
         }
     }
 
-}
\ No newline at end of file
+    override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
+        val request = CreateLogEntryRequest(
+            tag = tag,
+            message = message,
+            priority = LogPriority.fromInt(priority),
+            throwable = t,
+            trace = if (tag == null) LazyStackTrace(Throwable()) else emptyList(),
+            loggingClasses = ignoredClasses,
+            sdkLoggers = sdkLoggers
+        )
+        if (pendingRequests.trySend(request).isFailure) {
+            droppedLinesCount.incrementAndGet()
+        }
+    }
+
+    private suspend fun reportDroppedLines() {
+        val dropped = droppedLinesCount.getAndSet(0)
+        if (dropped > 0) {
+            _logFlow.emit(
+                LogEntry(
+                    message = "$dropped log lines dropped because the logging buffer was full",
+                    priority = LogPriority.WARN.intValue,
+                )
+            )
+        }
+    }
+
+    /**
+     * Stack trace of a logging call site, only resolved when an element is first accessed
+     *
+     * @param callSite throwable created in the logging call
+     */
+    private class LazyStackTrace(callSite: Throwable) : AbstractList<StackTraceElement>() {
+        private val elements by lazy { callSite.stackTrace.asList() }
+
+        override val size: Int
+            get() = elements.size
+
+        override fun get(index: Int): StackTraceElement = elements[index]
+    }
+
+    companion object {
+        /**
+         * Maximum number of log lines waiting to be processed
+         */
+        private const val LOG_BUFFER_CAPACITY = 4096
+    }
+}
@@ -2,11 +2,9 @@ package mega.privacy.android.data.mapper.chat.paging
 
 import androidx.paging.PagingSource
 import androidx.paging.PagingState
-import androidx.room.InvalidationTracker
-import dagger.Lazy
-import mega.privacy.android.data.database.chat.ChatDatabase
 import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
 import timber.log.Timber
 import javax.inject.Inject
 
@@ -17,7 +15,6 @@ import javax.inject.Inject
  */
 class TypedMessagePagingSourceMapper @Inject constructor(
     private val metaTypedEntityTypedMessageMapper: MetaTypedEntityTypedMessageMapper,
-    private val database: Lazy<ChatDatabase>,
 ) {
 
     /**
@@ -26,36 +23,32 @@ class TypedMessagePagingSourceMapper @Inject constructor(
      * @param entityPagingSource
      * @return mapped paging source
      */
-    operator fun invoke(entityPagingSource: PagingSource<Int, MetaTypedMessageEntity>): PagingSource<Int, TypedMessage> {
+    operator fun invoke(entityPagingSource: PagingSource<MessagePagingKey, MetaTypedMessageEntity>): PagingSource<MessagePagingKey, TypedMessage> {
         return MappingPagingSource(
             entityPagingSource,
             metaTypedEntityTypedMessageMapper,
-            database.get(),
         )
     }
 
     internal class MappingPagingSource(
-        private val originalSource: PagingSource<Int, MetaTypedMessageEntity>,
+        private val originalSource: PagingSource<MessagePagingKey, MetaTypedMessageEntity>,
         private val metaTypedMessageEntityMapper: MetaTypedEntityTypedMessageMapper,
-        database: ChatDatabase,
-    ) : PagingSource<Int, TypedMessage>() {
-
-        private val invalidationObserver: InvalidationTracker.Observer =
-            object : InvalidationTracker.Observer("typed_messages") {
-                override fun onInvalidated(tables: Set<String>) {
-                    Timber.d("Paging mediator mapper invalidation observer: invalidated")
-                    invalidate()
-                }
-            }
+    ) : PagingSource<MessagePagingKey, TypedMessage>() {
 
         init {
-            database.invalidationTracker.addObserver(invalidationObserver)
+            originalSource.registerInvalidatedCallback {
+                Timber.d("Paging mediator mapper: original source invalidated")
+                invalidate()
+            }
+            registerInvalidatedCallback { originalSource.invalidate() }
         }
 
-        override fun getRefreshKey(state: PagingState<Int, TypedMessage>) =
-            state.anchorPosition?.let { maxOf(0, it - (state.config.initialLoadSize / 2)) }
+        override fun getRefreshKey(state: PagingState<MessagePagingKey, TypedMessage>) =
+            state.anchorPosition
+                ?.let { state.closestItemToPosition(maxOf(0, it - state.config.initialLoadSize / 2)) }
+                ?.let { MessagePagingKey(time = it.time, msgId = it.msgId) }
 
-        override suspend fun load(params: LoadParams<Int>): LoadResult<Int, TypedMessage> {
+        override suspend fun load(params: LoadParams<MessagePagingKey>): LoadResult<MessagePagingKey, TypedMessage> {
             Timber.d("Paging mediator mapper load: params : $params")
             return when (val originalResult = originalSource.load(params)) {
                 is LoadResult.Error -> {
@@ -1,6 +1,7 @@
 package mega.privacy.android.data.mapper.file
 
 import androidx.documentfile.provider.DocumentFile
+import mega.privacy.android.data.model.document.ChildDocument
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.uri.UriPath
 import javax.inject.Inject
@@ -19,4 +20,14 @@ internal class DocumentFileMapper @Inject constructor() {
         numFiles = numFiles,
         numFolders = numFolders
     )
-}
\ No newline at end of file
+
+    operator fun invoke(document: ChildDocument, numFiles: Int, numFolders: Int) = DocumentEntity(
+        name = document.name,
+        size = document.size,
+        lastModified = document.lastModified,
+        uri = UriPath(document.uri),
+        isFolder = document.isFolder,
+        numFiles = numFiles,
+        numFolders = numFolders
+    )
+}
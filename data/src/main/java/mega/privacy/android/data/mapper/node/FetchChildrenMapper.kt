@@ -43,18 +43,17 @@ internal class FetchChildrenMapper @Inject constructor(
         megaNode: MegaNode,
         fromFolderLink: Boolean = false
     ): suspend (SortOrder) -> List<UnTypedNode> = { order ->
-        val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = NodeId(megaNode.handle),
         )
         withContext(ioDispatcher) {
-            if (fromFolderLink) {
-                megaApiFolderGateway.getChildren(filter, sortOrderIntMapper(order), token)
-                    .map { nodeMapperProvider.get().invoke(it) }
-            } else {
-                megaApiGateway.getChildren(filter, sortOrderIntMapper(order), token)
-                    .map { nodeMapperProvider.get().invoke(it) }
-            }
+            cancelTokenProvider.withQueryCancelToken { token ->
+                if (fromFolderLink) {
+                    megaApiFolderGateway.getChildren(filter, sortOrderIntMapper(order), token)
+                } else {
+                    megaApiGateway.getChildren(filter, sortOrderIntMapper(order), token)
+                }
+            }.map { nodeMapperProvider.get().invoke(it) }
         }
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.FileTypeInfoMapper
 import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.model.node.DefaultFileNode
+import mega.privacy.android.data.model.node.NodeListContext
 import mega.privacy.android.domain.entity.Offline
 import mega.privacy.android.domain.entity.node.ExportedData
 import mega.privacy.android.domain.entity.node.FileNode
@@ -39,12 +40,14 @@ internal class FileNodeMapper @Inject constructor(
      *
      * @param megaNode
      * @param requireSerializedData
+     * @param listContext values shared by all the nodes of the list being mapped, if any
      * @return
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         requireSerializedData: Boolean,
         offline: Offline?,
+        listContext: NodeListContext? = null,
     ): FileNode = DefaultFileNode(
         id = NodeId(megaNode.handle),
         name = megaNode.name,
@@ -59,20 +62,24 @@ internal class FileNodeMapper @Inject constructor(
         modificationTime = megaNode.modificationTime,
         thumbnailPath = getThumbnailCacheFilePath(
             megaNode,
-            cacheGateway.getThumbnailCacheFolder()
+            if (listContext != null) listContext.thumbnailCacheFolder
+            else cacheGateway.getThumbnailCacheFolder()
         ),
         previewPath = getPreviewCacheFilePath(
             megaNode,
-            cacheGateway.getPreviewCacheFolder()
+            if (listContext != null) listContext.previewCacheFolder
+            else cacheGateway.getPreviewCacheFolder()
         ),
         fullSizePath = getFullSizeCacheFilePath(
             megaNode,
-            cacheGateway.getFullSizeCacheFolder()
+            if (listContext != null) listContext.fullSizeCacheFolder
+            else cacheGateway.getFullSizeCacheFolder()
         ),
         type = fileTypeInfoMapper(megaNode.name, megaNode.duration),
         isFavourite = megaNode.isFavourite,
         isMarkedSensitive = megaNode.isMarkedSensitive,
-        isSensitiveInherited = megaApiGateway.isSensitiveInherited(megaNode),
+        isSensitiveInherited = listContext?.isSensitiveInherited
+            ?: megaApiGateway.isSensitiveInherited(megaNode),
         exportedData = megaNode.takeIf { megaNode.isExported }?.let {
             ExportedData(it.publicLink, it.publicLinkCreationTime)
         },
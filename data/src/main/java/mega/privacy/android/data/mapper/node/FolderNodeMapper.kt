@@ -4,6 +4,7 @@ import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.model.node.DefaultFolderNode
+import mega.privacy.android.data.model.node.NodeListContext
 import mega.privacy.android.domain.entity.node.ExportedData
 import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.NodeId
@@ -31,13 +32,15 @@ internal class FolderNodeMapper @Inject constructor(
      *
      * @param megaNode
      * @param requireSerializedData
+     * @param listContext values shared by all the nodes of the list being mapped, if any
      * @return
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         fromFolderLink: Boolean,
         requireSerializedData: Boolean,
-        isAvailableOffline: Boolean
+        isAvailableOffline: Boolean,
+        listContext: NodeListContext? = null,
     ): FolderNode = DefaultFolderNode(
         id = NodeId(megaNode.handle),
         name = megaNode.name,
@@ -57,12 +60,13 @@ internal class FolderNodeMapper @Inject constructor(
             megaApiGateway.getNumChildFiles(megaNode),
         isFavourite = megaNode.isFavourite,
         isMarkedSensitive = megaNode.isMarkedSensitive,
-        isSensitiveInherited = megaApiGateway.isSensitiveInherited(megaNode),
+        isSensitiveInherited = listContext?.isSensitiveInherited
+            ?: megaApiGateway.isSensitiveInherited(megaNode),
         exportedData = megaNode.takeIf { megaNode.isExported }?.let {
             ExportedData(it.publicLink, it.publicLinkCreationTime)
         },
         isTakenDown = megaNode.isTakenDown,
-        isInRubbishBin = megaApiGateway.isInRubbish(megaNode),
+        isInRubbishBin = listContext?.isInRubbishBin ?: megaApiGateway.isInRubbish(megaNode),
         isIncomingShare = megaNode.isInShare,
         isShared = megaNode.isOutShare,
         isPendingShare = megaApiGateway.isPendingShare(megaNode),
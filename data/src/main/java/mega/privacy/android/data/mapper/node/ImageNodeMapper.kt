@@ -13,6 +13,9 @@ import javax.inject.Inject
 
 /**
  * The mapper class to convert from MegaNode to ImageNode
+ *
+ * The serialized data of the image node is only obtained the first time it's read, as most of the
+ * image nodes are only shown in lists and never need it.
  */
 internal class ImageNodeMapper @Inject constructor(
     private val fileTypeInfoMapper: FileTypeInfoMapper,
@@ -68,7 +71,11 @@ internal class ImageNodeMapper @Inject constructor(
             override val downloadFullImage = fullImageFromServerMapper(megaNode)
             override val latitude = megaNode.latitude
             override val longitude = megaNode.longitude
-            override val serializedData = if (requireSerializedData) megaNode.serialize() else null
+            // the mega node is already kept by the download functions, so serializing it only
+            // when it's needed doesn't keep anything else in memory
+            override val serializedData: String? by lazy(LazyThreadSafetyMode.PUBLICATION) {
+                if (requireSerializedData) megaNode.serialize() else null
+            }
             override val isAvailableOffline: Boolean = isAvailableOffline
             override val versionCount: Int = version
             override val description: String? = megaNode.description
@@ -1,5 +1,8 @@
 package mega.privacy.android.data.mapper.node
 
+import mega.privacy.android.data.gateway.CacheGateway
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.model.node.NodeListContext
 import mega.privacy.android.domain.entity.Offline
 import nz.mega.sdk.MegaNode
 import javax.inject.Inject
@@ -9,11 +12,15 @@ import javax.inject.Inject
  *
  * @property folderNodeMapper
  * @property fileNodeMapper
+ * @property cacheGateway
+ * @property megaApiGateway
  * @constructor Create empty Node mapper
  */
 internal class NodeMapper @Inject constructor(
     private val folderNodeMapper: FolderNodeMapper,
     private val fileNodeMapper: FileNodeMapper,
+    private val cacheGateway: CacheGateway,
+    private val megaApiGateway: MegaApiGateway,
 ) {
     /**
      * Invoke
@@ -21,24 +28,45 @@ internal class NodeMapper @Inject constructor(
      * @param megaNode  Mega node to map
      * @param fromFolderLink    If the node mapping is from folder link
      * @param requireSerializedData To se the serializedData only when required and not always
+     * @param listContext values shared by all the nodes of the list being mapped, if any
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         fromFolderLink: Boolean = false,
         requireSerializedData: Boolean = false,
         offline: Offline? = null,
+        listContext: NodeListContext? = null,
     ) = if (megaNode.isFolder) {
         folderNodeMapper(
             megaNode = megaNode,
             fromFolderLink = fromFolderLink,
             requireSerializedData = requireSerializedData,
-            isAvailableOffline = offline != null
+            isAvailableOffline = offline != null,
+            listContext = listContext,
         )
     } else {
         fileNodeMapper(
             megaNode = megaNode,
             requireSerializedData = requireSerializedData,
-            offline = offline
+            offline = offline,
+            listContext = listContext,
         )
     }
+
+    /**
+     * Get the [NodeListContext] to map the children of the [parentNode] in a single pass
+     *
+     * @param parentNode the parent of all the nodes of the list, if they share it
+     */
+    suspend fun getListContext(parentNode: MegaNode?) = NodeListContext(
+        thumbnailCacheFolder = cacheGateway.getThumbnailCacheFolder(),
+        previewCacheFolder = cacheGateway.getPreviewCacheFolder(),
+        fullSizeCacheFolder = cacheGateway.getFullSizeCacheFolder(),
+        // all the descendants of a node are in the rubbish bin if and only if the node is
+        isInRubbishBin = parentNode?.let { megaApiGateway.isInRubbish(it) },
+        // the children inherit the sensitivity of the parent and of its ancestors
+        isSensitiveInherited = parentNode?.let {
+            it.isMarkedSensitive || megaApiGateway.isSensitiveInherited(it)
+        },
+    )
 }
\ No newline at end of file
@@ -8,19 +8,56 @@ import javax.inject.Inject
 internal class CompletedTransferLegacyModelMapper @Inject constructor(
     private val decryptData: DecryptData,
 ) {
-    suspend operator fun invoke(entity: CompletedTransferEntityLegacy) = CompletedTransfer(
-        id = entity.id,
-        fileName = decryptData(entity.fileName).orEmpty(),
-        type = decryptData(entity.type)?.toIntOrNull() ?: -1,
-        state = decryptData(entity.state)?.toIntOrNull() ?: -1,
-        size = decryptData(entity.size).orEmpty(),
-        handle = decryptData(entity.handle)?.toLongOrNull() ?: -1L,
-        path = decryptData(entity.path).orEmpty(),
-        isOffline = decryptData(entity.isOffline)?.toBooleanStrictOrNull(),
-        timestamp = decryptData(entity.timestamp)?.toLongOrNull() ?: -1L,
-        error = decryptData(entity.error),
-        originalPath = decryptData(entity.originalPath).orEmpty(),
-        parentHandle = decryptData(entity.parentHandle)?.toLongOrNull() ?: -1L,
-        appData = decryptData(entity.appData),
+    suspend operator fun invoke(entity: CompletedTransferEntityLegacy) =
+        entity.toModel(entity.encryptedFields().map { decryptData(it) })
+
+    /**
+     * Map the [entities] decrypting all their fields in a single batch
+     */
+    suspend operator fun invoke(entities: List<CompletedTransferEntityLegacy>): List<CompletedTransfer> {
+        val encryptedFields = entities.map { it.encryptedFields() }
+        val decryptedFields = decryptData(encryptedFields.flatten())
+        var start = 0
+        return entities.zip(encryptedFields) { entity, fields ->
+            entity.toModel(decryptedFields.subList(start, start + fields.size))
+                .also { start += fields.size }
+        }
+    }
+
+    private fun CompletedTransferEntityLegacy.encryptedFields() = listOf(
+        fileName,
+        type,
+        state,
+        size,
+        handle,
+        path,
+        isOffline,
+        timestamp,
+        error,
+        originalPath,
+        parentHandle,
+        appData,
     )
+
+    /**
+     * @param decryptedFields the decrypted [encryptedFields], in the same order
+     */
+    private fun CompletedTransferEntityLegacy.toModel(decryptedFields: List<String?>): CompletedTransfer {
+        val fields = decryptedFields.iterator()
+        return CompletedTransfer(
+            id = id,
+            fileName = fields.next().orEmpty(),
+            type = fields.next()?.toIntOrNull() ?: -1,
+            state = fields.next()?.toIntOrNull() ?: -1,
+            size = fields.next().orEmpty(),
+            handle = fields.next()?.toLongOrNull() ?: -1L,
+            path = fields.next().orEmpty(),
+            isOffline = fields.next()?.toBooleanStrictOrNull(),
+            timestamp = fields.next()?.toLongOrNull() ?: -1L,
+            error = fields.next(),
+            originalPath = fields.next().orEmpty(),
+            parentHandle = fields.next()?.toLongOrNull() ?: -1L,
+            appData = fields.next(),
+        )
+    }
 }
@@ -0,0 +1,15 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import mega.privacy.android.data.database.entity.PendingSdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
+import java.io.File
+import javax.inject.Inject
+
+internal class PendingSdCardMoveEntityMapper @Inject constructor() {
+    operator fun invoke(move: PendingSdCardMove) = PendingSdCardMoveEntity(
+        id = move.id,
+        filePath = move.filePath,
+        destinationUri = move.destinationUri,
+        subFolders = move.subFolders.joinToString(File.separator),
+    )
+}
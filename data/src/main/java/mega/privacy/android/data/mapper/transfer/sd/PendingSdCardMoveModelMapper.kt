@@ -0,0 +1,17 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import mega.privacy.android.data.database.entity.PendingSdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
+import java.io.File
+import javax.inject.Inject
+
+internal class PendingSdCardMoveModelMapper @Inject constructor() {
+    operator fun invoke(entity: PendingSdCardMoveEntity) = PendingSdCardMove(
+        id = entity.id,
+        filePath = entity.filePath,
+        destinationUri = entity.destinationUri,
+        subFolders = entity.subFolders.takeIf { it.isNotEmpty() }
+            ?.split(File.separator)
+            .orEmpty(),
+    )
+}
@@ -0,0 +1,20 @@
+package mega.privacy.android.data.model.document
+
+/**
+ * Document of a Storage Access Framework tree, read from a single row of a child documents query
+ *
+ * @property documentId Id of the document in its provider
+ * @property uri Uri of the document in the tree it was listed from
+ * @property name Display name of the document
+ * @property size Size of the document in bytes
+ * @property lastModified Last modified time of the document in milliseconds
+ * @property isFolder True if the document is a directory
+ */
+internal data class ChildDocument(
+    val documentId: String,
+    val uri: String,
+    val name: String,
+    val size: Long,
+    val lastModified: Long,
+    val isFolder: Boolean,
+)
@@ -0,0 +1,23 @@
+package mega.privacy.android.data.model.node
+
+import java.io.File
+
+/**
+ * Values shared by all the nodes of a list, resolved once for the whole list instead of once for
+ * each node when mapping it
+ *
+ * @property thumbnailCacheFolder thumbnail cache folder
+ * @property previewCacheFolder preview cache folder
+ * @property fullSizeCacheFolder full size cache folder
+ * @property isInRubbishBin true if the nodes are in the rubbish bin, null if it's not shared by
+ * all the nodes of the list
+ * @property isSensitiveInherited true if the nodes inherit the sensitivity of an ancestor, null if
+ * it's not shared by all the nodes of the list
+ */
+internal data class NodeListContext(
+    val thumbnailCacheFolder: File?,
+    val previewCacheFolder: File?,
+    val fullSizeCacheFolder: File?,
+    val isInRubbishBin: Boolean?,
+    val isSensitiveInherited: Boolean?,
+)
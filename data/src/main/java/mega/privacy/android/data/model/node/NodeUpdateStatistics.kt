@@ -0,0 +1,18 @@
+package mega.privacy.android.data.model.node
+
+/**
+ * Counters of the node updates mapped by the shared node update stream
+ *
+ * @property batches number of [mega.privacy.android.domain.entity.node.NodeUpdate] emitted
+ * @property nodes total number of nodes mapped
+ * @property lastBatchSize number of nodes of the last batch
+ * @property maxBatchSize number of nodes of the biggest batch
+ * @property totalMappingTimeMillis total time spent mapping the nodes, in milliseconds
+ */
+data class NodeUpdateStatistics(
+    val batches: Long = 0,
+    val nodes: Long = 0,
+    val lastBatchSize: Int = 0,
+    val maxBatchSize: Int = 0,
+    val totalMappingTimeMillis: Long = 0,
+)
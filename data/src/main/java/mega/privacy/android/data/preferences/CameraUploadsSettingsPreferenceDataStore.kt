@@ -69,6 +69,10 @@ internal class CameraUploadsSettingsPreferenceDataStore(
     private val uploadByWifiKey = stringPreferencesKey("uploadByWifiKey")
     private val chargingRequiredToUploadContent =
         stringPreferencesKey("chargingRequiredToUploadContent")
+    private val primaryMediaScanCursorKey = stringPreferencesKey("primaryMediaScanCursorKey")
+    private val secondaryMediaScanCursorKey = stringPreferencesKey("secondaryMediaScanCursorKey")
+    private val lastFullMediaScanTimestampKey =
+        stringPreferencesKey("lastFullMediaScanTimestampKey")
 
     override suspend fun isCameraUploadsEnabled(): Boolean? {
         return getPreferenceFlow().monitor(cameraUploadsEnabledKey)
@@ -125,6 +129,8 @@ internal class CameraUploadsSettingsPreferenceDataStore(
             } else {
                 it[cameraUploadsLocalPathKey] = encryptedValue
             }
+            // The scan cursor only applies to the previous local path
+            it.remove(primaryMediaScanCursorKey)
         }
     }
 
@@ -141,6 +147,8 @@ internal class CameraUploadsSettingsPreferenceDataStore(
             } else {
                 it[mediaUploadsLocalPathKey] = encryptedValue
             }
+            // The scan cursor only applies to the previous local path
+            it.remove(secondaryMediaScanCursorKey)
         }
     }
 
@@ -304,4 +312,52 @@ internal class CameraUploadsSettingsPreferenceDataStore(
             }
         }
     }
+
+    override suspend fun getPrimaryMediaScanCursor(): Long? {
+        return getPreferenceFlow().monitor(primaryMediaScanCursorKey)
+            .map { decryptData(it)?.toLongOrNull() }.firstOrNull()
+    }
+
+    override suspend fun setPrimaryMediaScanCursor(timestamp: Long?) {
+        val encryptedValue = encryptData(timestamp?.toString())
+        editPreferences {
+            if (encryptedValue == null) {
+                it.remove(primaryMediaScanCursorKey)
+            } else {
+                it[primaryMediaScanCursorKey] = encryptedValue
+            }
+        }
+    }
+
+    override suspend fun getSecondaryMediaScanCursor(): Long? {
+        return getPreferenceFlow().monitor(secondaryMediaScanCursorKey)
+            .map { decryptData(it)?.toLongOrNull() }.firstOrNull()
+    }
+
+    override suspend fun setSecondaryMediaScanCursor(timestamp: Long?) {
+        val encryptedValue = encryptData(timestamp?.toString())
+        editPreferences {
+            if (encryptedValue == null) {
+                it.remove(secondaryMediaScanCursorKey)
+            } else {
+                it[secondaryMediaScanCursorKey] = encryptedValue
+            }
+        }
+    }
+
+    override suspend fun getLastFullMediaScanTimestamp(): Long? {
+        return getPreferenceFlow().monitor(lastFullMediaScanTimestampKey)
+            .map { decryptData(it)?.toLongOrNull() }.firstOrNull()
+    }
+
+    override suspend fun setLastFullMediaScanTimestamp(timestamp: Long) {
+        val encryptedValue = encryptData(timestamp.toString())
+        editPreferences {
+            if (encryptedValue == null) {
+                it.remove(lastFullMediaScanTimestampKey)
+            } else {
+                it[lastFullMediaScanTimestampKey] = encryptedValue
+            }
+        }
+    }
 }
@@ -34,19 +34,20 @@ internal class AudioSectionRepositoryImpl @Inject constructor(
     override suspend fun getAllAudios(order: SortOrder): List<TypedAudioNode> =
         withContext(ioDispatcher) {
             val offlineItems = getAllOfflineNodeHandle()
-            val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
             val filter = megaSearchFilterMapper(
                 searchTarget = SearchTarget.ROOT_NODES,
                 searchCategory = SearchCategory.AUDIO
             )
-            megaApiGateway.searchWithFilter(
-                filter,
-                sortOrderIntMapper(order),
-                megaCancelToken,
-            ).map { megaNode ->
+            cancelTokenProvider.withQueryCancelToken { megaCancelToken ->
+                megaApiGateway.searchWithFilter(
+                    filter,
+                    sortOrderIntMapper(order),
+                    megaCancelToken,
+                )
+            }.map { megaNode ->
                 typedAudioNodeMapper(
                     fileNode = megaNode.convertToFileNode(
-                        offlineItems?.get(megaNode.handle.toString())
+                        offlineItems[megaNode.handle.toString()]
                     ),
                     duration = megaNode.duration,
                 )
@@ -54,7 +55,7 @@ internal class AudioSectionRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun MegaNode.convertToFileNode(offline: Offline?) = fileNodeMapper(
         megaNode = this, requireSerializedData = false, offline = offline
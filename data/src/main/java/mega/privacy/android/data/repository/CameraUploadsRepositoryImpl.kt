@@ -536,8 +536,41 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
 
     override fun getMediaUploadsName() = context.getString(R.string.section_secondary_media_uploads)
 
-    override fun getMediaSelectionQuery(parentPath: String): String =
-        cameraUploadsMediaGateway.getMediaSelectionQuery(parentPath)
+    override fun getMediaSelectionQuery(parentPath: String, addedOrModifiedSince: Long?): String =
+        cameraUploadsMediaGateway.getMediaSelectionQuery(parentPath, addedOrModifiedSince)
+
+    override suspend fun getMediaScanCursor(folderType: CameraUploadFolderType) =
+        withContext(ioDispatcher) {
+            when (folderType) {
+                CameraUploadFolderType.Primary ->
+                    cameraUploadsSettingsPreferenceGateway.getPrimaryMediaScanCursor()
+
+                CameraUploadFolderType.Secondary ->
+                    cameraUploadsSettingsPreferenceGateway.getSecondaryMediaScanCursor()
+            }
+        }
+
+    override suspend fun setMediaScanCursor(
+        folderType: CameraUploadFolderType,
+        timestamp: Long?,
+    ) = withContext(ioDispatcher) {
+        when (folderType) {
+            CameraUploadFolderType.Primary ->
+                cameraUploadsSettingsPreferenceGateway.setPrimaryMediaScanCursor(timestamp)
+
+            CameraUploadFolderType.Secondary ->
+                cameraUploadsSettingsPreferenceGateway.setSecondaryMediaScanCursor(timestamp)
+        }
+    }
+
+    override suspend fun getLastFullMediaScanTimestamp() = withContext(ioDispatcher) {
+        cameraUploadsSettingsPreferenceGateway.getLastFullMediaScanTimestamp()
+    }
+
+    override suspend fun setLastFullMediaScanTimestamp(timestamp: Long) =
+        withContext(ioDispatcher) {
+            cameraUploadsSettingsPreferenceGateway.setLastFullMediaScanTimestamp(timestamp)
+        }
 
     override suspend fun insertOrUpdateCameraUploadsRecords(records: List<CameraUploadsRecord>) =
         withContext(ioDispatcher) {
@@ -590,6 +623,8 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
         folderTypes: List<CameraUploadFolderType>,
     ) = withContext(ioDispatcher) {
         megaLocalRoomGateway.deleteCameraUploadsRecords(folderTypes)
+        // Cleared media have to be retrieved again by the next scan
+        folderTypes.forEach { setMediaScanCursor(it, null) }
     }
 
     override fun monitorIsChargingRequiredToUploadContent(): Flow<Boolean?> =
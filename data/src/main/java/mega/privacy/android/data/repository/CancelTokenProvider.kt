@@ -1,14 +1,29 @@
 package mega.privacy.android.data.repository
 
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import nz.mega.sdk.MegaCancelToken
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * Common source to get cancel token. Only one cancel token related query should exist at a given time, so this is the common source for it.
+ * Common source to get cancel tokens.
+ *
+ * Sdk queries (search, children listing...) should use [withQueryCancelToken], so each query gets
+ * its own token, cancelled only when the calling coroutine is cancelled.
+ *
+ * The shared token returned by [getOrCreateCancelToken] is kept for the operations that need to
+ * be cancelled explicitly from elsewhere, like transfers, with [cancelCurrentToken].
  */
 @Singleton
 internal class CancelTokenProvider @Inject constructor(
@@ -17,6 +32,44 @@ internal class CancelTokenProvider @Inject constructor(
 
     private var megaCancelToken: MegaCancelToken? = null
     private val mutex = Mutex()
+    private val _inFlightQueries = MutableStateFlow(0)
+
+    /**
+     * Number of sdk queries currently running with a token from [withQueryCancelToken], for
+     * diagnostics
+     */
+    val inFlightQueries: StateFlow<Int> = _inFlightQueries.asStateFlow()
+
+    /**
+     * Runs the [block] with a new cancel token, that is cancelled if the calling coroutine is
+     * cancelled before the [block] finishes. This way a superseded sdk query is aborted without
+     * affecting any other query.
+     *
+     * @param block the sdk query, it must not cancel the token directly
+     * @return the result of the [block]
+     */
+    suspend fun <T> withQueryCancelToken(block: suspend (MegaCancelToken) -> T): T =
+        coroutineScope {
+            val token = megaApiGateway.createCancelToken()
+            val isFinished = AtomicBoolean(false)
+            // The sdk queries are blocking calls, so the token needs to be cancelled from another
+            // coroutine as soon as this one is cancelled
+            val cancellationWatcher = launch(start = CoroutineStart.UNDISPATCHED) {
+                try {
+                    awaitCancellation()
+                } finally {
+                    if (!isFinished.get()) token.cancel()
+                }
+            }
+            _inFlightQueries.update { it + 1 }
+            try {
+                block(token)
+            } finally {
+                isFinished.set(true)
+                cancellationWatcher.cancel()
+                _inFlightQueries.update { it - 1 }
+            }
+        }
 
     /**
      * Get the current cancel token or creates a new one if it doesn't exist or it's already cancelled
@@ -41,7 +94,8 @@ internal class CancelTokenProvider @Inject constructor(
     }
 
     /**
-     * Cancel and invalidates the current cancel token, if exists
+     * Cancel and invalidates the current cancel token, if exists. Tokens of [withQueryCancelToken]
+     * are not affected.
      */
     suspend fun cancelCurrentToken() {
         megaCancelToken?.cancel()
@@ -56,4 +110,4 @@ internal class CancelTokenProvider @Inject constructor(
             megaCancelToken = null
         }
     }
-}
\ No newline at end of file
+}
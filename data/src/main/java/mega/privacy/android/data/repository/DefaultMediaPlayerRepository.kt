@@ -291,7 +291,7 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
         return handles.mapNotNull { handle ->
             megaApi.getMegaNodeByHandle(handle)
         }.map { node ->
-            convertToTypedAudioNode(node = node, offline = offlineMap?.get(node.handle.toString()))
+            convertToTypedAudioNode(node = node, offline = offlineMap[node.handle.toString()])
         }
     }
 
@@ -300,12 +300,12 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
         return handles.mapNotNull { handle ->
             megaApi.getMegaNodeByHandle(handle)
         }.map { node ->
-            convertToTypedVideoNode(node = node, offline = offlineMap?.get(node.handle.toString()))
+            convertToTypedVideoNode(node = node, offline = offlineMap[node.handle.toString()])
         }
     }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     override suspend fun getVideoNodeByHandle(handle: Long, attemptFromFolderApi: Boolean) =
         withContext(ioDispatcher) {
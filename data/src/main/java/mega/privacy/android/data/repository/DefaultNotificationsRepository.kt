@@ -35,8 +35,10 @@ import mega.privacy.android.domain.repository.NotificationsRepository
 import mega.privacy.android.domain.usecase.meeting.FetchNumberOfScheduledMeetingOccurrencesByChat
 import mega.privacy.android.domain.usecase.meeting.GetScheduledMeeting
 import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaPushNotificationSettings
 import nz.mega.sdk.MegaUser
+import nz.mega.sdk.MegaUserAlert
 import timber.log.Timber
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -73,15 +75,7 @@ internal class DefaultNotificationsRepository @Inject constructor(
         .filterIsInstance<GlobalUpdate.OnUserAlertsUpdate>()
         .mapNotNull { (newUserAlerts) ->
             withContext(dispatcher) {
-                val userAlerts = newUserAlerts?.map { userAlert ->
-                    userAlertsMapper(
-                        userAlert,
-                        ::provideContact,
-                        ::provideScheduledMeeting,
-                        ::provideSchedMeetingOccurrences,
-                        megaApiGateway::getMegaNodeByHandle
-                    )
-                }
+                val userAlerts = newUserAlerts?.let { mapUserAlerts(it) }
 
                 if (!areMeetingInvitationsEnabled()) {
                     userAlerts?.filter { it !is ScheduledMeetingAlert }
@@ -99,15 +93,7 @@ internal class DefaultNotificationsRepository @Inject constructor(
 
     override suspend fun getUserAlerts(): List<UserAlert> =
         withContext(dispatcher) {
-            val userAlerts = megaApiGateway.getUserAlerts().map { userAlert ->
-                userAlertsMapper(
-                    userAlert,
-                    ::provideContact,
-                    ::provideScheduledMeeting,
-                    ::provideSchedMeetingOccurrences,
-                    megaApiGateway::getMegaNodeByHandle
-                )
-            }
+            val userAlerts = mapUserAlerts(megaApiGateway.getUserAlerts())
 
             if (!areMeetingInvitationsEnabled()) {
                 userAlerts.filter { it !is ScheduledMeetingAlert }
@@ -116,8 +102,18 @@ internal class DefaultNotificationsRepository @Inject constructor(
             }
         }
 
-    private suspend fun provideEmail(userId: Long): String? =
-        getEmailLocally(userId) ?: fetchAndCacheEmail(userId)
+    private suspend fun mapUserAlerts(userAlerts: List<MegaUserAlert>): List<UserAlert> {
+        val enrichmentContext = UserAlertEnrichmentContext()
+        return userAlerts.map { userAlert ->
+            userAlertsMapper(
+                userAlert,
+                enrichmentContext::provideContact,
+                enrichmentContext::provideScheduledMeeting,
+                enrichmentContext::provideSchedMeetingOccurrences,
+                enrichmentContext::provideNode,
+            )
+        }
+    }
 
     private suspend fun fetchAndCacheEmail(userId: Long): String? =
         suspendCoroutine { continuation ->
@@ -140,41 +136,90 @@ internal class DefaultNotificationsRepository @Inject constructor(
     private suspend fun getEmailLocally(userId: Long) =
         localStorageGateway.getNonContactByHandle(userId)?.email
 
-    private suspend fun provideContact(userId: Long, email: String?): Contact {
-        val emailAddress = email ?: provideEmail(userId)
-        val nickname = localStorageGateway.getContactByEmail(emailAddress)?.nickname
-        val visible = isContactVisible(emailAddress)
-        val hasPendingRequest = emailAddressFoundInPendingRequests(emailAddress)
-
-        return Contact(
-            userId = userId,
-            email = emailAddress,
-            nickname = nickname,
-            isVisible = visible,
-            hasPendingRequest = hasPendingRequest
-        )
-    }
+    /**
+     * Data used to enrich the user alerts of a single refresh
+     *
+     * The alerts of a refresh often refer to the same users, meetings and nodes, so everything
+     * needed is loaded at most once per refresh: the incoming contact requests and the contacts are
+     * loaded in bulk the first time they are needed, and the rest is memoized by handle or chat id.
+     * A new context is created for every refresh, so the alerts never show stale data.
+     */
+    private inner class UserAlertEnrichmentContext {
+        private val emails = HashMap<Long, String?>()
+        private val nicknames = HashMap<String?, String?>()
+        private val scheduledMeetings = HashMap<Pair<Long, Long>, ChatScheduledMeeting?>()
+        private val occurrences = HashMap<Long, List<ChatScheduledMeetingOccurr>?>()
+        private val nodes = HashMap<Long, MegaNode?>()
+        private var contactsLoaded = false
+        private var contactsByEmail: Map<String, MegaUser> = emptyMap()
+        private var contactEmailsByHandle: Map<Long, String> = emptyMap()
+        private var incomingRequestEmails: Set<String>? = null
+
+        suspend fun provideContact(userId: Long, email: String?): Contact {
+            loadContacts()
+            val emailAddress = email ?: provideEmail(userId)
+            val nickname = nicknames.getOrPutNullable(emailAddress) {
+                localStorageGateway.getContactByEmail(emailAddress)?.nickname
+            }
+            val visible = contactsByEmail[emailAddress]?.visibility == MegaUser.VISIBILITY_VISIBLE
+
+            return Contact(
+                userId = userId,
+                email = emailAddress,
+                nickname = nickname,
+                isVisible = visible,
+                hasPendingRequest = emailAddress in getIncomingRequestEmails()
+            )
+        }
 
-    private suspend fun provideScheduledMeeting(
-        chatId: Long,
-        schedId: Long,
-    ): ChatScheduledMeeting? = withContext(dispatcher) {
-        runCatching { getScheduledMeetingUseCase(chatId, schedId) }.getOrNull()
-    }
+        suspend fun provideScheduledMeeting(
+            chatId: Long,
+            schedId: Long,
+        ): ChatScheduledMeeting? = scheduledMeetings.getOrPutNullable(chatId to schedId) {
+            runCatching { getScheduledMeetingUseCase(chatId, schedId) }.getOrNull()
+        }
 
-    private suspend fun provideSchedMeetingOccurrences(
-        chatId: Long,
-    ): List<ChatScheduledMeetingOccurr>? = withContext(dispatcher) {
-        runCatching { fetchSchedOccurrencesByChatUseCase(chatId, 20) }.getOrNull()
-    }
+        suspend fun provideSchedMeetingOccurrences(
+            chatId: Long,
+        ): List<ChatScheduledMeetingOccurr>? = occurrences.getOrPutNullable(chatId) {
+            runCatching { fetchSchedOccurrencesByChatUseCase(chatId, 20) }.getOrNull()
+        }
+
+        suspend fun provideNode(nodeHandle: Long): MegaNode? =
+            nodes.getOrPutNullable(nodeHandle) { megaApiGateway.getMegaNodeByHandle(nodeHandle) }
 
-    private suspend fun emailAddressFoundInPendingRequests(emailAddress: String?) =
-        megaApiGateway.getIncomingContactRequests()?.mapNotNull { it.sourceEmail }
-            ?.contains(emailAddress) ?: false
+        private suspend fun provideEmail(userId: Long): String? =
+            contactEmailsByHandle[userId] ?: emails.getOrPutNullable(userId) {
+                getEmailLocally(userId) ?: fetchAndCacheEmail(userId)
+            }
+
+        private suspend fun loadContacts() {
+            if (contactsLoaded) return
+            val contacts = megaApiGateway.getContacts()
+            contactsByEmail = contacts.associateBy { it.email }
+            contactEmailsByHandle = contacts.associate { it.handle to it.email }
+            contactsLoaded = true
+        }
 
-    private suspend fun isContactVisible(emailAddress: String?) = emailAddress?.let {
-        megaApiGateway.getContact(it)?.visibility == MegaUser.VISIBILITY_VISIBLE
-    } ?: false
+        private suspend fun getIncomingRequestEmails(): Set<String> =
+            incomingRequestEmails ?: megaApiGateway.getIncomingContactRequests()
+                ?.mapNotNullTo(HashSet<String>()) { it.sourceEmail }
+                .orEmpty()
+                .also { incomingRequestEmails = it }
+
+        /**
+         * Like [getOrPut], but also remembering null values
+         */
+        private inline fun <K, V> HashMap<K, V>.getOrPutNullable(
+            key: K,
+            defaultValue: () -> V,
+        ): V = if (containsKey(key)) {
+            @Suppress("UNCHECKED_CAST")
+            get(key) as V
+        } else {
+            defaultValue().also { put(key, it) }
+        }
+    }
 
     override suspend fun acknowledgeUserAlerts() {
         megaApiGateway.acknowledgeUserAlerts()
@@ -13,20 +13,16 @@ import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.buffer
 import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.cancellable
-import kotlinx.coroutines.flow.combine
-import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.firstOrNull
-import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
-import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ActiveTransferTotalsCache
+import mega.privacy.android.data.cache.ThrottledSnapshotMap
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.gateway.AppEventGateway
@@ -46,7 +42,6 @@ import mega.privacy.android.data.mapper.transfer.PausedTransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferAppDataStringMapper
 import mega.privacy.android.data.mapper.transfer.TransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferMapper
-import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.model.GlobalTransfer
 import mega.privacy.android.domain.entity.SdTransfer
 import mega.privacy.android.domain.entity.node.NodeId
@@ -63,6 +58,7 @@ import mega.privacy.android.domain.entity.transfer.pending.InsertPendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferRequest
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
 import mega.privacy.android.domain.exception.node.NodeDoesNotExistsException
 import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
@@ -76,6 +72,7 @@ import timber.log.Timber
 import java.io.File
 import javax.inject.Inject
 import javax.inject.Singleton
+import kotlin.time.Duration.Companion.milliseconds
 
 /**
  * Default [TransferRepository] implementation.
@@ -96,7 +93,7 @@ internal class DefaultTransfersRepository @Inject constructor(
     private val pausedTransferEventMapper: PausedTransferEventMapper,
     private val transferMapper: TransferMapper,
     private val transferAppDataStringMapper: TransferAppDataStringMapper,
-    private val activeTransferTotalsMapper: ActiveTransferTotalsMapper,
+    private val activeTransferTotalsCache: ActiveTransferTotalsCache,
     private val appEventGateway: AppEventGateway,
     private val localStorageGateway: MegaLocalStorageGateway,
     private val workerManagerGateway: WorkManagerGateway,
@@ -117,13 +114,9 @@ internal class DefaultTransfersRepository @Inject constructor(
     /**
      * To store in progress transfers in memory instead of in database
      */
-    private val inProgressTransfersFlow = MutableStateFlow<Map<Int, InProgressTransfer>>(emptyMap())
+    private val inProgressTransfers =
+        ThrottledSnapshotMap<Int, InProgressTransfer>(TRANSFERS_SNAPSHOT_THROTTLE)
 
-    /**
-     * to store current transferred bytes in memory instead of in database
-     */
-    private val transferredBytesFlows =
-        HashMap<TransferType, MutableStateFlow<Map<Int, Long>>>()
 
     init {
         //pause transfers if db indicates it should be paused
@@ -516,57 +509,52 @@ internal class DefaultTransfersRepository @Inject constructor(
     override suspend fun insertOrUpdateActiveTransfer(activeTransfer: ActiveTransfer) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateActiveTransfer(activeTransfer)
+            activeTransferTotalsCache.insertOrUpdateActiveTransfers(listOf(activeTransfer))
         }
 
     override suspend fun insertOrUpdateActiveTransfers(activeTransfers: List<ActiveTransfer>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateActiveTransfers(activeTransfers)
+            activeTransferTotalsCache.insertOrUpdateActiveTransfers(activeTransfers)
         }
 
     override suspend fun updateTransferredBytes(transfer: Transfer) {
         if (transfer.transferredBytes == 0L) return
-        transferredBytesFlow(transfer.transferType).update {
-            it + (transfer.tag to transfer.transferredBytes)
-        }
+        activeTransferTotalsCache.updateTransferredBytes(
+            transferType = transfer.transferType,
+            tag = transfer.tag,
+            bytes = transfer.transferredBytes,
+        )
     }
 
     override suspend fun deleteAllActiveTransfersByType(transferType: TransferType) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfersByType(transferType)
-            transferredBytesFlow(transferType).value = mapOf()
+            activeTransferTotalsCache.clear(transferType)
         }
 
     override suspend fun deleteAllActiveTransfers() =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfers()
             TransferType.entries.forEach {
-                transferredBytesFlow(it).value = mapOf()
+                activeTransferTotalsCache.clear(it)
             }
         }
 
     override suspend fun setActiveTransferAsFinishedByTag(tags: List<Int>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.setActiveTransferAsFinishedByTag(tags)
+            activeTransferTotalsCache.setActiveTransfersAsFinished(tags)
         }
 
     override fun getActiveTransferTotalsByType(transferType: TransferType): Flow<ActiveTransferTotals> =
-        flow {
-            val transferredBytesFlow = transferredBytesFlow(transferType)
-            emitAll(
-                megaLocalRoomGateway.getActiveTransfersByType(transferType).flowOn(ioDispatcher)
-                    .combine(transferredBytesFlow) { activeTransfers, transferredBytes ->
-                        activeTransferTotalsMapper(transferType, activeTransfers, transferredBytes)
-                    }
-            )
-        }.cancellable()
+        activeTransferTotalsCache.monitorActiveTransferTotals(transferType)
+            .flowOn(ioDispatcher)
+            .cancellable()
 
     override suspend fun getCurrentActiveTransferTotalsByType(transferType: TransferType): ActiveTransferTotals =
         withContext(ioDispatcher) {
-            activeTransferTotalsMapper(
-                type = transferType,
-                list = megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType),
-                transferredBytes = transferredBytesFlow(transferType).value
-            )
+            activeTransferTotalsCache.getActiveTransferTotals(transferType)
         }
 
     override suspend fun getCurrentUploadSpeed() = withContext(ioDispatcher) {
@@ -654,6 +642,19 @@ internal class DefaultTransfersRepository @Inject constructor(
         megaLocalRoomGateway.insertSdTransfer(transfer)
     }
 
+    override suspend fun getAllPendingSdCardMoves() = withContext(ioDispatcher) {
+        megaLocalRoomGateway.getAllPendingSdCardMoves()
+    }
+
+    override suspend fun insertPendingSdCardMove(move: PendingSdCardMove) =
+        withContext(ioDispatcher) {
+            megaLocalRoomGateway.insertPendingSdCardMove(move)
+        }
+
+    override suspend fun deletePendingSdCardMove(id: Long) = withContext(ioDispatcher) {
+        megaLocalRoomGateway.deletePendingSdCardMove(id)
+    }
+
     override suspend fun getCompletedTransferById(id: Int) = withContext(ioDispatcher) {
         megaLocalRoomGateway.getCompletedTransferById(id)
     }
@@ -669,18 +670,13 @@ internal class DefaultTransfersRepository @Inject constructor(
             )
         }
 
-    private val transferredBytesFlowMutex = Mutex()
-    private suspend fun transferredBytesFlow(transferType: TransferType): MutableStateFlow<Map<Int, Long>> {
-        transferredBytesFlowMutex.withLock {
-            return transferredBytesFlows[transferType]
-                ?: MutableStateFlow<Map<Int, Long>>(mapOf()).also {
-                    transferredBytesFlows[transferType] = it
-                }
-        }
-    }
-
     companion object {
         internal const val TRANSFERS_SD_TEMPORARY_FOLDER = "transfersSdTempMEGA"
+
+        /**
+         * Minimum duration between two emissions of the in memory transfers progress
+         */
+        private val TRANSFERS_SNAPSHOT_THROTTLE = 200.milliseconds
     }
 
     override fun monitorAskedResumeTransfers() = monitorAskedResumeTransfers.asStateFlow()
@@ -699,40 +695,24 @@ internal class DefaultTransfersRepository @Inject constructor(
         }
 
     override suspend fun updateInProgressTransfer(transfer: Transfer) {
-        val inProgressTransfer = inProgressTransferMapper(transfer)
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it[transfer.tag] = inProgressTransfer
-            }
-        }
+        inProgressTransfers.put(transfer.tag, inProgressTransferMapper(transfer))
     }
 
     override suspend fun updateInProgressTransfers(transfers: List<Transfer>) {
-        val newInProgressTransfers =
+        inProgressTransfers.putAll(
             transfers.map { inProgressTransferMapper(it) }.associateBy { it.tag }
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.putAll(newInProgressTransfers)
-            }
-        }
+        )
     }
 
-    override fun monitorInProgressTransfers() = inProgressTransfersFlow
+    override fun monitorInProgressTransfers() = inProgressTransfers.snapshots
 
     override suspend fun removeInProgressTransfer(tag: Int) {
-        if (!inProgressTransfersFlow.value.containsKey(tag)) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.remove(tag)
-            }
-        }
+        inProgressTransfers.remove(tag)
     }
 
     override suspend fun removeInProgressTransfers(tags: Set<Int>) {
         if (tags.isEmpty()) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.filterKeys { it !in tags }
-        }
+        inProgressTransfers.removeAll(tags)
     }
 
     override fun getPendingTransfersByType(transferType: TransferType): Flow<List<PendingTransfer>> =
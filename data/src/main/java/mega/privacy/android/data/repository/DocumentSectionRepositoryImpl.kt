@@ -32,25 +32,26 @@ internal class DocumentSectionRepositoryImpl @Inject constructor(
     override suspend fun getAllDocuments(order: SortOrder): List<UnTypedNode> =
         withContext(ioDispatcher) {
             val offlineItems = getAllOfflineNodeHandle()
-            val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
             val filter = megaSearchFilterMapper(
                 searchTarget = SearchTarget.ROOT_NODES,
                 searchCategory = SearchCategory.ALL_DOCUMENTS
             )
-            megaApiGateway.searchWithFilter(
-                filter,
-                sortOrderIntMapper(order),
-                megaCancelToken,
-            ).map { megaNode ->
+            cancelTokenProvider.withQueryCancelToken { megaCancelToken ->
+                megaApiGateway.searchWithFilter(
+                    filter,
+                    sortOrderIntMapper(order),
+                    megaCancelToken,
+                )
+            }.map { megaNode ->
                 convertToUnTypedNode(
                     node = megaNode,
-                    offline = offlineItems?.get(megaNode.handle.toString())
+                    offline = offlineItems[megaNode.handle.toString()]
                 )
             }
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun convertToUnTypedNode(
         node: MegaNode,
@@ -7,8 +7,6 @@ import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.filterIsInstance
-import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.suspendCancellableCoroutine
@@ -19,6 +17,7 @@ import mega.privacy.android.data.extensions.toException
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
+import mega.privacy.android.data.gateway.NodeUpdateGateway
 import mega.privacy.android.data.gateway.WorkManagerGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -28,7 +27,6 @@ import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.ChatFilesFolderUserAttributeMapper
 import mega.privacy.android.data.mapper.FileTypeInfoMapper
 import mega.privacy.android.data.mapper.MegaExceptionMapper
-import mega.privacy.android.data.mapper.NodeUpdateMapper
 import mega.privacy.android.data.mapper.OfflineInformationMapper
 import mega.privacy.android.data.mapper.OfflineNodeInformationMapper
 import mega.privacy.android.data.mapper.SortOrderIntMapper
@@ -42,7 +40,7 @@ import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionIntMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionMapper
 import mega.privacy.android.data.mapper.shares.ShareDataMapper
-import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.data.model.node.NodeListContext
 import mega.privacy.android.domain.entity.FileTypeInfo
 import mega.privacy.android.domain.entity.FolderTreeInfo
 import mega.privacy.android.domain.entity.NodeLabel
@@ -67,6 +65,7 @@ import mega.privacy.android.domain.exception.node.ForeignNodeException
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.NodeRepository
 import nz.mega.sdk.MegaApiJava
+import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaChatRoom
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
@@ -93,6 +92,7 @@ import javax.inject.Inject
  * @property fileGateway
  * @property chatFilesFolderUserAttributeMapper
  * @property streamingGateway
+ * @property nodeUpdateGateway
  */
 internal class NodeRepositoryImpl @Inject constructor(
     @ApplicationContext private val context: Context,
@@ -112,7 +112,6 @@ internal class NodeRepositoryImpl @Inject constructor(
     private val fileGateway: FileGateway,
     private val chatFilesFolderUserAttributeMapper: ChatFilesFolderUserAttributeMapper,
     private val streamingGateway: StreamingGateway,
-    private val nodeUpdateMapper: NodeUpdateMapper,
     private val accessPermissionMapper: AccessPermissionMapper,
     private val nodeShareKeyResultMapper: NodeShareKeyResultMapper,
     private val accessPermissionIntMapper: AccessPermissionIntMapper,
@@ -123,6 +122,7 @@ internal class NodeRepositoryImpl @Inject constructor(
     private val cancelTokenProvider: CancelTokenProvider,
     private val workManagerGateway: WorkManagerGateway,
     private val stringListMapper: StringListMapper,
+    private val nodeUpdateGateway: NodeUpdateGateway,
 ) : NodeRepository {
 
     override suspend fun getNodeOutgoingShares(nodeId: NodeId) =
@@ -261,30 +261,36 @@ internal class NodeRepositoryImpl @Inject constructor(
         nodeId: NodeId,
         order: SortOrder?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = nodeId,
         )
         val offlineItems = async { getAllOfflineNodeHandle() }
+        val listContext = async {
+            nodeMapper.getListContext(megaApiGateway.getMegaNodeByHandle(nodeId.longValue))
+        }
         val childList = async {
-            megaApiGateway.getChildren(
-                filter,
-                sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
-                token
-            )
+            cancelTokenProvider.withQueryCancelToken { token ->
+                megaApiGateway.getChildren(
+                    filter,
+                    sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
+                    token
+                )
+            }
         }
-        mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await())
+        mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await(), listContext.await())
     }
 
     private suspend fun mapMegaNodesToUnTypedNodes(
         childList: List<MegaNode>,
         offlineItems: Map<String, Offline>?,
+        listContext: NodeListContext,
     ): List<UnTypedNode> = coroutineScope {
         childList.map { megaNode ->
             async {
-                convertToUnTypedNode(
-                    node = megaNode,
-                    offline = offlineItems?.get(megaNode.handle.toString())
+                nodeMapper(
+                    megaNode = megaNode,
+                    offline = offlineItems?.get(megaNode.handle.toString()),
+                    listContext = listContext,
                 )
             }
         }.awaitAll()
@@ -294,15 +300,16 @@ internal class NodeRepositoryImpl @Inject constructor(
         nodeId: NodeId,
         order: SortOrder?,
     ): List<FileTypeInfo> = withContext(ioDispatcher) {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = nodeId,
         )
-        val childList = megaApiGateway.getChildren(
-            filter,
-            sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
-            token
-        )
+        val childList = cancelTokenProvider.withQueryCancelToken { token ->
+            megaApiGateway.getChildren(
+                filter,
+                sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
+                token
+            )
+        }
         childList.map { megaNode ->
             fileTypeInfoMapper(megaNode.name, megaNode.duration)
         }
@@ -377,19 +384,7 @@ internal class NodeRepositoryImpl @Inject constructor(
             } ?: throw SynchronisationException("Non null node found be null when fetched from api")
         }
 
-    override fun monitorNodeUpdates(): Flow<NodeUpdate> {
-        return megaApiGateway.globalUpdates
-            .filterIsInstance<GlobalUpdate.OnNodesUpdate>()
-            .mapNotNull {
-                it.nodeList?.map { megaNode ->
-                    convertToUnTypedNode(megaNode) to nodeUpdateMapper(megaNode)
-                }
-            }
-            .map { nodes ->
-                NodeUpdate(nodes.toMap())
-            }
-            .flowOn(ioDispatcher)
-    }
+    override fun monitorNodeUpdates(): Flow<NodeUpdate> = nodeUpdateGateway.nodeUpdates
 
     override fun monitorOfflineNodeUpdates(): Flow<List<Offline>> =
         megaLocalRoomGateway.monitorOfflineUpdates()
@@ -699,6 +694,70 @@ internal class NodeRepositoryImpl @Inject constructor(
             }
     }
 
+    override suspend fun getNodesByFingerprintsInParentNode(
+        fingerprints: Collection<String>,
+        parentNodeId: NodeId,
+    ): Map<String, UnTypedNode> = withContext(ioDispatcher) {
+        if (fingerprints.isEmpty()) return@withContext emptyMap()
+        val requestedFingerprints = fingerprints.toHashSet()
+        val matchingNodes = HashMap<String, MegaNode>()
+        cancelTokenProvider.withQueryCancelToken { token ->
+            megaApiGateway.getChildren(
+                megaSearchFilterMapper(parentHandle = parentNodeId),
+                sortOrderIntMapper(SortOrder.ORDER_NONE),
+                token,
+            )
+        }.forEach { megaNode ->
+            if (!megaNode.isFile) return@forEach
+            listOfNotNull(megaNode.fingerprint, megaNode.originalFingerprint)
+                .filter { it in requestedFingerprints }
+                .forEach { matchingNodes.putIfAbsent(it, megaNode) }
+        }
+        matchingNodes.mapValues { (_, megaNode) ->
+            nodeMapper(megaNode = megaNode, offline = getOfflineNode(megaNode.handle))
+        }.also {
+            Timber.d("Found ${it.size} nodes out of ${requestedFingerprints.size} fingerprints in node with handle: $parentNodeId")
+        }
+    }
+
+    override suspend fun getNodesByFingerprintsInAccount(
+        fingerprints: Collection<String>,
+        preferredParentNodeId: NodeId,
+    ): Map<String, UnTypedNode> = withContext(ioDispatcher) {
+        if (fingerprints.isEmpty()) return@withContext emptyMap()
+        val requestedFingerprints = fingerprints.toHashSet()
+        val preferredParentNode =
+            megaApiGateway.getMegaNodeByHandle(preferredParentNodeId.longValue)
+        val mappedNodes = HashMap<Long, UnTypedNode>()
+        requestedFingerprints.mapNotNull { fingerprint ->
+            val megaNode = megaApiGateway.getNodesByOriginalFingerprint(fingerprint, null)
+                ?.takeIf { it.size() > 0 }
+                ?.get(0)
+                ?: megaApiGateway.getNodeByFingerprintAndParentNode(
+                    fingerprint,
+                    preferredParentNode,
+                )
+            megaNode?.let {
+                fingerprint to mappedNodes.getOrPut(it.handle) {
+                    nodeMapper(megaNode = it, offline = getOfflineNode(it.handle))
+                }
+            }
+        }.toMap().also {
+            Timber.d("Found ${it.size} nodes out of ${requestedFingerprints.size} fingerprints in the account")
+        }
+    }
+
+    override suspend fun getNodeChildrenNames(parentNodeId: NodeId): List<String> =
+        withContext(ioDispatcher) {
+            cancelTokenProvider.withQueryCancelToken { token ->
+                megaApiGateway.getChildren(
+                    megaSearchFilterMapper(parentHandle = parentNodeId),
+                    sortOrderIntMapper(SortOrder.ORDER_NONE),
+                    token,
+                )
+            }.mapNotNull { it.name }
+        }
+
     override suspend fun getNodeByFingerprint(fingerprint: String) =
         withContext(ioDispatcher) {
             megaApiGateway.getNodeByFingerprint(fingerprint)
@@ -987,7 +1046,7 @@ internal class NodeRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun getOfflineNode(handle: Long) =
         megaLocalRoomGateway.getOfflineInformation(handle)
@@ -1080,21 +1139,24 @@ internal class NodeRepositoryImpl @Inject constructor(
         when (node) {
             is FileNode -> false
             is FolderNode -> megaApiGateway.getMegaNodeByHandle(node.id.longValue)
-                ?.let { isChildrenEmpty(it) } ?: true
+                ?.let { parent ->
+                    cancelTokenProvider.withQueryCancelToken { token ->
+                        isChildrenEmpty(parent, token)
+                    }
+                } ?: true
 
             else -> true
         }
     }
 
-    private suspend fun isChildrenEmpty(parent: MegaNode): Boolean {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
+    private fun isChildrenEmpty(parent: MegaNode, token: MegaCancelToken): Boolean {
         val filter = megaSearchFilterMapper(
             parentHandle = NodeId(parent.handle),
         )
         megaApiGateway.getChildren(filter, sortOrderIntMapper(SortOrder.ORDER_NONE), token).let {
             if (it.isNotEmpty()) {
                 it.forEach { childNode ->
-                    if (childNode.isFolder.not() || isChildrenEmpty(childNode).not()) {
+                    if (childNode.isFolder.not() || isChildrenEmpty(childNode, token).not()) {
                         return false
                     }
                 }
@@ -1160,16 +1222,17 @@ internal class NodeRepositoryImpl @Inject constructor(
 
     override suspend fun hasSensitiveDescendant(nodeId: NodeId): Boolean =
         withContext(ioDispatcher) {
-            val token = cancelTokenProvider.getOrCreateCancelToken()
             val filter = megaSearchFilterMapper(
                 parentHandle = nodeId,
                 sensitivityFilter = SensitivityFilterOption.SensitiveOnly,
             )
-            megaApiGateway.searchWithFilter(
-                filter,
-                sortOrderIntMapper(SortOrder.ORDER_NONE),
-                token,
-            ).isNotEmpty()
+            cancelTokenProvider.withQueryCancelToken { token ->
+                megaApiGateway.searchWithFilter(
+                    filter,
+                    sortOrderIntMapper(SortOrder.ORDER_NONE),
+                    token,
+                )
+            }.isNotEmpty()
         }
 
     override suspend fun hasSensitiveInherited(nodeId: NodeId): Boolean =
@@ -1181,8 +1244,9 @@ internal class NodeRepositoryImpl @Inject constructor(
 
     override suspend fun getAllNodeTags(searchString: String): List<String>? =
         withContext(ioDispatcher) {
-            val token = cancelTokenProvider.getOrCreateCancelToken()
-            megaApiGateway.getAllNodeTags(searchString, token)?.let {
+            cancelTokenProvider.withQueryCancelToken { token ->
+                megaApiGateway.getAllNodeTags(searchString, token)
+            }?.let {
                 stringListMapper(it)
             }
         }
@@ -1,6 +1,10 @@
 package mega.privacy.android.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.FlowCollector
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
@@ -14,9 +18,7 @@ import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.SearchRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.GetLinksSortOrder
-import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaNode
-import nz.mega.sdk.MegaSearchFilter
 import javax.inject.Inject
 
 /**
@@ -39,7 +41,23 @@ internal class SearchRepositoryImpl @Inject constructor(
         order: SortOrder,
         parameters: SearchParameters,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
-        val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
+        searchMegaNodes(nodeId, order, parameters).map { item -> nodeMapper(item) }
+    }
+
+    override fun searchWithFirstPage(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+        firstPageSize: Int,
+    ): Flow<List<UnTypedNode>> = flow {
+        emitWithFirstPage(searchMegaNodes(nodeId, order, parameters), firstPageSize)
+    }.flowOn(ioDispatcher)
+
+    private suspend fun searchMegaNodes(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): List<MegaNode> {
         val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
         val queryFilter = megaSearchFilterMapper(
             searchQuery = query,
@@ -52,28 +70,37 @@ internal class SearchRepositoryImpl @Inject constructor(
             tag = tag,
             useAndForTextQuery = description == null && tag == null,
         )
-        searchAndMap(queryFilter, order, megaCancelToken)
+        return cancelTokenProvider.withQueryCancelToken { megaCancelToken ->
+            megaApiGateway.searchWithFilter(
+                filter = queryFilter,
+                order = sortOrderIntMapper(order),
+                megaCancelToken = megaCancelToken,
+            )
+        }
     }
 
-    private suspend fun searchAndMap(
-        queryFilter: MegaSearchFilter,
+    override suspend fun getChildren(
+        nodeId: NodeId?,
         order: SortOrder,
-        megaCancelToken: MegaCancelToken,
-    ): List<UnTypedNode> {
-        val searchList = megaApiGateway.searchWithFilter(
-            filter = queryFilter,
-            order = sortOrderIntMapper(order),
-            megaCancelToken = megaCancelToken,
-        )
-        return searchList.map { item -> nodeMapper(item) }
+        parameters: SearchParameters,
+    ): List<UnTypedNode> = withContext(ioDispatcher) {
+        getChildMegaNodes(nodeId, order, parameters).map { item -> nodeMapper(item) }
     }
 
-    override suspend fun getChildren(
+    override fun getChildrenWithFirstPage(
         nodeId: NodeId?,
         order: SortOrder,
         parameters: SearchParameters,
-    ): List<UnTypedNode> = withContext(ioDispatcher) {
-        val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
+        firstPageSize: Int,
+    ): Flow<List<UnTypedNode>> = flow {
+        emitWithFirstPage(getChildMegaNodes(nodeId, order, parameters), firstPageSize)
+    }.flowOn(ioDispatcher)
+
+    private suspend fun getChildMegaNodes(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+    ): List<MegaNode> {
         val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
         val filter = megaSearchFilterMapper(
             searchQuery = query,
@@ -85,12 +112,30 @@ internal class SearchRepositoryImpl @Inject constructor(
             description = description,
             tag = tag,
         )
-        val searchList = megaApiGateway.getChildren(
-            filter = filter,
-            order = sortOrderIntMapper(order),
-            megaCancelToken = megaCancelToken,
-        )
-        searchList.map { item -> nodeMapper(item) }
+        return cancelTokenProvider.withQueryCancelToken { megaCancelToken ->
+            megaApiGateway.getChildren(
+                filter = filter,
+                order = sortOrderIntMapper(order),
+                megaCancelToken = megaCancelToken,
+            )
+        }
+    }
+
+    /**
+     * Emits the first [firstPageSize] nodes as soon as they are mapped, then all of them. The
+     * nodes of the first page are only mapped once.
+     */
+    private suspend fun FlowCollector<List<UnTypedNode>>.emitWithFirstPage(
+        megaNodes: List<MegaNode>,
+        firstPageSize: Int,
+    ) {
+        if (megaNodes.size <= firstPageSize) {
+            emit(megaNodes.map { nodeMapper(it) })
+            return
+        }
+        val firstPage = megaNodes.subList(0, firstPageSize).map { nodeMapper(it) }
+        emit(firstPage)
+        emit(firstPage + megaNodes.subList(firstPageSize, megaNodes.size).map { nodeMapper(it) })
     }
 
     override suspend fun getInShares() = withContext(ioDispatcher) {
@@ -71,16 +71,17 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
     override suspend fun getAllVideos(order: SortOrder): List<TypedVideoNode> =
         withContext(ioDispatcher) {
             val offlineItems = getAllOfflineNodeHandle()
-            val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
             val filter = megaSearchFilterMapper(
                 searchTarget = SearchTarget.ROOT_NODES,
                 searchCategory = SearchCategory.VIDEO
             )
-            megaApiGateway.searchWithFilter(
-                filter,
-                sortOrderIntMapper(order),
-                megaCancelToken,
-            ).map { megaNode ->
+            cancelTokenProvider.withQueryCancelToken { megaCancelToken ->
+                megaApiGateway.searchWithFilter(
+                    filter,
+                    sortOrderIntMapper(order),
+                    megaCancelToken,
+                )
+            }.map { megaNode ->
                 val isOutShared =
                     megaApiGateway.getMegaNodeByHandle(megaNode.parentHandle)?.isOutShare == true
                 typedVideoNodeMapper(
@@ -92,7 +93,7 @@ internal class VideoSectionRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun MegaNode.convertToFileNode(offline: Offline?) = fileNodeMapper(
         megaNode = this, requireSerializedData = false, offline = offline
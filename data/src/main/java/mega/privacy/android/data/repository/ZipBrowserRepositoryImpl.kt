@@ -24,87 +24,93 @@ class ZipBrowserRepositoryImpl @Inject constructor(
 
     override suspend fun getZipNodeTree(zipFile: ZipFile?): Map<String, ZipTreeNode> =
         withContext(ioDispatcher) {
-            val zipNodeTree = mutableMapOf<String, ZipTreeNode>()
-            zipFile?.entries()?.toList()?.forEach { zipEntry ->
-                zipEntry.name.let { name ->
-                    val nodeDepth = name.getZipTreeNodeDepth()
-                    for (i in 1..nodeDepth) {
-                        //Get every sub path of current zip entry. For example, the path zip entry
-                        // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
-                        val subPath = name.getSubPathByDepth(i)
-                        //Get name of current sub path
-                        val subName = subPath.getZipTreeNodeName()
-                        //Get parent path of current sub path. For example, if current sub path is 1/2/
-                        //its parent path is 1/
-                        val subParentPath = if (i == 1) {
-                            null
-                        } else {
-                            name.getSubPathByDepth(i - 1)
-                        }
-                        //Get current zip tree node using sub path
-                        var zipTreeNode = zipNodeTree[subPath]
-
-                        // If node doesn't exist, create one, otherwise ignore it
-                        if (zipTreeNode == null) {
-                            zipTreeNode = zipTreeNodeMapper(
-                                zipEntry = zipEntry,
-                                name = subName,
-                                path = subPath,
-                                parentPath = subParentPath,
-                                zipEntryType = if (i == nodeDepth) {
-                                    when {
-                                        zipEntry.isDirectory -> ZipEntryType.Folder
-                                        name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
-                                        else -> ZipEntryType.File
-                                    }
-                                } else {
-                                    ZipEntryType.Folder
-                                }
-                            )
-
-                            zipNodeTree[subPath] = zipTreeNode
-
-                            // If parent path is not empty add current path to map
-                            // Empty path represents root directory
-                            if (!subParentPath.isNullOrEmpty()) {
-                                zipNodeTree[subParentPath]?.let { parentNode ->
-                                    val updatedChildren =
-                                        parentNode.children.toMutableList().apply {
-                                            add(zipTreeNode)
-                                        }
-                                    val updatedParentNode =
-                                        parentNode.copy(children = updatedChildren)
-                                    zipNodeTree[subParentPath] = updatedParentNode
+            val zipNodeBuilders = linkedMapOf<String, ZipTreeNodeBuilder>()
+            val entries = zipFile?.entries() ?: return@withContext emptyMap()
+            for (zipEntry in entries) {
+                val name = zipEntry.name
+                //Get every sub path of current zip entry. For example, the path zip entry
+                // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
+                val subPaths = name.getSubPaths()
+                val nodeDepth = subPaths.size
+                //Find the deepest sub path already in the tree, only the sub paths below it
+                // need to be created
+                var existingDepth = nodeDepth
+                while (existingDepth > 0 && subPaths[existingDepth - 1] !in zipNodeBuilders) {
+                    existingDepth--
+                }
+                for (i in existingDepth + 1..nodeDepth) {
+                    val subPath = subPaths[i - 1]
+                    //Get parent path of current sub path. For example, if current sub path is 1/2/
+                    //its parent path is 1/
+                    val subParentPath = if (i == 1) null else subPaths[i - 2]
+                    val builder = ZipTreeNodeBuilder(
+                        zipTreeNodeMapper(
+                            zipEntry = zipEntry,
+                            name = subPath.getZipTreeNodeName(),
+                            path = subPath,
+                            parentPath = subParentPath,
+                            zipEntryType = if (i == nodeDepth) {
+                                when {
+                                    zipEntry.isDirectory -> ZipEntryType.Folder
+                                    name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
+                                    else -> ZipEntryType.File
                                 }
+                            } else {
+                                ZipEntryType.Folder
                             }
-                        }
+                        )
+                    )
+                    zipNodeBuilders[subPath] = builder
+
+                    // If parent path is not empty add current node to its children
+                    // Empty path represents root directory
+                    if (!subParentPath.isNullOrEmpty()) {
+                        zipNodeBuilders[subParentPath]?.children?.add(builder)
                     }
                 }
             }
-            zipNodeTree
+            zipNodeBuilders.mapValuesTo(LinkedHashMap(zipNodeBuilders.size)) { it.value.build() }
         }
 
     /**
-     * Get zip tree node name for init zip tree map
-     * @return zip tree name
+     * Zip tree node being built, its children are added in place and the immutable
+     * [ZipTreeNode] is only created once all the zip entries have been read
+     *
+     * @property node the zip tree node without children
      */
-    private fun String.getZipTreeNodeName() =
-        removeSuffix(File.separator).split(File.separator).last()
+    private class ZipTreeNodeBuilder(private val node: ZipTreeNode) {
+        val children = mutableListOf<ZipTreeNodeBuilder>()
+        private var builtNode: ZipTreeNode? = null
+
+        fun build(): ZipTreeNode = builtNode ?: if (children.isEmpty()) {
+            node
+        } else {
+            node.copy(children = children.map { it.build() })
+        }.also { builtNode = it }
+    }
 
     /**
-     * Get sub path for init zip tree map
-     * @param depth depth of sub path
-     * @return sub path
+     * Get zip tree node name for init zip tree map
+     * @return zip tree name
      */
-    private fun String.getSubPathByDepth(depth: Int) =
-        removeSuffix(File.separator).split(File.separator).take(depth).joinToString(File.separator)
+    private fun String.getZipTreeNodeName() =
+        removeSuffix(File.separator).substringAfterLast(File.separator)
 
     /**
-     * Get current zip tree node depth for init zip tree map
-     * @return zip tree node depth
+     * Get all the sub paths for init zip tree map, from the root to the whole path
+     * @return sub paths, the sub path at index i has depth i + 1
      */
-    private fun String.getZipTreeNodeDepth() =
-        removeSuffix(File.separator).split(File.separator).size
+    private fun String.getSubPaths(): List<String> {
+        val path = removeSuffix(File.separator)
+        val subPaths = mutableListOf<String>()
+        var separatorIndex = path.indexOf(File.separator)
+        while (separatorIndex >= 0) {
+            subPaths.add(path.substring(0, separatorIndex))
+            separatorIndex = path.indexOf(File.separator, separatorIndex + File.separator.length)
+        }
+        subPaths.add(path)
+        return subPaths
+    }
 
     override suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean =
         withContext(ioDispatcher) {
@@ -273,37 +273,51 @@ internal class DefaultPhotosRepository @Inject constructor(
             .launchIn(appScope)
     }
 
+    /**
+     * Apply the [nodeUpdate] to the caches, only publishing them again if it changed them, as
+     * most of the updates are not about media nodes
+     */
     private suspend fun handleNodeUpdate(nodeUpdate: NodeUpdate) {
+        var photosChanged = false
+        var imageNodesChanged = false
         for ((node, changes) in nodeUpdate.changes) {
             if (node is FolderNode && changes.contains(NodeChanges.Sensitive)) {
-                refreshSensitivePhotos()
-                refreshSensitiveImageNodes()
+                photosChanged = refreshSensitivePhotos() || photosChanged
+                imageNodesChanged = refreshSensitiveImageNodes() || imageNodesChanged
             } else {
                 val isPotentialNode = constraints.all { it(node) }
 
-                refreshPhotos(node, isPotentialNode)
-                refreshImageNodes(node, isPotentialNode)
+                photosChanged = refreshPhotos(node, isPotentialNode) || photosChanged
+                imageNodesChanged = refreshImageNodes(node, isPotentialNode) || imageNodesChanged
             }
         }
 
-        withContext(photosDispatcher) {
-            val newPhotos = photosCache.values.toList()
-            photosFlow.update { newPhotos }
+        if (photosChanged) {
+            withContext(photosDispatcher) {
+                val newPhotos = photosCache.values.toList()
+                photosFlow.update { newPhotos }
+            }
         }
 
-        withContext(imageNodesDispatcher) {
-            val newNodes = imageNodesCache.values.toList()
-            imageNodesFlow.update { newNodes }
+        if (imageNodesChanged) {
+            withContext(imageNodesDispatcher) {
+                val newNodes = imageNodesCache.values.toList()
+                imageNodesFlow.update { newNodes }
+            }
         }
     }
 
+    /**
+     * Refresh the cached photo of the [node]
+     *
+     * @return true if the cache changed
+     */
     private suspend fun refreshPhotos(
         node: Node,
         isPotentialNode: Boolean,
-    ) = withContext(photosDispatcher) {
+    ): Boolean = withContext(photosDispatcher) {
         if (!isPotentialNode) {
-            photosCache.remove(node.id)
-            return@withContext
+            return@withContext photosCache.remove(node.id) != null
         }
 
         val photo = getMegaNode(nodeId = node.id)?.let { megaNode ->
@@ -317,13 +331,13 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
 
         if (photo == null) {
-            photosCache.remove(node.id)
+            photosCache.remove(node.id) != null
         } else {
-            photosCache[NodeId(photo.id)] = photo
+            photosCache.put(NodeId(photo.id), photo) != photo
         }
     }
 
-    private suspend fun refreshSensitivePhotos() = withContext(photosDispatcher) {
+    private suspend fun refreshSensitivePhotos(): Boolean = withContext(photosDispatcher) {
         val photos = photosCache.mapNotNull { (nodeId, _) ->
             getMegaNode(nodeId)?.let { megaNode ->
                 if (isImageNodeValid(megaNode)) {
@@ -336,36 +350,73 @@ internal class DefaultPhotosRepository @Inject constructor(
             }
         }
 
+        val newPhotosCache = photos.associateBy { NodeId(it.id) }
+        if (newPhotosCache == photosCache) return@withContext false
+
         photosCache.clear()
-        photosCache.putAll(photos.associateBy { NodeId(it.id) })
+        photosCache.putAll(newPhotosCache)
+        true
     }
 
+    /**
+     * Refresh the cached image node of the [node]
+     *
+     * @return true if the cache changed
+     */
     private suspend fun refreshImageNodes(
         node: Node,
         isPotentialNode: Boolean,
-    ) = withContext(imageNodesDispatcher) {
+    ): Boolean = withContext(imageNodesDispatcher) {
         if (!isPotentialNode) {
-            imageNodesCache.remove(node.id)
-            return@withContext
+            return@withContext imageNodesCache.remove(node.id) != null
         }
 
         val imageNode = fetchImageNode(nodeId = node.id)
         if (imageNode == null) {
-            imageNodesCache.remove(node.id)
+            imageNodesCache.remove(node.id) != null
         } else {
-            imageNodesCache[imageNode.id] = imageNode
+            !imageNode.isSameImageNode(imageNodesCache.put(imageNode.id, imageNode))
         }
     }
 
-    private suspend fun refreshSensitiveImageNodes() = withContext(imageNodesDispatcher) {
+    private suspend fun refreshSensitiveImageNodes(): Boolean = withContext(imageNodesDispatcher) {
         val imageNodes = imageNodesCache.mapNotNull { (nodeId, _) ->
             fetchImageNode(nodeId)
         }
 
+        val newImageNodesCache = imageNodes.associateBy { it.id }
+        val isUnchanged = newImageNodesCache.size == imageNodesCache.size &&
+                newImageNodesCache.all { (nodeId, imageNode) ->
+                    imageNode.isSameImageNode(imageNodesCache[nodeId])
+                }
+        if (isUnchanged) return@withContext false
+
         imageNodesCache.clear()
-        imageNodesCache.putAll(imageNodes.associateBy { it.id })
+        imageNodesCache.putAll(newImageNodesCache)
+        true
     }
 
+    /**
+     * Image nodes have no equality of their own, so they are compared by the values shown for them
+     */
+    private fun ImageNode.isSameImageNode(other: ImageNode?) = other != null &&
+            id == other.id &&
+            parentId == other.parentId &&
+            name == other.name &&
+            modificationTime == other.modificationTime &&
+            isFavourite == other.isFavourite &&
+            label == other.label &&
+            isMarkedSensitive == other.isMarkedSensitive &&
+            isSensitiveInherited == other.isSensitiveInherited &&
+            exportedData == other.exportedData &&
+            isTakenDown == other.isTakenDown &&
+            isAvailableOffline == other.isAvailableOffline &&
+            hasThumbnail == other.hasThumbnail &&
+            hasPreview == other.hasPreview &&
+            thumbnailPath == other.thumbnailPath &&
+            previewPath == other.previewPath &&
+            fullSizePath == other.fullSizePath
+
     override fun monitorImageNodes(): Flow<List<ImageNode>> = imageNodesFlow
         .filterNotNull()
 
@@ -464,17 +515,18 @@ internal class DefaultPhotosRepository @Inject constructor(
         searchCategory: SearchCategory,
         isFromFolderLink: Boolean = false,
     ): List<MegaNode> {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = parentId,
             searchQuery = query,
             searchTarget = SearchTarget.ROOT_NODES,
             searchCategory = searchCategory,
         )
-        return if (isFromFolderLink) {
-            getNodeByCategorySearchFromFolderLink(recursive, filter, token)
-        } else {
-            getNodeByCategorySearch(recursive, filter, token)
+        return cancelTokenProvider.withQueryCancelToken { token ->
+            if (isFromFolderLink) {
+                getNodeByCategorySearchFromFolderLink(recursive, filter, token)
+            } else {
+                getNodeByCategorySearch(recursive, filter, token)
+            }
         }
     }
 
@@ -873,15 +925,16 @@ internal class DefaultPhotosRepository @Inject constructor(
         order: SortOrder?,
         includeRubbishBin: Boolean,
     ): List<ImageNode> = withContext(ioDispatcher) {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             parentHandle = parentId,
         )
-        val megaNodes = megaApiFacade.getChildren(
-            filter = filter,
-            order = sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
-            megaCancelToken = token
-        ).filter {
+        val megaNodes = cancelTokenProvider.withQueryCancelToken { token ->
+            megaApiFacade.getChildren(
+                filter = filter,
+                order = sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
+                megaCancelToken = token
+            )
+        }.filter {
             isImageNodeValid(
                 node = it,
                 filterSvg = false,
@@ -3,6 +3,7 @@ package mega.privacy.android.data.repository.thumbnailpreview
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.extensions.getPreviewFileName
@@ -30,6 +31,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
     private val cacheGateway: CacheGateway,
     private val stringWrapper: StringWrapper,
     private val megaNodeMapper: MegaNodeMapper,
+    private val mediaDiskCache: MediaDiskCache,
 ) : ThumbnailPreviewRepository {
 
     override suspend fun getThumbnailFromLocal(handle: Long): File? =
@@ -38,6 +40,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                 CacheFolderConstant.THUMBNAIL_FOLDER,
                 getThumbnailOrPreviewFileName(handle)
             )?.takeIf { it.exists() }
+                ?.also { mediaDiskCache.onFileRead(CacheFolderConstant.THUMBNAIL_FOLDER, it) }
         }
 
     override suspend fun getPublicNodeThumbnailFromLocal(handle: Long): File? =
@@ -45,7 +48,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             megaApiFolder.getMegaNodeByHandle(handle)?.run {
                 getThumbnailFile(this).takeIf {
                     it?.exists() ?: false
-                }
+                }?.also { mediaDiskCache.onFileRead(CacheFolderConstant.THUMBNAIL_FOLDER, it) }
             }
         }
 
@@ -65,7 +68,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                             thumbnail
                         }
                         megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
-                    }
+                    }.also { onThumbnailWritten(it) }
                 }
             }
         }
@@ -80,7 +83,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                                 thumbnail
                             }
                         megaApiFolder.getThumbnail(node, thumbnail.absolutePath, listener)
-                    }
+                    }.also { onThumbnailWritten(it) }
                 }
             }
         }
@@ -98,7 +101,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                 megaNodeMapper(typedNode)?.run {
                     getPreviewFile(this).takeIf {
                         it?.exists() ?: false
-                    }
+                    }?.also { mediaDiskCache.onFileRead(CacheFolderConstant.PREVIEW_FOLDER, it) }
                 }
             }.onFailure {
                 Timber.e(it)
@@ -115,7 +118,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
                                 preview
                             }
                             megaApi.getPreview(node, preview.absolutePath, listener)
-                        }
+                        }.also { onPreviewWritten(it) }
                     }
                 }
             }.onFailure {
@@ -134,12 +137,15 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             callback(false)
         } else {
+            val thumbnailPath = getThumbnailPath(thumbnailFolderPath, node)
             megaApi.getThumbnail(
                 node,
-                getThumbnailPath(thumbnailFolderPath, node),
+                thumbnailPath,
                 OptionalMegaRequestListenerInterface(
                     onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
+                        val success = error.errorCode == MegaError.API_OK
+                        if (success) onThumbnailWritten(File(thumbnailPath))
+                        callback(success)
                     }
                 )
             )
@@ -157,12 +163,15 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             callback(false)
         } else {
+            val previewPath = getPreviewPath(previewFolderPath, node)
             megaApi.getPreview(
                 node,
-                getPreviewPath(previewFolderPath, node),
+                previewPath,
                 OptionalMegaRequestListenerInterface(
                     onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
+                        val success = error.errorCode == MegaError.API_OK
+                        if (success) onPreviewWritten(File(previewPath))
+                        callback(success)
                     }
                 )
             )
@@ -179,16 +188,17 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             return@withContext false
         } else {
+            val thumbnailPath = getThumbnailPath(thumbnailFolderPath, node)
             return@withContext suspendCancellableCoroutine { continuation ->
                 val listener = continuation.getRequestListener("getThumbnail") {
                     true
                 }
                 megaApi.getThumbnail(
                     node,
-                    getThumbnailPath(thumbnailFolderPath, node),
+                    thumbnailPath,
                     listener
                 )
-            }
+            }.also { onThumbnailWritten(File(thumbnailPath)) }
         }
     }
 
@@ -202,17 +212,18 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             return@withContext false
         } else {
+            val previewPath = getPreviewPath(previewFolderPath, node)
             return@withContext suspendCancellableCoroutine { continuation ->
                 val listener = continuation.getRequestListener("getThumbnail") {
                     true
                 }
                 megaApi.getPreview(
                     node,
-                    getPreviewPath(previewFolderPath, node),
+                    previewPath,
                     listener
                 )
 
-            }
+            }.also { onPreviewWritten(File(previewPath)) }
         }
     }
 
@@ -222,6 +233,12 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
     private fun getThumbnailPath(thumbnailFolderPath: String, megaNode: MegaNode) =
         "$thumbnailFolderPath${File.separator}${megaNode.getThumbnailFileName()}"
 
+    private fun onThumbnailWritten(thumbnail: File) =
+        mediaDiskCache.onFileWritten(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+
+    private fun onPreviewWritten(preview: File) =
+        mediaDiskCache.onFileWritten(CacheFolderConstant.PREVIEW_FOLDER, preview)
+
     private suspend fun getThumbnailFile(fileName: String): File? =
         cacheGateway.getCacheFile(CacheFolderConstant.THUMBNAIL_FOLDER, fileName)
 
@@ -247,6 +264,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         val thumbnailFile = getThumbnailFile(thumbnailFileName)
         requireNotNull(thumbnailFile)
         megaApi.createThumbnail(file.absolutePath, thumbnailFile.absolutePath)
+            .also { if (it) onThumbnailWritten(thumbnailFile) }
     }
 
 
@@ -255,6 +273,7 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         val previewFile = getPreviewFile(previewFileName)
         requireNotNull(previewFile)
         megaApi.createPreview(file.absolutePath, previewFile.absolutePath)
+            .also { if (it) onPreviewWritten(previewFile) }
     }
 
     override suspend fun createPreview(name: String, file: File) =
@@ -263,16 +282,23 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             val previewFile = getPreviewFile(previewFileName)
             requireNotNull(previewFile)
             megaApi.createPreview(file.absolutePath, previewFile.absolutePath)
+                .also { if (it) onPreviewWritten(previewFile) }
         }
 
     override suspend fun deleteThumbnail(handle: Long) = withContext(ioDispatcher) {
         val thumbnailFileName = getThumbnailOrPreviewFileName(handle)
-        getThumbnailFile(thumbnailFileName)?.takeIf { it.exists() }?.delete()
+        getThumbnailFile(thumbnailFileName)?.takeIf { it.exists() }?.let { thumbnail ->
+            thumbnail.delete()
+                .also { mediaDiskCache.onFileDeleted(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail) }
+        }
     }
 
     override suspend fun deletePreview(handle: Long) = withContext(ioDispatcher) {
         val previewFileName = getThumbnailOrPreviewFileName(handle)
-        getPreviewFile(previewFileName)?.takeIf { it.exists() }?.delete()
+        getPreviewFile(previewFileName)?.takeIf { it.exists() }?.let { preview ->
+            preview.delete()
+                .also { mediaDiskCache.onFileDeleted(CacheFolderConstant.PREVIEW_FOLDER, preview) }
+        }
     }
 
     override suspend fun getThumbnailOrPreviewFileName(nodeHandle: Long) =
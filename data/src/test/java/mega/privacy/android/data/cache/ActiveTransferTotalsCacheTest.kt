@@ -0,0 +1,250 @@
+package mega.privacy.android.data.cache
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.entity.ActiveTransferEntity
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.domain.entity.transfer.ActiveTransfer
+import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
+import mega.privacy.android.domain.entity.transfer.TransferType
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.EnumSource
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class ActiveTransferTotalsCacheTest {
+
+    private lateinit var underTest: ActiveTransferTotalsCache
+
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
+
+    @BeforeEach
+    fun setUp() {
+        reset(megaLocalRoomGateway)
+        underTest = ActiveTransferTotalsCache(megaLocalRoomGateway)
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that totals are computed from the active transfers in the database`(
+        transferType: TransferType,
+    ) = runTest {
+        val entities = createEntities(transferType)
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(entities)
+
+        assertThat(underTest.getActiveTransferTotals(transferType))
+            .isEqualTo(expectedTotals(transferType, entities, emptyMap()))
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that the database is only read once`(transferType: TransferType) = runTest {
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(emptyList())
+
+        underTest.getActiveTransferTotals(transferType)
+        underTest.getActiveTransferTotals(transferType)
+
+        verify(megaLocalRoomGateway, times(1)).getCurrentActiveTransfersByType(transferType)
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that empty totals are returned when there are no active transfers`(
+        transferType: TransferType,
+    ) = runTest {
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(emptyList())
+
+        assertThat(underTest.getActiveTransferTotals(transferType))
+            .isEqualTo(ActiveTransferTotals(transferType, 0, 0, 0, 0, 0, 0, 0, 0, 0))
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that totals are updated when transfers are added, progress and finish`(
+        transferType: TransferType,
+    ) = runTest {
+        val entities = createEntities(transferType)
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(emptyList())
+        underTest.getActiveTransferTotals(transferType)
+
+        underTest.insertOrUpdateActiveTransfers(entities)
+        val transferredBytes = entities.associate { it.tag to it.totalBytes / 2 }
+        transferredBytes.forEach { (tag, bytes) ->
+            underTest.updateTransferredBytes(transferType, tag, bytes)
+        }
+        val finishedTags = entities.filter { it.tag % 3 == 0 }.map { it.tag }
+        underTest.setActiveTransfersAsFinished(finishedTags)
+
+        val expectedEntities = entities.map {
+            if (it.tag in finishedTags) it.copy(isFinished = true) else it
+        }
+        assertThat(underTest.getActiveTransferTotals(transferType))
+            .isEqualTo(expectedTotals(transferType, expectedEntities, transferredBytes))
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that completed file transfers are the finished ones with all bytes transferred`(
+        transferType: TransferType,
+    ) = runTest {
+        val entities = createEntities(transferType).map { it.copy(isFinished = true) }
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(entities)
+        //set 50% of the transfers as completed 50% as not completed
+        val transferredBytes = entities.associate {
+            it.tag to if (it.tag % 2 == 0) it.totalBytes / 2 else it.totalBytes
+        }
+
+        transferredBytes.forEach { (tag, bytes) ->
+            underTest.updateTransferredBytes(transferType, tag, bytes)
+        }
+
+        assertThat(underTest.getActiveTransferTotals(transferType).totalCompletedFileTransfers)
+            .isEqualTo(entities.count { !it.isFolderTransfer && it.tag % 2 != 0 })
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that updating a transfer replaces its previous values`(
+        transferType: TransferType,
+    ) = runTest {
+        val entity = createEntities(transferType).first { !it.isFolderTransfer && !it.isFinished }
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(listOf(entity))
+        underTest.getActiveTransferTotals(transferType)
+
+        val updated = entity.copy(isPaused = true, totalBytes = entity.totalBytes * 2)
+        underTest.insertOrUpdateActiveTransfers(listOf(updated))
+
+        assertThat(underTest.getActiveTransferTotals(transferType))
+            .isEqualTo(expectedTotals(transferType, listOf(updated), emptyMap()))
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that clear removes the transfers and transferred bytes of the type`(
+        transferType: TransferType,
+    ) = runTest {
+        val entities = createEntities(transferType)
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(entities)
+        entities.forEach { underTest.updateTransferredBytes(transferType, it.tag, 1L) }
+
+        underTest.clear(transferType)
+        underTest.insertOrUpdateActiveTransfers(entities)
+
+        assertThat(underTest.getActiveTransferTotals(transferType))
+            .isEqualTo(expectedTotals(transferType, entities, emptyMap()))
+    }
+
+    @Test
+    fun `test that changes of a transfer type do not modify the totals of other types`() =
+        runTest {
+            val downloads = createEntities(TransferType.DOWNLOAD)
+            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(TransferType.DOWNLOAD))
+                .thenReturn(downloads)
+            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(TransferType.GENERAL_UPLOAD))
+                .thenReturn(emptyList())
+            underTest.getActiveTransferTotals(TransferType.GENERAL_UPLOAD)
+
+            underTest.insertOrUpdateActiveTransfers(createEntities(TransferType.GENERAL_UPLOAD))
+            underTest.clear(TransferType.GENERAL_UPLOAD)
+
+            assertThat(underTest.getActiveTransferTotals(TransferType.DOWNLOAD))
+                .isEqualTo(expectedTotals(TransferType.DOWNLOAD, downloads, emptyMap()))
+        }
+
+    @Test
+    fun `test that monitorActiveTransferTotals emits the updated totals`() = runTest {
+        val transferType = TransferType.DOWNLOAD
+        val entity = createEntities(transferType).first { !it.isFolderTransfer && !it.isFinished }
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(emptyList())
+
+        underTest.monitorActiveTransferTotals(transferType).test {
+            assertThat(awaitItem().totalTransfers).isEqualTo(0)
+            underTest.insertOrUpdateActiveTransfers(listOf(entity))
+            assertThat(awaitItem().totalTransfers).isEqualTo(1)
+            underTest.setActiveTransfersAsFinished(listOf(entity.tag))
+            assertThat(awaitItem().totalFinishedTransfers).isEqualTo(1)
+        }
+    }
+
+    @Test
+    fun `test that totals of thousands of transfers are kept up to date`() = runTest {
+        val transferType = TransferType.GENERAL_UPLOAD
+        val entities = (1..10_000).map {
+            ActiveTransferEntity(
+                tag = it,
+                transferType = transferType,
+                totalBytes = 100L,
+                isFinished = false,
+                isFolderTransfer = false,
+                isPaused = false,
+                isAlreadyTransferred = false,
+            )
+        }
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(emptyList())
+        underTest.getActiveTransferTotals(transferType)
+
+        underTest.insertOrUpdateActiveTransfers(entities)
+        (1..10).forEach { progress ->
+            entities.forEach {
+                underTest.updateTransferredBytes(transferType, it.tag, progress * 10L)
+            }
+        }
+        entities.forEach { underTest.setActiveTransfersAsFinished(listOf(it.tag)) }
+
+        val actual = underTest.getActiveTransferTotals(transferType)
+        assertThat(actual.totalFinishedTransfers).isEqualTo(entities.size)
+        assertThat(actual.totalCompletedFileTransfers).isEqualTo(entities.size)
+        assertThat(actual.transferredBytes).isEqualTo(actual.totalBytes)
+    }
+
+    private fun expectedTotals(
+        type: TransferType,
+        list: List<ActiveTransfer>,
+        transferredBytes: Map<Int, Long>,
+    ): ActiveTransferTotals {
+        val onlyFiles = list.filter { !it.isFolderTransfer }
+        return ActiveTransferTotals(
+            transfersType = type,
+            totalTransfers = list.size,
+            totalFileTransfers = onlyFiles.size,
+            pausedFileTransfers = onlyFiles.count { it.isPaused },
+            totalFinishedTransfers = list.count { it.isFinished },
+            totalFinishedFileTransfers = onlyFiles.count { it.isFinished },
+            totalCompletedFileTransfers = onlyFiles.count { it.isFinished && transferredBytes[it.tag] == it.totalBytes },
+            totalBytes = onlyFiles.sumOf { it.totalBytes },
+            transferredBytes = onlyFiles.sumOf {
+                if (it.isFinished) it.totalBytes else transferredBytes[it.tag] ?: 0L
+            },
+            totalAlreadyTransferredFiles = onlyFiles.count { it.isAlreadyTransferred },
+        )
+    }
+
+    private fun createEntities(transferType: TransferType) = (0..20).map { tag ->
+        ActiveTransferEntity(
+            tag = tag + transferType.ordinal * 100,
+            transferType = transferType,
+            totalBytes = 1024 * (tag.toLong() % 5 + 1),
+            isFinished = tag.rem(5) == 0,
+            isFolderTransfer = tag.rem(8) == 0,
+            isPaused = tag.rem(7) == 0,
+            isAlreadyTransferred = tag.rem(9) == 0
+        )
+    }
+}
@@ -0,0 +1,171 @@
+package mega.privacy.android.data.cache
+
+import android.content.Context
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.constant.CacheFolderConstant
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.kotlin.mock
+import java.io.File
+import java.io.RandomAccessFile
+import java.util.concurrent.TimeUnit
+
+@OptIn(ExperimentalCoroutinesApi::class)
+internal class MediaDiskCacheTest {
+
+    @TempDir
+    lateinit var tempDir: File
+
+    private lateinit var context: Context
+    private lateinit var thumbnailFolder: File
+
+    @BeforeEach
+    fun setUp() {
+        context = mock { on { cacheDir }.thenReturn(tempDir) }
+        thumbnailFolder = File(tempDir, CacheFolderConstant.THUMBNAIL_FOLDER).apply { mkdirs() }
+    }
+
+    @Test
+    fun `test that the least recently used files are evicted when the budget is exceeded`() =
+        runTest {
+            val underTest = createUnderTest(backgroundScope)
+            val files = (1..3).map { createFile(thumbnailFolder, "$it.jpg", 30 * MB) }
+            files.forEach { underTest.onFileWritten(CacheFolderConstant.THUMBNAIL_FOLDER, it) }
+            underTest.onFileRead(CacheFolderConstant.THUMBNAIL_FOLDER, files[0])
+
+            val newFile = createFile(thumbnailFolder, "4.jpg", 30 * MB)
+            underTest.onFileWritten(CacheFolderConstant.THUMBNAIL_FOLDER, newFile)
+
+            assertThat(files[1].exists()).isFalse()
+            assertThat(files[0].exists()).isTrue()
+            assertThat(files[2].exists()).isTrue()
+            assertThat(newFile.exists()).isTrue()
+            assertThat(underTest.getSizes()[CacheFolderConstant.THUMBNAIL_FOLDER])
+                .isEqualTo(90 * MB)
+        }
+
+    @Test
+    fun `test that the files are known from the journal without listing the folder`() =
+        runTest {
+            val underTest = createUnderTest(backgroundScope)
+            (1..10).forEach {
+                underTest.onFileWritten(
+                    CacheFolderConstant.THUMBNAIL_FOLDER,
+                    createFile(thumbnailFolder, "$it.jpg", KB),
+                )
+            }
+            underTest.onFileDeleted(
+                CacheFolderConstant.THUMBNAIL_FOLDER,
+                File(thumbnailFolder, "1.jpg").apply { delete() },
+            )
+            advanceUntilIdle()
+            createFile(thumbnailFolder, "not_recorded.jpg", KB)
+
+            val actual = createUnderTest(backgroundScope).getSizes()
+
+            assertThat(actual[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(9 * KB)
+        }
+
+    @Test
+    fun `test that the folder is listed when there is no journal`() = runTest {
+        (1..5).forEach { createFile(thumbnailFolder, "$it.jpg", KB) }
+
+        val actual = createUnderTest(backgroundScope).getSizes()
+
+        assertThat(actual[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(5 * KB)
+        assertThat(actual[CacheFolderConstant.PREVIEW_FOLDER]).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the files of the temporary folder are never evicted`() = runTest {
+        val temporaryFolder =
+            File(tempDir, CacheFolderConstant.TEMPORARY_FOLDER).apply { mkdirs() }
+        val uploadSource = createFile(temporaryFolder, "upload.jpg", 600 * MB).apply {
+            setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2))
+        }
+
+        val actual = createUnderTest(backgroundScope).getSizes()
+
+        assertThat(uploadSource.exists()).isTrue()
+        assertThat(actual).doesNotContainKey(CacheFolderConstant.TEMPORARY_FOLDER)
+    }
+
+    @Test
+    fun `test that the files of the sub folders are counted when the folder is listed`() =
+        runTest {
+            val subFolder = File(thumbnailFolder, "sub").apply { mkdirs() }
+            createFile(thumbnailFolder, "1.jpg", KB)
+            createFile(subFolder, "2.jpg", 2 * KB)
+
+            val actual = createUnderTest(backgroundScope).getSizes()
+
+            assertThat(actual[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(3 * KB)
+        }
+
+    @Test
+    fun `test that the files written outside the cache are added when they are read`() =
+        runTest {
+            val underTest = createUnderTest(backgroundScope)
+            underTest.getSizes()
+
+            underTest.onFileRead(
+                CacheFolderConstant.THUMBNAIL_FOLDER,
+                createFile(thumbnailFolder, "legacy.jpg", KB),
+            )
+
+            assertThat(underTest.getSizes()[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(KB)
+        }
+
+    @Test
+    fun `test that the files of other folders are ignored`() = runTest {
+        val underTest = createUnderTest(backgroundScope)
+        val otherFolder = File(tempDir, "other").apply { mkdirs() }
+
+        underTest.onFileWritten(
+            CacheFolderConstant.THUMBNAIL_FOLDER,
+            createFile(otherFolder, "1.jpg", KB),
+        )
+        underTest.onFileWritten("other", createFile(otherFolder, "2.jpg", KB))
+
+        assertThat(underTest.getSizes()[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(0)
+        assertThat(underTest.getSizes()).doesNotContainKey("other")
+    }
+
+    @Test
+    fun `test that reset forgets the files after the cache directory is cleared`() = runTest {
+        val underTest = createUnderTest(backgroundScope)
+        val file = createFile(thumbnailFolder, "1.jpg", KB)
+        underTest.onFileWritten(CacheFolderConstant.THUMBNAIL_FOLDER, file)
+        advanceUntilIdle()
+
+        file.delete()
+        underTest.reset()
+
+        assertThat(underTest.getSizes()[CacheFolderConstant.THUMBNAIL_FOLDER]).isEqualTo(0)
+    }
+
+    private fun TestScope.createUnderTest(scope: CoroutineScope) = MediaDiskCache(
+        context = context,
+        applicationScope = scope,
+        ioDispatcher = UnconfinedTestDispatcher(testScheduler),
+    )
+
+    /**
+     * Create a sparse file, so big files don't take space nor time
+     */
+    private fun createFile(folder: File, name: String, size: Long) = File(folder, name).apply {
+        RandomAccessFile(this, "rw").use { it.setLength(size) }
+    }
+
+    companion object {
+        private const val KB = 1024L
+        private const val MB = 1024L * KB
+    }
+}
@@ -0,0 +1,192 @@
+package mega.privacy.android.data.cache
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class OfflineInfoCacheTest {
+
+    private val offlineDao = mock<OfflineDao>()
+    private val offlineModelMapper = mock<OfflineModelMapper>()
+    private val table = MutableStateFlow<List<OfflineEntity>>(emptyList())
+
+    @BeforeEach
+    fun setUp() {
+        reset(offlineDao, offlineModelMapper)
+        table.value = emptyList()
+        whenever(offlineDao.getOfflineFiles()).thenAnswer { table.value }
+        whenever(offlineDao.monitorOfflineChanges()).thenReturn(table.map { it.size })
+        offlineModelMapper.stub {
+            onBlocking { invoke(any()) }.doSuspendableAnswer {
+                it.getArgument<OfflineEntity>(0).toOffline()
+            }
+        }
+    }
+
+    @Test
+    fun `test that the table is read and decrypted only once`() = runTest {
+        val entities = (1..10).map { entity(it) }
+        table.value = entities
+        val underTest = createUnderTest(backgroundScope)
+
+        underTest.getAll()
+        underTest.getAllByHandle()
+        underTest.getByHandle("1")
+
+        verify(offlineDao, times(1)).getOfflineFiles()
+        entities.forEach { verify(offlineModelMapper, times(1)).invoke(it) }
+    }
+
+    @Test
+    fun `test that offline information is found by handle and id`() = runTest {
+        table.value = listOf(entity(1), entity(2))
+        val underTest = createUnderTest(backgroundScope)
+
+        assertThat(underTest.getByHandle("2")).isEqualTo(entity(2).toOffline())
+        assertThat(underTest.getById(1)).isEqualTo(entity(1).toOffline())
+        assertThat(underTest.getByHandle("3")).isNull()
+        assertThat(underTest.getAllByHandle().keys).containsExactly("1", "2")
+    }
+
+    @Test
+    fun `test that only the changed rows are decrypted when the table changes`() = runTest {
+        val unchanged = entity(1)
+        val modified = entity(2)
+        table.value = listOf(unchanged, modified)
+        val underTest = createUnderTest(backgroundScope)
+        underTest.getAll()
+
+        val modifiedAgain = modified.copy(lastModifiedTime = 100L)
+        val added = entity(3)
+        table.value = listOf(unchanged, modifiedAgain, added)
+        runCurrent()
+
+        assertThat(underTest.getAll()).containsExactly(
+            unchanged.toOffline(),
+            modifiedAgain.toOffline(),
+            added.toOffline(),
+        )
+        verify(offlineModelMapper, times(1)).invoke(unchanged)
+        verify(offlineModelMapper, times(1)).invoke(modifiedAgain)
+        verify(offlineModelMapper, times(1)).invoke(added)
+    }
+
+    @Test
+    fun `test that inserted information is available without decrypting it`() = runTest {
+        val underTest = createUnderTest(backgroundScope)
+        val entity = entity(5)
+        val offline = entity.toOffline().copy(id = -1)
+
+        underTest.insert(5, entity.copy(id = null), offline)
+        table.value = listOf(entity)
+        runCurrent()
+
+        assertThat(underTest.getByHandle("5")).isEqualTo(entity.toOffline())
+        verify(offlineModelMapper, times(0)).invoke(entity)
+    }
+
+    @Test
+    fun `test that a table read started before an insert does not undo it`() = runTest {
+        table.value = listOf(entity(1))
+        val underTest = createUnderTest(backgroundScope)
+        underTest.getAll()
+        val inserted = entity(5)
+        var readBeforeInsert = true
+        whenever(offlineDao.getOfflineFiles()).thenAnswer {
+            val entities = table.value.filter { it != inserted }
+            if (readBeforeInsert) {
+                readBeforeInsert = false
+                runBlocking { underTest.insert(5, inserted, inserted.toOffline()) }
+            }
+            entities
+        }
+
+        table.value = listOf(entity(1), inserted)
+        runCurrent()
+
+        assertThat(underTest.getByHandle("5")).isEqualTo(inserted.toOffline())
+    }
+
+    @Test
+    fun `test that removed information is not returned`() = runTest {
+        table.value = (1..4).map { entity(it) }
+        val underTest = createUnderTest(backgroundScope)
+
+        underTest.removeByHandle("1")
+        underTest.removeByIds(listOf(2, 3))
+
+        assertThat(underTest.getAll()).containsExactly(entity(4).toOffline())
+        underTest.clear()
+        assertThat(underTest.getAll()).isEmpty()
+    }
+
+    @Test
+    fun `test that monitorAll only emits when the table changes`() = runTest {
+        table.value = listOf(entity(1))
+        val underTest = createUnderTest(backgroundScope)
+
+        underTest.monitorAll().test {
+            assertThat(awaitItem()).containsExactly(entity(1).toOffline())
+            table.value = listOf(entity(1))
+            runCurrent()
+            expectNoEvents()
+            table.value = listOf(entity(1), entity(2))
+            assertThat(awaitItem()).hasSize(2)
+        }
+    }
+
+    private fun createUnderTest(scope: CoroutineScope) = OfflineInfoCache(
+        offlineDao = { offlineDao },
+        offlineModelMapper = offlineModelMapper,
+        applicationScope = scope,
+        ioDispatcher = UnconfinedTestDispatcher(),
+    )
+
+    private fun entity(id: Int) = OfflineEntity(
+        id = id,
+        encryptedHandle = "$id",
+        encryptedPath = "/path",
+        encryptedName = "name$id",
+        parentId = -1,
+        encryptedType = Offline.FILE,
+        incoming = Offline.OTHER,
+        encryptedIncomingHandle = "",
+        lastModifiedTime = 0L,
+    )
+
+    private fun OfflineEntity.toOffline() = Offline(
+        id = id ?: -1,
+        handle = encryptedHandle.orEmpty(),
+        path = encryptedPath.orEmpty(),
+        name = encryptedName.orEmpty(),
+        parentId = parentId ?: -1,
+        type = encryptedType.orEmpty(),
+        origin = incoming ?: -1,
+        handleIncoming = encryptedIncomingHandle.orEmpty(),
+        lastModifiedTime = lastModifiedTime ?: 0L,
+    )
+}
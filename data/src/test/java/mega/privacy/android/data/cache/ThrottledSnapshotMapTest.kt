@@ -0,0 +1,125 @@
+package mega.privacy.android.data.cache
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runTest
+import kotlinx.coroutines.withContext
+import org.junit.jupiter.api.Test
+import kotlin.time.Duration.Companion.milliseconds
+
+@OptIn(ExperimentalCoroutinesApi::class)
+internal class ThrottledSnapshotMapTest {
+
+    private val underTest = ThrottledSnapshotMap<Int, Long>(THROTTLE)
+
+    @Test
+    fun `test that snapshot returns the current content of the map`() {
+        underTest.put(1, 10L)
+        underTest.putAll(mapOf(2 to 20L, 3 to 30L))
+        underTest.put(1, 11L)
+        underTest.remove(3)
+
+        assertThat(underTest.snapshot()).containsExactly(1, 11L, 2, 20L)
+    }
+
+    @Test
+    fun `test that a snapshot is not modified by later updates`() {
+        underTest.put(1, 10L)
+        val snapshot = underTest.snapshot()
+
+        underTest.put(1, 11L)
+        underTest.clear()
+
+        assertThat(snapshot).containsExactly(1, 10L)
+    }
+
+    @Test
+    fun `test that removeAll only removes the given keys`() {
+        underTest.putAll(mapOf(1 to 10L, 2 to 20L, 3 to 30L))
+
+        underTest.removeAll(setOf(1, 3, 4))
+
+        assertThat(underTest.snapshot()).containsExactly(2, 20L)
+    }
+
+    @Test
+    fun `test that snapshots emits the current content on collection`() = runTest {
+        underTest.put(1, 10L)
+
+        underTest.snapshots.test {
+            assertThat(awaitItem()).containsExactly(1, 10L)
+        }
+    }
+
+    @Test
+    fun `test that snapshots only emits the latest content once per throttle duration`() =
+        runTest {
+            underTest.snapshots.test {
+                assertThat(awaitItem()).isEmpty()
+
+                repeat(1_000) { underTest.put(it % 10, it.toLong()) }
+                advanceTimeBy(THROTTLE / 2)
+                expectNoEvents()
+
+                advanceTimeBy(THROTTLE)
+                assertThat(awaitItem()).isEqualTo((990 until 1_000).associateBy(
+                    keySelector = { it % 10 },
+                    valueTransform = { it.toLong() }
+                ))
+                expectNoEvents()
+            }
+        }
+
+    @Test
+    fun `test that snapshots emits again when a value is removed`() = runTest {
+        underTest.put(1, 10L)
+
+        underTest.snapshots.test {
+            assertThat(awaitItem()).containsExactly(1, 10L)
+            underTest.remove(1)
+            assertThat(awaitItem()).isEmpty()
+        }
+    }
+
+    @Test
+    fun `test that snapshots does not emit again when the content is unchanged`() = runTest {
+        underTest.put(1, 10L)
+
+        underTest.snapshots.test {
+            assertThat(awaitItem()).containsExactly(1, 10L)
+            underTest.put(1, 10L)
+            underTest.putAll(mapOf(1 to 10L))
+            advanceTimeBy(THROTTLE * 2)
+            expectNoEvents()
+        }
+    }
+
+    @Test
+    fun `test that concurrent updates of thousands of keys are all kept`() = runTest {
+        val keys = 10_000
+        val updatesPerKey = 10
+
+        withContext(Dispatchers.Default) {
+            (0 until keys).chunked(keys / 8).map { chunk ->
+                async {
+                    repeat(updatesPerKey) { update ->
+                        chunk.forEach { underTest.put(it, update.toLong()) }
+                    }
+                }
+            }.awaitAll()
+        }
+
+        val snapshot = underTest.snapshot()
+        assertThat(snapshot).hasSize(keys)
+        assertThat(snapshot.values.all { it == updatesPerKey - 1L }).isTrue()
+    }
+
+    companion object {
+        private val THROTTLE = 200.milliseconds
+    }
+}
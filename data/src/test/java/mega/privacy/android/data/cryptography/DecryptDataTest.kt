@@ -0,0 +1,71 @@
+package mega.privacy.android.data.cryptography
+
+import android.util.Base64
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.MockedStatic
+import org.mockito.Mockito.mockStatic
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class DecryptDataTest {
+
+    private val aesKey = ByteArray(16) { it.toByte() }
+    private val encryptData = EncryptData(aesKey)
+    private val underTest = DecryptData(aesKey)
+
+    private lateinit var base64: MockedStatic<Base64>
+
+    @BeforeAll
+    fun setUp() {
+        base64 = mockStatic(Base64::class.java)
+        base64.`when`<String> { Base64.encodeToString(anyOrNull(), any()) }.thenAnswer {
+            java.util.Base64.getEncoder().encodeToString(it.getArgument(0))
+        }
+        base64.`when`<ByteArray> { Base64.decode(anyOrNull<String>(), any()) }.thenAnswer {
+            java.util.Base64.getDecoder().decode(it.getArgument<String>(0))
+        }
+    }
+
+    @AfterAll
+    fun tearDown() {
+        base64.close()
+    }
+
+    @Test
+    fun `test that decrypted data is the data encrypted by EncryptData`() = runTest {
+        val values = listOf("true", "1234567890123456789", "Cloud drive/Camera uploads/a.jpg")
+
+        values.forEach {
+            assertThat(underTest(encryptData(it))).isEqualTo(it)
+        }
+    }
+
+    @Test
+    fun `test that batches are decrypted in the same order`() = runTest {
+        val values = listOf("a", null, "b".repeat(100), "a")
+
+        assertThat(underTest(encryptData(values))).isEqualTo(values)
+    }
+
+    @Test
+    fun `test that memoized values are the same as computed ones`() = runTest {
+        val value = "27169983390750"
+
+        assertThat(encryptData(value)).isEqualTo(EncryptData(aesKey)(value))
+        assertThat(underTest(encryptData(value))).isEqualTo(DecryptData(aesKey)(encryptData(value)))
+    }
+
+    @Test
+    fun `test that null is returned for invalid data and the cipher can still be used`() =
+        runTest {
+            assertThat(underTest(java.util.Base64.getEncoder().encodeToString(ByteArray(5))))
+                .isNull()
+            assertThat(underTest(encryptData("false"))).isEqualTo("false")
+        }
+}
@@ -0,0 +1,177 @@
+package mega.privacy.android.data.database.chat
+
+import androidx.paging.PagingSource
+import androidx.room.InvalidationTracker
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.dao.TypedMessageDao
+import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
+import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TypedMessagePagingSourceTest {
+
+    private val chatId = 123L
+    private val pageSize = 3
+    private val typedMessageDao = mock<TypedMessageDao>()
+    private val invalidationTracker = mock<InvalidationTracker>()
+    private val database = mock<ChatDatabase>()
+
+    @BeforeEach
+    fun setUp() {
+        reset(typedMessageDao, invalidationTracker, database)
+        whenever(database.invalidationTracker).thenReturn(invalidationTracker)
+    }
+
+    @Test
+    fun `test that the first refresh loads the newest messages`() = runTest {
+        val messages = (10L downTo 8L).map { createMessage(it) }
+        typedMessageDao.stub {
+            onBlocking { getNewestMessages(chatId, pageSize) }.thenReturn(messages)
+        }
+
+        val actual = createUnderTest().load(refresh(null))
+
+        assertThat(actual).isEqualTo(
+            PagingSource.LoadResult.Page(
+                data = messages,
+                prevKey = null,
+                nextKey = MessagePagingKey(time = 8L, msgId = 8L),
+            )
+        )
+    }
+
+    @Test
+    fun `test that refreshing from a key loads that message and the older ones`() = runTest {
+        val key = MessagePagingKey(time = 10L, msgId = 10L)
+        val messages = (10L downTo 8L).map { createMessage(it) }
+        typedMessageDao.stub {
+            onBlocking { getMessagesFrom(chatId, 10L, 10L, pageSize) }.thenReturn(messages)
+        }
+
+        val actual = createUnderTest().load(refresh(key))
+
+        assertThat(actual).isEqualTo(
+            PagingSource.LoadResult.Page(
+                data = messages,
+                prevKey = key,
+                nextKey = MessagePagingKey(time = 8L, msgId = 8L),
+            )
+        )
+    }
+
+    @Test
+    fun `test that refreshing from a removed key loads the newest messages`() = runTest {
+        val messages = (10L downTo 8L).map { createMessage(it) }
+        typedMessageDao.stub {
+            onBlocking { getMessagesFrom(any(), any(), any(), any()) }.thenReturn(emptyList())
+            onBlocking { getNewestMessages(chatId, pageSize) }.thenReturn(messages)
+        }
+
+        val actual = createUnderTest().load(refresh(MessagePagingKey(time = 5L, msgId = 5L)))
+
+        assertThat((actual as PagingSource.LoadResult.Page).data).isEqualTo(messages)
+        assertThat(actual.prevKey).isNull()
+    }
+
+    @Test
+    fun `test that appending loads the messages older than the key until the last page`() =
+        runTest {
+            val messages = (7L downTo 6L).map { createMessage(it) }
+            typedMessageDao.stub {
+                onBlocking { getMessagesOlderThan(chatId, 8L, 8L, pageSize) }.thenReturn(messages)
+            }
+
+            val actual = createUnderTest().load(
+                PagingSource.LoadParams.Append(
+                    key = MessagePagingKey(time = 8L, msgId = 8L),
+                    loadSize = pageSize,
+                    placeholdersEnabled = false,
+                )
+            )
+
+            assertThat(actual).isEqualTo(
+                PagingSource.LoadResult.Page(
+                    data = messages,
+                    prevKey = MessagePagingKey(time = 7L, msgId = 7L),
+                    nextKey = null,
+                )
+            )
+        }
+
+    @Test
+    fun `test that prepending loads the messages newer than the key newest first`() = runTest {
+        val messages = (11L..12L).map { createMessage(it) }
+        typedMessageDao.stub {
+            onBlocking { getMessagesNewerThan(chatId, 10L, 10L, pageSize) }.thenReturn(messages)
+        }
+
+        val actual = createUnderTest().load(
+            PagingSource.LoadParams.Prepend(
+                key = MessagePagingKey(time = 10L, msgId = 10L),
+                loadSize = pageSize,
+                placeholdersEnabled = false,
+            )
+        )
+
+        assertThat(actual).isEqualTo(
+            PagingSource.LoadResult.Page(
+                data = messages.reversed(),
+                prevKey = null,
+                nextKey = MessagePagingKey(time = 11L, msgId = 11L),
+            )
+        )
+    }
+
+    @Test
+    fun `test that an error is returned when the messages cannot be read`() = runTest {
+        val exception = RuntimeException()
+        typedMessageDao.stub {
+            onBlocking { getNewestMessages(any(), any()) }.thenThrow(exception)
+        }
+
+        val actual = createUnderTest().load(refresh(null))
+
+        assertThat((actual as PagingSource.LoadResult.Error).throwable).isEqualTo(exception)
+    }
+
+    @Test
+    fun `test that the database observer is removed when the source is invalidated`() {
+        val underTest = createUnderTest()
+
+        underTest.invalidate()
+
+        verify(invalidationTracker).addObserver(any())
+        verify(invalidationTracker).removeObserver(any())
+    }
+
+    private fun createUnderTest() = TypedMessagePagingSource(
+        chatId = chatId,
+        typedMessageDao = typedMessageDao,
+        database = database,
+    )
+
+    private fun refresh(key: MessagePagingKey?) = PagingSource.LoadParams.Refresh(
+        key = key,
+        loadSize = pageSize,
+        placeholdersEnabled = false,
+    )
+
+    private fun createMessage(id: Long): MetaTypedMessageEntity {
+        val entity = mock<TypedMessageEntity> {
+            on { messageId }.thenReturn(id)
+            on { timestamp }.thenReturn(id)
+        }
+        return mock { on { typedMessageEntity }.thenReturn(entity) }
+    }
+}
@@ -296,6 +296,24 @@ class ChunkedFlowTest {
         }
 
 
+    @Test
+    internal fun `test that pending values of a cancelled collection are not emitted to the next one`() =
+        runTest {
+            val source = MutableStateFlow(0)
+            val chunked = source.chunked(100.milliseconds)
+
+            chunked.test {
+                source.value = 1
+                advanceTimeBy(50.milliseconds)
+                cancelAndIgnoreRemainingEvents()
+            }
+            source.value = 2
+            chunked.test {
+                assertThat(awaitItem()).containsExactly(2)
+                cancelAndIgnoreRemainingEvents()
+            }
+        }
+
     companion object {
         @JvmField
         @RegisterExtension
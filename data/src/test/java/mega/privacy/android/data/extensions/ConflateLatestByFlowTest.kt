@@ -0,0 +1,129 @@
+package mega.privacy.android.data.extensions
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.consumeAsFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runTest
+import kotlinx.coroutines.yield
+import org.junit.jupiter.api.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class ConflateLatestByFlowTest {
+
+    private data class Event(val tag: Int, val name: String, val isUpdate: Boolean = false)
+
+    private fun start(tag: Int) = Event(tag, "start")
+    private fun update(tag: Int, progress: Int) = Event(tag, "update$progress", isUpdate = true)
+    private fun finish(tag: Int) = Event(tag, "finish")
+
+    private fun Channel<Event>.conflated() = consumeAsFlow()
+        .conflateLatestBy(key = { it.tag }, isConflatable = { it.isUpdate })
+
+    @Test
+    fun `test that all values are emitted when the collector is not busy`() = runTest {
+        val events = listOf(start(1), update(1, 1), update(1, 2), finish(1))
+
+        val actual = flow {
+            events.forEach {
+                emit(it)
+                yield()
+            }
+        }.conflateLatestBy(key = { it.tag }, isConflatable = { it.isUpdate })
+            .toList()
+
+        assertThat(actual).containsExactlyElementsIn(events).inOrder()
+    }
+
+    @Test
+    fun `test that only the latest pending update of each key is emitted`() = runTest {
+        val channel = Channel<Event>(Channel.UNLIMITED)
+        listOf(
+            update(1, 1),
+            update(2, 1),
+            update(1, 2),
+            update(2, 2),
+            update(1, 3),
+        ).forEach { channel.send(it) }
+        channel.close()
+
+        assertThat(channel.conflated().toList())
+            .containsExactly(update(1, 3), update(2, 2)).inOrder()
+    }
+
+    @Test
+    fun `test that not conflatable values are always emitted in order`() = runTest {
+        val channel = Channel<Event>(Channel.UNLIMITED)
+        listOf(
+            start(1),
+            start(2),
+            finish(2),
+            finish(1),
+        ).forEach { channel.send(it) }
+        channel.close()
+
+        assertThat(channel.conflated().toList())
+            .containsExactly(start(1), start(2), finish(2), finish(1)).inOrder()
+    }
+
+    @Test
+    fun `test that an update is never emitted before a previous not conflatable value with the same key`() =
+        runTest {
+            val channel = Channel<Event>(Channel.UNLIMITED)
+            listOf(
+                start(1),
+                update(1, 1),
+                Event(1, "temporaryError"),
+                update(1, 2),
+                update(1, 3),
+                finish(1),
+            ).forEach { channel.send(it) }
+            channel.close()
+
+            assertThat(channel.conflated().toList()).containsExactly(
+                start(1),
+                update(1, 1),
+                Event(1, "temporaryError"),
+                update(1, 3),
+                finish(1),
+            ).inOrder()
+        }
+
+    @Test
+    fun `test that pending values are bounded by the number of keys when the collector is slow`() =
+        runTest {
+            val transfers = 10_000
+            val updatesPerTransfer = 10
+            val channel = Channel<Event>(Channel.UNLIMITED)
+            repeat(updatesPerTransfer) { progress ->
+                repeat(transfers) { tag -> channel.send(update(tag, progress)) }
+            }
+            channel.close()
+
+            val actual = channel.conflated().toList()
+
+            assertThat(actual).hasSize(transfers)
+            assertThat(actual.all { it.name == "update${updatesPerTransfer - 1}" }).isTrue()
+        }
+
+    @Test
+    fun `test that new values are emitted after the pending ones have been collected`() =
+        runTest {
+            val upstream = MutableSharedFlow<Event>(extraBufferCapacity = 10)
+
+            upstream.buffer(Channel.UNLIMITED)
+                .conflateLatestBy(key = { it.tag }, isConflatable = { it.isUpdate })
+                .test {
+                    upstream.emit(update(1, 1))
+                    assertThat(awaitItem()).isEqualTo(update(1, 1))
+                    upstream.emit(update(1, 2))
+                    assertThat(awaitItem()).isEqualTo(update(1, 2))
+                    cancelAndIgnoreRemainingEvents()
+                }
+        }
+}
@@ -8,6 +8,7 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.test.TestScope
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant.CHAT_TEMPORARY_FOLDER
 import mega.privacy.android.data.gateway.FileGateway
 import org.junit.jupiter.api.BeforeAll
@@ -31,6 +32,7 @@ class CacheFolderFacadeTest {
 
     private val context = mock<Context>()
     private val fileGateway = mock<FileGateway>()
+    private val mediaDiskCache = mock<MediaDiskCache>()
 
 
     @BeforeAll
@@ -40,12 +42,13 @@ class CacheFolderFacadeTest {
             fileGateway,
             coroutineScope,
             testDispatcher,
+            mediaDiskCache,
         )
     }
 
     @BeforeEach
     fun reset() {
-        reset(context, fileGateway)
+        reset(context, fileGateway, mediaDiskCache)
     }
 
     @ParameterizedTest
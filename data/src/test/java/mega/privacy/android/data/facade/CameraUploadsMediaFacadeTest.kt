@@ -119,7 +119,20 @@ class CameraUploadsMediaFacadeTest {
             val parentPath = "parentPath"
             val expected = "${MediaStore.MediaColumns.DATA} LIKE '$parentPath%'"
 
-            assertThat(underTest.getMediaSelectionQuery(parentPath)).isEqualTo(expected)
+            assertThat(underTest.getMediaSelectionQuery(parentPath, null)).isEqualTo(expected)
+        }
+
+    @Test
+    fun test_that_getMediaSelectionQuery_only_selects_media_added_or_modified_since_the_given_timestamp() =
+        runTest {
+            val parentPath = "parentPath"
+            val addedOrModifiedSince = 1_700_000_000_500L
+            val expected = "${MediaStore.MediaColumns.DATA} LIKE '$parentPath%'" +
+                    " AND (${MediaStore.MediaColumns.DATE_ADDED} >= 1700000000" +
+                    " OR ${MediaStore.MediaColumns.DATE_MODIFIED} >= 1700000000)"
+
+            assertThat(underTest.getMediaSelectionQuery(parentPath, addedOrModifiedSince))
+                .isEqualTo(expected)
         }
 
 
@@ -0,0 +1,211 @@
+package mega.privacy.android.data.facade
+
+import android.Manifest
+import android.content.pm.ProviderInfo
+import android.database.Cursor
+import android.database.MatrixCursor
+import android.os.CancellationSignal
+import android.os.ParcelFileDescriptor
+import android.provider.DocumentsContract
+import android.provider.DocumentsProvider
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.mapper.file.DocumentFileMapper
+import mega.privacy.android.domain.entity.uri.UriPath
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import java.io.FileNotFoundException
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(AndroidJUnit4::class)
+class FileFacadeDocumentFolderTest {
+
+    private lateinit var provider: FakeDocumentsProvider
+    private lateinit var underTest: FileFacade
+
+    private val rootUri = UriPath(
+        DocumentsContract.buildTreeDocumentUri(AUTHORITY, ROOT_ID).toString()
+    )
+
+    @Before
+    fun setUp() {
+        val providerInfo = ProviderInfo().apply {
+            authority = AUTHORITY
+            exported = true
+            grantUriPermissions = true
+            readPermission = Manifest.permission.MANAGE_DOCUMENTS
+            writePermission = Manifest.permission.MANAGE_DOCUMENTS
+        }
+        provider = Robolectric.buildContentProvider(FakeDocumentsProvider::class.java)
+            .create(providerInfo)
+            .get()
+        underTest = FileFacade(ApplicationProvider.getApplicationContext(), DocumentFileMapper())
+    }
+
+    @Test
+    fun `test that listing a folder makes a single query for it and for each sub folder`() =
+        runTest {
+            val actual = underTest.getFilesInDocumentFolder(rootUri).files
+
+            assertThat(actual.map { it.name })
+                .containsExactlyElementsIn((1..FOLDERS_COUNT).map { "folder_$it" })
+            assertThat(actual.all { it.isFolder }).isTrue()
+            assertThat(actual.map { it.numFolders }.toSet()).containsExactly(FOLDERS_COUNT)
+            assertThat(actual.map { it.numFiles }.toSet()).containsExactly(0)
+            assertThat(provider.childrenQueries.get()).isEqualTo(1 + FOLDERS_COUNT)
+            assertThat(provider.documentQueries.get()).isEqualTo(0)
+        }
+
+    @Test
+    fun `test that the search lists each folder of the tree only once`() = runTest {
+        val actual = underTest.searchFilesInDocumentFolderRecursive(rootUri, ".txt").toList()
+
+        val files = actual.flatMap { it.files }
+        assertThat(provider.entriesCount).isAtLeast(10_000)
+        assertThat(files).hasSize(FOLDERS_COUNT * FOLDERS_COUNT * FILES_COUNT)
+        assertThat(files.map { it.uri }.toSet()).hasSize(files.size)
+        assertThat(provider.childrenQueries.get())
+            .isEqualTo(1 + FOLDERS_COUNT + FOLDERS_COUNT * FOLDERS_COUNT)
+        assertThat(provider.documentQueries.get()).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the search emits only the new matches in each batch`() = runTest {
+        val actual = underTest.searchFilesInDocumentFolderRecursive(rootUri, ".txt").toList()
+
+        assertThat(actual.size).isGreaterThan(1)
+        assertThat(actual.sumOf { it.files.size })
+            .isEqualTo(FOLDERS_COUNT * FOLDERS_COUNT * FILES_COUNT)
+    }
+
+    @Test
+    fun `test that the matched documents are mapped with their metadata`() = runTest {
+        val actual = underTest.searchFilesInDocumentFolderRecursive(rootUri, "_3_4")
+            .toList()
+            .flatMap { it.files }
+
+        val folder = actual.single { it.isFolder }
+        assertThat(folder.name).isEqualTo("folder_3_4")
+        assertThat(folder.numFiles).isEqualTo(FILES_COUNT)
+        assertThat(folder.numFolders).isEqualTo(0)
+        val file = actual.single { it.name == "file_3_4_7.txt" }
+        assertThat(file.isFolder).isFalse()
+        assertThat(file.size).isEqualTo(7)
+        assertThat(file.lastModified).isEqualTo(LAST_MODIFIED + 7)
+        assertThat(file.uri.value).isEqualTo(
+            DocumentsContract.buildDocumentUriUsingTree(
+                DocumentsContract.buildTreeDocumentUri(AUTHORITY, ROOT_ID),
+                "$ROOT_ID/folder_3/folder_3_4/file_3_4_7.txt",
+            ).toString()
+        )
+    }
+
+    @Test
+    fun `test that the search emits an empty folder when nothing matches`() = runTest {
+        val actual = underTest.searchFilesInDocumentFolderRecursive(rootUri, "not found")
+            .toList()
+
+        assertThat(actual).hasSize(1)
+        assertThat(actual.single().files).isEmpty()
+    }
+
+    /**
+     * Documents provider with a tree of [FOLDERS_COUNT] folders, each one with [FOLDERS_COUNT]
+     * sub folders of [FILES_COUNT] files, that counts the queries made to it
+     */
+    class FakeDocumentsProvider : DocumentsProvider() {
+        val childrenQueries = AtomicInteger()
+        val documentQueries = AtomicInteger()
+
+        private val children = buildMap<String, List<FakeDocument>> {
+            val folders = (1..FOLDERS_COUNT).map {
+                FakeDocument("$ROOT_ID/folder_$it", "folder_$it")
+            }
+            put(ROOT_ID, folders)
+            folders.forEachIndexed { folderIndex, folder ->
+                val subFolders = (1..FOLDERS_COUNT).map {
+                    val name = "folder_${folderIndex + 1}_$it"
+                    FakeDocument("${folder.id}/$name", name)
+                }
+                put(folder.id, subFolders)
+                subFolders.forEach { subFolder ->
+                    put(subFolder.id, (1..FILES_COUNT).map {
+                        val name = "file_${subFolder.name.removePrefix("folder_")}_$it.txt"
+                        FakeDocument("${subFolder.id}/$name", name, size = it.toLong())
+                    })
+                }
+            }
+        }
+
+        val entriesCount get() = children.values.sumOf { it.size }
+
+        override fun onCreate() = true
+
+        override fun queryRoots(projection: Array<out String>?): Cursor = MatrixCursor(
+            projection ?: arrayOf(DocumentsContract.Root.COLUMN_ROOT_ID)
+        )
+
+        override fun queryDocument(documentId: String?, projection: Array<out String>?): Cursor {
+            documentQueries.incrementAndGet()
+            throw FileNotFoundException()
+        }
+
+        override fun queryChildDocuments(
+            parentDocumentId: String,
+            projection: Array<out String>?,
+            sortOrder: String?,
+        ): Cursor {
+            childrenQueries.incrementAndGet()
+            return MatrixCursor(projection ?: DEFAULT_PROJECTION).apply {
+                children[parentDocumentId].orEmpty().forEach { document ->
+                    newRow()
+                        .add(DocumentsContract.Document.COLUMN_DOCUMENT_ID, document.id)
+                        .add(DocumentsContract.Document.COLUMN_DISPLAY_NAME, document.name)
+                        .add(DocumentsContract.Document.COLUMN_SIZE, document.size)
+                        .add(
+                            DocumentsContract.Document.COLUMN_LAST_MODIFIED,
+                            LAST_MODIFIED + (document.size ?: 0),
+                        )
+                        .add(DocumentsContract.Document.COLUMN_MIME_TYPE, document.mimeType)
+                }
+            }
+        }
+
+        override fun isChildDocument(parentDocumentId: String, documentId: String) =
+            documentId.startsWith("$parentDocumentId/")
+
+        override fun openDocument(
+            documentId: String?,
+            mode: String?,
+            signal: CancellationSignal?,
+        ): ParcelFileDescriptor = throw FileNotFoundException()
+    }
+
+    /**
+     * Document of [FakeDocumentsProvider], a folder if it has no size
+     */
+    data class FakeDocument(val id: String, val name: String, val size: Long? = null) {
+        val mimeType =
+            if (size == null) DocumentsContract.Document.MIME_TYPE_DIR else "text/plain"
+    }
+
+    companion object {
+        private const val AUTHORITY = "mega.privacy.android.data.test.documents"
+        private const val ROOT_ID = "root"
+        private const val FOLDERS_COUNT = 10
+        private const val FILES_COUNT = 99
+        private const val LAST_MODIFIED = 1_000L
+        private val DEFAULT_PROJECTION = arrayOf(
+            DocumentsContract.Document.COLUMN_DOCUMENT_ID,
+            DocumentsContract.Document.COLUMN_DISPLAY_NAME,
+            DocumentsContract.Document.COLUMN_SIZE,
+            DocumentsContract.Document.COLUMN_LAST_MODIFIED,
+            DocumentsContract.Document.COLUMN_MIME_TYPE,
+        )
+    }
+}
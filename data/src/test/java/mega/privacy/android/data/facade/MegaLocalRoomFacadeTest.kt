@@ -5,6 +5,7 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.single
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.OfflineInfoCache
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
@@ -14,6 +15,7 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PendingSdCardMoveDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
@@ -23,6 +25,7 @@ import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
 import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
+import mega.privacy.android.data.database.entity.PendingSdCardMoveEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
 import mega.privacy.android.data.database.entity.VideoRecentlyWatchedEntity
@@ -37,7 +40,6 @@ import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesModelMapper
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
-import mega.privacy.android.data.mapper.offline.OfflineModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferLegacyModelMapper
@@ -45,6 +47,8 @@ import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferMode
 import mega.privacy.android.data.mapper.transfer.pending.InsertPendingTransferRequestMapper
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferModelMapper
+import mega.privacy.android.data.mapper.transfer.sd.PendingSdCardMoveEntityMapper
+import mega.privacy.android.data.mapper.transfer.sd.PendingSdCardMoveModelMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferModelMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedEntityMapper
@@ -66,6 +70,7 @@ import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdateAlreadyTransferredFilesCount
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferState
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -79,6 +84,7 @@ import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
+import java.io.File
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 internal class MegaLocalRoomFacadeTest {
@@ -103,7 +109,7 @@ internal class MegaLocalRoomFacadeTest {
     private val backupModelMapper = mock<BackupModelMapper>()
     private val backupInfoTypeIntMapper = mock<BackupInfoTypeIntMapper>()
     private val offlineDao: OfflineDao = mock()
-    private val offlineModelMapper: OfflineModelMapper = mock()
+    private val offlineInfoCache: OfflineInfoCache = mock()
     private val offlineEntityMapper: OfflineEntityMapper = mock()
     private val cameraUploadsRecordDao: CameraUploadsRecordDao = mock()
     private val cameraUploadsRecordEntityMapper: CameraUploadsRecordEntityMapper = mock()
@@ -119,6 +125,7 @@ internal class MegaLocalRoomFacadeTest {
     private val pendingTransferEntityMapper = mock<PendingTransferEntityMapper>()
     private val pendingTransferModelMapper = mock<PendingTransferModelMapper>()
     private val insertPendingTransferRequestMapper = mock<InsertPendingTransferRequestMapper>()
+    private val pendingSdCardMoveDao = mock<PendingSdCardMoveDao>()
 
     @BeforeAll
     fun setUp() {
@@ -144,7 +151,7 @@ internal class MegaLocalRoomFacadeTest {
             backupInfoTypeIntMapper = backupInfoTypeIntMapper,
             offlineDao = { offlineDao },
             offlineEntityMapper = offlineEntityMapper,
-            offlineModelMapper = offlineModelMapper,
+            offlineInfoCache = offlineInfoCache,
             cameraUploadsRecordDao = { cameraUploadsRecordDao },
             cameraUploadsRecordEntityMapper = cameraUploadsRecordEntityMapper,
             cameraUploadsRecordModelMapper = cameraUploadsRecordModelMapper,
@@ -158,6 +165,9 @@ internal class MegaLocalRoomFacadeTest {
             pendingTransferEntityMapper = pendingTransferEntityMapper,
             pendingTransferModelMapper = pendingTransferModelMapper,
             insertPendingTransferRequestMapper = insertPendingTransferRequestMapper,
+            pendingSdCardMoveDao = { pendingSdCardMoveDao },
+            pendingSdCardMoveEntityMapper = PendingSdCardMoveEntityMapper(),
+            pendingSdCardMoveModelMapper = PendingSdCardMoveModelMapper(),
         )
     }
 
@@ -190,6 +200,7 @@ internal class MegaLocalRoomFacadeTest {
             pendingTransferModelMapper,
             pendingTransferEntityMapper,
             insertPendingTransferRequestMapper,
+            pendingSdCardMoveDao,
         )
     }
 
@@ -679,7 +690,9 @@ internal class MegaLocalRoomFacadeTest {
                 mock<CompletedTransferEntityLegacy>()
             }
             whenever(completedTransferDao.getAllLegacyCompletedTransfers()) doReturn legacyTransfers
-            whenever(completedTransferLegacyModelMapper(any())) doReturn mock()
+            whenever(completedTransferLegacyModelMapper(any<List<CompletedTransferEntityLegacy>>())) doAnswer {
+                it.getArgument<List<CompletedTransferEntityLegacy>>(0).map { mock<CompletedTransfer>() }
+            }
             whenever(completedTransferEntityMapper(any())) doAnswer {
                 mock<CompletedTransferEntity>().also { expected.add(it) }
             }
@@ -698,7 +711,9 @@ internal class MegaLocalRoomFacadeTest {
                 mock<CompletedTransferEntityLegacy>()
             }
             whenever(completedTransferDao.getAllLegacyCompletedTransfers()) doReturn legacyTransfers
-            whenever(completedTransferLegacyModelMapper(any())) doReturn mock()
+            whenever(completedTransferLegacyModelMapper(any<List<CompletedTransferEntityLegacy>>())) doAnswer {
+                it.getArgument<List<CompletedTransferEntityLegacy>>(0).map { mock<CompletedTransfer>() }
+            }
             whenever(completedTransferEntityMapper(any())) doAnswer {
                 mock<CompletedTransferEntity> {
                     on { it.timestamp } doReturn expected.size.toLong()
@@ -721,7 +736,9 @@ internal class MegaLocalRoomFacadeTest {
                 mock<CompletedTransferEntityLegacy>()
             }
             whenever(completedTransferDao.getAllLegacyCompletedTransfers()) doReturn legacyTransfers
-            whenever(completedTransferLegacyModelMapper(any())) doReturn mock()
+            whenever(completedTransferLegacyModelMapper(any<List<CompletedTransferEntityLegacy>>())) doAnswer {
+                it.getArgument<List<CompletedTransferEntityLegacy>>(0).map { mock<CompletedTransfer>() }
+            }
             whenever(completedTransferEntityMapper(any())) doReturn mock()
 
             underTest.migrateLegacyCompletedTransfers()
@@ -733,7 +750,9 @@ internal class MegaLocalRoomFacadeTest {
     fun `test that deleteAllLegacyCompletedTransfers is not invoked when migrateLegacyCompletedTransfers is invoked and there are no legacy entities`() =
         runTest {
             whenever(completedTransferDao.getAllLegacyCompletedTransfers()) doReturn emptyList()
-            whenever(completedTransferLegacyModelMapper(any())) doReturn mock()
+            whenever(completedTransferLegacyModelMapper(any<List<CompletedTransferEntityLegacy>>())) doAnswer {
+                it.getArgument<List<CompletedTransferEntityLegacy>>(0).map { mock<CompletedTransfer>() }
+            }
             whenever(completedTransferEntityMapper(any())) doReturn mock()
 
             underTest.migrateLegacyCompletedTransfers()
@@ -830,6 +849,30 @@ internal class MegaLocalRoomFacadeTest {
             )
         }
 
+    @Test
+    fun `test that pending sd card moves are stored and read with their sub folders`() =
+        runTest {
+            val move = PendingSdCardMove(
+                filePath = "/cache/file.jpg",
+                destinationUri = "content://sd/tree",
+                subFolders = listOf("folder", "sub, folder"),
+            )
+            val entity = PendingSdCardMoveEntity(
+                filePath = "/cache/file.jpg",
+                destinationUri = "content://sd/tree",
+                subFolders = "folder${File.separator}sub, folder",
+            )
+            whenever(pendingSdCardMoveDao.insertPendingSdCardMove(entity)) doReturn 5L
+            val entities = listOf(entity.copy(id = 5L), entity.copy(id = 6L, subFolders = ""))
+            whenever(pendingSdCardMoveDao.getAllPendingSdCardMoves()) doReturn entities
+
+            assertThat(underTest.insertPendingSdCardMove(move)).isEqualTo(5L)
+            assertThat(underTest.getAllPendingSdCardMoves()).containsExactly(
+                move.copy(id = 5L),
+                move.copy(id = 6L, subFolders = emptyList()),
+            ).inOrder()
+        }
+
     @Test
     fun `test that getPendingTransfersByType return mapped dao result`() = runTest {
         val type = TransferType.DOWNLOAD
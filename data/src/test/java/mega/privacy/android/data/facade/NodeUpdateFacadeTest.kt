@@ -0,0 +1,200 @@
+package mega.privacy.android.data.facade
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.mapper.node.NodeMapper
+import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.data.model.node.NodeUpdateStatistics
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeChanges
+import nz.mega.sdk.MegaNode
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import kotlin.time.Duration.Companion.milliseconds
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class NodeUpdateFacadeTest {
+
+    private val megaApiGateway = mock<MegaApiGateway>()
+    private val nodeMapper = mock<NodeMapper>()
+    private val nodeChanges = HashMap<MegaNode, List<NodeChanges>>()
+    private val globalUpdates = MutableSharedFlow<GlobalUpdate>()
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(megaApiGateway, nodeMapper)
+        nodeChanges.clear()
+        whenever(megaApiGateway.globalUpdates).thenReturn(globalUpdates)
+    }
+
+    private fun TestScope.createUnderTest() = NodeUpdateFacade(
+        megaApiGateway = megaApiGateway,
+        nodeMapper = nodeMapper,
+        nodeUpdateMapper = { nodeChanges[it].orEmpty() },
+        ioDispatcher = UnconfinedTestDispatcher(testScheduler),
+        appScope = backgroundScope,
+    )
+
+    @Test
+    fun `test that each node update is mapped once for all the collectors`() = runTest {
+        val underTest = createUnderTest()
+        val megaNode = stubNode(1L, listOf(NodeChanges.Name))
+
+        val first = async { underTest.nodeUpdates.first() }
+        val second = async { underTest.nodeUpdates.first() }
+        globalUpdates.subscriptionCount.first { it > 0 }
+        globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(megaNode)))
+
+        val expected = first.await()
+        assertThat(second.await()).isSameInstanceAs(expected)
+        assertThat(expected.changes.values).containsExactly(listOf(NodeChanges.Name))
+        verify(nodeMapper, times(1)).invoke(megaNode = megaNode)
+    }
+
+    @Test
+    fun `test that node updates received in a burst are merged`() = runTest {
+        val underTest = createUnderTest()
+        val oldVersion = stubNode(1L, listOf(NodeChanges.Name))
+        val newVersion = stubNode(1L, listOf(NodeChanges.Parent))
+        val otherNode = stubNode(2L, listOf(NodeChanges.Attributes))
+
+        underTest.nodeUpdates.test {
+            globalUpdates.subscriptionCount.first { it > 0 }
+            globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(oldVersion)))
+            globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(newVersion, otherNode)))
+
+            val actual = awaitItem()
+            assertThat(actual.changes).containsExactly(
+                nodeMapper(megaNode = newVersion), listOf(NodeChanges.Name, NodeChanges.Parent),
+                nodeMapper(megaNode = otherNode), listOf(NodeChanges.Attributes),
+            )
+            expectNoEvents()
+        }
+        verify(nodeMapper, times(0)).invoke(megaNode = oldVersion)
+    }
+
+    @Test
+    fun `test that node updates received after the burst window are emitted separately`() =
+        runTest {
+            val underTest = createUnderTest()
+            val firstNode = stubNode(1L, listOf(NodeChanges.Name))
+            val secondNode = stubNode(2L, listOf(NodeChanges.Name))
+
+            underTest.nodeUpdates.test {
+                globalUpdates.subscriptionCount.first { it > 0 }
+                globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(firstNode)))
+                advanceTimeBy(1_000.milliseconds)
+                globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(secondNode)))
+
+                assertThat(awaitItem().changes.keys)
+                    .containsExactly(nodeMapper(megaNode = firstNode))
+                assertThat(awaitItem().changes.keys)
+                    .containsExactly(nodeMapper(megaNode = secondNode))
+            }
+        }
+
+    @Test
+    fun `test that node updates without node list are ignored`() = runTest {
+        val underTest = createUnderTest()
+
+        underTest.nodeUpdates.test {
+            globalUpdates.subscriptionCount.first { it > 0 }
+            globalUpdates.emit(GlobalUpdate.OnNodesUpdate(null))
+            advanceTimeBy(1_000.milliseconds)
+
+            expectNoEvents()
+        }
+        verify(nodeMapper, times(0)).invoke(any(), any(), any(), any())
+    }
+
+    @Test
+    fun `test that statistics count the batches and mapped nodes`() = runTest {
+        val underTest = createUnderTest()
+        val firstBatch = (1L..3L).map { stubNode(it, listOf(NodeChanges.Name)) }
+        val secondBatch = listOf(stubNode(4L, listOf(NodeChanges.Name)))
+
+        underTest.nodeUpdates.test {
+            globalUpdates.subscriptionCount.first { it > 0 }
+            globalUpdates.emit(GlobalUpdate.OnNodesUpdate(ArrayList(firstBatch)))
+            awaitItem()
+            globalUpdates.emit(GlobalUpdate.OnNodesUpdate(ArrayList(secondBatch)))
+            awaitItem()
+        }
+
+        assertThat(underTest.statistics.value.copy(totalMappingTimeMillis = 0)).isEqualTo(
+            NodeUpdateStatistics(batches = 2, nodes = 4, lastBatchSize = 1, maxBatchSize = 3)
+        )
+    }
+
+    @Test
+    fun `test that the pending node updates are not emitted again to a new collector`() =
+        runTest {
+            val underTest = createUnderTest()
+            val firstNode = stubNode(1L, listOf(NodeChanges.Name))
+            val secondNode = stubNode(2L, listOf(NodeChanges.Name))
+
+            underTest.nodeUpdates.test {
+                globalUpdates.subscriptionCount.first { it > 0 }
+                globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(firstNode)))
+                cancelAndIgnoreRemainingEvents()
+            }
+            globalUpdates.subscriptionCount.first { it == 0 }
+
+            underTest.nodeUpdates.test {
+                globalUpdates.subscriptionCount.first { it > 0 }
+                globalUpdates.emit(GlobalUpdate.OnNodesUpdate(arrayListOf(secondNode)))
+
+                assertThat(awaitItem().changes.keys)
+                    .containsExactly(nodeMapper(megaNode = secondNode))
+                advanceTimeBy(1_000.milliseconds)
+                expectNoEvents()
+            }
+        }
+
+    @Test
+    fun `test that a burst of thousands of updates of the same nodes maps each node once`() =
+        runTest {
+            val underTest = createUnderTest()
+            val megaNodes = (1L..1_000L).map { stubNode(it, listOf(NodeChanges.Attributes)) }
+
+            underTest.nodeUpdates.test {
+                globalUpdates.subscriptionCount.first { it > 0 }
+                repeat(50) {
+                    globalUpdates.emit(GlobalUpdate.OnNodesUpdate(ArrayList(megaNodes)))
+                }
+
+                assertThat(awaitItem().changes).hasSize(megaNodes.size)
+            }
+            megaNodes.forEach { verify(nodeMapper, times(1)).invoke(megaNode = it) }
+            assertThat(underTest.statistics.value.nodes).isEqualTo(megaNodes.size.toLong())
+        }
+
+    private suspend fun stubNode(handle: Long, changes: List<NodeChanges>): MegaNode {
+        val megaNode = mock<MegaNode> {
+            on { this.handle }.thenReturn(handle)
+        }
+        val fileNode = mock<FileNode> {
+            on { name }.thenReturn("node$handle")
+        }
+        nodeChanges[megaNode] = changes
+        whenever(nodeMapper(megaNode = megaNode)).thenReturn(fileNode)
+        return megaNode
+    }
+}
@@ -1,15 +1,22 @@
 package mega.privacy.android.data.logging
 
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.logging.CreateLogEntryRequest
 import mega.privacy.android.domain.entity.logging.LogEntry
+import mega.privacy.android.domain.entity.logging.LogPriority
 import mega.privacy.android.domain.usecase.CreateLogEntry
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
 import org.mockito.kotlin.argForWhich
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verifyBlocking
 import timber.log.Timber
 
@@ -44,4 +51,68 @@ class LogFlowTreeTest {
         verifyBlocking(createLogEntry) { invoke(argForWhich { loggingClasses.containsAll(expected) }) }
     }
 
-}
\ No newline at end of file
+    @Test
+    fun `test that log lines are dropped and counted when the buffer is full`() = runTest {
+        val dropped = 10
+        underTest = LogFlowTree(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            createLogEntry = createLogEntry
+        )
+
+        repeat(LOG_BUFFER_CAPACITY + dropped) { underTest.d("Message $it") }
+
+        assertThat(underTest.droppedLines).isEqualTo(dropped)
+    }
+
+    @Test
+    fun `test that the number of dropped lines is logged before the next entry`() = runTest {
+        val dropped = 10
+        underTest = LogFlowTree(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            createLogEntry = createLogEntry
+        )
+        repeat(LOG_BUFFER_CAPACITY + dropped) { underTest.d("Message $it") }
+
+        underTest.logFlow.test {
+            val actual = awaitItem()
+            assertThat(actual.message).startsWith("$dropped log lines dropped")
+            assertThat(actual.priority).isEqualTo(LogPriority.WARN.intValue)
+            assertThat(awaitItem().message).isEmpty()
+            cancelAndIgnoreRemainingEvents()
+        }
+        assertThat(underTest.droppedLines).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that all the log lines are processed in order when the buffer is not full`() =
+        runTest {
+            val messages = List(100) { "Message $it" }
+
+            messages.forEach { underTest.d(it) }
+
+            val captor = argumentCaptor<CreateLogEntryRequest>()
+            verifyBlocking(createLogEntry, times(messages.size)) { invoke(captor.capture()) }
+            assertThat(captor.allValues.map { it.message }).isEqualTo(messages)
+            assertThat(underTest.droppedLines).isEqualTo(0)
+        }
+
+    @Test
+    fun `test that the call site is only captured for untagged log lines`() = runTest {
+        Timber.plant(underTest)
+        try {
+            Timber.tag("[sdk]").d("Tagged message")
+            Timber.d("Untagged message")
+        } finally {
+            Timber.uproot(underTest)
+        }
+
+        val captor = argumentCaptor<CreateLogEntryRequest>()
+        verifyBlocking(createLogEntry, times(2)) { invoke(captor.capture()) }
+        assertThat(captor.firstValue.trace).isEmpty()
+        assertThat(captor.secondValue.trace).isNotEmpty()
+    }
+
+    companion object {
+        private const val LOG_BUFFER_CAPACITY = 4096
+    }
+}
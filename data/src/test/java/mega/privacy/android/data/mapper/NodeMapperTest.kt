@@ -12,6 +12,7 @@ import mega.privacy.android.data.mapper.node.NodeMapper
 import mega.privacy.android.data.mapper.node.OfflineAvailabilityMapper
 import mega.privacy.android.data.model.node.DefaultFileNode
 import mega.privacy.android.data.model.node.DefaultFolderNode
+import mega.privacy.android.data.model.node.NodeListContext
 import mega.privacy.android.domain.entity.Offline
 import mega.privacy.android.domain.entity.PdfFileTypeInfo
 import mega.privacy.android.domain.entity.SortOrder
@@ -27,7 +28,10 @@ import org.junit.jupiter.params.provider.ValueSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
+import java.io.File
 
 class NodeMapperTest {
     private lateinit var underTest: NodeMapper
@@ -84,7 +88,9 @@ class NodeMapperTest {
                 megaApiFolderGateway = megaApiFolderGateway,
                 fetChildrenMapper = fetChildrenMapper,
                 stringListMapper = stringListMapper,
-            )
+            ),
+            cacheGateway = mock(),
+            megaApiGateway = megaApiGateway,
         )
     }
 
@@ -101,6 +107,27 @@ class NodeMapperTest {
         assertThat(actual).isInstanceOf(DefaultFileNode::class.java)
     }
 
+    @Test
+    fun `test that the values of the list context are used instead of querying them`() = runTest {
+        val listContext = NodeListContext(
+            thumbnailCacheFolder = File("thumbnail"),
+            previewCacheFolder = null,
+            fullSizeCacheFolder = null,
+            isInRubbishBin = true,
+            isSensitiveInherited = true,
+        )
+
+        val file = underTest(megaNode = getMockNode(isFile = true), listContext = listContext)
+        val folder = underTest(megaNode = getMockNode(isFile = false), listContext = listContext)
+
+        assertThat((file as DefaultFileNode).thumbnailPath)
+            .isEqualTo("thumbnail${File.separator}$expectedBase64Id.jpg")
+        assertThat((folder as DefaultFolderNode).isInRubbishBin).isTrue()
+        assertThat(file.isSensitiveInherited).isTrue()
+        assertThat(folder.isSensitiveInherited).isTrue()
+        verify(megaApiGateway, never()).isSensitiveInherited(any())
+    }
+
     @Test
     fun `test that folders are mapped if isFile is false`() = runTest {
         val megaNode = getMockNode(isFile = false)
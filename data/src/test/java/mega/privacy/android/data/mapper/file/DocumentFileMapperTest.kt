@@ -3,6 +3,7 @@ package mega.privacy.android.data.mapper.file
 import android.net.Uri
 import androidx.documentfile.provider.DocumentFile
 import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.data.model.document.ChildDocument
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.uri.UriPath
 import org.junit.jupiter.api.Test
@@ -37,4 +38,29 @@ class DocumentFileMapperTest {
         val result = mapper(documentFile, 3, 4)
         assertThat(result).isEqualTo(expect)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that child document is mapped`() {
+        val uri = "content://com.android.externalstorage.documents/tree/primary%3A" +
+                "/document/primary%3Aname"
+        val document = ChildDocument(
+            documentId = "primary:name",
+            uri = uri,
+            name = "name",
+            size = 1,
+            lastModified = 2,
+            isFolder = false,
+        )
+        val expect = DocumentEntity(
+            name = "name",
+            size = 1,
+            lastModified = 2,
+            uri = UriPath(uri),
+            isFolder = false,
+            numFiles = 0,
+            numFolders = 0
+        )
+        val result = mapper(document, 0, 0)
+        assertThat(result).isEqualTo(expect)
+    }
+}
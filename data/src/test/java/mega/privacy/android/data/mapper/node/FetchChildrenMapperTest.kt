@@ -9,6 +9,7 @@ import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
 import mega.privacy.android.data.repository.CancelTokenProvider
+import mega.privacy.android.data.repository.stubQueryCancelToken
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.NodeId
@@ -54,7 +55,7 @@ internal class FetchChildrenMapperTest {
             val token = mock<MegaCancelToken>()
             val filter = mock<MegaSearchFilter>()
             val sortOrder = SortOrder.ORDER_DEFAULT_ASC
-            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            cancelTokenProvider.stubQueryCancelToken(token)
             whenever(sortOrderIntMapper(sortOrder)).thenReturn(expectedOrder)
             whenever(megaSearchFilterMapper(NodeId(megaNode.handle))).thenReturn(filter)
             val child = mock<MegaNode>()
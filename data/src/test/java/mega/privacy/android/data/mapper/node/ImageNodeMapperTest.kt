@@ -0,0 +1,123 @@
+package mega.privacy.android.data.mapper.node
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.mapper.FileTypeInfoMapper
+import mega.privacy.android.data.mapper.StringListMapper
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import nz.mega.sdk.MegaNode
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImageNodeMapperTest {
+    private lateinit var underTest: ImageNodeMapper
+
+    private val fileTypeInfoMapper = mock<FileTypeInfoMapper>()
+    private val thumbnailFromServerMapper = mock<ThumbnailFromServerMapper>()
+    private val previewFromServerMapper = mock<PreviewFromServerMapper>()
+    private val fullImageFromServerMapper = mock<FullImageFromServerMapper>()
+    private val offlineAvailabilityMapper = mock<OfflineAvailabilityMapper>()
+    private val stringListMapper = mock<StringListMapper>()
+    private val megaApiGateway = mock<MegaApiGateway>()
+
+    @BeforeEach
+    fun setUp() {
+        reset(
+            fileTypeInfoMapper,
+            thumbnailFromServerMapper,
+            previewFromServerMapper,
+            fullImageFromServerMapper,
+            offlineAvailabilityMapper,
+            stringListMapper,
+            megaApiGateway,
+        )
+        whenever(fileTypeInfoMapper(any(), any()))
+            .thenReturn(StaticImageFileTypeInfo(mimeType = "image/jpeg", extension = "jpg"))
+        whenever(thumbnailFromServerMapper(any())).thenReturn { it }
+        whenever(previewFromServerMapper(any())).thenReturn { it }
+        underTest = ImageNodeMapper(
+            fileTypeInfoMapper = fileTypeInfoMapper,
+            thumbnailFromServerMapper = thumbnailFromServerMapper,
+            previewFromServerMapper = previewFromServerMapper,
+            fullImageFromServerMapper = fullImageFromServerMapper,
+            offlineAvailabilityMapper = offlineAvailabilityMapper,
+            stringListMapper = stringListMapper,
+            megaApiGateway = megaApiGateway,
+        )
+    }
+
+    @Test
+    fun `test that an exception is thrown when the node is a folder`() = runTest {
+        val megaNode = mock<MegaNode> { on { isFolder }.thenReturn(true) }
+
+        val actual = runCatching {
+            underTest(megaNode = megaNode, numVersion = { 1 }, offline = null)
+        }
+
+        assertThat(actual.exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+    }
+
+    @Test
+    fun `test that the node is serialized only once when its serialized data is read`() =
+        runTest {
+            val megaNode = createMegaNode(1L)
+
+            val actual = underTest(
+                megaNode = megaNode,
+                numVersion = { 1 },
+                requireSerializedData = true,
+                offline = null,
+            )
+
+            verify(megaNode, never()).serialize()
+            assertThat(actual.serializedData).isEqualTo("serialized1")
+            assertThat(actual.serializedData).isEqualTo("serialized1")
+            verify(megaNode, times(1)).serialize()
+        }
+
+    @Test
+    fun `test that serialized data is null and the node is not serialized when not required`() =
+        runTest {
+            val megaNode = createMegaNode(1L)
+
+            val actual = underTest(megaNode = megaNode, numVersion = { 1 }, offline = null)
+
+            assertThat(actual.serializedData).isNull()
+            verify(megaNode, never()).serialize()
+        }
+
+    @Test
+    fun `test that mapping a large library does not serialize any node`() = runTest {
+        val megaNodes = (1L..5_000L).map { createMegaNode(it) }
+
+        val actual = megaNodes.map {
+            underTest(
+                megaNode = it,
+                numVersion = { 1 },
+                requireSerializedData = true,
+                offline = null,
+            )
+        }
+
+        assertThat(actual).hasSize(megaNodes.size)
+        megaNodes.forEach { verify(it, never()).serialize() }
+    }
+
+    private fun createMegaNode(handle: Long) = mock<MegaNode> {
+        on { this.handle }.thenReturn(handle)
+        on { name }.thenReturn("image$handle.jpg")
+        on { base64Handle }.thenReturn("base64$handle")
+        on { isFile }.thenReturn(true)
+        on { serialize() }.thenReturn("serialized$handle")
+    }
+}
@@ -1,14 +1,19 @@
 package mega.privacy.android.data.mapper.transfer.completed
 
+import android.util.Base64
 import com.google.common.truth.Truth
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.cryptography.DecryptData
+import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.Mockito.mockStatic
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.whenever
@@ -176,4 +181,76 @@ internal class CompletedTransferLegacyModelMapperTest {
 
             Truth.assertThat(underTest(entity)).isEqualTo(expected)
         }
+
+    @Test
+    fun `test that a batch of entities is mapped the same as each entity`() = runTest {
+        val entities = (1..3).map { legacyEntity(it) }
+        whenever(decryptData(any<List<String?>>())).thenAnswer {
+            it.getArgument<List<String?>>(0)
+        }
+        entities.forEach { entity ->
+            listOf(
+                entity.fileName, entity.type, entity.state, entity.size, entity.handle,
+                entity.path, entity.isOffline, entity.timestamp, entity.error,
+                entity.originalPath, entity.parentHandle, entity.appData,
+            ).forEach { whenever(decryptData(it)).thenReturn(it) }
+        }
+
+        Truth.assertThat(underTest(entities)).isEqualTo(entities.map { underTest(it) })
+    }
+
+    @Test
+    fun `test that 10k legacy completed transfers are mapped with real decryption`() = runTest {
+        val aesKey = ByteArray(16) { it.toByte() }
+        mockStatic(Base64::class.java).use { base64 ->
+            base64.`when`<String> { Base64.encodeToString(anyOrNull(), any()) }.thenAnswer {
+                java.util.Base64.getEncoder().encodeToString(it.getArgument(0))
+            }
+            base64.`when`<ByteArray> { Base64.decode(anyOrNull<String>(), any()) }.thenAnswer {
+                java.util.Base64.getDecoder().decode(it.getArgument<String>(0))
+            }
+            val encryptData = EncryptData(aesKey)
+            val plainEntities = (1..10_000).map { legacyEntity(it) }
+            val encryptedEntities = plainEntities.map {
+                it.copy(
+                    fileName = encryptData(it.fileName),
+                    type = encryptData(it.type),
+                    state = encryptData(it.state),
+                    size = encryptData(it.size),
+                    handle = encryptData(it.handle),
+                    path = encryptData(it.path),
+                    isOffline = encryptData(it.isOffline),
+                    timestamp = encryptData(it.timestamp),
+                    error = encryptData(it.error),
+                    originalPath = encryptData(it.originalPath),
+                    parentHandle = encryptData(it.parentHandle),
+                    appData = encryptData(it.appData),
+                )
+            }
+
+            val actual = CompletedTransferLegacyModelMapper(DecryptData(aesKey))(encryptedEntities)
+
+            Truth.assertThat(actual).hasSize(plainEntities.size)
+            Truth.assertThat(actual.map { it.handle })
+                .isEqualTo(plainEntities.map { it.handle?.toLong() })
+            Truth.assertThat(actual.last().fileName).isEqualTo(plainEntities.last().fileName)
+            Truth.assertThat(actual.all { it.isOffline == false && it.state == 6 }).isTrue()
+        }
+    }
+
+    private fun legacyEntity(index: Int) = CompletedTransferEntityLegacy(
+        id = index,
+        fileName = "file $index.jpg",
+        type = "1",
+        state = "6",
+        size = "3.57 MB",
+        handle = "${27169983390750L + index}",
+        path = "Cloud drive/Camera uploads",
+        isOffline = "false",
+        timestamp = "${1684228012974L + index}",
+        error = "No error",
+        originalPath = "/data/user/0/mega.privacy.android.app/cache/cu/file $index.jpg",
+        parentHandle = "11622336899311",
+        appData = null,
+    )
 }
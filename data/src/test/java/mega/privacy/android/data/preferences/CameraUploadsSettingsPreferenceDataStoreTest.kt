@@ -358,4 +358,61 @@ internal class CameraUploadsSettingsPreferenceDataStoreTest {
 
         assertThat(underTest.isChargingRequiredToUploadContent()).isEqualTo(chargingRequired)
     }
+
+    @Test
+    internal fun `test that the new primary media scan cursor is encrypted when set`() = runTest {
+        val input = 1_700_000_000_000L
+
+        underTest.setPrimaryMediaScanCursor(input)
+
+        verifyBlocking(encryptData) { invoke(input.toString()) }
+    }
+
+    @Test
+    internal fun `test that the primary media scan cursor is decrypted when retrieved`() = runTest {
+        val expected = 1_700_000_000_000L
+
+        decryptData.stub { onBlocking { invoke(any()) }.thenReturn(expected.toString()) }
+
+        assertThat(underTest.getPrimaryMediaScanCursor()).isEqualTo(expected)
+    }
+
+    @Test
+    internal fun `test that the new secondary media scan cursor is encrypted when set`() = runTest {
+        val input = 1_700_000_000_000L
+
+        underTest.setSecondaryMediaScanCursor(input)
+
+        verifyBlocking(encryptData) { invoke(input.toString()) }
+    }
+
+    @Test
+    internal fun `test that the secondary media scan cursor is decrypted when retrieved`() =
+        runTest {
+            val expected = 1_700_000_000_000L
+
+            decryptData.stub { onBlocking { invoke(any()) }.thenReturn(expected.toString()) }
+
+            assertThat(underTest.getSecondaryMediaScanCursor()).isEqualTo(expected)
+        }
+
+    @Test
+    internal fun `test that the new last full media scan timestamp is encrypted when set`() =
+        runTest {
+            val input = 1_700_000_000_000L
+
+            underTest.setLastFullMediaScanTimestamp(input)
+
+            verifyBlocking(encryptData) { invoke(input.toString()) }
+        }
+
+    @Test
+    internal fun `test that the last full media scan timestamp is decrypted when retrieved`() =
+        runTest {
+            val expected = 1_700_000_000_000L
+
+            decryptData.stub { onBlocking { invoke(any()) }.thenReturn(expected.toString()) }
+
+            assertThat(underTest.getLastFullMediaScanTimestamp()).isEqualTo(expected)
+        }
 }
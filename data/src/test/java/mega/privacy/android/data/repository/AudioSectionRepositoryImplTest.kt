@@ -87,7 +87,7 @@ class AudioSectionRepositoryImplTest {
         val typedVideoNode = mock<TypedAudioNode> {
             on { thumbnailPath }.thenReturn(null)
         }
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(sortOrderIntMapper(SortOrder.ORDER_MODIFICATION_DESC))
             .thenReturn(MegaApiJava.ORDER_DEFAULT_DESC)
         whenever(
@@ -103,7 +103,7 @@ class AudioSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
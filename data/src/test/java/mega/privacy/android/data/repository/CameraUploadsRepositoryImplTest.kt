@@ -35,6 +35,7 @@ import mega.privacy.android.data.mapper.camerauploads.UploadOptionIntMapper
 import mega.privacy.android.data.mapper.camerauploads.UploadOptionMapper
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.VideoQuality
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsStatusInfo
 import mega.privacy.android.domain.entity.settings.camerauploads.UploadOption
@@ -229,10 +230,34 @@ class CameraUploadsRepositoryImplTest {
             runTest {
                 val expected = "selectionQuery"
                 val parentPath = "parentPath"
-                whenever(cameraUploadsMediaGateway.getMediaSelectionQuery(parentPath)).thenReturn(
-                    expected
-                )
-                assertThat(underTest.getMediaSelectionQuery(parentPath)).isEqualTo(expected)
+                val addedOrModifiedSince = 1234L
+                whenever(
+                    cameraUploadsMediaGateway.getMediaSelectionQuery(
+                        parentPath,
+                        addedOrModifiedSince
+                    )
+                ).thenReturn(expected)
+                assertThat(underTest.getMediaSelectionQuery(parentPath, addedOrModifiedSince))
+                    .isEqualTo(expected)
+            }
+
+        @Test
+        fun `test that the primary media scan cursor is retrieved for the primary folder type`() =
+            runTest {
+                val expected = 1234L
+                whenever(cameraUploadsSettingsPreferenceGateway.getPrimaryMediaScanCursor())
+                    .thenReturn(expected)
+                assertThat(underTest.getMediaScanCursor(CameraUploadFolderType.Primary))
+                    .isEqualTo(expected)
+            }
+
+        @Test
+        fun `test that the secondary media scan cursor is set for the secondary folder type`() =
+            runTest {
+                val timestamp = 1234L
+                underTest.setMediaScanCursor(CameraUploadFolderType.Secondary, timestamp)
+                verify(cameraUploadsSettingsPreferenceGateway)
+                    .setSecondaryMediaScanCursor(timestamp)
             }
     }
 
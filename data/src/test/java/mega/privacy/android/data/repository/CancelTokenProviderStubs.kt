@@ -0,0 +1,16 @@
+package mega.privacy.android.data.repository
+
+import nz.mega.sdk.MegaCancelToken
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.stub
+
+/**
+ * Stub [CancelTokenProvider.withQueryCancelToken] of a mocked [CancelTokenProvider] to run the
+ * queries with the given [token]
+ */
+internal fun CancelTokenProvider.stubQueryCancelToken(token: MegaCancelToken) = stub {
+    onBlocking { withQueryCancelToken<Any?>(any()) }.doSuspendableAnswer {
+        it.getArgument<suspend (MegaCancelToken) -> Any?>(0).invoke(token)
+    }
+}
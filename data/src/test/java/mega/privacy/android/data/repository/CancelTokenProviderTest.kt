@@ -1,6 +1,11 @@
 package mega.privacy.android.data.repository
 
+import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runCurrent
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import nz.mega.sdk.MegaCancelToken
@@ -9,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
@@ -96,6 +102,68 @@ internal class CancelTokenProviderTest {
             verify(megaCancelToken).cancel()
         }
 
+    @Test
+    fun `test that each query gets a new token different from the current token`() = runTest {
+        val queryTokens = listOf(mock<MegaCancelToken>(), mock<MegaCancelToken>())
+        whenever(megaApiGateway.createCancelToken())
+            .thenReturn(megaCancelToken, *queryTokens.toTypedArray())
+        underTest.getOrCreateCancelToken()
+
+        val actual = List(2) { underTest.withQueryCancelToken { it } }
+
+        assertThat(actual).isEqualTo(queryTokens)
+    }
+
+    @Test
+    fun `test that the query token is not cancelled when the query finishes`() = runTest {
+        stubTokenCreation()
+
+        underTest.withQueryCancelToken { }
+
+        verify(megaCancelToken, never()).cancel()
+    }
+
+    @Test
+    fun `test that the query token is cancelled when the calling coroutine is cancelled`() =
+        runTest {
+            stubTokenCreation()
+            val job = launch { underTest.withQueryCancelToken { awaitCancellation() } }
+            runCurrent()
+
+            job.cancelAndJoin()
+
+            verify(megaCancelToken).cancel()
+        }
+
+    @Test
+    fun `test that query tokens are not cancelled when the current token is cancelled`() =
+        runTest {
+            val queryToken = mock<MegaCancelToken>()
+            whenever(megaApiGateway.createCancelToken()).thenReturn(megaCancelToken, queryToken)
+            underTest.getOrCreateCancelToken()
+            val job = launch { underTest.withQueryCancelToken { awaitCancellation() } }
+            runCurrent()
+
+            underTest.cancelCurrentToken()
+
+            verify(megaCancelToken).cancel()
+            verify(queryToken, never()).cancel()
+            job.cancelAndJoin()
+        }
+
+    @Test
+    fun `test that in flight queries are counted until they finish`() = runTest {
+        stubTokenCreation()
+        val jobs = List(3) { launch { underTest.withQueryCancelToken { awaitCancellation() } } }
+        runCurrent()
+
+        assertThat(underTest.inFlightQueries.value).isEqualTo(3)
+        jobs.first().cancelAndJoin()
+        assertThat(underTest.inFlightQueries.value).isEqualTo(2)
+        jobs.forEach { it.cancelAndJoin() }
+        assertThat(underTest.inFlightQueries.value).isEqualTo(0)
+    }
+
     private fun stubTokenCreation() {
         whenever(megaApiGateway.createCancelToken()).thenReturn(megaCancelToken)
     }
@@ -42,6 +42,7 @@ import nz.mega.sdk.MegaPushNotificationSettings
 import nz.mega.sdk.MegaRequest
 import nz.mega.sdk.MegaRequestListenerInterface
 import nz.mega.sdk.MegaStringMap
+import nz.mega.sdk.MegaUser
 import nz.mega.sdk.MegaUserAlert
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
@@ -189,17 +190,25 @@ class DefaultNotificationsRepositoryTest {
     }
 
     @Test
-    fun `test that contact is fetched from the api gateway`() = runTest {
+    fun `test that contact visibility is fetched from the api gateway`() = runTest {
         val globalUpdate = GlobalUpdate.OnUserAlertsUpdate(arrayListOf(mock()))
         whenever(megaApiGateway.globalUpdates).thenReturn(flowOf(globalUpdate))
         val contactInfo = mock<NonContactInfo> { on { email }.thenReturn(email) }
         whenever(megaLocalStorageGateway.getNonContactByHandle(any())).thenReturn(contactInfo)
-        whenever(megaApiGateway.getContact(any())).thenReturn(mock())
+        val contactEmail = email
+        val megaUser = mock<MegaUser> {
+            on { email }.thenReturn(contactEmail)
+            on { visibility }.thenReturn(MegaUser.VISIBILITY_VISIBLE)
+        }
+        whenever(megaApiGateway.getContacts()).thenReturn(listOf(megaUser))
 
         underTest.monitorUserAlerts().test {
-            cancelAndConsumeRemainingEvents()
-            verify(megaApiGateway).getContact(email)
+            val alert = awaitItem().first() as ContactAlert
+            assertThat(alert.contact.isVisible).isTrue()
+            awaitComplete()
         }
+        verify(megaApiGateway).getContacts()
+        verify(megaApiGateway, never()).getContact(any())
     }
 
     @Test
@@ -218,22 +227,99 @@ class DefaultNotificationsRepositoryTest {
         val globalUpdate = GlobalUpdate.OnUserAlertsUpdate(arrayListOf(userAlert))
         whenever(megaApiGateway.globalUpdates).thenReturn(flowOf(globalUpdate))
 
-        whenever(megaApiGateway.getContact(any())).thenReturn(mock())
 
         underTest.monitorUserAlerts().test {
-            cancelAndConsumeRemainingEvents()
+            val alert = awaitItem().first() as ContactAlert
+            assertThat(alert.contact.email).isEqualTo(expectedEmail)
+            awaitComplete()
             verify(megaLocalStorageGateway, never()).getNonContactByHandle(any())
-            verify(megaApiGateway).getContact(expectedEmail)
         }
     }
 
+    @Test
+    fun `test that the data of the alerts is loaded once per user and chat`() = runTest {
+        val mapper: UserAlertMapper =
+            { alert: MegaUserAlert, contactProvider: UserAlertContactProvider, meetingProvider: UserAlertScheduledMeetingProvider, occurrProvider: UserAlertScheduledMeetingOccurrProvider, _: NodeProvider ->
+                meetingProvider(alert.nodeHandle, alert.schedId)
+                occurrProvider(alert.nodeHandle)
+                ContactChangeContactEstablishedAlert(
+                    id = alert.id,
+                    seen = false,
+                    createdTime = 1L,
+                    isOwnChange = false,
+                    contact = contactProvider(alert.userHandle, alert.email),
+                )
+            }
+        val userAlerts = (0L until 500L).map { index ->
+            mock<MegaUserAlert> {
+                on { id }.thenReturn(index)
+                on { userHandle }.thenReturn(index % 50)
+                on { nodeHandle }.thenReturn(1000L + index % 20)
+                on { schedId }.thenReturn(index % 5)
+            }
+        }
+        whenever(megaApiGateway.getUserAlerts()).thenReturn(userAlerts)
+        // users 0 to 9 are contacts, 10 to 29 known non contacts and 30 to 49 unknown users
+        val contacts = (0L until 10L).map { handle ->
+            mock<MegaUser> {
+                on { this.handle }.thenReturn(handle)
+                on { email }.thenReturn("user$handle@mega.nz")
+                on { visibility }.thenReturn(MegaUser.VISIBILITY_VISIBLE)
+            }
+        }
+        whenever(megaApiGateway.getContacts()).thenReturn(contacts)
+        whenever(megaApiGateway.getIncomingContactRequests()).thenReturn(arrayListOf())
+        whenever(megaLocalStorageGateway.getNonContactByHandle(any())).thenAnswer {
+            val handle = it.arguments[0] as Long
+            if (handle < 30) mock<NonContactInfo> { on { email }.thenReturn("user$handle@mega.nz") }
+            else null
+        }
+        val error = mock<MegaError> { on { errorCode }.thenReturn(MegaError.API_OK) }
+        whenever(megaApiGateway.getUserEmail(any(), any())).thenAnswer {
+            val handle = it.arguments[0] as Long
+            val request = mock<MegaRequest> { on { email }.thenReturn("user$handle@mega.nz") }
+            (it.arguments[1] as MegaRequestListenerInterface).onRequestFinish(
+                mock(),
+                request,
+                error
+            )
+        }
+        val repository = DefaultNotificationsRepository(
+            megaApiGateway = megaApiGateway,
+            userAlertsMapper = mapper,
+            eventMapper = eventMapper,
+            localStorageGateway = megaLocalStorageGateway,
+            fetchSchedOccurrencesByChatUseCase = fetchSchedOccurrencesByChatUseCase,
+            getScheduledMeetingUseCase = getScheduledMeetingUseCase,
+            callsPreferencesGateway = callsPreferencesGateway,
+            dispatcher = UnconfinedTestDispatcher(),
+            appEventGateway = appEventGateway,
+            notificationsGateway = notificationsGateway,
+            promoNotificationListMapper = promoNotificationListMapper,
+            integerListMapper = integerListMapper,
+        )
+
+        val actual = repository.getUserAlerts()
+
+        assertThat(actual).hasSize(500)
+        assertThat(actual.map { (it as ContactAlert).contact.email }.toSet()).hasSize(50)
+        verify(megaApiGateway).getIncomingContactRequests()
+        verify(megaApiGateway).getContacts()
+        verify(megaApiGateway, never()).getContact(any())
+        verify(megaLocalStorageGateway, times(40)).getNonContactByHandle(any())
+        verify(megaApiGateway, times(20)).getUserEmail(any(), any())
+        verify(megaLocalStorageGateway, times(20)).setNonContactEmail(any(), any())
+        verify(megaLocalStorageGateway, times(50)).getContactByEmail(any())
+        verify(getScheduledMeetingUseCase, times(20)).invoke(any(), any())
+        verify(fetchSchedOccurrencesByChatUseCase, times(20)).invoke(any(), any())
+    }
+
     @Test
     fun `test that nickname is returned with user alert`() = runTest {
         val globalUpdate = GlobalUpdate.OnUserAlertsUpdate(arrayListOf(mock()))
         whenever(megaApiGateway.globalUpdates).thenReturn(flowOf(globalUpdate))
         val contactInfo = mock<NonContactInfo> { on { email }.thenReturn(email) }
         whenever(megaLocalStorageGateway.getNonContactByHandle(any())).thenReturn(contactInfo)
-        whenever(megaApiGateway.getContact(any())).thenReturn(mock())
         val expectedNickname = "A nickname"
         val contactDB = mock<Contact> { on { nickname }.thenReturn(expectedNickname) }
         whenever(megaLocalStorageGateway.getContactByEmail(any())).thenReturn(contactDB)
@@ -11,6 +11,7 @@ import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.ActiveTransferTotalsCache
 import mega.privacy.android.data.gateway.AppEventGateway
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
@@ -28,7 +29,6 @@ import mega.privacy.android.data.mapper.transfer.PausedTransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferAppDataStringMapper
 import mega.privacy.android.data.mapper.transfer.TransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferMapper
-import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.model.GlobalTransfer
 import mega.privacy.android.data.model.RequestEvent
 import mega.privacy.android.data.repository.DefaultTransfersRepository.Companion.TRANSFERS_SD_TEMPORARY_FOLDER
@@ -74,6 +74,7 @@ import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import java.io.File
 
@@ -96,7 +97,7 @@ class DefaultTransfersRepositoryTest {
     private val workerManagerGateway = mock<WorkManagerGateway>()
     private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
     private val cancelTokenProvider = mock<CancelTokenProvider>()
-    private val activeTransferTotalsMapper = mock<ActiveTransferTotalsMapper>()
+    private val activeTransferTotalsCache = mock<ActiveTransferTotalsCache>()
     private val megaNodeMapper = mock<MegaNodeMapper>()
     private val sdCardGateway = mock<SDCardGateway>()
     private val deviceGateway = mock<DeviceGateway>()
@@ -123,7 +124,7 @@ class DefaultTransfersRepositoryTest {
             transferMapper = transferMapper,
             transferAppDataStringMapper = transferAppDataStringMapper,
             pausedTransferEventMapper = pausedTransferEventMapper,
-            activeTransferTotalsMapper = activeTransferTotalsMapper,
+            activeTransferTotalsCache = activeTransferTotalsCache,
             completedTransferMapper = completedTransferMapper,
             localStorageGateway = localStorageGateway,
             workerManagerGateway = workerManagerGateway,
@@ -155,6 +156,7 @@ class DefaultTransfersRepositoryTest {
             sdCardGateway,
             deviceGateway,
             inProgressTransferMapper,
+            activeTransferTotalsCache,
         )
     }
 
@@ -1167,6 +1169,8 @@ class DefaultTransfersRepositoryTest {
                 val activeTransfer = mock<ActiveTransfer>()
                 underTest.insertOrUpdateActiveTransfer(activeTransfer)
                 verify(megaLocalRoomGateway).insertOrUpdateActiveTransfer(activeTransfer)
+                verify(activeTransferTotalsCache)
+                    .insertOrUpdateActiveTransfers(listOf(activeTransfer))
             }
 
         @Test
@@ -1175,6 +1179,7 @@ class DefaultTransfersRepositoryTest {
                 val activeTransfers = mock<List<ActiveTransfer>>()
                 underTest.insertOrUpdateActiveTransfers(activeTransfers)
                 verify(megaLocalRoomGateway).insertOrUpdateActiveTransfers(activeTransfers)
+                verify(activeTransferTotalsCache).insertOrUpdateActiveTransfers(activeTransfers)
             }
 
         @ParameterizedTest
@@ -1199,34 +1204,28 @@ class DefaultTransfersRepositoryTest {
             val tags = mock<List<Int>>()
             underTest.setActiveTransferAsFinishedByTag(tags)
             verify(megaLocalRoomGateway).setActiveTransferAsFinishedByTag(tags)
+            verify(activeTransferTotalsCache).setActiveTransfersAsFinished(tags)
         }
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that getActiveTransferTotalsByType gateway result is returned when getActiveTransferTotalsByType is called`(
+        fun `test that getActiveTransferTotalsByType returns the totals from the cache`(
             transferType: TransferType,
         ) = runTest {
             val expected = mock<ActiveTransferTotals>()
-            val list = mock<List<ActiveTransfer>>()
-            val flow = flowOf(list)
-            whenever(megaLocalRoomGateway.getActiveTransfersByType(transferType))
-                .thenReturn(flow)
-            whenever(activeTransferTotalsMapper(eq(transferType), eq(list), any()))
-                .thenReturn(expected)
+            whenever(activeTransferTotalsCache.monitorActiveTransferTotals(transferType))
+                .thenReturn(flowOf(expected))
             val actual = underTest.getActiveTransferTotalsByType(transferType).first()
             assertThat(actual).isEqualTo(expected)
         }
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that getCurrentActiveTransferTotalsByType gateway result is returned when getCurrentActiveTransferTotalsByType is called`(
+        fun `test that getCurrentActiveTransferTotalsByType returns the totals from the cache`(
             transferType: TransferType,
         ) = runTest {
-            val list = mock<List<ActiveTransfer>>()
             val expected = mock<ActiveTransferTotals>()
-            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
-                .thenReturn(list)
-            whenever(activeTransferTotalsMapper(eq(transferType), eq(list), any()))
+            whenever(activeTransferTotalsCache.getActiveTransferTotals(transferType))
                 .thenReturn(expected)
             val actual = underTest.getCurrentActiveTransferTotalsByType(transferType)
             assertThat(actual).isEqualTo(expected)
@@ -1234,80 +1233,43 @@ class DefaultTransfersRepositoryTest {
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that updateTransferredBytes adds currentTransferred bytes and deleteAllActiveTransfersByType clears the values`(
+        fun `test that updateTransferredBytes updates the transferred bytes in the cache`(
             transferType: TransferType,
         ) = runTest {
-            testCurrentActiveTransferTotals(
-                transferType = transferType,
-                expectedMap = { transfer ->
-                    mapOf(transfer.tag to transfer.transferredBytes)
-                },
-                callToTest = {
-                    underTest.updateTransferredBytes(transfer)
-                }
-            )
+            whenever(transfer.transferType).thenReturn(transferType)
+            whenever(transfer.tag).thenReturn(1)
+            whenever(transfer.transferredBytes).thenReturn(900L)
+
+            underTest.updateTransferredBytes(transfer)
+
+            verify(activeTransferTotalsCache).updateTransferredBytes(transferType, 1, 900L)
         }
 
+        @Test
+        fun `test that updateTransferredBytes doesn't update the cache when the new value is 0 bytes`() =
+            runTest {
+                whenever(transfer.transferredBytes).thenReturn(0L)
+
+                underTest.updateTransferredBytes(transfer)
+
+                verifyNoInteractions(activeTransferTotalsCache)
+            }
+
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that updateTransferredBytes doesn't update when the new value is 0 bytes`(
+        fun `test that deleteAllActiveTransfersByType clears the cache of the type`(
             transferType: TransferType,
         ) = runTest {
-            testCurrentActiveTransferTotals(
-                transferType = transferType,
-                expectedMap = { transfer ->
-                    mapOf(transfer.tag to transfer.transferredBytes)
-                },
-                callToTest = {
-                    val transferZero = mock<Transfer>()
-                    stubActiveTransfer(transferZero, transferType, transferredBytes = 0L)
-
-                    underTest.updateTransferredBytes(transfer)
-                    underTest.updateTransferredBytes(transferZero)
-                }
-            )
-        }
-
-        /**
-         * As getCurrentActiveTransferTotalsByType is based on a state flow, we need to reset this state to make testing stateless
-         * This is a convenient function to test changes on this state and then reset it to its initial empty value.
-         */
-        private suspend fun testCurrentActiveTransferTotals(
-            transferType: TransferType,
-            expectedMap: (Transfer) -> Map<Int, Long>,
-            callToTest: suspend () -> Unit,
-        ) {
-            stubActiveTransfer(transfer, transferType)
-            val list = mock<List<ActiveTransfer>>()
-            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
-                .thenReturn(list)
-
-            // test updateTransferredBytes
-            callToTest()
-            underTest.getCurrentActiveTransferTotalsByType(transferType)
-            //here we check that the mapper is called with the proper expectedMap
-            val map = expectedMap(transfer)
-            verify(activeTransferTotalsMapper).invoke(eq(transferType), eq(list), eq(map))
-
-            // test deleteAllActiveTransfersByType so we also clear the cached values
             underTest.deleteAllActiveTransfersByType(transferType)
-            underTest.getCurrentActiveTransferTotalsByType(transferType)
-            //here we check that the mapper is called with the proper expectedMap
-            verify(activeTransferTotalsMapper).invoke(eq(transferType), eq(list), eq(emptyMap()))
+            verify(activeTransferTotalsCache).clear(transferType)
         }
 
-        private fun stubActiveTransfer(
-            transfer: Transfer,
-            transferType: TransferType,
-            transferredBytes: Long = 900L,
-        ) {
-            val total = 1024L
-            val tag = 1
-
-            whenever(transfer.transferType).thenReturn(transferType)
-            whenever(transfer.transferredBytes).thenReturn(transferredBytes)
-            whenever(transfer.totalBytes).thenReturn(total)
-            whenever(transfer.tag).thenReturn(tag)
+        @Test
+        fun `test that deleteAllActiveTransfers clears the cache of all types`() = runTest {
+            underTest.deleteAllActiveTransfers()
+            TransferType.entries.forEach {
+                verify(activeTransferTotalsCache).clear(it)
+            }
         }
     }
 
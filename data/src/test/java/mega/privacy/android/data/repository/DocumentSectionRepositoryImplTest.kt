@@ -70,7 +70,7 @@ class DocumentSectionRepositoryImplTest {
         val fileNode = mock<FileNode>()
         val filter = mock<MegaSearchFilter>()
         val token = mock<MegaCancelToken>()
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(sortOrderIntMapper(SortOrder.ORDER_MODIFICATION_DESC))
             .thenReturn(ORDER_DEFAULT_DESC)
         whenever(
@@ -86,7 +86,7 @@ class DocumentSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(nodeMapper(megaNode = node, offline = null)).thenReturn(fileNode)
 
         val actual = underTest.getAllDocuments(SortOrder.ORDER_MODIFICATION_DESC)
@@ -12,6 +12,7 @@ import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
+import mega.privacy.android.data.gateway.NodeUpdateGateway
 import mega.privacy.android.data.gateway.WorkManagerGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -21,7 +22,6 @@ import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.ChatFilesFolderUserAttributeMapper
 import mega.privacy.android.data.mapper.FileTypeInfoMapper
 import mega.privacy.android.data.mapper.MegaExceptionMapper
-import mega.privacy.android.data.mapper.NodeUpdateMapper
 import mega.privacy.android.data.mapper.OfflineInformationMapper
 import mega.privacy.android.data.mapper.OfflineNodeInformationMapper
 import mega.privacy.android.data.mapper.SortOrderIntMapper
@@ -44,6 +44,8 @@ import mega.privacy.android.domain.entity.PdfFileTypeInfo
 import mega.privacy.android.domain.entity.ShareData
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedImageNode
@@ -82,9 +84,11 @@ import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.clearInvocations
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.stub
 import org.mockito.kotlin.times
@@ -115,7 +119,7 @@ class NodeRepositoryImplTest {
     private val fileGateway: FileGateway = mock()
     private val chatFilesFolderUserAttributeMapper: ChatFilesFolderUserAttributeMapper = mock()
     private val streamingGateway: StreamingGateway = mock()
-    private val nodeUpdateMapper: NodeUpdateMapper = mock()
+    private val nodeUpdateGateway: NodeUpdateGateway = mock()
     private val folderNode: TypedFolderNode = mock()
     private val publicLinkFolder: PublicLinkFolder = mock()
     private val accessPermissionMapper: AccessPermissionMapper = mock()
@@ -144,7 +148,9 @@ class NodeRepositoryImplTest {
             megaApiFolderGateway = megaApiFolderGateway,
             fetChildrenMapper = fetChildrenMapper,
             stringListMapper = stringListMapper,
-        )
+        ),
+        cacheGateway = cacheGateway,
+        megaApiGateway = megaApiGateway,
     )
 
     val offline: Offline = mock()
@@ -172,7 +178,6 @@ class NodeRepositoryImplTest {
             fileGateway = fileGateway,
             chatFilesFolderUserAttributeMapper = chatFilesFolderUserAttributeMapper,
             streamingGateway = streamingGateway,
-            nodeUpdateMapper = nodeUpdateMapper,
             accessPermissionMapper = accessPermissionMapper,
             nodeShareKeyResultMapper = nodeShareKeyResultMapper,
             accessPermissionIntMapper = accessPermissionIntMapper,
@@ -183,6 +188,7 @@ class NodeRepositoryImplTest {
             megaSearchFilterMapper = megaSearchFilterMapper,
             workManagerGateway = workManagerGateway,
             stringListMapper = stringListMapper,
+            nodeUpdateGateway = nodeUpdateGateway,
         )
     }
 
@@ -207,7 +213,7 @@ class NodeRepositoryImplTest {
             fileGateway,
             chatFilesFolderUserAttributeMapper,
             streamingGateway,
-            nodeUpdateMapper,
+            nodeUpdateGateway,
             accessPermissionMapper,
             nodeShareKeyResultMapper,
             accessPermissionMapper,
@@ -1207,7 +1213,7 @@ class NodeRepositoryImplTest {
         val childFilter1 = mock<MegaSearchFilter>()
         val childFilter2 = mock<MegaSearchFilter>()
         val token = mock<MegaCancelToken>()
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(megaSearchFilterMapper(NodeId(parentNode.handle))).thenReturn(parentFilter)
         whenever(megaSearchFilterMapper(NodeId(childNode1.handle))).thenReturn(childFilter1)
         whenever(megaSearchFilterMapper(NodeId(childNode2.handle))).thenReturn(childFilter2)
@@ -1358,7 +1364,7 @@ class NodeRepositoryImplTest {
         val filter = mock<MegaSearchFilter>()
         val token = mock<MegaCancelToken>()
 
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
         whenever(
             megaSearchFilterMapper(
@@ -1450,7 +1456,7 @@ class NodeRepositoryImplTest {
         val tags = listOf("tag1", "tag2")
         val token = mock<MegaCancelToken>()
         val megaStringList = mock<MegaStringList>()
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(megaApiGateway.getAllNodeTags(searchString, token)).thenReturn(megaStringList)
         whenever(stringListMapper(megaStringList)).thenReturn(tags)
         val actual = underTest.getAllNodeTags(searchString)
@@ -1468,7 +1474,7 @@ class NodeRepositoryImplTest {
         val token = mock<MegaCancelToken>()
         val targetFileType = StaticImageFileTypeInfo("", "")
 
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
         whenever(
             megaSearchFilterMapper(
@@ -1491,6 +1497,153 @@ class NodeRepositoryImplTest {
         assertThat(fileTypes.first()).isEqualTo(targetFileType)
     }
 
+    @Test
+    fun `test that getNodesByFingerprintsInParentNode does not list the children if no fingerprint is given`() =
+        runTest {
+            assertThat(underTest.getNodesByFingerprintsInParentNode(emptyList(), NodeId(1L)))
+                .isEmpty()
+            verify(megaApiGateway, never()).getChildren(any(), any(), any())
+        }
+
+    @Test
+    fun `test that getNodesByFingerprintsInParentNode lists the children once and ignores the nodes not matching`() =
+        runTest {
+            val nodeId = NodeId(1L)
+            val filter = mock<MegaSearchFilter>()
+            val token = mock<MegaCancelToken>()
+            val children = List(3) { index ->
+                mock<MegaNode> {
+                    on { isFile }.thenReturn(true)
+                    on { fingerprint }.thenReturn("fingerprint$index")
+                    on { originalFingerprint }.thenReturn("originalFingerprint$index")
+                }
+            }
+            cancelTokenProvider.stubQueryCancelToken(token)
+            whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
+            whenever(megaSearchFilterMapper(parentHandle = nodeId)).thenReturn(filter)
+            whenever(megaApiGateway.getChildren(filter, MegaApiJava.ORDER_NONE, token))
+                .thenReturn(children)
+
+            val actual = underTest.getNodesByFingerprintsInParentNode(
+                listOf("unknownFingerprint1", "unknownFingerprint2"),
+                nodeId,
+            )
+
+            assertThat(actual).isEmpty()
+            verify(megaApiGateway).getChildren(filter, MegaApiJava.ORDER_NONE, token)
+        }
+
+    @Test
+    fun `test that getNodesByFingerprintsInAccount does not look for anything if no fingerprint is given`() =
+        runTest {
+            assertThat(underTest.getNodesByFingerprintsInAccount(emptyList(), NodeId(1L)))
+                .isEmpty()
+            verify(megaApiGateway, never()).getNodesByOriginalFingerprint(any(), anyOrNull())
+            verify(megaApiGateway, never()).getNodeByFingerprintAndParentNode(any(), anyOrNull())
+        }
+
+    @Test
+    fun `test that getNodesByFingerprintsInAccount looks for the fingerprints by original fingerprint first and then by fingerprint`() =
+        runTest {
+            val parentNodeId = NodeId(1L)
+            val parentNode = mock<MegaNode>()
+            val megaNode = mockMegaNodeForConversion()
+            val megaNodeList = mock<MegaNodeList> {
+                on { size() }.thenReturn(1)
+                on { get(0) }.thenReturn(megaNode)
+            }
+            val emptyNodeList = mock<MegaNodeList> { on { size() }.thenReturn(0) }
+            whenever(megaApiGateway.getMegaNodeByHandle(parentNodeId.longValue))
+                .thenReturn(parentNode)
+            whenever(megaApiGateway.getNodesByOriginalFingerprint("original", null))
+                .thenReturn(megaNodeList)
+            whenever(megaApiGateway.getNodesByOriginalFingerprint("generated", null))
+                .thenReturn(emptyNodeList)
+            whenever(megaApiGateway.getNodeByFingerprintAndParentNode("generated", parentNode))
+                .thenReturn(megaNode)
+            whenever(megaApiGateway.getNodesByOriginalFingerprint("unknown", null))
+                .thenReturn(null)
+            whenever(megaApiGateway.getNodeByFingerprintAndParentNode("unknown", parentNode))
+                .thenReturn(null)
+
+            val actual = underTest.getNodesByFingerprintsInAccount(
+                listOf("original", "generated", "unknown"),
+                parentNodeId,
+            )
+
+            assertThat(actual.keys).containsExactly("original", "generated")
+            assertThat(actual.values.map { it.id }.distinct())
+                .containsExactly(NodeId(megaNode.handle))
+            verify(megaApiGateway, never()).getNodeByFingerprintAndParentNode("original", parentNode)
+            verify(megaApiGateway, times(1)).getMegaNodeByHandle(parentNodeId.longValue)
+        }
+
+    @Test
+    fun `test that getNodeChildrenNames returns the names of the children`() = runTest {
+        val nodeId = NodeId(1L)
+        val filter = mock<MegaSearchFilter>()
+        val token = mock<MegaCancelToken>()
+        val children = listOf("file1.jpg", "file2.jpg").map { childName ->
+            mock<MegaNode> { on { name }.thenReturn(childName) }
+        }
+        cancelTokenProvider.stubQueryCancelToken(token)
+        whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
+        whenever(megaSearchFilterMapper(parentHandle = nodeId)).thenReturn(filter)
+        whenever(megaApiGateway.getChildren(filter, MegaApiJava.ORDER_NONE, token))
+            .thenReturn(children)
+
+        assertThat(underTest.getNodeChildrenNames(nodeId))
+            .containsExactly("file1.jpg", "file2.jpg")
+    }
+
+    @Test
+    fun `test that getNodeChildren resolves the values shared by the children once per listing`() =
+        runTest {
+            val nodeId = NodeId(1L)
+            val parentNode = mock<MegaNode> { on { isFolder }.thenReturn(true) }
+            val filter = mock<MegaSearchFilter>()
+            val token = mock<MegaCancelToken>()
+            val children = List(2_000) { index ->
+                mock<MegaNode> {
+                    on { handle }.thenReturn(index + 2L)
+                    on { name }.thenReturn("name$index")
+                    on { base64Handle }.thenReturn("base64Handle$index")
+                    on { isFolder }.thenReturn(index % 10 == 0)
+                    on { isFile }.thenReturn(index % 10 != 0)
+                }
+            }
+            clearInvocations(cacheGateway)
+            cancelTokenProvider.stubQueryCancelToken(token)
+            whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
+            whenever(megaSearchFilterMapper(parentHandle = nodeId)).thenReturn(filter)
+            whenever(megaApiGateway.getMegaNodeByHandle(nodeId.longValue)).thenReturn(parentNode)
+            whenever(megaApiGateway.getChildren(filter, MegaApiJava.ORDER_NONE, token))
+                .thenReturn(children)
+            whenever(megaApiGateway.isInRubbish(parentNode)).thenReturn(true)
+            whenever(megaApiGateway.isSensitiveInherited(parentNode)).thenReturn(true)
+            whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
+            whenever(cacheGateway.getThumbnailCacheFolder()).thenReturn(File("thumbnail_path"))
+            whenever(fileTypeInfoMapper(any(), any())).thenReturn(PdfFileTypeInfo)
+            whenever(fetChildrenMapper(any(), any())).thenReturn { emptyList() }
+
+            val actual = underTest.getNodeChildren(nodeId, null)
+
+            assertThat(actual).hasSize(children.size)
+            assertThat(actual.filterIsInstance<FolderNode>().all { it.isInRubbishBin }).isTrue()
+            assertThat(actual.all { it.isSensitiveInherited }).isTrue()
+            assertThat(actual.filterIsInstance<FileNode>().map { it.thumbnailPath })
+                .containsExactlyElementsIn(
+                    children.filter { it.isFile }.map {
+                        "thumbnail_path${File.separator}${it.base64Handle}.jpg"
+                    }
+                )
+            verify(cacheGateway, times(1)).getThumbnailCacheFolder()
+            verify(cacheGateway, times(1)).getPreviewCacheFolder()
+            verify(cacheGateway, times(1)).getFullSizeCacheFolder()
+            verify(megaApiGateway, times(1)).isInRubbish(any())
+            verify(megaApiGateway, times(1)).isSensitiveInherited(any())
+        }
+
     private fun provideNodeId() = Stream.of(
         Arguments.of(null),
         Arguments.of(NodeId(2L)),
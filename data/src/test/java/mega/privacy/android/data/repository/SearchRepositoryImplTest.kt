@@ -3,6 +3,7 @@ package mega.privacy.android.data.repository
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.TestInstance
 import org.mockito.kotlin.any
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
@@ -74,7 +76,7 @@ class SearchRepositoryImplTest {
         val order = SortOrder.ORDER_NONE
         val filter = mock<MegaSearchFilter>()
         whenever(megaNode.handle).thenReturn(-1L)
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+        cancelTokenProvider.stubQueryCancelToken(megaCancelToken)
         whenever(megaApiGateway.getMegaNodeByHandle(nodeID.longValue)).thenReturn(megaNode)
         whenever(
             megsSearchFilterMapper(
@@ -109,7 +111,7 @@ class SearchRepositoryImplTest {
         val order = SortOrder.ORDER_NONE
         val filter = mock<MegaSearchFilter>()
         whenever(megaNode.handle).thenReturn(-1L)
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+        cancelTokenProvider.stubQueryCancelToken(megaCancelToken)
         whenever(megaApiGateway.getMegaNodeByHandle(nodeID.longValue)).thenReturn(megaNode)
         whenever(
             megsSearchFilterMapper(
@@ -142,6 +144,41 @@ class SearchRepositoryImplTest {
         )
     }
 
+    @Test
+    fun `test that searchWithFirstPage emits the first page and then all the results`() =
+        runTest {
+            whenever(sortOrderIntMapper(any())).thenReturn(0)
+            val nodeID = NodeId(-1L)
+            val query = "Some query"
+            val filter = mock<MegaSearchFilter>()
+            val megaNodes = (1L..3L).map { nodeHandle ->
+                mock<MegaNode> { on { handle }.thenReturn(nodeHandle) }
+            }
+            val typedNodes = megaNodes.map { megaNode ->
+                mock<TypedFileNode>().also { whenever(nodeMapper(megaNode)).thenReturn(it) }
+            }
+            cancelTokenProvider.stubQueryCancelToken(megaCancelToken)
+            whenever(
+                megsSearchFilterMapper(
+                    searchQuery = query,
+                    parentHandle = nodeID,
+                    searchCategory = SearchCategory.ALL
+                )
+            ).thenReturn(filter)
+            whenever(megaApiGateway.searchWithFilter(filter, 0, megaCancelToken))
+                .thenReturn(megaNodes)
+
+            val emissions = underTest.searchWithFirstPage(
+                nodeId = nodeID,
+                order = SortOrder.ORDER_NONE,
+                parameters = SearchParameters(query = query),
+                firstPageSize = 2,
+            ).toList()
+
+            assertThat(emissions).containsExactly(typedNodes.take(2), typedNodes).inOrder()
+            megaNodes.forEach { verify(nodeMapper, times(1)).invoke(it) }
+        }
+
     @Test
     fun `test that getInShares returns list of untyped nodes`() = runTest {
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -81,7 +81,7 @@ class VideoSectionRepositoryImplTest {
     }
 
     private fun initUnderTest() {
-        wheneverBlocking { megaLocalRoomGateway.getAllOfflineInfo() }.thenReturn(emptyList())
+        wheneverBlocking { megaLocalRoomGateway.getAllOfflineInfoByHandle() }.thenReturn(emptyMap())
         underTest = VideoSectionRepositoryImpl(
             megaApiGateway = megaApiGateway,
             sortOrderIntMapper = sortOrderIntMapper,
@@ -130,7 +130,7 @@ class VideoSectionRepositoryImplTest {
         val typedVideoNode = mock<TypedVideoNode> {
             on { thumbnailPath }.thenReturn(null)
         }
-        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        cancelTokenProvider.stubQueryCancelToken(token)
         whenever(sortOrderIntMapper(SortOrder.ORDER_MODIFICATION_DESC))
             .thenReturn(ORDER_DEFAULT_DESC)
         whenever(
@@ -146,7 +146,7 @@ class VideoSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
@@ -716,7 +716,7 @@ class VideoSectionRepositoryImplTest {
                 flowOf(jsonString)
             )
             whenever(megaLocalRoomGateway.getAllRecentlyWatchedVideos()).thenReturn(flowOf(testItems))
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+            whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
 
             val actual = underTest.getRecentlyWatchedVideoNodes()
             verify(megaLocalRoomGateway).saveRecentlyWatchedVideos(testVideoRecentlyWatchedData)
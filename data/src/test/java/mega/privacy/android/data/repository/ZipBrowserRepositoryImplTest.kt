@@ -18,6 +18,7 @@ import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.whenever
 import java.io.File
+import java.util.Collections
 import java.util.Enumeration
 import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
@@ -87,11 +88,71 @@ class ZipBrowserRepositoryImplTest {
             testEntry4,
         )
 
-        val actual = underTest.getZipNodeTree(testZipFile)
+        val actual = ZipBrowserRepositoryImpl(
+            zipTreeNodeMapper = ZipTreeNodeMapper(),
+            ioDispatcher = UnconfinedTestDispatcher()
+        ).getZipNodeTree(testZipFile)
         assertThat(actual).isNotEmpty()
         assertThat(actual.keys.size).isEqualTo(4)
     }
 
+    @Test
+    fun `test that the children of every level of the ZipNodeTree are complete`() = runTest {
+        val testZipFile = initZipFile(
+            initZipEntry("zipFolder/zipSubFolder/file1.txt", false),
+            initZipEntry("zipFolder/zipSubFolder/file2.zip", false),
+            initZipEntry("zipFolder/file3.txt", false),
+        )
+
+        val actual = ZipBrowserRepositoryImpl(
+            zipTreeNodeMapper = ZipTreeNodeMapper(),
+            ioDispatcher = UnconfinedTestDispatcher()
+        ).getZipNodeTree(testZipFile)
+
+        assertThat(actual.keys).containsExactly(
+            "zipFolder",
+            "zipFolder/zipSubFolder",
+            "zipFolder/zipSubFolder/file1.txt",
+            "zipFolder/zipSubFolder/file2.zip",
+            "zipFolder/file3.txt",
+        ).inOrder()
+        val root = actual.getValue("zipFolder")
+        assertThat(root.parentPath).isNull()
+        assertThat(root.zipEntryType).isEqualTo(ZipEntryType.Folder)
+        assertThat(root.children.map { it.path })
+            .containsExactly("zipFolder/zipSubFolder", "zipFolder/file3.txt").inOrder()
+        assertThat(root.children.first()).isEqualTo(actual["zipFolder/zipSubFolder"])
+        assertThat(root.children.first().children.map { it.name })
+            .containsExactly("file1.txt", "file2.zip").inOrder()
+        assertThat(actual.getValue("zipFolder/zipSubFolder/file2.zip").zipEntryType)
+            .isEqualTo(ZipEntryType.Zip)
+        assertThat(actual.getValue("zipFolder/zipSubFolder/file1.txt").parentPath)
+            .isEqualTo("zipFolder/zipSubFolder")
+    }
+
+    @Test
+    fun `test that the ZipNodeTree of a large flat folder contains all the children`() = runTest {
+        val filesCount = 100_000
+        val testZipFile = initZipFile(
+            *Array(filesCount) { ZipEntry("zipFolder/file$it.txt").apply { size = 100L } }
+        )
+
+        val actual = ZipBrowserRepositoryImpl(
+            zipTreeNodeMapper = ZipTreeNodeMapper(),
+            ioDispatcher = UnconfinedTestDispatcher()
+        ).getZipNodeTree(testZipFile)
+
+        assertThat(actual).hasSize(filesCount + 1)
+        assertThat(actual.getValue("zipFolder").children).hasSize(filesCount)
+    }
+
+    private fun initZipFile(vararg zipEntries: ZipEntry): ZipFile {
+        val testEnumeration = Collections.enumeration(zipEntries.toList())
+        return mock<ZipFile> {
+            on { entries() }.thenReturn(testEnumeration)
+        }
+    }
+
     private fun initZipEntry(
         expectedName: String,
         expectedIsDirectory: Boolean,
@@ -25,6 +25,7 @@ import mega.privacy.android.data.mapper.photos.MegaStringMapSensitivesRetriever
 import mega.privacy.android.data.mapper.photos.TimelineFilterPreferencesJSONMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
 import mega.privacy.android.data.repository.CancelTokenProvider
+import mega.privacy.android.data.repository.stubQueryCancelToken
 import mega.privacy.android.data.wrapper.DateUtilWrapper
 import mega.privacy.android.domain.entity.FileTypeInfo
 import mega.privacy.android.domain.entity.GifFileTypeInfo
@@ -440,7 +441,7 @@ class DefaultPhotosRepositoryTest {
                     searchCategory = SearchCategory.VIDEO,
                 )
             ).thenReturn(videoFilter)
-            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            cancelTokenProvider.stubQueryCancelToken(token)
             whenever(
                 megaApiGateway.searchWithFilter(
                     filter = imageFilter,
@@ -504,7 +505,7 @@ class DefaultPhotosRepositoryTest {
                     searchCategory = SearchCategory.VIDEO,
                 )
             ).thenReturn(videoFilter)
-            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            cancelTokenProvider.stubQueryCancelToken(token)
             whenever(
                 megaApiGateway.getChildren(
                     filter = imageFilter,
@@ -560,7 +561,7 @@ class DefaultPhotosRepositoryTest {
                     searchCategory = SearchCategory.VIDEO,
                 )
             ).thenReturn(videoFilter)
-            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            cancelTokenProvider.stubQueryCancelToken(token)
             whenever(
                 megaApiFolder.search(
                     filter = imageFilter,
@@ -619,7 +620,7 @@ class DefaultPhotosRepositoryTest {
                     searchCategory = SearchCategory.VIDEO,
                 )
             ).thenReturn(videoFilter)
-            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            cancelTokenProvider.stubQueryCancelToken(token)
             whenever(
                 megaApiFolder.getChildren(
                     filter = imageFilter,
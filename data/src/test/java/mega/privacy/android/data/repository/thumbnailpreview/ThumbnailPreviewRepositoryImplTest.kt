@@ -5,6 +5,7 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.MediaDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
@@ -43,6 +44,7 @@ class ThumbnailPreviewRepositoryImplTest {
     private val cacheGateway = mock<CacheGateway>()
     private val stringWrapper = mock<StringWrapper>()
     private val megaNodeMapper = mock<MegaNodeMapper>()
+    private val mediaDiskCache = mock<MediaDiskCache>()
 
     private val cacheDir = File("cache")
     private val thumbnailName = "thumbnailName"
@@ -60,13 +62,14 @@ class ThumbnailPreviewRepositoryImplTest {
             ioDispatcher = UnconfinedTestDispatcher(),
             cacheGateway = cacheGateway,
             stringWrapper = stringWrapper,
-            megaNodeMapper = megaNodeMapper
+            megaNodeMapper = megaNodeMapper,
+            mediaDiskCache = mediaDiskCache,
         )
     }
 
     @BeforeEach
     fun resetMocks() {
-        reset(megaApi, megaApiFolder, cacheGateway, stringWrapper, megaNodeMapper)
+        reset(megaApi, megaApiFolder, cacheGateway, stringWrapper, megaNodeMapper, mediaDiskCache)
     }
 
     @Test
@@ -204,6 +207,33 @@ class ThumbnailPreviewRepositoryImplTest {
         }
     }
 
+    @Test
+    fun `test that the thumbnails read and downloaded are recorded in the disk cache`() =
+        runTest {
+            val thumbnail = mock<File> {
+                on { exists() }.thenReturn(true)
+                on { absolutePath }.thenReturn(thumbnailPath)
+            }
+            whenever(megaNode.base64Handle).thenReturn(thumbnailName)
+            whenever(megaNode.hasThumbnail()).thenReturn(true)
+            whenever(megaApi.getMegaNodeByHandle(nodeHandle)).thenReturn(megaNode)
+            whenever(megaApi.handleToBase64(nodeHandle)).thenReturn(thumbnailName)
+            whenever(cacheGateway.getCacheFile(any(), anyOrNull())).thenReturn(thumbnail)
+            whenever(megaApi.getThumbnail(any(), any(), any())).thenAnswer {
+                (it.arguments[2] as MegaRequestListenerInterface).onRequestFinish(
+                    mock(),
+                    mock(),
+                    mock { on { errorCode }.thenReturn(MegaError.API_OK) },
+                )
+            }
+
+            underTest.getThumbnailFromLocal(nodeHandle)
+            underTest.getThumbnailFromServer(nodeHandle)
+
+            verify(mediaDiskCache).onFileRead(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+            verify(mediaDiskCache).onFileWritten(CacheFolderConstant.THUMBNAIL_FOLDER, thumbnail)
+        }
+
     @Test
     fun `test that get thumbnail or preview file name returns correctly for nodeHandle`() =
         runTest {
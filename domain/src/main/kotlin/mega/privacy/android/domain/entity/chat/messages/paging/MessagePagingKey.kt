@@ -0,0 +1,15 @@
+package mega.privacy.android.domain.entity.chat.messages.paging
+
+/**
+ * Key of a page of chat messages
+ *
+ * Messages are sorted by time and then by id, so the key is the position of a message in the chat
+ * history and a page can be loaded from it without counting the messages before it.
+ *
+ * @property time Time of the message
+ * @property msgId Id of the message
+ */
+data class MessagePagingKey(
+    val time: Long,
+    val msgId: Long,
+)
@@ -0,0 +1,16 @@
+package mega.privacy.android.domain.entity.transfer.sd
+
+/**
+ * A downloaded file waiting to be moved from the cache to its final destination in the sd card
+ *
+ * @property id the id of the pending move, null until it is stored
+ * @property filePath the path of the downloaded file in the cache
+ * @property destinationUri the uri of the destination folder in the sd card
+ * @property subFolders the sub folders of the destination folder where the file is moved
+ */
+data class PendingSdCardMove(
+    val id: Long? = null,
+    val filePath: String,
+    val destinationUri: String,
+    val subFolders: List<String>,
+)
@@ -481,8 +481,42 @@ interface CameraUploadsRepository {
      * Get the selection query to filter the media based on the parent path
      *
      * @param parentPath path that contains the media
+     * @param addedOrModifiedSince if not null, only the media added or modified since this
+     *                             timestamp (in milliseconds) are selected
      */
-    fun getMediaSelectionQuery(parentPath: String): String
+    fun getMediaSelectionQuery(parentPath: String, addedOrModifiedSince: Long?): String
+
+    /**
+     * Get the timestamp of the last Media Store scan for the given folder type
+     *
+     * @param folderType the folder type (Primary or Secondary)
+     * @return the scan cursor timestamp in milliseconds, or null if the next scan has to
+     *         retrieve all media of the folder
+     */
+    suspend fun getMediaScanCursor(folderType: CameraUploadFolderType): Long?
+
+    /**
+     * Set the timestamp of the last Media Store scan for the given folder type
+     *
+     * @param folderType the folder type (Primary or Secondary)
+     * @param timestamp the scan cursor timestamp in milliseconds, or null to force the next scan
+     *                  to retrieve all media of the folder
+     */
+    suspend fun setMediaScanCursor(folderType: CameraUploadFolderType, timestamp: Long?)
+
+    /**
+     * Get the timestamp of the last full Media Store scan
+     *
+     * @return the timestamp in milliseconds, or null if no full scan has been done
+     */
+    suspend fun getLastFullMediaScanTimestamp(): Long?
+
+    /**
+     * Set the timestamp of the last full Media Store scan
+     *
+     * @param timestamp the timestamp in milliseconds
+     */
+    suspend fun setLastFullMediaScanTimestamp(timestamp: Long)
 
     /**
      * Save a list of [CameraUploadsRecord] in the database
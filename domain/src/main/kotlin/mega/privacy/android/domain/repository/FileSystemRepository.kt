@@ -416,9 +416,12 @@ interface FileSystemRepository {
     /**
      * Search files in document folder recursive
      *
+     * The matches are emitted in batches as they are found, each batch only with the new ones.
+     * An empty folder is emitted if nothing matches.
+     *
      * @param folder
      * @param query
-     * @return
+     * @return flow of the batches of matches
      */
     fun searchFilesInDocumentFolderRecursive(
         folder: UriPath,
@@ -429,6 +429,45 @@ interface NodeRepository {
         parentNodeId: NodeId,
     ): UnTypedNode?
 
+    /**
+     * Get the file nodes of a parent node matching a list of fingerprints
+     *
+     * The children of the parent node are listed only once, whatever the number of fingerprints.
+     * A fingerprint matches a node if it equals either its fingerprint or its original fingerprint
+     *
+     * @param fingerprints the fingerprints to look for
+     * @param parentNodeId [NodeId] of the parent node
+     * @return a map of the fingerprints found to the matching [UnTypedNode]
+     */
+    suspend fun getNodesByFingerprintsInParentNode(
+        fingerprints: Collection<String>,
+        parentNodeId: NodeId,
+    ): Map<String, UnTypedNode>
+
+    /**
+     * Get the file nodes of the account matching a list of fingerprints
+     *
+     * All the fingerprints are looked for in a single call, using the fingerprint indexes of the
+     * account. A fingerprint is looked for as original fingerprint first, then as fingerprint,
+     * preferring a node of the preferred parent node
+     *
+     * @param fingerprints the fingerprints to look for
+     * @param preferredParentNodeId [NodeId] of the parent node preferred when several nodes match
+     * @return a map of the fingerprints found to the matching [UnTypedNode]
+     */
+    suspend fun getNodesByFingerprintsInAccount(
+        fingerprints: Collection<String>,
+        preferredParentNodeId: NodeId,
+    ): Map<String, UnTypedNode>
+
+    /**
+     * Get the names of the children of a node, without mapping the children nodes
+     *
+     * @param parentNodeId [NodeId] of the parent node
+     * @return the list of the children names
+     */
+    suspend fun getNodeChildrenNames(parentNodeId: NodeId): List<String>
+
     /**
      * Get [UnTypedNode] by fingerprint only
      * @param fingerprint
@@ -1,5 +1,6 @@
 package mega.privacy.android.domain.repository
 
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.UnTypedNode
@@ -23,6 +24,21 @@ interface SearchRepository {
         parameters: SearchParameters,
     ): List<UnTypedNode>
 
+    /**
+     * Search node, emitting the first [firstPageSize] results as soon as they are available, then
+     * all the results. The first page is always a prefix of the complete results.
+     * @param nodeId [NodeId] place to be searched
+     * @param order [SortOrder] locally saved user selected sort order
+     * @param parameters [SearchParameters] additional search parameters
+     * @param firstPageSize number of results of the first emission
+     */
+    fun searchWithFirstPage(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+        firstPageSize: Int,
+    ): Flow<List<UnTypedNode>>
+
     /**
      * Get children of a node and return list of [UnTypedNode]
      * @param nodeId [NodeId] place to be searched
@@ -35,6 +51,21 @@ interface SearchRepository {
         parameters: SearchParameters,
     ): List<UnTypedNode>
 
+    /**
+     * Get children of a node, emitting the first [firstPageSize] children as soon as they are
+     * available, then all the children. The first page is always a prefix of all the children.
+     * @param nodeId [NodeId] place to be searched
+     * @param order [SortOrder] locally saved user selected sort order
+     * @param parameters [SearchParameters] additional search parameters
+     * @param firstPageSize number of children of the first emission
+     */
+    fun getChildrenWithFirstPage(
+        nodeId: NodeId?,
+        order: SortOrder,
+        parameters: SearchParameters,
+        firstPageSize: Int,
+    ): Flow<List<UnTypedNode>>
+
     /**
      * get incoming shares node list
      */
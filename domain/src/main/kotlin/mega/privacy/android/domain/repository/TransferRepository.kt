@@ -17,6 +17,7 @@ import mega.privacy.android.domain.entity.transfer.pending.InsertPendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransferState
 import mega.privacy.android.domain.entity.transfer.pending.UpdatePendingTransferRequest
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
 import java.io.File
 
 /**
@@ -445,6 +446,28 @@ interface TransferRepository {
      */
     suspend fun deleteSdTransferByTag(tag: Int)
 
+    /**
+     * Get all the pending sd card moves, in the order they were inserted
+     *
+     * @return the list of pending sd card moves
+     */
+    suspend fun getAllPendingSdCardMoves(): List<PendingSdCardMove>
+
+    /**
+     * Insert a pending sd card move
+     *
+     * @param move the pending sd card move
+     * @return the id of the inserted move
+     */
+    suspend fun insertPendingSdCardMove(move: PendingSdCardMove): Long
+
+    /**
+     * Delete a pending sd card move
+     *
+     * @param id the id of the pending sd card move
+     */
+    suspend fun deletePendingSdCardMove(id: Long)
+
     /**
      * Get completed transfer by id
      *
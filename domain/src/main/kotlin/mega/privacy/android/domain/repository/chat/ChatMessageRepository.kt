@@ -9,6 +9,7 @@ import mega.privacy.android.domain.entity.chat.PendingMessage
 import mega.privacy.android.domain.entity.chat.PendingMessageState
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
 import mega.privacy.android.domain.entity.chat.messages.UserMessage
+import mega.privacy.android.domain.entity.chat.messages.paging.MessagePagingKey
 import mega.privacy.android.domain.entity.chat.messages.pending.SavePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
@@ -526,7 +527,7 @@ interface ChatMessageRepository {
      * @param chatId
      * @return flow of paged messages
      */
-    fun getPagedMessages(chatId: Long): PagingSource<Int, TypedMessage>
+    fun getPagedMessages(chatId: Long): PagingSource<MessagePagingKey, TypedMessage>
 
     /**
      * Deletes all messages in a chat that have a timestamp older than the truncate timestamp
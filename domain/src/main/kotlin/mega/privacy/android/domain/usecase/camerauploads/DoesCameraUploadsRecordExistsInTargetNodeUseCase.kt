@@ -3,15 +3,25 @@ package mega.privacy.android.domain.usecase.camerauploads
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.node.NodeId
-import mega.privacy.android.domain.usecase.node.FindNodeWithFingerprintInParentNodeUseCase
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.usecase.node.GetNodesByFingerprintsInAccountUseCase
+import mega.privacy.android.domain.usecase.node.GetNodesByFingerprintsInParentNodeUseCase
+import mega.privacy.android.domain.usecase.node.IsNodeInRubbishBinUseCase
 import javax.inject.Inject
 
 /**
  * Check if the record has already been updated in the target node or exists in a different folder,
  * except rubbish bin and set property `existsInTargetNode` and `existingNodeId` to the [CameraUploadsRecord]
+ *
+ * The fingerprints of all the records are resolved against each target node in a single pass.
+ * The records not found in their target node are then looked for in the rest of the account, in a
+ * single lookup per target node too. If a target node cannot be listed, its records are looked for
+ * in the account, preferring the target node
  */
 class DoesCameraUploadsRecordExistsInTargetNodeUseCase @Inject constructor(
-    private val findNodeWithFingerprintInParentNodeUseCase: FindNodeWithFingerprintInParentNodeUseCase,
+    private val getNodesByFingerprintsInParentNodeUseCase: GetNodesByFingerprintsInParentNodeUseCase,
+    private val getNodesByFingerprintsInAccountUseCase: GetNodesByFingerprintsInAccountUseCase,
+    private val isNodeInRubbishBinUseCase: IsNodeInRubbishBinUseCase,
 ) {
 
     /**
@@ -27,17 +37,56 @@ class DoesCameraUploadsRecordExistsInTargetNodeUseCase @Inject constructor(
         recordList: List<CameraUploadsRecord>,
         primaryUploadNodeId: NodeId,
         secondaryUploadNodeId: NodeId,
-    ): List<CameraUploadsRecord> =
-        recordList.mapNotNull { record ->
+    ): List<CameraUploadsRecord> {
+        val nodesInTargetNodes = recordList.groupBy { it.folderType }
+            .mapValues { (folderType, records) ->
+                runCatching {
+                    getNodesByFingerprintsInParentNodeUseCase(
+                        fingerprints = records.getFingerprints(),
+                        parentNode = getTargetNodeId(
+                            folderType,
+                            primaryUploadNodeId,
+                            secondaryUploadNodeId,
+                        ),
+                    )
+                }.getOrNull()
+            }
+        val nodesInTargetNode = recordList.associateWith { record ->
+            val nodes = nodesInTargetNodes[record.folderType]
+            nodes?.get(record.originalFingerprint)
+                ?: record.generatedFingerprint?.let { nodes?.get(it) }
+        }
+
+        // NOTE: only looking for the node by original fingerprint is not enough,
+        // because some old nodes do not have the attribute OriginalFingerprint,
+        // in that case the node is also looked for by attribute Fingerprint
+        val nodesInAccount = recordList.filter { nodesInTargetNode[it] == null }
+            .groupBy { it.folderType }
+            .mapValues { (folderType, records) ->
+                runCatching {
+                    getNodesByFingerprintsInAccountUseCase(
+                        fingerprints = records.getFingerprints(),
+                        preferredParentNode = getTargetNodeId(
+                            folderType,
+                            primaryUploadNodeId,
+                            secondaryUploadNodeId,
+                        ),
+                    )
+                }.getOrNull()
+            }
+
+        return recordList.mapNotNull { record ->
             runCatching {
-                findNodeWithFingerprintInParentNodeUseCase(
-                    record.originalFingerprint,
-                    record.generatedFingerprint,
-                    when (record.folderType) {
-                        CameraUploadFolderType.Primary -> primaryUploadNodeId
-                        CameraUploadFolderType.Secondary -> secondaryUploadNodeId
-                    },
-                )
+                nodesInTargetNode[record]?.let { Pair(true, it.id) }
+                    ?: getExistingNode(
+                        nodesInAccount = checkNotNull(nodesInAccount[record.folderType]),
+                        record = record,
+                        targetNodeId = getTargetNodeId(
+                            record.folderType,
+                            primaryUploadNodeId,
+                            secondaryUploadNodeId,
+                        ),
+                    )
             }.getOrNull()?.let { (existsInTargetNode, existingNodeId) ->
                 record.copy(
                     existsInTargetNode = existsInTargetNode,
@@ -45,4 +94,45 @@ class DoesCameraUploadsRecordExistsInTargetNodeUseCase @Inject constructor(
                 )
             }
         }
+    }
+
+    private fun List<CameraUploadsRecord>.getFingerprints() =
+        flatMap { listOfNotNull(it.originalFingerprint, it.generatedFingerprint) }
+
+    /**
+     * Get the node of the account matching the record, by original fingerprint first and then by
+     * generated fingerprint
+     *
+     * @param nodesInAccount the nodes of the account found for the fingerprints of the records
+     * @param record the [CameraUploadsRecord] not found in its target node
+     * @param targetNodeId the target node of the record
+     * @return a Pair<Boolean?, NodeId?>
+     *         The first element will return true if it exists in the target node, false otherwise, null if in rubbish bin
+     *         The second element will return the node retrieved, null if cannot be retrieved
+     */
+    private suspend fun getExistingNode(
+        nodesInAccount: Map<String, UnTypedNode>,
+        record: CameraUploadsRecord,
+        targetNodeId: NodeId,
+    ): Pair<Boolean?, NodeId?> {
+        val node = nodesInAccount[record.originalFingerprint]
+            ?: record.generatedFingerprint?.let { nodesInAccount[it] }
+
+        return node?.let {
+            when {
+                it.parentId.longValue == targetNodeId.longValue -> Pair(true, it.id)
+                isNodeInRubbishBinUseCase(it.id) -> Pair(null, it.id)
+                else -> Pair(false, it.id)
+            }
+        } ?: Pair(false, null)
+    }
+
+    private fun getTargetNodeId(
+        folderType: CameraUploadFolderType,
+        primaryUploadNodeId: NodeId,
+        secondaryUploadNodeId: NodeId,
+    ) = when (folderType) {
+        CameraUploadFolderType.Primary -> primaryUploadNodeId
+        CameraUploadFolderType.Secondary -> secondaryUploadNodeId
+    }
 }
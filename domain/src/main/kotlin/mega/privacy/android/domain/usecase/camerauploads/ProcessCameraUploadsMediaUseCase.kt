@@ -3,18 +3,26 @@ package mega.privacy.android.domain.usecase.camerauploads
 import kotlinx.coroutines.async
 import kotlinx.coroutines.coroutineScope
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 
 /**
  * Use case to retrieve media from the media stores, and save them in the database
  * to be uploaded by Camera Uploads
  *
+ * Only the media added or modified since the last scan of each folder are retrieved from the
+ * media stores. A full scan is still done every [FULL_SCAN_INTERVAL_MILLIS] as a safety net
+ *
  * @property getPrimaryFolderPathUseCase
  * @property getSecondaryFolderPathUseCase
  * @property getMediaStoreFileTypesUseCase
  * @property isMediaUploadsEnabledUseCase
  * @property retrieveMediaFromMediaStoreUseCase
+ * @property cameraUploadsRepository
  */
 class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val getPrimaryFolderPathUseCase: GetPrimaryFolderPathUseCase,
@@ -23,6 +31,7 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val isMediaUploadsEnabledUseCase: IsMediaUploadsEnabledUseCase,
     private val retrieveMediaFromMediaStoreUseCase: RetrieveMediaFromMediaStoreUseCase,
     private val saveCameraUploadsRecordUseCase: SaveCameraUploadsRecordUseCase,
+    private val cameraUploadsRepository: CameraUploadsRepository,
 ) {
 
     /**
@@ -32,63 +41,70 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
     suspend operator fun invoke(
         tempRoot: String,
     ) = coroutineScope {
+        val scanStartTimestamp = System.currentTimeMillis()
+        val lastFullScanTimestamp = cameraUploadsRepository.getLastFullMediaScanTimestamp()
+        val isFullScan = lastFullScanTimestamp == null ||
+                scanStartTimestamp - lastFullScanTimestamp !in 0 until FULL_SCAN_INTERVAL_MILLIS
+
         val (photoMediaStoreTypes, videoMediaStoreTypes) = getMediaStoreFileTypesUseCase().partition { it.isImageFileType() }
         val primaryFolderPath = getPrimaryFolderPathUseCase()
+        val primaryScanCursor =
+            if (isFullScan) null
+            else cameraUploadsRepository.getMediaScanCursor(CameraUploadFolderType.Primary)
 
         val primaryPhotoMedia = async {
-            photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
-                    parentPath = primaryFolderPath,
-                    types = it,
-                    folderType = CameraUploadFolderType.Primary,
-                    fileType = CameraUploadsRecordType.TYPE_PHOTO,
-                    tempRoot = tempRoot,
-                )
-            } ?: emptyList()
+            retrieveMedia(
+                parentPath = primaryFolderPath,
+                types = photoMediaStoreTypes,
+                folderType = CameraUploadFolderType.Primary,
+                fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                tempRoot = tempRoot,
+                addedOrModifiedSince = primaryScanCursor,
+            )
         }
 
         val primaryVideoMedia = async {
-            videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
-                    parentPath = primaryFolderPath,
-                    types = it,
-                    folderType = CameraUploadFolderType.Primary,
-                    fileType = CameraUploadsRecordType.TYPE_VIDEO,
-                    tempRoot = tempRoot,
-                )
-            } ?: emptyList()
+            retrieveMedia(
+                parentPath = primaryFolderPath,
+                types = videoMediaStoreTypes,
+                folderType = CameraUploadFolderType.Primary,
+                fileType = CameraUploadsRecordType.TYPE_VIDEO,
+                tempRoot = tempRoot,
+                addedOrModifiedSince = primaryScanCursor,
+            )
         }
 
         val isSecondaryFolderEnabled = isMediaUploadsEnabledUseCase()
         val secondaryFolderPath = getSecondaryFolderPathUseCase()
+        val secondaryScanCursor =
+            if (isFullScan || !isSecondaryFolderEnabled) null
+            else cameraUploadsRepository.getMediaScanCursor(CameraUploadFolderType.Secondary)
 
         val secondaryPhotoMedia =
             if (isSecondaryFolderEnabled) {
                 async {
-                    photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
+                    retrieveMedia(
+                        parentPath = secondaryFolderPath,
+                        types = photoMediaStoreTypes,
+                        folderType = CameraUploadFolderType.Secondary,
+                        fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                        tempRoot = tempRoot,
+                        addedOrModifiedSince = secondaryScanCursor,
+                    )
                 }
             } else null
 
         val secondaryVideoMedia =
             if (isSecondaryFolderEnabled) {
                 async {
-                    videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_VIDEO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
+                    retrieveMedia(
+                        parentPath = secondaryFolderPath,
+                        types = videoMediaStoreTypes,
+                        folderType = CameraUploadFolderType.Secondary,
+                        fileType = CameraUploadsRecordType.TYPE_VIDEO,
+                        tempRoot = tempRoot,
+                        addedOrModifiedSince = secondaryScanCursor,
+                    )
                 }
             } else null
 
@@ -99,5 +115,47 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
             secondaryVideoMedia?.let { addAll(it.await()) }
         }
         saveCameraUploadsRecordUseCase(combinedList)
+
+        // The cursors are only moved forward once the records have been saved, so that media
+        // are not skipped if the process is interrupted
+        cameraUploadsRepository.setMediaScanCursor(
+            CameraUploadFolderType.Primary,
+            scanStartTimestamp,
+        )
+        if (isSecondaryFolderEnabled) {
+            cameraUploadsRepository.setMediaScanCursor(
+                CameraUploadFolderType.Secondary,
+                scanStartTimestamp,
+            )
+        }
+        if (isFullScan) {
+            cameraUploadsRepository.setLastFullMediaScanTimestamp(scanStartTimestamp)
+        }
+    }
+
+    private suspend fun retrieveMedia(
+        parentPath: String,
+        types: List<MediaStoreFileType>,
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        tempRoot: String,
+        addedOrModifiedSince: Long?,
+    ): List<CameraUploadsRecord> = types.takeUnless { it.isEmpty() }?.let {
+        retrieveMediaFromMediaStoreUseCase(
+            parentPath = parentPath,
+            types = it,
+            folderType = folderType,
+            fileType = fileType,
+            tempRoot = tempRoot,
+            addedOrModifiedSince = addedOrModifiedSince,
+        )
+    }.orEmpty()
+
+    companion object {
+        /**
+         * Interval after which all the media are retrieved again from the media stores,
+         * regardless of the scan cursors
+         */
+        val FULL_SCAN_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(1)
     }
 }
@@ -7,7 +7,7 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.qualifier.IoDispatcher
-import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
+import mega.privacy.android.domain.usecase.node.GetNodeChildrenNamesUseCase
 import java.text.SimpleDateFormat
 import java.util.Date
 import java.util.Locale
@@ -19,9 +19,12 @@ import javax.inject.Inject
  * as it will be skipped during the upload process.
  * The file will be renamed if the user has not set the option to keep the file name.
  * A suffix will be added if the name already exists in the cloud
+ *
+ * The names of the target folder children are retrieved once per folder and the names generated
+ * are added to them, so that each record is renamed in constant time
  */
 class RenameCameraUploadsRecordsUseCase @Inject constructor(
-    private val getChildNodeUseCase: GetChildNodeUseCase,
+    private val getNodeChildrenNamesUseCase: GetNodeChildrenNamesUseCase,
     private val areUploadFileNamesKeptUseCase: AreUploadFileNamesKeptUseCase,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) {
@@ -43,34 +46,23 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
         secondaryUploadNodeId: NodeId,
     ): List<CameraUploadsRecord> = withContext(ioDispatcher) {
         val keepName = areUploadFileNamesKeptUseCase()
-        return@withContext buildList renamedRecordList@{
-            recordList.map { record ->
-                if (record.existsInTargetNode == true) {
-                    add(record)
-                } else {
-                    ensureActive()
+        val usedFileNamesByFolderType = mutableMapOf<CameraUploadFolderType, UsedFileNames>()
+        val sdf = SimpleDateFormat(DATE_AND_TIME_PATTERN, Locale.getDefault())
+        return@withContext recordList.map { record ->
+            if (record.existsInTargetNode == true) {
+                record
+            } else {
+                ensureActive()
+                val usedFileNames = usedFileNamesByFolderType.getOrPut(record.folderType) {
                     val parentNodeId = when (record.folderType) {
                         CameraUploadFolderType.Primary -> primaryUploadNodeId
                         CameraUploadFolderType.Secondary -> secondaryUploadNodeId
                     }
-
-                    val originalFileName = getFileName(record, keepName)
-                    var generatedFileName = originalFileName
-                    var photoIndex = 0
-                    while (
-                        fileNameAlreadyExists(
-                            generatedFileName,
-                            parentNodeId,
-                            record.folderType,
-                            this@renamedRecordList
-                        )
-                    ) {
-                        ensureActive()
-                        generatedFileName = getFileNameWithIndex(originalFileName, photoIndex++)
-                    }
-
-                    add(record.copy(generatedFileName = generatedFileName))
+                    UsedFileNames(getNodeChildrenNamesUseCase(parentNodeId).toHashSet())
                 }
+
+                val originalFileName = getFileName(record, keepName, sdf)
+                record.copy(generatedFileName = usedFileNames.generateFileName(originalFileName))
             }
         }
     }
@@ -80,16 +72,20 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
      *
      * @param record
      * @param keepName true if the user setting is to keep original name
+     * @param sdf the date formatter used if the name is not kept
      * @return the file name, null if cannot be generated
      *         If the name is kept, the name will be the same as the original name
      *         If the name is not kept, the name will be equal of `yyyy-MM-dd HH.mm.ss`,
      *         corresponding to the time the file was last modified
      */
-    private fun getFileName(record: CameraUploadsRecord, keepName: Boolean): String {
+    private fun getFileName(
+        record: CameraUploadsRecord,
+        keepName: Boolean,
+        sdf: SimpleDateFormat,
+    ): String {
         return if (keepName) {
             record.fileName
         } else {
-            val sdf = SimpleDateFormat(DATE_AND_TIME_PATTERN, Locale.getDefault())
             val newFileName = sdf.format(Date(record.timestamp))
             val extension = record.fileName.substringAfterLast(".", "")
             "$newFileName.$extension"
@@ -97,63 +93,50 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
     }
 
     /**
-     * Get the file name with an index in suffix, in case the name is already used
+     * The file names already used in a target folder, either on the Cloud drive
+     * or by one of the future nodes of the list being processed
      *
-     * @param fileName
-     * @param index to append to the fileName
-     * @return the file name with the [index] in suffix.
-     *         Result format will be fileName_index.extension
+     * @property names the names already used
      */
-    private fun getFileNameWithIndex(fileName: String, index: Int): String {
-        if (index == 0)
-            return fileName
-
-        val name = fileName.substringBeforeLast(".", "")
-        val extension = fileName.substringAfterLast(".", "")
-        return "${name}_$index.$extension"
-    }
+    private class UsedFileNames(private val names: HashSet<String>) {
 
-    /**
-     * Check if the [fileName] is already used or will be used for one of the node
-     *
-     * @param fileName
-     * @param parentNodeId
-     * @param folderType
-     * @param recordList
-     * @return true if the [fileName] is already used
-     */
-    private suspend fun fileNameAlreadyExists(
-        fileName: String,
-        parentNodeId: NodeId,
-        folderType: CameraUploadFolderType,
-        recordList: List<CameraUploadsRecord>
-    ): Boolean =
-        fileNameExistsInCloud(fileName, parentNodeId)
-                || fileNameExistsInList(fileName, recordList, folderType)
+        /**
+         * Next index to try for each original file name, to avoid probing the indexes
+         * already used by the previous records
+         */
+        private val nextIndexes = HashMap<String, Int>()
 
-    /**
-     * Check if the [fileName] is already used for one of the node in the target folder on the Cloud drive
-     *
-     * @param fileName
-     * @param parentNodeId
-     * @return true if the [fileName] is already used in the cloud folder
-     */
-    private suspend fun fileNameExistsInCloud(fileName: String, parentNodeId: NodeId): Boolean =
-        getChildNodeUseCase(parentNodeId, fileName) != null
+        /**
+         * Generate a name not used yet in the target folder and mark it as used
+         *
+         * @param fileName the original file name
+         * @return the [fileName] if not used yet, or the [fileName] with an index suffix otherwise.
+         *         Result format will be fileName_index.extension
+         */
+        fun generateFileName(fileName: String): String {
+            var generatedFileName = fileName
+            if (generatedFileName in names) {
+                var index = nextIndexes[fileName] ?: 1
+                do {
+                    generatedFileName = getFileNameWithIndex(fileName, index++)
+                } while (generatedFileName in names)
+                nextIndexes[fileName] = index
+            }
+            names.add(generatedFileName)
+            return generatedFileName
+        }
 
-    /**
-     * Check if the [fileName] is already used for one of the future node in the list that is being processed
-     *
-     * @param fileName
-     * @param recordList
-     * @param folderType
-     * @return true if the [fileName] is already used in the current list
-     */
-    private fun fileNameExistsInList(
-        fileName: String,
-        recordList: List<CameraUploadsRecord>,
-        folderType: CameraUploadFolderType
-    ): Boolean =
-        recordList
-            .any { it.folderType == folderType && it.generatedFileName == fileName }
+        /**
+         * Get the file name with an index in suffix, in case the name is already used
+         *
+         * @param fileName
+         * @param index to append to the fileName
+         * @return the file name with the [index] in suffix.
+         */
+        private fun getFileNameWithIndex(fileName: String, index: Int): String {
+            val name = fileName.substringBeforeLast(".", "")
+            val extension = fileName.substringAfterLast(".", "")
+            return "${name}_$index.$extension"
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import javax.inject.Inject
+
+/**
+ * Use Case to reset the Media Store scan cursors, so the next scan of Camera Uploads retrieves all
+ * the media of the folders again instead of only the media added or modified since the last scan
+ *
+ * @property cameraUploadsRepository [CameraUploadsRepository]
+ */
+class ResetMediaScanCursorsUseCase @Inject constructor(
+    private val cameraUploadsRepository: CameraUploadsRepository,
+) {
+
+    /**
+     * Invocation function
+     *
+     * @param folderTypes the folder types (Primary, Secondary, or both) whose cursors are reset
+     */
+    suspend operator fun invoke(
+        folderTypes: List<CameraUploadFolderType> = CameraUploadFolderType.entries,
+    ) = folderTypes.forEach {
+        cameraUploadsRepository.setMediaScanCursor(it, null)
+    }
+}
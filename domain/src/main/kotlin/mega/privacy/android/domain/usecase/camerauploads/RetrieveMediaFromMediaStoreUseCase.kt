@@ -28,6 +28,8 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
      *
      * @param parentPath used for filtering the media contained in the parent path
      * @param types types of files that we want to retrieve. This types will be converted to proper Uri
+     * @param addedOrModifiedSince if not null, only the media added or modified since this timestamp
+     *                             are retrieved
      *
      * @return a list of [CameraUploadsRecord]
      */
@@ -37,38 +39,33 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
         folderType: CameraUploadFolderType,
         fileType: CameraUploadsRecordType,
         tempRoot: String,
+        addedOrModifiedSince: Long?,
     ): List<CameraUploadsRecord> = coroutineScope {
-        val selectionQuery = cameraUploadsRepository.getMediaSelectionQuery(parentPath)
+        val selectionQuery =
+            cameraUploadsRepository.getMediaSelectionQuery(parentPath, addedOrModifiedSince)
 
-        val (recordsInPrimaryFolder, recordsInSecondaryFolder) =
-            cameraUploadsRepository.getAllCameraUploadsRecords()
-                .partition { it.folderType == CameraUploadFolderType.Primary }
+        val existingRecordKeys = cameraUploadsRepository.getAllCameraUploadsRecords()
+            .filter { it.folderType == folderType }
+            .mapTo(HashSet()) { ExistingRecordKey(it.mediaId, it.timestamp) }
 
         val semaphore = Semaphore(8)
         return@coroutineScope types.flatMap {
             cameraUploadsRepository.getMediaList(
                 mediaStoreFileType = it,
                 selectionQuery = selectionQuery,
-            ).map {
+            ).filterNot { media ->
+                ExistingRecordKey(media.mediaId, media.timestamp) in existingRecordKeys
+            }.map {
                 async {
                     semaphore.withPermit {
                         yield()
                         runCatching {
-                            val exists = checkCameraUploadsRecordAlreadyExists(
-                                cameraUploadsMedia = it,
-                                recordsToCheck =
-                                if (folderType == CameraUploadFolderType.Primary)
-                                    recordsInPrimaryFolder
-                                else recordsInSecondaryFolder,
+                            cameraUploadsRecordMapper(
+                                media = it,
+                                folderType = folderType,
+                                fileType = fileType,
+                                tempRoot = tempRoot,
                             )
-                            if (!exists) {
-                                cameraUploadsRecordMapper(
-                                    media = it,
-                                    folderType = folderType,
-                                    fileType = fileType,
-                                    tempRoot = tempRoot,
-                                )
-                            } else null
                         }.getOrNull()
                     }
                 }
@@ -77,18 +74,13 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
     }
 
     /**
-     * Check if the camera uploads media has already been inserted in the database
+     * Key identifying a [CameraUploadsRecord] already saved in the database for a given folder type
      *
-     * @param cameraUploadsMedia the [CameraUploadsMedia] to check
-     * @param recordsToCheck the list of [CameraUploadsRecord] saved in the database
+     * @property mediaId the media id of the record
+     * @property timestamp the timestamp of the record
      */
-    private fun checkCameraUploadsRecordAlreadyExists(
-        cameraUploadsMedia: CameraUploadsMedia,
-        recordsToCheck: List<CameraUploadsRecord>,
-    ): Boolean {
-        return recordsToCheck.find {
-            it.mediaId == cameraUploadsMedia.mediaId && it.timestamp == cameraUploadsMedia.timestamp
-        } != null
-    }
+    private data class ExistingRecordKey(
+        val mediaId: Long,
+        val timestamp: Long,
+    )
 }
-
@@ -8,9 +8,11 @@ import javax.inject.Inject
  * Use Case to set the Upload Option of Camera Uploads
  *
  * @property cameraUploadsRepository [CameraUploadsRepository]
+ * @property resetMediaScanCursorsUseCase [ResetMediaScanCursorsUseCase]
  */
 class SetUploadOptionUseCase @Inject constructor(
     private val cameraUploadsRepository: CameraUploadsRepository,
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase,
 ) {
 
     /**
@@ -18,6 +20,9 @@ class SetUploadOptionUseCase @Inject constructor(
      *
      * @param uploadOption The [UploadOption] to set
      */
-    suspend operator fun invoke(uploadOption: UploadOption) =
+    suspend operator fun invoke(uploadOption: UploadOption) {
         cameraUploadsRepository.setUploadOption(uploadOption)
-}
\ No newline at end of file
+        // The media types that were not uploaded before have to be retrieved by the next scan
+        resetMediaScanCursorsUseCase()
+    }
+}
@@ -9,10 +9,12 @@ import javax.inject.Inject
  *
  * @property cameraUploadsRepository [CameraUploadsRepository]
  * @property removeBackupFolderUseCase [RemoveBackupFolderUseCase]
+ * @property resetMediaScanCursorsUseCase [ResetMediaScanCursorsUseCase]
  */
 class SetupCameraUploadsSettingUseCase @Inject constructor(
     private val cameraUploadsRepository: CameraUploadsRepository,
     private val removeBackupFolderUseCase: RemoveBackupFolderUseCase,
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase,
 ) {
 
     /**
@@ -22,7 +24,11 @@ class SetupCameraUploadsSettingUseCase @Inject constructor(
      */
     suspend operator fun invoke(isEnabled: Boolean) {
         cameraUploadsRepository.setCameraUploadsEnabled(isEnabled)
-        if (!isEnabled) {
+        if (isEnabled) {
+            // The folders may have changed while disabled, so all their media have to be retrieved
+            // by the next scan
+            resetMediaScanCursorsUseCase()
+        } else {
             removeBackupFolderUseCase(CameraUploadFolderType.Primary)
         }
     }
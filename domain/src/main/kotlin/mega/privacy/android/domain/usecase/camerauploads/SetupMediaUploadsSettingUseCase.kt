@@ -9,10 +9,12 @@ import javax.inject.Inject
  *
  * @property cameraUploadsRepository [CameraUploadsRepository]
  * @property removeBackupFolderUseCase [RemoveBackupFolderUseCase]
+ * @property resetMediaScanCursorsUseCase [ResetMediaScanCursorsUseCase]
  */
 class SetupMediaUploadsSettingUseCase @Inject constructor(
     private val cameraUploadsRepository: CameraUploadsRepository,
     private val removeBackupFolderUseCase: RemoveBackupFolderUseCase,
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase,
 ) {
 
     /**
@@ -22,7 +24,11 @@ class SetupMediaUploadsSettingUseCase @Inject constructor(
      */
     suspend operator fun invoke(isEnabled: Boolean) {
         cameraUploadsRepository.setSecondaryEnabled(isEnabled)
-        if (!isEnabled) {
+        if (isEnabled) {
+            // The folder may have changed while disabled, so all its media have to be retrieved
+            // by the next scan
+            resetMediaScanCursorsUseCase(listOf(CameraUploadFolderType.Secondary))
+        } else {
             removeBackupFolderUseCase(CameraUploadFolderType.Secondary)
         }
     }
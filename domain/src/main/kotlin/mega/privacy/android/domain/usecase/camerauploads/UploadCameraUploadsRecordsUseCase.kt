@@ -1,7 +1,9 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
 import kotlinx.coroutines.DelicateCoroutinesApi
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.Channel.Factory.UNLIMITED
+import kotlinx.coroutines.channels.ProducerScope
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.buffer
@@ -19,6 +21,7 @@ import kotlinx.coroutines.flow.singleOrNull
 import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import kotlinx.coroutines.yield
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.VideoCompressionState
@@ -117,9 +120,6 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
         // Calculate the default number of concurrent uploads based on the available processors
         val defaultConcurrentUploadsCount = max(2, getAvailableProcessorsUseCase())
 
-        // Limit the number of concurrent uploads to defaultConcurrentUploadsCount
-        val semaphore = Semaphore(defaultConcurrentUploadsCount)
-
         // Limit the number of concurrent uploads based on the device state
         val deviceStateSemaphore = Semaphore(defaultConcurrentUploadsCount)
 
@@ -155,293 +155,321 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
                 }
         }
 
-        cameraUploadsRecords.map { record ->
-            launch {
-                semaphore.acquire()
-                deviceStateSemaphore.acquire()
+        // Records are pulled from a channel by a fixed pool of workers, so that the number of
+        // coroutines does not grow with the number of records to upload
+        val recordsChannel = Channel<CameraUploadsRecord>()
+        launch {
+            cameraUploadsRecords.forEach { recordsChannel.send(it) }
+            recordsChannel.close()
+        }
 
-                yield()
+        List(defaultConcurrentUploadsCount) {
+            launch {
+                for (record in recordsChannel) {
+                    deviceStateSemaphore.withPermit {
+                        yield()
+                        processRecord(
+                            record = record,
+                            primaryUploadNodeId = primaryUploadNodeId,
+                            secondaryUploadNodeId = secondaryUploadNodeId,
+                            tempRoot = tempRoot,
+                            videoQuality = videoQuality,
+                            locationTagsDisabled = locationTagsDisabled,
+                            isChargingRequiredForVideoCompression = isChargingRequiredForVideoCompression,
+                            videoCompressionSemaphore = videoCompressionSemaphore,
+                        )
+                    }
+                }
+            }
+        }.joinAll()
+        channel.close()
+    }
+        .buffer(UNLIMITED)
+        .cancellable()
 
-                val parentNodeId =
-                    getParentNodeId(record, primaryUploadNodeId, secondaryUploadNodeId)
+    /**
+     * Process a single record: upload, copy or do nothing depending on its state
+     *
+     * @param record The record to process
+     * @param primaryUploadNodeId The primary upload node id
+     * @param secondaryUploadNodeId The secondary upload node id
+     * @param tempRoot The file path to the temporary folder to generate temp files
+     * @param videoQuality The video quality set by the user
+     * @param locationTagsDisabled true if the location tags have to be removed from the photos
+     * @param isChargingRequiredForVideoCompression true if the device must be charging to compress videos
+     * @param videoCompressionSemaphore The semaphore limiting the number of concurrent video compressions
+     */
+    private suspend fun ProducerScope<CameraUploadsTransferProgress>.processRecord(
+        record: CameraUploadsRecord,
+        primaryUploadNodeId: NodeId,
+        secondaryUploadNodeId: NodeId,
+        tempRoot: String,
+        videoQuality: VideoQuality,
+        locationTagsDisabled: Boolean,
+        isChargingRequiredForVideoCompression: Boolean,
+        videoCompressionSemaphore: Semaphore,
+    ) {
+        val parentNodeId =
+            getParentNodeId(record, primaryUploadNodeId, secondaryUploadNodeId)
 
-                when {
-                    // node does not exist => upload
-                    record.existingNodeId == null -> {
+        when {
+            // node does not exist => upload
+            record.existingNodeId == null -> {
 
-                        val shouldRemoveLocationTags =
-                            record.type == CameraUploadsRecordType.TYPE_PHOTO && locationTagsDisabled
+                val shouldRemoveLocationTags =
+                    record.type == CameraUploadsRecordType.TYPE_PHOTO && locationTagsDisabled
 
-                        val shouldCompressVideo =
-                            record.type == CameraUploadsRecordType.TYPE_VIDEO && videoQuality != VideoQuality.ORIGINAL
+                val shouldCompressVideo =
+                    record.type == CameraUploadsRecordType.TYPE_VIDEO && videoQuality != VideoQuality.ORIGINAL
 
-                        yield()
+                yield()
 
-                        // create temporary file
-                        if (shouldRemoveLocationTags) {
-                            createTempFileAndRemoveCoordinates(record, tempRoot)
-                                .catch {
-                                    trySend(CameraUploadsTransferProgress.Error(record, it))
-                                    setCameraUploadsRecordUploadStatus(
-                                        record = record,
-                                        status = if (it is FileNotFoundException)
-                                            CameraUploadsRecordUploadStatus.LOCAL_FILE_NOT_EXIST
-                                        else CameraUploadsRecordUploadStatus.FAILED
-                                    ).onFailure { error ->
-                                        trySend(CameraUploadsTransferProgress.Error(record, error))
-                                    }
-                                }
-                                .singleOrNull()
-                                ?: run {
-                                    deviceStateSemaphore.release()
-                                    semaphore.release()
-                                    return@launch
-                                }
+                // create temporary file
+                if (shouldRemoveLocationTags) {
+                    createTempFileAndRemoveCoordinates(record, tempRoot)
+                        .catch {
+                            trySend(CameraUploadsTransferProgress.Error(record, it))
+                            setCameraUploadsRecordUploadStatus(
+                                record = record,
+                                status = if (it is FileNotFoundException)
+                                    CameraUploadsRecordUploadStatus.LOCAL_FILE_NOT_EXIST
+                                else CameraUploadsRecordUploadStatus.FAILED
+                            ).onFailure { error ->
+                                trySend(CameraUploadsTransferProgress.Error(record, error))
+                            }
                         }
+                        .singleOrNull()
+                        ?: return
+                }
 
-                        yield()
-
-                        // Compress Video
-                        if (shouldCompressVideo) {
-                            var isCompressionCancelled = false
-                            videoCompressionSemaphore.acquire()
-                            if (isChargingRequiredForVideoCompression
-                                && monitorBatteryInfoUseCase().first().isCharging.not()
-                            ) {
-                                videoCompressionSemaphore.release()
-                                deviceStateSemaphore.release()
-                                semaphore.release()
-                                return@launch
-                            }
-                            channelFlow compression@{
-                                launch {
-                                    flow {
-                                        emitAll(monitorBatteryInfoUseCase().map { it.isCharging })
-                                    }.collect { isCharging ->
-                                        if (isChargingRequiredForVideoCompression && !isCharging) {
-                                            isCompressionCancelled = true
-                                            send(VideoCompressionState.Cancel)
-                                            this@compression.close()
-                                        }
-                                    }
-                                }
+                yield()
 
-                                launch {
-                                    compressVideo(
-                                        record,
-                                        tempRoot,
-                                        videoQuality
-                                    ).collect {
-                                        if (!isClosedForSend) {
-                                            send(it)
-                                            yield()
-                                        }
-                                        if (it is VideoCompressionState.Finished) {
-                                            this@compression.close()
-                                        }
-                                    }
-                                }
-                            }.catch {
-                                emit(VideoCompressionState.Finished)
-                                trySend(CameraUploadsTransferProgress.Error(record, it))
-                            }.onCompletion {
-                                videoCompressionSemaphore.release()
-                            }.collect {
-                                when (it) {
-                                    is VideoCompressionState.Progress -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Progress(
-                                                record = record,
-                                                progress = it.progress,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.Successful -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Successful(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.InsufficientStorage -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.InsufficientStorage(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.Cancel -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Cancel(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    else -> Unit
+                // Compress Video
+                if (shouldCompressVideo) {
+                    var isCompressionCancelled = false
+                    videoCompressionSemaphore.acquire()
+                    if (isChargingRequiredForVideoCompression
+                        && monitorBatteryInfoUseCase().first().isCharging.not()
+                    ) {
+                        videoCompressionSemaphore.release()
+                        return
+                    }
+                    channelFlow compression@{
+                        launch {
+                            flow {
+                                emitAll(monitorBatteryInfoUseCase().map { it.isCharging })
+                            }.collect { isCharging ->
+                                if (isChargingRequiredForVideoCompression && !isCharging) {
+                                    isCompressionCancelled = true
+                                    send(VideoCompressionState.Cancel)
+                                    this@compression.close()
                                 }
                             }
-                            if (isCompressionCancelled) {
-                                deviceStateSemaphore.release()
-                                semaphore.release()
-                                return@launch
-                            }
                         }
 
-                        yield()
-
-                        // generate fingerprint and save it
-                        // This step is important to check if a file exist in the cloud drive,
-                        // in case the original fingerprint cannot be assigned to the Node after the transfer finishes
-                        val setGeneratedFingerprintJob = launch {
-                            setGeneratedFingerprint(record)
-                                .onFailure {
-                                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                        launch {
+                            compressVideo(
+                                record,
+                                tempRoot,
+                                videoQuality
+                            ).collect {
+                                if (!isClosedForSend) {
+                                    send(it)
+                                    yield()
+                                }
+                                if (it is VideoCompressionState.Finished) {
+                                    this@compression.close()
                                 }
+                            }
                         }
-
-                        // retrieve path of file to upload
-                        val path = getPath(record, shouldRemoveLocationTags, shouldCompressVideo)
-
-                        yield()
-
-                        // upload
-                        startUploadUseCase(
-                            localPath = path,
-                            parentNodeId = parentNodeId,
-                            fileName = record.generatedFileName,
-                            modificationTime = record.timestamp / 1000,
-                            appData = TransferAppData.CameraUpload,
-                            isSourceTemporary = false,
-                            shouldStartFirst = false,
-                        ).collect { transferEvent ->
-                            when (transferEvent) {
-                                is TransferEvent.TransferStartEvent -> {
-                                    // set status to STARTED
-                                    setCameraUploadsRecordUploadStatus(
+                    }.catch {
+                        emit(VideoCompressionState.Finished)
+                        trySend(CameraUploadsTransferProgress.Error(record, it))
+                    }.onCompletion {
+                        videoCompressionSemaphore.release()
+                    }.collect {
+                        when (it) {
+                            is VideoCompressionState.Progress -> {
+                                trySend(
+                                    CameraUploadsTransferProgress.Compressing.Progress(
                                         record = record,
-                                        status = CameraUploadsRecordUploadStatus.STARTED,
-                                    ).onFailure {
-                                        trySend(CameraUploadsTransferProgress.Error(record, it))
-                                    }
-
-                                    trySend(
-                                        CameraUploadsTransferProgress.ToUpload(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
+                                        progress = it.progress,
                                     )
-                                }
+                                )
+                            }
 
-                                is TransferEvent.TransferFinishEvent -> {
-                                    yield()
-                                    processTransferFinishEvent(record, transferEvent)
-                                        .collect {
-                                            trySend(CameraUploadsTransferProgress.Error(record, it))
-                                        }
-
-                                    // Make sure that the generated fingerprint has complete
-                                    setGeneratedFingerprintJob.join()
-
-                                    // delete temp file
-                                    deleteTempFile(record)
-                                        .onFailure {
-                                            trySend(CameraUploadsTransferProgress.Error(record, it))
-                                        }
-
-                                    trySend(
-                                        CameraUploadsTransferProgress.Uploaded(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                            nodeId = NodeId(transferEvent.transfer.nodeHandle),
-                                        )
+                            is VideoCompressionState.Successful -> {
+                                trySend(
+                                    CameraUploadsTransferProgress.Compressing.Successful(
+                                        record = record,
                                     )
+                                )
+                            }
 
-                                    deviceStateSemaphore.release()
-                                    semaphore.release()
-                                }
-
-                                is TransferEvent.TransferUpdateEvent -> {
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
+                            is VideoCompressionState.InsufficientStorage -> {
+                                trySend(
+                                    CameraUploadsTransferProgress.Compressing.InsufficientStorage(
+                                        record = record,
                                     )
-                                }
+                                )
+                            }
 
-                                is TransferEvent.TransferTemporaryErrorEvent ->
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
+                            is VideoCompressionState.Cancel -> {
+                                trySend(
+                                    CameraUploadsTransferProgress.Compressing.Cancel(
+                                        record = record,
                                     )
-
-                                else -> Unit
+                                )
                             }
+
+                            else -> Unit
                         }
                     }
+                    if (isCompressionCancelled) {
+                        return
+                    }
+                }
 
-                    // node exists but not in target folder => copy
-                    record.existsInTargetNode == false -> {
-                        trySend(
-                            CameraUploadsTransferProgress.ToCopy(
-                                record = record,
-                                nodeId = record.existingNodeId,
-                            )
-                        )
+                yield()
 
-                        copyNode(
-                            record = record,
-                            existingNodeId = record.existingNodeId,
-                            parentNodeId = parentNodeId,
-                        ).onFailure {
+                // generate fingerprint and save it
+                // This step is important to check if a file exist in the cloud drive,
+                // in case the original fingerprint cannot be assigned to the Node after the transfer finishes
+                val setGeneratedFingerprintJob = launch {
+                    setGeneratedFingerprint(record)
+                        .onFailure {
                             trySend(CameraUploadsTransferProgress.Error(record, it))
                         }
+                }
+
+                // retrieve path of file to upload
+                val path = getPath(record, shouldRemoveLocationTags, shouldCompressVideo)
+
+                yield()
 
-                        trySend(
-                            CameraUploadsTransferProgress.Copied(
+                // upload
+                startUploadUseCase(
+                    localPath = path,
+                    parentNodeId = parentNodeId,
+                    fileName = record.generatedFileName,
+                    modificationTime = record.timestamp / 1000,
+                    appData = TransferAppData.CameraUpload,
+                    isSourceTemporary = false,
+                    shouldStartFirst = false,
+                ).collect { transferEvent ->
+                    when (transferEvent) {
+                        is TransferEvent.TransferStartEvent -> {
+                            // set status to STARTED
+                            setCameraUploadsRecordUploadStatus(
                                 record = record,
-                                nodeId = record.existingNodeId,
-                            )
-                        )
+                                status = CameraUploadsRecordUploadStatus.STARTED,
+                            ).onFailure {
+                                trySend(CameraUploadsTransferProgress.Error(record, it))
+                            }
 
-                        setCameraUploadsRecordUploadStatus(
-                            record = record,
-                            status = CameraUploadsRecordUploadStatus.COPIED
-                        ).onFailure {
-                            trySend(CameraUploadsTransferProgress.Error(record, it))
+                            trySend(
+                                CameraUploadsTransferProgress.ToUpload(
+                                    record = record,
+                                    transferEvent = transferEvent,
+                                )
+                            )
                         }
 
-                        deviceStateSemaphore.release()
-                        semaphore.release()
-                        return@launch
-                    }
+                        is TransferEvent.TransferFinishEvent -> {
+                            yield()
+                            processTransferFinishEvent(record, transferEvent)
+                                .collect {
+                                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                                }
 
-                    // node exists in target folder or is in rubbish bin => do nothing
-                    else -> {
-                        setCameraUploadsRecordUploadStatus(
-                            record = record,
-                            status = CameraUploadsRecordUploadStatus.ALREADY_EXISTS,
-                        ).onFailure {
-                            trySend(CameraUploadsTransferProgress.Error(record, it))
+                            // Make sure that the generated fingerprint has complete
+                            setGeneratedFingerprintJob.join()
+
+                            // delete temp file
+                            deleteTempFile(record)
+                                .onFailure {
+                                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                                }
+
+                            trySend(
+                                CameraUploadsTransferProgress.Uploaded(
+                                    record = record,
+                                    transferEvent = transferEvent,
+                                    nodeId = NodeId(transferEvent.transfer.nodeHandle),
+                                )
+                            )
+
+                        }
+
+                        is TransferEvent.TransferUpdateEvent -> {
+                            trySend(
+                                CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
+                                    record = record,
+                                    transferEvent = transferEvent,
+                                )
+                            )
                         }
 
-                        deviceStateSemaphore.release()
-                        semaphore.release()
-                        return@launch
+                        is TransferEvent.TransferTemporaryErrorEvent ->
+                            trySend(
+                                CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
+                                    record = record,
+                                    transferEvent = transferEvent,
+                                )
+                            )
+
+                        else -> Unit
                     }
                 }
             }
-        }.joinAll()
-        channel.close()
+
+            // node exists but not in target folder => copy
+            record.existsInTargetNode == false -> {
+                trySend(
+                    CameraUploadsTransferProgress.ToCopy(
+                        record = record,
+                        nodeId = record.existingNodeId,
+                    )
+                )
+
+                copyNode(
+                    record = record,
+                    existingNodeId = record.existingNodeId,
+                    parentNodeId = parentNodeId,
+                ).onFailure {
+                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                }
+
+                trySend(
+                    CameraUploadsTransferProgress.Copied(
+                        record = record,
+                        nodeId = record.existingNodeId,
+                    )
+                )
+
+                setCameraUploadsRecordUploadStatus(
+                    record = record,
+                    status = CameraUploadsRecordUploadStatus.COPIED
+                ).onFailure {
+                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                }
+
+                return
+            }
+
+            // node exists in target folder or is in rubbish bin => do nothing
+            else -> {
+                setCameraUploadsRecordUploadStatus(
+                    record = record,
+                    status = CameraUploadsRecordUploadStatus.ALREADY_EXISTS,
+                ).onFailure {
+                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                }
+
+                return
+            }
+        }
     }
-        .buffer(UNLIMITED)
-        .cancellable()
 
     /**
      * Compress a video
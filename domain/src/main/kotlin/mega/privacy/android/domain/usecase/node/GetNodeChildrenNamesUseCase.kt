@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.usecase.node
+
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Get the names of the children of a node
+ */
+class GetNodeChildrenNamesUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+) {
+    /**
+     * Get the names of the children of a node
+     *
+     * @param parentNodeId [NodeId] of the parent node
+     * @return the list of the children names
+     */
+    suspend operator fun invoke(parentNodeId: NodeId): List<String> =
+        nodeRepository.getNodeChildrenNames(parentNodeId)
+}
@@ -0,0 +1,23 @@
+package mega.privacy.android.domain.usecase.node
+
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Get the file nodes of the account matching a list of fingerprints in a single call
+ */
+class GetNodesByFingerprintsInAccountUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+) {
+    /**
+     * Get the file nodes of the account matching a list of fingerprints
+     *
+     * @param fingerprints the fingerprints or original fingerprints to look for
+     * @param preferredParentNode [NodeId] of the parent node preferred when several nodes match
+     * @return a map of the fingerprints found to the matching [UnTypedNode]
+     */
+    suspend operator fun invoke(fingerprints: Collection<String>, preferredParentNode: NodeId) =
+        nodeRepository.getNodesByFingerprintsInAccount(fingerprints, preferredParentNode)
+}
@@ -0,0 +1,23 @@
+package mega.privacy.android.domain.usecase.node
+
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Get the file nodes of a parent node matching a list of fingerprints in a single pass
+ */
+class GetNodesByFingerprintsInParentNodeUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+) {
+    /**
+     * Get the file nodes of a parent node matching a list of fingerprints
+     *
+     * @param fingerprints the fingerprints or original fingerprints to look for
+     * @param parentNode [NodeId] of the parent node
+     * @return a map of the fingerprints found to the matching [UnTypedNode]
+     */
+    suspend operator fun invoke(fingerprints: Collection<String>, parentNode: NodeId) =
+        nodeRepository.getNodesByFingerprintsInParentNode(fingerprints, parentNode)
+}
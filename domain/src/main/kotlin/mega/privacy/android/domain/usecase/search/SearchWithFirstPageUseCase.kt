@@ -0,0 +1,111 @@
+package mega.privacy.android.domain.usecase.search
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.FlowCollector
+import kotlinx.coroutines.flow.flow
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.entity.search.SearchCategory
+import mega.privacy.android.domain.entity.search.SearchParameters
+import mega.privacy.android.domain.entity.search.SearchTarget
+import mega.privacy.android.domain.repository.SearchRepository
+import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
+import javax.inject.Inject
+
+/**
+ * Search the nodes for the [SearchParameters], emitting the first page of results as soon as it is
+ * available, before all the results. [SearchUseCase] returns only the complete results.
+ */
+class SearchWithFirstPageUseCase @Inject constructor(
+    private val getCloudSortOrder: GetCloudSortOrder,
+    private val searchRepository: SearchRepository,
+    private val addNodesTypeUseCase: AddNodesTypeUseCase,
+) {
+
+    /**
+     * Invocation
+     *
+     * @param parentHandle search parent
+     * @param nodeSourceType search type [NodeSourceType]
+     * @param searchParameters search parameters [SearchParameters]
+     *
+     * @return flow emitting the first page of search results, then all of them
+     */
+    operator fun invoke(
+        parentHandle: NodeId,
+        nodeSourceType: NodeSourceType,
+        searchParameters: SearchParameters,
+    ): Flow<List<TypedNode>> = flow {
+        val (query, searchTarget, searchCategory, modificationDate, creationDate) = searchParameters
+        val invalidNodeHandle = searchRepository.getInvalidHandle()
+        val isShareRoot = query.isEmpty() && parentHandle == invalidNodeHandle
+        when {
+            isShareRoot && searchTarget == SearchTarget.INCOMING_SHARE ->
+                emit(addNodesTypeUseCase(searchRepository.getInShares()))
+
+            isShareRoot && searchTarget == SearchTarget.OUTGOING_SHARE ->
+                emit(addNodesTypeUseCase(searchRepository.getOutShares()))
+
+            isShareRoot && searchTarget == SearchTarget.LINKS_SHARE ->
+                emit(addNodesTypeUseCase(searchRepository.getPublicLinks()))
+
+            query.isEmpty() && searchCategory == SearchCategory.ALL && modificationDate == null && creationDate == null ->
+                emitAllTyped(
+                    searchRepository.getChildrenWithFirstPage(
+                        nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
+                        order = getCloudSortOrder(),
+                        parameters = searchParameters,
+                        firstPageSize = FIRST_PAGE_SIZE,
+                    )
+                )
+
+            else -> emitAllTyped(
+                searchRepository.searchWithFirstPage(
+                    nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
+                    order = getCloudSortOrder(),
+                    parameters = searchParameters,
+                    firstPageSize = FIRST_PAGE_SIZE,
+                )
+            )
+        }
+    }
+
+    /**
+     * Emits the typed nodes of each emission of [untypedNodes]. As each emission starts with the
+     * nodes of the previous one, only the new nodes are typed.
+     */
+    private suspend fun FlowCollector<List<TypedNode>>.emitAllTyped(
+        untypedNodes: Flow<List<UnTypedNode>>,
+    ) {
+        var typedNodes = emptyList<TypedNode>()
+        untypedNodes.collect { nodes ->
+            typedNodes = typedNodes + addNodesTypeUseCase(nodes.subList(typedNodes.size, nodes.size))
+            emit(typedNodes)
+        }
+    }
+
+    private suspend fun getSearchParentNode(
+        nodeSourceType: NodeSourceType,
+        parentHandle: NodeId,
+        invalidNodeHandle: NodeId,
+    ): NodeId? = if (parentHandle.longValue == invalidNodeHandle.longValue) {
+        when (nodeSourceType) {
+            NodeSourceType.CLOUD_DRIVE -> searchRepository.getRootNodeId()
+            NodeSourceType.RUBBISH_BIN -> searchRepository.getRubbishNodeId()
+            NodeSourceType.BACKUPS -> searchRepository.getBackUpNodeId()
+            else -> null
+        }
+    } else {
+        parentHandle
+    }
+
+    companion object {
+        /**
+         * Number of results emitted before all the results are available
+         */
+        const val FIRST_PAGE_SIZE = 100
+    }
+}
@@ -14,13 +14,19 @@ class MoveFileToSdCardUseCase @Inject constructor(
 ) {
     /**
      * invoke
+     *
+     * @return true if the file was moved, false otherwise
      */
-    suspend operator fun invoke(file: File, destinationUri: String, subFolders: List<String>) {
+    suspend operator fun invoke(
+        file: File,
+        destinationUri: String,
+        subFolders: List<String>,
+    ): Boolean {
         val destination = destinationUri.takeUnless { it.startsWith(File.separator) }
             ?: settingsRepository.getDownloadToSdCardUri() ?: destinationUri
         if (destination.startsWith(File.separator)) {
             throw IllegalArgumentException("Invalid Sd destination for MoveFileToSdCardUseCase. Destination: $destination. OriginalFolder: ${file.parent}. DestinationUri: $destinationUri.")
         }
-        fileSystemRepository.moveFileToSd(file, destination, subFolders)
+        return fileSystemRepository.moveFileToSd(file, destination, subFolders)
     }
 }
\ No newline at end of file
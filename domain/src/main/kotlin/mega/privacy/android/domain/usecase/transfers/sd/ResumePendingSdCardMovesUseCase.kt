@@ -0,0 +1,15 @@
+package mega.privacy.android.domain.usecase.transfers.sd
+
+import javax.inject.Inject
+
+/**
+ * Resumes the moves to the sd card of the downloaded files that were not finished before a restart
+ */
+class ResumePendingSdCardMovesUseCase @Inject constructor(
+    private val sdCardMoveQueue: SdCardMoveQueue,
+) {
+    /**
+     * Invoke
+     */
+    suspend operator fun invoke() = sdCardMoveQueue.resumePendingMoves()
+}
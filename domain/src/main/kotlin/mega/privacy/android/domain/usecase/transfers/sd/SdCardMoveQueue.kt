@@ -0,0 +1,126 @@
+package mega.privacy.android.domain.usecase.transfers.sd
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.repository.FileSystemRepository
+import mega.privacy.android.domain.repository.TransferRepository
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Persistent queue of the downloaded files to move from the cache to their destination in the sd card
+ *
+ * The moves are run in order by at most [maxConcurrentMoves] at the same time, so a big folder
+ * download doesn't start thousands of copies competing for the same slow storage. Every move is
+ * stored until it finishes, so the pending ones are resumed after a restart. A failed move is
+ * retried [MAX_ATTEMPTS] times with an increasing delay, unless its destination is not valid.
+ */
+@Singleton
+class SdCardMoveQueue internal constructor(
+    private val transferRepository: TransferRepository,
+    private val fileSystemRepository: FileSystemRepository,
+    private val moveFileToSdCardUseCase: MoveFileToSdCardUseCase,
+    private val scope: CoroutineScope,
+    private val maxConcurrentMoves: Int,
+) {
+
+    @Inject
+    constructor(
+        transferRepository: TransferRepository,
+        fileSystemRepository: FileSystemRepository,
+        moveFileToSdCardUseCase: MoveFileToSdCardUseCase,
+        @ApplicationScope scope: CoroutineScope,
+    ) : this(
+        transferRepository = transferRepository,
+        fileSystemRepository = fileSystemRepository,
+        moveFileToSdCardUseCase = moveFileToSdCardUseCase,
+        scope = scope,
+        maxConcurrentMoves = DEFAULT_MAX_CONCURRENT_MOVES,
+    )
+
+    private val mutex = Mutex()
+    private val moves = Channel<PendingSdCardMove>(Channel.UNLIMITED)
+    private var started = false
+
+    /**
+     * Add the move of the [file] to the sd card destination to the queue
+     */
+    suspend fun enqueue(file: File, destinationUri: String, subFolders: List<String>) {
+        start()
+        val move = PendingSdCardMove(
+            filePath = file.path,
+            destinationUri = destinationUri,
+            subFolders = subFolders,
+        )
+        val id = transferRepository.insertPendingSdCardMove(move)
+        moves.send(move.copy(id = id))
+    }
+
+    /**
+     * Resume the moves not finished before the last restart
+     */
+    suspend fun resumePendingMoves() = start()
+
+    /**
+     * Queue the stored moves and start the workers, only once. The stored moves are read before
+     * any new move is stored, so none of them is queued twice.
+     */
+    private suspend fun start() = mutex.withLock {
+        if (started) return@withLock
+        transferRepository.getAllPendingSdCardMoves().forEach { moves.send(it) }
+        repeat(maxConcurrentMoves) {
+            scope.launch {
+                for (move in moves) {
+                    process(move)
+                }
+            }
+        }
+        started = true
+    }
+
+    private suspend fun process(move: PendingSdCardMove) {
+        var attempt = 1
+        while (!tryMove(move) && attempt < MAX_ATTEMPTS) {
+            delay(RETRY_DELAY_MILLIS shl (attempt - 1))
+            attempt++
+        }
+        move.id?.let { id ->
+            runCatching { transferRepository.deletePendingSdCardMove(id) }
+        }
+    }
+
+    /**
+     * Try to move the file
+     *
+     * @return true if the move is finished, false if it failed and can be retried
+     */
+    private suspend fun tryMove(move: PendingSdCardMove): Boolean = try {
+        // the file doesn't exist if it was moved just before a restart
+        !fileSystemRepository.doesFileExist(move.filePath) || moveFileToSdCardUseCase(
+            file = File(move.filePath),
+            destinationUri = move.destinationUri,
+            subFolders = move.subFolders,
+        )
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: IllegalArgumentException) {
+        // the destination is not valid, retrying won't help
+        true
+    } catch (e: Exception) {
+        false
+    }
+
+    internal companion object {
+        const val DEFAULT_MAX_CONCURRENT_MOVES = 2
+        const val MAX_ATTEMPTS = 3
+        const val RETRY_DELAY_MILLIS = 1_000L
+    }
+}
@@ -8,15 +8,21 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.node.NodeId
-import mega.privacy.android.domain.usecase.node.FindNodeWithFingerprintInParentNodeUseCase
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.usecase.node.GetNodesByFingerprintsInAccountUseCase
+import mega.privacy.android.domain.usecase.node.GetNodesByFingerprintsInParentNodeUseCase
+import mega.privacy.android.domain.usecase.node.IsNodeInRubbishBinUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.EnumSource
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
@@ -25,11 +31,14 @@ import org.mockito.kotlin.whenever
 class DoesCameraUploadsRecordExistsInTargetNodeUseCaseTest {
     private lateinit var underTest: DoesCameraUploadsRecordExistsInTargetNodeUseCase
 
-    private val findNodeWithFingerprintInParentNodeUseCase =
-        mock<FindNodeWithFingerprintInParentNodeUseCase>()
+    private val getNodesByFingerprintsInParentNodeUseCase =
+        mock<GetNodesByFingerprintsInParentNodeUseCase>()
+    private val getNodesByFingerprintsInAccountUseCase =
+        mock<GetNodesByFingerprintsInAccountUseCase>()
+    private val isNodeInRubbishBinUseCase = mock<IsNodeInRubbishBinUseCase>()
 
-    private val primaryUploadNodeId = mock<NodeId>()
-    private val secondaryUploadNodeId = mock<NodeId>()
+    private val primaryUploadNodeId = NodeId(1111L)
+    private val secondaryUploadNodeId = NodeId(2222L)
 
     private val record = CameraUploadsRecord(
         mediaId = 1L,
@@ -47,113 +56,237 @@ class DoesCameraUploadsRecordExistsInTargetNodeUseCaseTest {
     @BeforeAll
     fun setUp() {
         underTest = DoesCameraUploadsRecordExistsInTargetNodeUseCase(
-            findNodeWithFingerprintInParentNodeUseCase = findNodeWithFingerprintInParentNodeUseCase,
+            getNodesByFingerprintsInParentNodeUseCase = getNodesByFingerprintsInParentNodeUseCase,
+            getNodesByFingerprintsInAccountUseCase = getNodesByFingerprintsInAccountUseCase,
+            isNodeInRubbishBinUseCase = isNodeInRubbishBinUseCase,
         )
     }
 
     @BeforeEach
     fun resetMocks() {
         reset(
-            findNodeWithFingerprintInParentNodeUseCase,
+            getNodesByFingerprintsInParentNodeUseCase,
+            getNodesByFingerprintsInAccountUseCase,
+            isNodeInRubbishBinUseCase,
         )
     }
 
-    @ParameterizedTest
+    private fun getTargetNodeId(type: CameraUploadFolderType) = when (type) {
+        CameraUploadFolderType.Primary -> primaryUploadNodeId
+        CameraUploadFolderType.Secondary -> secondaryUploadNodeId
+    }
+
+    @ParameterizedTest(name = "when folder type is {0}")
     @EnumSource(CameraUploadFolderType::class)
-    fun `test that findNodeWithFingerprintInParentNodeUseCase is invoked with correct target node `(
+    fun `test that the fingerprints are looked for in the correct target node`(
         type: CameraUploadFolderType,
-    ) =
-        runTest {
-            val record = record.copy(folderType = type)
-            underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
-            verify(findNodeWithFingerprintInParentNodeUseCase).invoke(
-                record.originalFingerprint,
-                record.generatedFingerprint,
-                when (type) {
-                    CameraUploadFolderType.Primary -> primaryUploadNodeId
-                    CameraUploadFolderType.Secondary -> secondaryUploadNodeId
-                }
-            )
+    ) = runTest {
+        val record = record.copy(folderType = type)
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any())).thenReturn(emptyMap())
+
+        underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+        verify(getNodesByFingerprintsInParentNodeUseCase).invoke(
+            listOf(record.originalFingerprint, record.generatedFingerprint!!),
+            getTargetNodeId(type),
+        )
+    }
 
+    @Test
+    fun `test that the target node is only looked up once for all the records`() = runTest {
+        val size = 1000
+        val list = List(size) { index ->
+            record.copy(
+                mediaId = index.toLong(),
+                originalFingerprint = "originalFingerprint$index",
+                generatedFingerprint = null,
+            )
         }
+        val existingNode = mock<UnTypedNode> {
+            on { id }.thenReturn(NodeId(3333L))
+        }
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any())).thenReturn(
+            list.associate { it.originalFingerprint to existingNode }
+        )
+
+        val result = underTest(list, primaryUploadNodeId, secondaryUploadNodeId)
+
+        verify(getNodesByFingerprintsInParentNodeUseCase, times(1)).invoke(any(), any())
+        verify(getNodesByFingerprintsInAccountUseCase, never()).invoke(any(), any())
+        assertThat(result.map { it.existsInTargetNode }.distinct()).containsExactly(true)
+        assertThat(result.map { it.existingNodeId }.distinct()).containsExactly(NodeId(3333L))
+    }
 
     @ParameterizedTest(name = "when folder type is {0}")
     @EnumSource(CameraUploadFolderType::class)
-    fun `test that the existingParentNodeId and existsInTargetNode is set to the record when retrieved`(
+    fun `test that the record exists in target node if found by generated fingerprint in the target node`(
         type: CameraUploadFolderType,
-    ) =
+    ) = runTest {
+        val record = record.copy(folderType = type)
+        val existingNode = mock<UnTypedNode> {
+            on { id }.thenReturn(NodeId(3333L))
+        }
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+            .thenReturn(mapOf(record.generatedFingerprint!! to existingNode))
+
+        val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+        assertThat(result[0].existsInTargetNode).isTrue()
+        assertThat(result[0].existingNodeId).isEqualTo(NodeId(3333L))
+    }
+
+    @Test
+    fun `test that the record does not exist in target node if found in another folder`() =
         runTest {
-            val expected = Pair(false, mock<NodeId>())
-            val record = record.copy(folderType = type)
-            val list = listOf(record)
-            whenever(
-                findNodeWithFingerprintInParentNodeUseCase(
-                    record.originalFingerprint,
-                    record.generatedFingerprint,
-                    when (type) {
-                        CameraUploadFolderType.Primary -> primaryUploadNodeId
-                        CameraUploadFolderType.Secondary -> secondaryUploadNodeId
-                    },
-                )
-            ).thenReturn(expected)
-
-            assertThat(
-                underTest(list, primaryUploadNodeId, secondaryUploadNodeId)[0].existsInTargetNode
-            ).isEqualTo(expected.first)
-            assertThat(
-                underTest(list, primaryUploadNodeId, secondaryUploadNodeId)[0].existingNodeId
-            ).isEqualTo(expected.second)
+            val existingNode = mock<UnTypedNode> {
+                on { id }.thenReturn(NodeId(3333L))
+                on { parentId }.thenReturn(NodeId(4444L))
+            }
+            whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+                .thenReturn(emptyMap())
+            whenever(getNodesByFingerprintsInAccountUseCase(any(), any()))
+                .thenReturn(mapOf(record.originalFingerprint to existingNode))
+            whenever(isNodeInRubbishBinUseCase(NodeId(3333L))).thenReturn(false)
+
+            val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+            assertThat(result[0].existsInTargetNode).isFalse()
+            assertThat(result[0].existingNodeId).isEqualTo(NodeId(3333L))
+        }
+
+    @ParameterizedTest(name = "when folder type is {0}")
+    @EnumSource(CameraUploadFolderType::class)
+    fun `test that the records not found in the target node are looked for in the account at once`(
+        type: CameraUploadFolderType,
+    ) = runTest {
+        val size = 1000
+        val list = List(size) { index ->
+            record.copy(
+                mediaId = index.toLong(),
+                folderType = type,
+                originalFingerprint = "originalFingerprint$index",
+                generatedFingerprint = "generatedFingerprint$index",
+            )
+        }
+        val nodeInTargetNode = mock<UnTypedNode> {
+            on { id }.thenReturn(NodeId(3333L))
         }
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+            .thenReturn(mapOf(list[0].originalFingerprint to nodeInTargetNode))
+        whenever(getNodesByFingerprintsInAccountUseCase(any(), any())).thenReturn(emptyMap())
+
+        val result = underTest(list, primaryUploadNodeId, secondaryUploadNodeId)
+
+        verify(getNodesByFingerprintsInAccountUseCase, times(1)).invoke(
+            list.drop(1).flatMap { listOf(it.originalFingerprint, it.generatedFingerprint!!) },
+            getTargetNodeId(type),
+        )
+        assertThat(result.map { it.existsInTargetNode })
+            .isEqualTo(listOf(true) + List(size - 1) { false })
+    }
 
     @Test
-    fun `test that the size of the result returned is equals to the size of the list if no error is caught`() =
+    fun `test that the record does not exist in target node if found by generated fingerprint in another folder`() =
         runTest {
-            val expected = 5
-            val list = List(expected) { index ->
-                record.copy(
-                    mediaId = index.toLong(),
-                    filePath = "filePath/$index"
-                )
+            val existingNode = mock<UnTypedNode> {
+                on { id }.thenReturn(NodeId(3333L))
+                on { parentId }.thenReturn(NodeId(4444L))
             }
-            for (i in 0..<expected) {
-                whenever(
-                    findNodeWithFingerprintInParentNodeUseCase(
-                        list[i].originalFingerprint,
-                        list[i].generatedFingerprint,
-                        primaryUploadNodeId
-                    )
-                ).thenReturn(mock())
+            whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+                .thenReturn(emptyMap())
+            whenever(getNodesByFingerprintsInAccountUseCase(any(), any()))
+                .thenReturn(mapOf(record.generatedFingerprint!! to existingNode))
+            whenever(isNodeInRubbishBinUseCase(NodeId(3333L))).thenReturn(false)
+
+            val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+            assertThat(result[0].existsInTargetNode).isFalse()
+            assertThat(result[0].existingNodeId).isEqualTo(NodeId(3333L))
+        }
+
+    @Test
+    fun `test that the records are looked for in the account when the target node cannot be listed`() =
+        runTest {
+            val existingNode = mock<UnTypedNode> {
+                on { id }.thenReturn(NodeId(3333L))
+                on { parentId }.thenReturn(primaryUploadNodeId)
             }
-            assertThat(underTest(list, primaryUploadNodeId, secondaryUploadNodeId).size)
-                .isEqualTo(expected)
+            whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+                .thenThrow(RuntimeException())
+            whenever(
+                getNodesByFingerprintsInAccountUseCase(
+                    listOf(record.originalFingerprint, record.generatedFingerprint!!),
+                    primaryUploadNodeId,
+                )
+            ).thenReturn(mapOf(record.originalFingerprint to existingNode))
+
+            val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+            assertThat(result[0].existsInTargetNode).isTrue()
+            assertThat(result[0].existingNodeId).isEqualTo(NodeId(3333L))
+        }
+
+    @Test
+    fun `test that the record existence is null if found in the rubbish bin`() = runTest {
+        val existingNode = mock<UnTypedNode> {
+            on { id }.thenReturn(NodeId(3333L))
+            on { parentId }.thenReturn(NodeId(4444L))
         }
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any())).thenReturn(emptyMap())
+        whenever(getNodesByFingerprintsInAccountUseCase(any(), any()))
+            .thenReturn(mapOf(record.originalFingerprint to existingNode))
+        whenever(isNodeInRubbishBinUseCase(NodeId(3333L))).thenReturn(true)
+
+        val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+        assertThat(result[0].existsInTargetNode).isNull()
+        assertThat(result[0].existingNodeId).isEqualTo(NodeId(3333L))
+    }
+
+    @Test
+    fun `test that the record does not exist if not found anywhere`() = runTest {
+        whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any())).thenReturn(emptyMap())
+        whenever(getNodesByFingerprintsInAccountUseCase(any(), any())).thenReturn(emptyMap())
+
+        val result = underTest(listOf(record), primaryUploadNodeId, secondaryUploadNodeId)
+
+        assertThat(result[0].existsInTargetNode).isFalse()
+        assertThat(result[0].existingNodeId).isNull()
+    }
 
     @Test
-    fun `test that an error thrown when retrieving the target node is caught silently and record is filtered out from the result`() =
+    fun `test that the records of a folder are filtered out from the result if they cannot be looked for in the account`() =
         runTest {
-            val size = 5
-            val list = List(size) { index ->
-                record.copy(
-                    mediaId = index.toLong(),
-                    originalFingerprint = "originalFingerprint$index",
-                    generatedFingerprint = "generatedFingerprint$index",
-                    filePath = "filePath/$index",
+            val primaryRecord = record.copy(mediaId = 1L, originalFingerprint = "primary")
+            val secondaryRecord = record.copy(
+                mediaId = 2L,
+                folderType = CameraUploadFolderType.Secondary,
+                originalFingerprint = "secondary",
+            )
+            whenever(getNodesByFingerprintsInParentNodeUseCase(any(), any()))
+                .thenReturn(emptyMap())
+            whenever(
+                getNodesByFingerprintsInAccountUseCase(
+                    listOf(primaryRecord.originalFingerprint, primaryRecord.generatedFingerprint!!),
+                    primaryUploadNodeId,
                 )
-            }
-            for (i in 0..<size) {
-                val stub = whenever(
-                    findNodeWithFingerprintInParentNodeUseCase(
-                        list[i].originalFingerprint,
-                        list[i].generatedFingerprint,
-                        primaryUploadNodeId
-                    )
+            ).thenThrow(RuntimeException::class.java)
+            whenever(
+                getNodesByFingerprintsInAccountUseCase(
+                    listOf(
+                        secondaryRecord.originalFingerprint,
+                        secondaryRecord.generatedFingerprint!!,
+                    ),
+                    secondaryUploadNodeId,
                 )
-                if (i == 0)
-                    stub.thenThrow(RuntimeException::class.java)
-                else
-                    stub.thenReturn(Pair(false, null))
-            }
-            val result = underTest(list, primaryUploadNodeId, secondaryUploadNodeId)
-            assertThat(result.size).isEqualTo(size - 1)
+            ).thenReturn(emptyMap())
+
+            val result = underTest(
+                listOf(primaryRecord, secondaryRecord),
+                primaryUploadNodeId,
+                secondaryUploadNodeId,
+            )
+
+            assertThat(result.map { it.mediaId }).containsExactly(secondaryRecord.mediaId)
         }
 }
@@ -5,15 +5,18 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.repository.CameraUploadsRepository
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.DisplayName
 import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
@@ -33,6 +36,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
     private val isMediaUploadsEnabledUseCase = mock<IsMediaUploadsEnabledUseCase>()
     private val retrieveMediaFromMediaStoreUseCase = mock<RetrieveMediaFromMediaStoreUseCase>()
     private val saveCameraUploadsRecordUseCase = mock<SaveCameraUploadsRecordUseCase>()
+    private val cameraUploadsRepository = mock<CameraUploadsRepository>()
 
     @BeforeAll
     fun setUp() {
@@ -43,6 +47,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase = isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase = retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase = saveCameraUploadsRecordUseCase,
+            cameraUploadsRepository = cameraUploadsRepository,
         )
     }
 
@@ -55,6 +60,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase,
+            cameraUploadsRepository,
         )
     }
 
@@ -74,7 +80,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
@@ -88,6 +94,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 fileType,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
                 primaryFolderPath,
@@ -95,6 +102,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 fileType,
                 tempRoot,
+                null,
             )
         }
 
@@ -108,7 +116,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
@@ -122,6 +130,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_PHOTO,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
                 primaryFolderPath,
@@ -129,6 +138,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_VIDEO,
                 tempRoot,
+                null,
             )
         }
 
@@ -142,7 +152,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
@@ -156,6 +166,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_PHOTO,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
                 primaryFolderPath,
@@ -163,6 +174,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_VIDEO,
                 tempRoot,
+                null,
             )
         }
 
@@ -175,7 +187,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val secondaryFolderPath = "secondaryFolderPath"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
@@ -188,6 +200,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 any(),
                 any(),
                 any(),
+                anyOrNull(),
             )
         }
 
@@ -202,7 +215,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
@@ -217,13 +230,15 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_PHOTO,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase, never()).invoke(
                 secondaryFolderPath,
                 types.second,
                 folderType,
                 CameraUploadsRecordType.TYPE_VIDEO,
-                tempRoot
+                tempRoot,
+                null,
             )
         }
 
@@ -238,7 +253,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
@@ -253,6 +268,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_PHOTO,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
                 secondaryFolderPath,
@@ -260,6 +276,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_VIDEO,
                 tempRoot,
+                null,
             )
         }
 
@@ -274,7 +291,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
                 .thenReturn(emptyList())
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
@@ -289,6 +306,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_PHOTO,
                 tempRoot,
+                null,
             )
             verify(retrieveMediaFromMediaStoreUseCase).invoke(
                 secondaryFolderPath,
@@ -296,6 +314,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 folderType,
                 CameraUploadsRecordType.TYPE_VIDEO,
                 tempRoot,
+                null,
             )
         }
     }
@@ -342,7 +361,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         types.first,
                         primaryFolderType,
                         photoRecordType,
-                        tempRoot
+                        tempRoot,
+                        null,
                     )
                 ).thenReturn(photoPrimaryRecordList)
                 whenever(
@@ -351,7 +371,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         types.second,
                         primaryFolderType,
                         videoRecordType,
-                        tempRoot
+                        tempRoot,
+                        null,
                     )
                 ).thenReturn(videoPrimaryRecordList)
                 whenever(
@@ -360,7 +381,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         types.first,
                         secondaryFolderType,
                         photoRecordType,
-                        tempRoot
+                        tempRoot,
+                        null,
                     )
                 ).thenReturn(photoSecondaryRecordList)
                 whenever(
@@ -369,7 +391,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         types.second,
                         secondaryFolderType,
                         videoRecordType,
-                        tempRoot
+                        tempRoot,
+                        null,
                     )
                 ).thenReturn(videoSecondaryRecordList)
                 whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
@@ -383,6 +406,80 @@ class ProcessCameraUploadsMediaUseCaseTest {
             }
     }
 
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Nested
+    @DisplayName("test that the media store scan cursors are used")
+    inner class ScanCursor {
+
+        private val primaryFolderPath = "primaryFolderPath"
+        private val tempRoot = "tempRoot"
+        private val mediaStoreFileType = listOf(MediaStoreFileType.IMAGES_EXTERNAL)
+
+        @BeforeEach
+        fun setUpMocks() = runTest {
+            whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
+            whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
+            whenever(
+                retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull())
+            ).thenReturn(emptyList())
+            whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
+        }
+
+        @Test
+        fun `test that only the media since the scan cursor are retrieved if a full scan has been done recently`() =
+            runTest {
+                val cursor = System.currentTimeMillis() - 1000L
+                whenever(cameraUploadsRepository.getLastFullMediaScanTimestamp())
+                    .thenReturn(System.currentTimeMillis())
+                whenever(cameraUploadsRepository.getMediaScanCursor(CameraUploadFolderType.Primary))
+                    .thenReturn(cursor)
+
+                underTest(tempRoot)
+
+                verify(retrieveMediaFromMediaStoreUseCase).invoke(
+                    primaryFolderPath,
+                    mediaStoreFileType,
+                    CameraUploadFolderType.Primary,
+                    CameraUploadsRecordType.TYPE_PHOTO,
+                    tempRoot,
+                    cursor,
+                )
+                verify(cameraUploadsRepository, never()).setLastFullMediaScanTimestamp(any())
+            }
+
+        @Test
+        fun `test that all the media are retrieved if the last full scan is too old`() =
+            runTest {
+                whenever(cameraUploadsRepository.getLastFullMediaScanTimestamp()).thenReturn(
+                    System.currentTimeMillis() - ProcessCameraUploadsMediaUseCase.FULL_SCAN_INTERVAL_MILLIS
+                )
+                whenever(cameraUploadsRepository.getMediaScanCursor(CameraUploadFolderType.Primary))
+                    .thenReturn(System.currentTimeMillis())
+
+                underTest(tempRoot)
+
+                verify(retrieveMediaFromMediaStoreUseCase).invoke(
+                    primaryFolderPath,
+                    mediaStoreFileType,
+                    CameraUploadFolderType.Primary,
+                    CameraUploadsRecordType.TYPE_PHOTO,
+                    tempRoot,
+                    null,
+                )
+                verify(cameraUploadsRepository).setLastFullMediaScanTimestamp(any())
+            }
+
+        @Test
+        fun `test that the scan cursor is only updated for the enabled folders`() = runTest {
+            underTest(tempRoot)
+
+            verify(cameraUploadsRepository)
+                .setMediaScanCursor(eq(CameraUploadFolderType.Primary), any())
+            verify(cameraUploadsRepository, never())
+                .setMediaScanCursor(eq(CameraUploadFolderType.Secondary), anyOrNull())
+        }
+    }
+
     companion object {
         @JvmStatic
         fun provideImageMediaStoreFileTypeParameters(): Stream<Arguments> = Stream.of(
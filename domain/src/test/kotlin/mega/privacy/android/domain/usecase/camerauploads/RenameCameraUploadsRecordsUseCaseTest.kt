@@ -8,9 +8,8 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
-import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.NodeId
-import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
+import mega.privacy.android.domain.usecase.node.GetNodeChildrenNamesUseCase
 import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
@@ -21,6 +20,7 @@ import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.text.SimpleDateFormat
 import java.util.Date
@@ -33,7 +33,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
 
     private lateinit var underTest: RenameCameraUploadsRecordsUseCase
 
-    private val getChildNodeUseCase = mock<GetChildNodeUseCase>()
+    private val getNodeChildrenNamesUseCase = mock<GetNodeChildrenNamesUseCase>()
     private val areUploadFileNamesKeptUseCase = mock<AreUploadFileNamesKeptUseCase>()
     private val ioDispatcher = UnconfinedTestDispatcher()
     private fun getRecordList(folderType: CameraUploadFolderType): List<CameraUploadsRecord> =
@@ -83,13 +83,13 @@ class RenameCameraUploadsRecordsUseCaseTest {
             ),
         )
 
-    private val primaryUploadNodeId = mock<NodeId>()
-    private val secondaryUploadNodeId = mock<NodeId>()
+    private val primaryUploadNodeId = NodeId(1L)
+    private val secondaryUploadNodeId = NodeId(2L)
 
     @BeforeAll
     fun setUp() {
         underTest = RenameCameraUploadsRecordsUseCase(
-            getChildNodeUseCase,
+            getNodeChildrenNamesUseCase,
             areUploadFileNamesKeptUseCase,
             ioDispatcher,
         )
@@ -98,7 +98,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
     @BeforeEach
     fun resetMock() {
         reset(
-            getChildNodeUseCase,
+            getNodeChildrenNamesUseCase,
             areUploadFileNamesKeptUseCase,
         )
     }
@@ -129,8 +129,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(null)
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(emptyList())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -152,10 +151,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(null)
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[1].fileName))
-            .thenReturn(null)
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(emptyList())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -179,8 +175,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(mock<FileNode>())
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(listOf(recordList[0].fileName))
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -210,8 +205,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, formattedName))
-            .thenReturn(null)
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(emptyList())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -238,8 +232,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[1].fileName))
-            .thenReturn(null)
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(emptyList())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -270,8 +263,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, formattedName))
-            .thenReturn(mock<FileNode>())
+        whenever(getNodeChildrenNamesUseCase(uploadNodeId)).thenReturn(listOf(formattedName))
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -283,6 +275,54 @@ class RenameCameraUploadsRecordsUseCaseTest {
         assertThat(actual).isEqualTo(expected)
     }
 
+    @Test
+    fun `test that the next free index is used when the name and the first indexes are already used in the target folder`() =
+        runTest {
+            val recordList = getRecordList(CameraUploadFolderType.Primary)
+            whenever(areUploadFileNamesKeptUseCase()).thenReturn(true)
+            whenever(getNodeChildrenNamesUseCase(primaryUploadNodeId)).thenReturn(
+                listOf("picture.jpg", "picture_1.jpg", "picture_2.jpg", "picture_4.jpg")
+            )
+
+            val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
+
+            assertThat(renamedList.map { it.generatedFileName })
+                .containsExactly("picture_3.jpg", "picture_5.jpg").inOrder()
+        }
+
+    @Test
+    fun `test that the same name can be used in both the primary and secondary target folders`() =
+        runTest {
+            val recordList =
+                getRecordList(CameraUploadFolderType.Primary).take(1) +
+                        getRecordList(CameraUploadFolderType.Secondary).take(1)
+            whenever(areUploadFileNamesKeptUseCase()).thenReturn(true)
+            whenever(getNodeChildrenNamesUseCase(primaryUploadNodeId)).thenReturn(emptyList())
+            whenever(getNodeChildrenNamesUseCase(secondaryUploadNodeId)).thenReturn(emptyList())
+
+            val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
+
+            assertThat(renamedList.map { it.generatedFileName })
+                .containsExactly("picture.jpg", "picture.jpg")
+        }
+
+    @Test
+    fun `test that the children names of the target folder are only retrieved once for a burst of records with the same name`() =
+        runTest {
+            val recordCount = 5_000
+            val record = getRecordList(CameraUploadFolderType.Primary).first()
+            val recordList = List(recordCount) { record.copy(mediaId = it.toLong()) }
+            whenever(areUploadFileNamesKeptUseCase()).thenReturn(false)
+            whenever(getNodeChildrenNamesUseCase(primaryUploadNodeId)).thenReturn(emptyList())
+
+            val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
+
+            val generatedFileNames = renamedList.map { it.generatedFileName }
+            assertThat(generatedFileNames.toSet()).hasSize(recordCount)
+            assertThat(generatedFileNames.last()).endsWith("_${recordCount - 1}.jpg")
+            verify(getNodeChildrenNamesUseCase).invoke(primaryUploadNodeId)
+        }
+
     private fun provideFolderTypeParameters(): Stream<Arguments> =
         Stream.of(
             Arguments.of(CameraUploadFolderType.Primary),
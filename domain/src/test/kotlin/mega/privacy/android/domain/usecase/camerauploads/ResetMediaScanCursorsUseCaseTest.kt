@@ -0,0 +1,55 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.EnumSource
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoMoreInteractions
+
+/**
+ * Test class for [ResetMediaScanCursorsUseCase]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ResetMediaScanCursorsUseCaseTest {
+
+    private lateinit var underTest: ResetMediaScanCursorsUseCase
+
+    private val cameraUploadsRepository = mock<CameraUploadsRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = ResetMediaScanCursorsUseCase(cameraUploadsRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(cameraUploadsRepository)
+    }
+
+    @Test
+    fun `test that the cursors of all the folder types are reset by default`() = runTest {
+        underTest()
+
+        verify(cameraUploadsRepository).setMediaScanCursor(CameraUploadFolderType.Primary, null)
+        verify(cameraUploadsRepository).setMediaScanCursor(CameraUploadFolderType.Secondary, null)
+    }
+
+    @ParameterizedTest(name = "folder type: {0}")
+    @EnumSource(CameraUploadFolderType::class)
+    fun `test that only the cursor of the given folder type is reset`(
+        folderType: CameraUploadFolderType,
+    ) = runTest {
+        underTest(listOf(folderType))
+
+        verify(cameraUploadsRepository).setMediaScanCursor(folderType, null)
+        verifyNoMoreInteractions(cameraUploadsRepository)
+    }
+}
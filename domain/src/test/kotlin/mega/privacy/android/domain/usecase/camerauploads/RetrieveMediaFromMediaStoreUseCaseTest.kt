@@ -8,12 +8,14 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.repository.CameraUploadsRepository
 import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.whenever
@@ -60,7 +62,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
             val cameraUploadsMediaList1 = listOf<CameraUploadsMedia>(mock(), mock())
             val cameraUploadsMediaList2 = listOf<CameraUploadsMedia>(mock())
-            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath, null))
                 .thenReturn(selectionQuery)
             whenever(
                 cameraUploadsRepository.getMediaList(
@@ -107,7 +109,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
             val expected = cameraUploadsRecordList1 + cameraUploadsRecordList2
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
+            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot, null))
                 .isEqualTo(expected)
         }
 
@@ -125,7 +127,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
             val cameraUploadsMediaList1 = listOf<CameraUploadsMedia>(mock(), mock())
             val cameraUploadsMediaList2 = listOf<CameraUploadsMedia>(mock())
-            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath, null))
                 .thenReturn(selectionQuery)
             whenever(
                 cameraUploadsRepository.getMediaList(
@@ -169,7 +171,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
             whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(emptyList())
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
+            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot, null))
                 .isEqualTo(cameraUploadsRecordList1)
         }
 
@@ -196,7 +198,7 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             }
 
             val cameraUploadsMediaList1 = listOf(media1, mock())
-            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath, null))
                 .thenReturn(selectionQuery)
             whenever(
                 cameraUploadsRepository.getMediaList(mediaStoreFileType1, selectionQuery)
@@ -218,7 +220,123 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val expected =
                 cameraUploadsRecordList1.filterNot { it.mediaId == 1111L && it.timestamp == 1234L }
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
+            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot, null))
                 .isEqualTo(expected)
         }
+
+    @Test
+    fun `test that only records of the same folder type are used to filter out existing media`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType = mock<MediaStoreFileType>()
+            val fileType = mock<CameraUploadsRecordType>()
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+
+            val existingMedia = mock<CameraUploadsMedia> {
+                on { mediaId }.thenReturn(1111L)
+                on { timestamp }.thenReturn(1234L)
+            }
+            val newMedia = mock<CameraUploadsMedia> {
+                on { mediaId }.thenReturn(2222L)
+                on { timestamp }.thenReturn(1234L)
+            }
+            val existingRecordInSecondaryFolder = mock<CameraUploadsRecord> {
+                on { mediaId }.thenReturn(1111L)
+                on { timestamp }.thenReturn(1234L)
+                on { folderType }.thenReturn(CameraUploadFolderType.Secondary)
+            }
+            val mappedExistingMedia = mock<CameraUploadsRecord>()
+            val mappedNewMedia = mock<CameraUploadsRecord>()
+
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath, null))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType, selectionQuery))
+                .thenReturn(listOf(existingMedia, newMedia))
+            whenever(cameraUploadsRepository.getAllCameraUploadsRecords())
+                .thenReturn(listOf(existingRecordInSecondaryFolder))
+            CameraUploadFolderType.entries.forEach { folderType ->
+                whenever(cameraUploadsRecordMapper(existingMedia, folderType, fileType, tempRoot))
+                    .thenReturn(mappedExistingMedia)
+                whenever(cameraUploadsRecordMapper(newMedia, folderType, fileType, tempRoot))
+                    .thenReturn(mappedNewMedia)
+            }
+
+            assertThat(
+                underTest(
+                    parentPath,
+                    listOf(mediaStoreFileType),
+                    CameraUploadFolderType.Primary,
+                    fileType,
+                    tempRoot,
+                    null,
+                )
+            ).containsExactly(mappedExistingMedia, mappedNewMedia)
+            assertThat(
+                underTest(
+                    parentPath,
+                    listOf(mediaStoreFileType),
+                    CameraUploadFolderType.Secondary,
+                    fileType,
+                    tempRoot,
+                    null,
+                )
+            ).containsExactly(mappedNewMedia)
+        }
+
+    @Test
+    fun `test that a large library is filtered against a large number of existing records`() =
+        runTest {
+            val parentPath = ""
+            val mediaStoreFileType = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = mock<CameraUploadsRecordType>()
+            val tempRoot = "tempRoot"
+            val selectionQuery = "selectionQuery"
+            val librarySize = 60_000
+            val alreadyUploaded = 50_000
+
+            val mediaList = (0 until librarySize).map { index ->
+                CameraUploadsMedia(
+                    mediaId = index.toLong(),
+                    displayName = "IMG_$index.jpg",
+                    filePath = "path/IMG_$index.jpg",
+                    timestamp = 1_000L + index,
+                )
+            }
+            val records = mediaList.take(alreadyUploaded).map { media ->
+                CameraUploadsRecord(
+                    mediaId = media.mediaId,
+                    fileName = media.displayName,
+                    filePath = media.filePath,
+                    timestamp = media.timestamp,
+                    folderType = folderType,
+                    type = CameraUploadsRecordType.TYPE_PHOTO,
+                    uploadStatus = CameraUploadsRecordUploadStatus.UPLOADED,
+                    originalFingerprint = "fingerprint${media.mediaId}",
+                    generatedFingerprint = null,
+                    tempFilePath = "",
+                )
+            }
+            val mappedRecord = mock<CameraUploadsRecord>()
+
+            whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath, null))
+                .thenReturn(selectionQuery)
+            whenever(cameraUploadsRepository.getMediaList(mediaStoreFileType, selectionQuery))
+                .thenReturn(mediaList)
+            whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(records)
+            whenever(cameraUploadsRecordMapper(any(), any(), any(), any()))
+                .thenReturn(mappedRecord)
+
+            assertThat(
+                underTest(
+                    parentPath,
+                    listOf(mediaStoreFileType),
+                    folderType,
+                    fileType,
+                    tempRoot,
+                    null,
+                )
+            ).hasSize(librarySize - alreadyUploaded)
+        }
 }
@@ -23,17 +23,19 @@ class SetUploadOptionUseCaseTest {
     private lateinit var underTest: SetUploadOptionUseCase
 
     private val cameraUploadsRepository = mock<CameraUploadsRepository>()
+    private val resetMediaScanCursorsUseCase = mock<ResetMediaScanCursorsUseCase>()
 
     @BeforeAll
     fun setUp() {
         underTest = SetUploadOptionUseCase(
             cameraUploadsRepository = cameraUploadsRepository,
+            resetMediaScanCursorsUseCase = resetMediaScanCursorsUseCase,
         )
     }
 
     @BeforeEach
     fun resetMocks() {
-        reset(cameraUploadsRepository)
+        reset(cameraUploadsRepository, resetMediaScanCursorsUseCase)
     }
 
     @ParameterizedTest(name = "test that {0} is set")
@@ -44,4 +46,14 @@ class SetUploadOptionUseCaseTest {
 
             verify(cameraUploadsRepository).setUploadOption(uploadOption)
         }
-}
\ No newline at end of file
+
+    @ParameterizedTest(name = "when the upload option is {0}")
+    @EnumSource(UploadOption::class)
+    fun `test that the media scan cursors are reset when the upload option is set`(
+        uploadOption: UploadOption,
+    ) = runTest {
+        underTest(uploadOption)
+
+        verify(resetMediaScanCursorsUseCase).invoke()
+    }
+}
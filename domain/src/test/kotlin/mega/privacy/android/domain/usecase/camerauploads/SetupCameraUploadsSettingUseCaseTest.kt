@@ -26,12 +26,14 @@ class SetupCameraUploadsSettingUseCaseTest {
 
     private val cameraUploadsRepository: CameraUploadsRepository = mock()
     private val removeBackupFolderUseCase: RemoveBackupFolderUseCase = mock()
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase = mock()
 
     @BeforeAll
     fun setUp() {
         underTest = SetupCameraUploadsSettingUseCase(
             cameraUploadsRepository = cameraUploadsRepository,
-            removeBackupFolderUseCase = removeBackupFolderUseCase
+            removeBackupFolderUseCase = removeBackupFolderUseCase,
+            resetMediaScanCursorsUseCase = resetMediaScanCursorsUseCase,
         )
     }
 
@@ -39,7 +41,8 @@ class SetupCameraUploadsSettingUseCaseTest {
     fun resetMocks() {
         reset(
             cameraUploadsRepository,
-            removeBackupFolderUseCase
+            removeBackupFolderUseCase,
+            resetMediaScanCursorsUseCase,
         )
     }
 
@@ -52,8 +55,10 @@ class SetupCameraUploadsSettingUseCaseTest {
         verify(cameraUploadsRepository).setCameraUploadsEnabled(isEnabled)
         if (!isEnabled) {
             verify(removeBackupFolderUseCase).invoke(CameraUploadFolderType.Primary)
+            verifyNoInteractions(resetMediaScanCursorsUseCase)
         } else {
             verifyNoInteractions(removeBackupFolderUseCase)
+            verify(resetMediaScanCursorsUseCase).invoke()
         }
     }
 }
@@ -26,12 +26,14 @@ class SetupMediaUploadsSettingUseCaseTest {
 
     private val cameraUploadsRepository: CameraUploadsRepository = mock()
     private val removeBackupFolderUseCase: RemoveBackupFolderUseCase = mock()
+    private val resetMediaScanCursorsUseCase: ResetMediaScanCursorsUseCase = mock()
 
     @BeforeAll
     fun setUp() {
         underTest = SetupMediaUploadsSettingUseCase(
             cameraUploadsRepository = cameraUploadsRepository,
-            removeBackupFolderUseCase = removeBackupFolderUseCase
+            removeBackupFolderUseCase = removeBackupFolderUseCase,
+            resetMediaScanCursorsUseCase = resetMediaScanCursorsUseCase,
         )
     }
 
@@ -39,7 +41,8 @@ class SetupMediaUploadsSettingUseCaseTest {
     fun resetMocks() {
         reset(
             cameraUploadsRepository,
-            removeBackupFolderUseCase
+            removeBackupFolderUseCase,
+            resetMediaScanCursorsUseCase,
         )
     }
 
@@ -52,8 +55,10 @@ class SetupMediaUploadsSettingUseCaseTest {
         verify(cameraUploadsRepository).setSecondaryEnabled(isEnabled)
         if (!isEnabled) {
             verify(removeBackupFolderUseCase).invoke(CameraUploadFolderType.Secondary)
+            verifyNoInteractions(resetMediaScanCursorsUseCase)
         } else {
             verifyNoInteractions(removeBackupFolderUseCase)
+            verify(resetMediaScanCursorsUseCase).invoke(listOf(CameraUploadFolderType.Secondary))
         }
     }
 }
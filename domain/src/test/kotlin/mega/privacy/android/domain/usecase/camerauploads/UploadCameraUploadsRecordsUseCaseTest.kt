@@ -3,6 +3,7 @@ package mega.privacy.android.domain.usecase.camerauploads
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.asFlow
 import kotlinx.coroutines.flow.collect
@@ -43,19 +44,24 @@ import mega.privacy.android.domain.usecase.video.CompressVideoUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doSuspendableAnswer
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import java.io.File
 import java.io.FileNotFoundException
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.stream.Stream
 
 /**
@@ -1018,6 +1024,83 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
         )
     }
 
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Nested
+    inner class ConcurrentProcessing {
+
+        @Test
+        fun `test that the number of records processed concurrently never exceeds the concurrent uploads limit`() =
+            runTest {
+                val recordsCount = 10_000
+                val activeRecordsCount = AtomicInteger(0)
+                val peakActiveRecordsCount = AtomicInteger(0)
+                cameraUploadsRecords = (1..recordsCount).map {
+                    record1.copy(
+                        mediaId = it.toLong(),
+                        existsInTargetNode = true,
+                        existingNodeId = existingNodeId,
+                    )
+                }
+                setCameraUploadsRecordUploadStatusUseCase.stub {
+                    onBlocking { invoke(any(), any(), any(), any()) }.doSuspendableAnswer {
+                        peakActiveRecordsCount.accumulateAndGet(
+                            activeRecordsCount.incrementAndGet(),
+                            ::maxOf,
+                        )
+                        delay(1)
+                        activeRecordsCount.decrementAndGet()
+                        Unit
+                    }
+                }
+
+                executeUnderTest().collect()
+
+                verify(setCameraUploadsRecordUploadStatusUseCase, times(recordsCount))
+                    .invoke(any(), any(), any(), any())
+                assertThat(peakActiveRecordsCount.get()).isEqualTo(8)
+            }
+
+        @Test
+        fun `test that the records are not pulled ahead of the workers processing them`() =
+            runTest {
+                val recordsCount = 10_000
+                val records = (1..recordsCount).map {
+                    record1.copy(
+                        mediaId = it.toLong(),
+                        existsInTargetNode = true,
+                        existingNodeId = existingNodeId,
+                    )
+                }
+                val pulledRecordsCount = AtomicInteger(0)
+                val processedRecordsCount = AtomicInteger(0)
+                val peakUnprocessedPulledRecordsCount = AtomicInteger(0)
+                cameraUploadsRecords = object : AbstractList<CameraUploadsRecord>() {
+                    override val size: Int get() = records.size
+
+                    override fun get(index: Int) = records[index].also {
+                        pulledRecordsCount.accumulateAndGet(index + 1, ::maxOf)
+                    }
+                }
+                setCameraUploadsRecordUploadStatusUseCase.stub {
+                    onBlocking { invoke(any(), any(), any(), any()) }.doSuspendableAnswer {
+                        peakUnprocessedPulledRecordsCount.accumulateAndGet(
+                            pulledRecordsCount.get() - processedRecordsCount.get(),
+                            ::maxOf,
+                        )
+                        delay(1)
+                        processedRecordsCount.incrementAndGet()
+                        Unit
+                    }
+                }
+
+                executeUnderTest().collect()
+
+                assertThat(processedRecordsCount.get()).isEqualTo(recordsCount)
+                // One record per worker, plus the one waiting to be handed over to a worker
+                assertThat(peakUnprocessedPulledRecordsCount.get()).isAtMost(8 + 1)
+            }
+    }
+
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     @Nested
     inner class VideoCompression {
@@ -1,9 +1,14 @@
 package mega.privacy.android.domain.usecase.search
 
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.search.DateFilterOption
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchParameters
@@ -11,8 +16,13 @@ import mega.privacy.android.domain.entity.search.SearchTarget
 import mega.privacy.android.domain.repository.SearchRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
+import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doSuspendableAnswer
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.stub
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
@@ -21,7 +31,22 @@ class SearchUseCaseTest {
     private val getCloudSortOrder: GetCloudSortOrder = mock()
     private val searchRepository: SearchRepository = mock()
     private val addNodesTypeUseCase: AddNodesTypeUseCase = mock()
-    private val underTest = SearchUseCase(getCloudSortOrder, searchRepository, addNodesTypeUseCase)
+    private val underTest = SearchUseCase(
+        SearchWithFirstPageUseCase(getCloudSortOrder, searchRepository, addNodesTypeUseCase)
+    )
+
+    @BeforeEach
+    fun setUp() {
+        searchRepository.stub {
+            on { getChildrenWithFirstPage(anyOrNull(), any(), any(), any()) }
+                .thenReturn(flowOf(emptyList()))
+            on { searchWithFirstPage(anyOrNull(), any(), any(), any()) }
+                .thenReturn(flowOf(emptyList()))
+        }
+        addNodesTypeUseCase.stub {
+            onBlocking { invoke(anyOrNull()) }.thenReturn(emptyList())
+        }
+    }
 
     @Test
     fun `test that getInShares is called when query is empty and parentHandle is invalid and searchTarget is INCOMING_SHARE`() =
@@ -85,7 +110,7 @@ class SearchUseCaseTest {
                     searchCategory = SearchCategory.ALL
                 )
             )
-            verify(searchRepository).getChildren(
+            verify(searchRepository).getChildrenWithFirstPage(
                 nodeId = NodeId(-1),
                 order = getCloudSortOrder(),
                 parameters = SearchParameters(
@@ -93,6 +118,7 @@ class SearchUseCaseTest {
                     searchTarget = SearchTarget.ROOT_NODES,
                     searchCategory = SearchCategory.ALL,
                 ),
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
             )
         }
 
@@ -110,7 +136,7 @@ class SearchUseCaseTest {
                     searchCategory = SearchCategory.ALL
                 )
             )
-            verify(searchRepository).getChildren(
+            verify(searchRepository).getChildrenWithFirstPage(
                 nodeId = NodeId(-1),
                 order = getCloudSortOrder(),
                 parameters = SearchParameters(
@@ -118,6 +144,7 @@ class SearchUseCaseTest {
                     searchTarget = SearchTarget.ROOT_NODES,
                     searchCategory = SearchCategory.ALL,
                 ),
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
             )
         }
 
@@ -135,7 +162,7 @@ class SearchUseCaseTest {
                     searchCategory = SearchCategory.ALL
                 )
             )
-            verify(searchRepository).getChildren(
+            verify(searchRepository).getChildrenWithFirstPage(
                 nodeId = NodeId(-1),
                 order = getCloudSortOrder(),
                 parameters = SearchParameters(
@@ -143,6 +170,7 @@ class SearchUseCaseTest {
                     searchTarget = SearchTarget.ROOT_NODES,
                     searchCategory = SearchCategory.ALL,
                 ),
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
             )
         }
 
@@ -160,7 +188,7 @@ class SearchUseCaseTest {
                     searchCategory = SearchCategory.ALL
                 )
             )
-            verify(searchRepository).getChildren(
+            verify(searchRepository).getChildrenWithFirstPage(
                 nodeId = NodeId(123456),
                 order = getCloudSortOrder(),
                 parameters = SearchParameters(
@@ -168,6 +196,7 @@ class SearchUseCaseTest {
                     searchTarget = SearchTarget.ROOT_NODES,
                     searchCategory = SearchCategory.ALL,
                 ),
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
             )
         }
 
@@ -186,7 +215,7 @@ class SearchUseCaseTest {
                     modificationDate = DateFilterOption.Today,
                 )
             )
-            verify(searchRepository).search(
+            verify(searchRepository).searchWithFirstPage(
                 nodeId = NodeId(123456),
                 order = getCloudSortOrder(),
                 parameters = SearchParameters(
@@ -196,7 +225,33 @@ class SearchUseCaseTest {
                     modificationDate = DateFilterOption.Today,
                     creationDate = null
                 ),
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
             )
         }
     }
+
+    @Test
+    fun `test that all the results are returned instead of the first page`() = runTest {
+        val firstPage = listOf(mock<TypedFileNode>())
+        val allResults = firstPage + mock<TypedFileNode>()
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+        searchRepository.stub {
+            on { searchWithFirstPage(anyOrNull(), any(), any(), any()) }
+                .thenReturn(flowOf(firstPage, allResults))
+        }
+        addNodesTypeUseCase.stub {
+            onBlocking { invoke(anyOrNull()) }.doSuspendableAnswer { invocation ->
+                invocation.getArgument<List<UnTypedNode>>(0).map { it as TypedNode }
+            }
+        }
+
+        val actual = underTest(
+            parentHandle = NodeId(123456),
+            nodeSourceType = NodeSourceType.CLOUD_DRIVE,
+            searchParameters = SearchParameters(query = "test"),
+        )
+
+        assertThat(actual).isEqualTo(allResults)
+    }
 }
@@ -0,0 +1,137 @@
+package mega.privacy.android.domain.usecase.search
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
+import mega.privacy.android.domain.entity.search.SearchCategory
+import mega.privacy.android.domain.entity.search.SearchParameters
+import mega.privacy.android.domain.entity.search.SearchTarget
+import mega.privacy.android.domain.repository.SearchRepository
+import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchWithFirstPageUseCaseTest {
+
+    private val getCloudSortOrder: GetCloudSortOrder = mock()
+    private val searchRepository: SearchRepository = mock()
+    private val addNodesTypeUseCase: AddNodesTypeUseCase = mock()
+    private val underTest =
+        SearchWithFirstPageUseCase(getCloudSortOrder, searchRepository, addNodesTypeUseCase)
+
+    private val parentHandle = NodeId(123L)
+
+    @BeforeEach
+    fun resetMocks() = runTest {
+        reset(getCloudSortOrder, searchRepository, addNodesTypeUseCase)
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+        addNodesTypeUseCase.stub {
+            onBlocking { invoke(any()) }.doSuspendableAnswer { invocation ->
+                invocation.getArgument<List<UnTypedNode>>(0).map { it as TypedNode }
+            }
+        }
+    }
+
+    @Test
+    fun `test that incoming shares are emitted once when the search target is INCOMING_SHARE`() =
+        runTest {
+            val inShares = createNodes(3)
+            whenever(searchRepository.getInShares()).thenReturn(inShares)
+
+            underTest(
+                parentHandle = NodeId(-1),
+                nodeSourceType = NodeSourceType.INCOMING_SHARES,
+                searchParameters = SearchParameters(
+                    query = "",
+                    searchTarget = SearchTarget.INCOMING_SHARE,
+                ),
+            ).test {
+                assertThat(awaitItem()).isEqualTo(inShares)
+                awaitComplete()
+            }
+        }
+
+    @Test
+    fun `test that the children are emitted with the first page when the query is empty`() =
+        runTest {
+            val nodes = createNodes(5)
+            val parameters = SearchParameters(query = "")
+            whenever(
+                searchRepository.getChildrenWithFirstPage(
+                    nodeId = parentHandle,
+                    order = SortOrder.ORDER_NONE,
+                    parameters = parameters,
+                    firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
+                )
+            ).thenReturn(flowOf(nodes.take(2), nodes))
+
+            underTest(parentHandle, NodeSourceType.CLOUD_DRIVE, parameters).test {
+                assertThat(awaitItem()).isEqualTo(nodes.take(2))
+                assertThat(awaitItem()).isEqualTo(nodes)
+                awaitComplete()
+            }
+        }
+
+    @Test
+    fun `test that only the nodes not emitted yet are typed`() = runTest {
+        val nodes = createNodes(5)
+        val parameters = SearchParameters(query = "query")
+        whenever(
+            searchRepository.searchWithFirstPage(
+                nodeId = parentHandle,
+                order = SortOrder.ORDER_NONE,
+                parameters = parameters,
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
+            )
+        ).thenReturn(flowOf(nodes.take(2), nodes))
+
+        underTest(parentHandle, NodeSourceType.CLOUD_DRIVE, parameters).test {
+            assertThat(awaitItem()).isEqualTo(nodes.take(2))
+            assertThat(awaitItem()).isEqualTo(nodes)
+            awaitComplete()
+        }
+        verify(addNodesTypeUseCase).invoke(nodes.take(2))
+        verify(addNodesTypeUseCase).invoke(nodes.drop(2))
+    }
+
+    @Test
+    fun `test that search is used when a category is selected`() = runTest {
+        val nodes = createNodes(1)
+        val parameters = SearchParameters(query = "", searchCategory = SearchCategory.IMAGES)
+        whenever(
+            searchRepository.searchWithFirstPage(
+                nodeId = parentHandle,
+                order = SortOrder.ORDER_NONE,
+                parameters = parameters,
+                firstPageSize = SearchWithFirstPageUseCase.FIRST_PAGE_SIZE,
+            )
+        ).thenReturn(flowOf(nodes))
+
+        underTest(parentHandle, NodeSourceType.CLOUD_DRIVE, parameters).test {
+            assertThat(awaitItem()).isEqualTo(nodes)
+            awaitComplete()
+        }
+    }
+
+    private fun createNodes(count: Int) = (1..count).map { index ->
+        mock<TypedFileNode> { on { id }.thenReturn(NodeId(index.toLong())) }
+    }
+}
@@ -1,8 +1,6 @@
 package mega.privacy.android.domain.usecase.transfers.sd
 
-import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
-import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.transfer.DestinationUriAndSubFolders
 import mega.privacy.android.domain.entity.transfer.Transfer
@@ -29,20 +27,17 @@ class HandleSDCardEventUseCaseTest {
 
     private val insertSdTransferUseCase = mock<InsertSdTransferUseCase>()
     private val deleteSdTransferByTagUseCase = mock<DeleteSdTransferByTagUseCase>()
-    private val moveFileToSdCardUseCase = mock<MoveFileToSdCardUseCase>()
+    private val sdCardMoveQueue = mock<SdCardMoveQueue>()
     private val fileSystemRepository = mock<FileSystemRepository>()
 
-    private val scope = CoroutineScope(UnconfinedTestDispatcher())
-
     @BeforeAll
     fun setUp() {
 
         underTest = HandleSDCardEventUseCase(
             insertSdTransferUseCase,
             deleteSdTransferByTagUseCase,
-            moveFileToSdCardUseCase,
+            sdCardMoveQueue,
             fileSystemRepository,
-            scope,
         )
     }
 
@@ -51,7 +46,7 @@ class HandleSDCardEventUseCaseTest {
         reset(
             insertSdTransferUseCase,
             deleteSdTransferByTagUseCase,
-            moveFileToSdCardUseCase,
+            sdCardMoveQueue,
             fileSystemRepository,
         )
     }
@@ -66,14 +61,14 @@ class HandleSDCardEventUseCaseTest {
     }
 
     @Test
-    fun `test that file is moved to destination specified in DestinationUriAndSubFolders when transfer is finished`() =
+    fun `test that file move to destination specified in DestinationUriAndSubFolders is queued when transfer is finished`() =
         runTest {
             val transfer = mockTransfer()
             whenever(fileSystemRepository.isSDCardCachePath(any())).thenReturn(true)
             val subFolders = mock<List<String>>()
             val transferEvent = TransferEvent.TransferFinishEvent(transfer, null)
             underTest(transferEvent, DestinationUriAndSubFolders(TARGET_PATH, subFolders))
-            verify(moveFileToSdCardUseCase).invoke(any(), eq(TARGET_PATH), eq(subFolders))
+            verify(sdCardMoveQueue).enqueue(any(), eq(TARGET_PATH), eq(subFolders))
         }
 
     @Test
@@ -0,0 +1,201 @@
+package mega.privacy.android.domain.usecase.transfers.sd
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.transfer.sd.PendingSdCardMove
+import mega.privacy.android.domain.repository.FileSystemRepository
+import mega.privacy.android.domain.repository.SettingsRepository
+import mega.privacy.android.domain.repository.TransferRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
+import java.io.File
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SdCardMoveQueueTest {
+
+    private val transferRepository = mock<TransferRepository>()
+    private val fileSystemRepository = mock<FileSystemRepository>()
+    private val settingsRepository = mock<SettingsRepository>()
+
+    private lateinit var sdCard: FakeSdCard
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(transferRepository, fileSystemRepository, settingsRepository)
+        sdCard = FakeSdCard()
+        sdCard.stubRepositories()
+    }
+
+    @Test
+    fun `test that every file is moved exactly once without exceeding the concurrency limit`() =
+        runTest {
+            val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 2)
+            val files = (1..500).map { sdCard.createFile("file$it") }
+
+            files.forEach { underTest.enqueue(it, DESTINATION, emptyList()) }
+            advanceUntilIdle()
+
+            assertThat(sdCard.peakConcurrentMoves).isEqualTo(2)
+            assertThat(sdCard.moveCounts.keys).containsExactlyElementsIn(files.map { it.path })
+            assertThat(sdCard.moveCounts.values.toSet()).containsExactly(1)
+            assertThat(sdCard.storedMoves).isEmpty()
+        }
+
+    @Test
+    fun `test that the files are moved in order when the limit is a single move`() = runTest {
+        val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 1)
+        val files = (1..50).map { sdCard.createFile("file$it") }
+
+        files.forEach { underTest.enqueue(it, DESTINATION, emptyList()) }
+        advanceUntilIdle()
+
+        assertThat(sdCard.moveOrder).containsExactlyElementsIn(files.map { it.path }).inOrder()
+    }
+
+    @Test
+    fun `test that the moves stored before a restart are resumed before the new ones`() =
+        runTest {
+            val storedFiles = (1..3).map { sdCard.createFile("stored$it") }
+            storedFiles.forEach {
+                sdCard.store(PendingSdCardMove(null, it.path, DESTINATION, listOf("folder")))
+            }
+            val newFile = sdCard.createFile("new")
+            val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 1)
+
+            underTest.resumePendingMoves()
+            underTest.enqueue(newFile, DESTINATION, emptyList())
+            advanceUntilIdle()
+
+            assertThat(sdCard.moveOrder)
+                .containsExactlyElementsIn((storedFiles + newFile).map { it.path })
+                .inOrder()
+            assertThat(sdCard.moveCounts.values.toSet()).containsExactly(1)
+            assertThat(sdCard.storedMoves).isEmpty()
+        }
+
+    @Test
+    fun `test that a failed move is retried until it succeeds`() = runTest {
+        val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 1)
+        val file = sdCard.createFile("file")
+        sdCard.failuresBeforeSuccess = 2
+
+        underTest.enqueue(file, DESTINATION, emptyList())
+        advanceUntilIdle()
+
+        assertThat(sdCard.attempts).isEqualTo(3)
+        assertThat(sdCard.moveCounts[file.path]).isEqualTo(1)
+        assertThat(sdCard.storedMoves).isEmpty()
+    }
+
+    @Test
+    fun `test that a move is not retried when its destination is not valid`() = runTest {
+        val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 1)
+        val file = sdCard.createFile("file")
+
+        underTest.enqueue(file, "/not/a/uri", emptyList())
+        advanceUntilIdle()
+
+        assertThat(sdCard.attempts).isEqualTo(0)
+        assertThat(sdCard.storedMoves).isEmpty()
+    }
+
+    @Test
+    fun `test that a file that no longer exists is not moved`() = runTest {
+        val underTest = createUnderTest(backgroundScope, maxConcurrentMoves = 1)
+
+        underTest.enqueue(File("already_moved"), DESTINATION, emptyList())
+        advanceUntilIdle()
+
+        assertThat(sdCard.attempts).isEqualTo(0)
+        assertThat(sdCard.storedMoves).isEmpty()
+    }
+
+    private fun createUnderTest(scope: CoroutineScope, maxConcurrentMoves: Int) =
+        SdCardMoveQueue(
+            transferRepository = transferRepository,
+            fileSystemRepository = fileSystemRepository,
+            moveFileToSdCardUseCase = MoveFileToSdCardUseCase(
+                fileSystemRepository,
+                settingsRepository
+            ),
+            scope = scope,
+            maxConcurrentMoves = maxConcurrentMoves,
+        )
+
+    /**
+     * Fake cache and sd card storage, and store of the pending moves, that keeps track of the moves
+     */
+    private inner class FakeSdCard {
+        private val cacheFiles = mutableSetOf<String>()
+        private val pendingMoves = LinkedHashMap<Long, PendingSdCardMove>()
+        private var nextId = 1L
+        private var concurrentMoves = 0
+
+        val moveCounts = mutableMapOf<String, Int>()
+        val moveOrder = mutableListOf<String>()
+        var peakConcurrentMoves = 0
+        var attempts = 0
+        var failuresBeforeSuccess = 0
+
+        val storedMoves get() = pendingMoves.values.toList()
+
+        fun createFile(name: String) = File(name).also { cacheFiles.add(it.path) }
+
+        fun store(move: PendingSdCardMove) = nextId++.also { id ->
+            pendingMoves[id] = move.copy(id = id)
+        }
+
+        fun stubRepositories() {
+            transferRepository.stub {
+                onBlocking { getAllPendingSdCardMoves() }.doSuspendableAnswer { storedMoves }
+                onBlocking { insertPendingSdCardMove(any()) }.doSuspendableAnswer {
+                    store(it.getArgument(0))
+                }
+                onBlocking { deletePendingSdCardMove(any()) }.doSuspendableAnswer {
+                    pendingMoves.remove(it.getArgument<Long>(0))
+                    Unit
+                }
+            }
+            fileSystemRepository.stub {
+                onBlocking { doesFileExist(any()) }.doSuspendableAnswer {
+                    it.getArgument<String>(0) in cacheFiles
+                }
+                onBlocking { moveFileToSd(any(), any(), anyOrNull()) }.doSuspendableAnswer {
+                    move(it.getArgument(0))
+                }
+            }
+        }
+
+        private suspend fun move(file: File): Boolean {
+            attempts++
+            concurrentMoves++
+            peakConcurrentMoves = maxOf(peakConcurrentMoves, concurrentMoves)
+            delay(10)
+            concurrentMoves--
+            if (failuresBeforeSuccess > 0) {
+                failuresBeforeSuccess--
+                return false
+            }
+            cacheFiles.remove(file.path)
+            moveCounts[file.path] = (moveCounts[file.path] ?: 0) + 1
+            moveOrder.add(file.path)
+            return true
+        }
+    }
+
+    private companion object {
+        const val DESTINATION = "content://sd/tree"
+    }
+}
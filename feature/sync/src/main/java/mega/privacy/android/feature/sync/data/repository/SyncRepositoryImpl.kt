@@ -2,9 +2,12 @@ package mega.privacy.android.feature.sync.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOn
@@ -13,6 +16,7 @@ import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.onStart
 import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.flow.transform
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.backup.SyncErrorMapper
@@ -28,15 +32,19 @@ import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncWorkManagerGateway
 import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
 import mega.privacy.android.feature.sync.data.mapper.SyncByWifiToNetworkTypeMapper
+import mega.privacy.android.feature.sync.data.mapper.SyncStatusMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
 import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
 import mega.privacy.android.feature.sync.domain.entity.StalledIssue
 import mega.privacy.android.feature.sync.domain.repository.SyncRepository
 import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaSync
 import nz.mega.sdk.MegaSyncList
 import timber.log.Timber
 import javax.inject.Inject
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
 
 internal class SyncRepositoryImpl @Inject constructor(
     private val syncWorkManagerGateway: SyncWorkManagerGateway,
@@ -44,6 +52,7 @@ internal class SyncRepositoryImpl @Inject constructor(
     private val syncStatsCacheGateway: SyncStatsCacheGateway,
     private val megaApiGateway: MegaApiGateway,
     private val folderPairMapper: FolderPairMapper,
+    private val syncStatusMapper: SyncStatusMapper,
     private val stalledIssuesMapper: StalledIssuesMapper,
     private val syncErrorMapper: SyncErrorMapper,
     private val syncTypeMapper: SyncTypeMapper,
@@ -135,24 +144,116 @@ internal class SyncRepositoryImpl @Inject constructor(
             .getOrElse { emptyList() }
     }
 
+    /**
+     * Stalled issues, refetched only when the SDK reports a change of the global sync state, which
+     * is how it notifies that the stall list changed, or when the sync list is refreshed
+     */
     private val _syncStalledIssues by lazy {
         _syncChanges
+            .filter {
+                it is MegaSyncListenerEvent.OnGlobalSyncStateChanged
+                        || it is MegaSyncListenerEvent.OnRefreshSyncState
+            }
             .map { getSyncStalledIssues() }
             .onStart { emit(getSyncStalledIssues()) }
+            .distinctUntilChanged()
+            .throttleLatest(SYNC_UPDATES_THROTTLE)
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
     }
 
     override fun monitorStalledIssues() = _syncStalledIssues
 
+    /**
+     * Folder pairs keyed by backup id, in the order returned by the SDK.
+     * Only accessed by the collector of [_folderPair], one event at a time.
+     */
+    private val folderPairs = LinkedHashMap<Long, FolderPairState>()
+
+    /**
+     * Folder pairs, fully reloaded only when the sync list is refreshed. Stats and state events
+     * patch just the affected pair, and only the changes are emitted. State events resolve the
+     * name of the remote folder again, so a renamed folder is shown on the next state change.
+     */
     private val _folderPair by lazy {
         _syncChanges
-            .map { getFolderPairs() }
-            .onStart { emit(getFolderPairs()) }
+            .onStart { emit(MegaSyncListenerEvent.OnRefreshSyncState) }
+            .filter { updateFolderPairs(it) }
+            .map { folderPairs.values.map { it.folderPair } }
+            .throttleLatest(SYNC_UPDATES_THROTTLE)
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
     }
 
+    /**
+     * Update [folderPairs] with the [event]
+     *
+     * @return true if the folder pairs changed
+     */
+    private suspend fun updateFolderPairs(event: MegaSyncListenerEvent): Boolean = when (event) {
+        is MegaSyncListenerEvent.OnSyncStatsUpdated -> {
+            val syncStats = event.syncStats
+            folderPairs[syncStats.backupId]?.let { state ->
+                val syncStatus = syncStatusMapper(syncStats, state.runState)
+                if (syncStatus != state.folderPair.syncStatus) {
+                    folderPairs[syncStats.backupId] =
+                        state.copy(folderPair = state.folderPair.copy(syncStatus = syncStatus))
+                    true
+                } else {
+                    false
+                }
+            } ?: false
+        }
+
+        is MegaSyncListenerEvent.OnSyncStateChanged -> {
+            val sync = event.sync
+            val previous = folderPairs[sync.backupId]
+            val state = mapToState(sync, getMegaFolderName(sync))
+            folderPairs[sync.backupId] = state
+            state != previous
+        }
+
+        is MegaSyncListenerEvent.OnSyncDeleted -> folderPairs.remove(event.sync.backupId) != null
+
+        MegaSyncListenerEvent.OnRefreshSyncState -> reloadFolderPairs()
+
+        MegaSyncListenerEvent.OnGlobalSyncStateChanged -> false
+    }
+
+    private suspend fun reloadFolderPairs(): Boolean = runCatching {
+        val model = syncGateway.getFolderPairs()
+        val states = (0 until model.size()).map { index ->
+            val sync = model.get(index)
+            mapToState(sync, getMegaFolderName(sync))
+        }
+        val previous = folderPairs.values.toList()
+        folderPairs.clear()
+        states.forEach { folderPairs[it.folderPair.id] = it }
+        states != previous
+    }
+        .onFailure { Timber.e("Syncs fetching error: $it") }
+        .getOrDefault(false)
+
+    private suspend fun getMegaFolderName(sync: MegaSync) =
+        megaApiGateway.getMegaNodeByHandle(sync.megaHandle)?.name ?: ""
+
+    private fun mapToState(sync: MegaSync, megaFolderName: String) = FolderPairState(
+        folderPair = folderPairMapper(
+            sync,
+            megaFolderName,
+            syncStatsCacheGateway.getSyncStatsById(sync.backupId)
+        ),
+        runState = sync.runState,
+    )
+
+    /**
+     * Emit the latest value at most once every [period], the first one right away
+     */
+    private fun <T> Flow<T>.throttleLatest(period: Duration) = conflate().transform {
+        emit(it)
+        delay(period)
+    }
+
     override fun monitorFolderPairChanges() = _folderPair
 
     override suspend fun refreshSync() {
@@ -187,4 +288,19 @@ internal class SyncRepositoryImpl @Inject constructor(
     override suspend fun stopSyncWorker() {
         syncWorkManagerGateway.cancelSyncWorkerRequest()
     }
-}
\ No newline at end of file
+
+    /**
+     * Folder pair with the run state of its sync, needed to update its status with the stats
+     */
+    private data class FolderPairState(
+        val folderPair: FolderPair,
+        val runState: Int,
+    )
+
+    companion object {
+        /**
+         * Minimum time between two emissions of the folder pairs or the stalled issues
+         */
+        private val SYNC_UPDATES_THROTTLE = 500.milliseconds
+    }
+}
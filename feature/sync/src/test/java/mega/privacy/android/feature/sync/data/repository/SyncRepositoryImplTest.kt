@@ -1,11 +1,14 @@
 package mega.privacy.android.feature.sync.data.repository
 
 import androidx.work.NetworkType
+import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.test.TestCoroutineScheduler
+import kotlinx.coroutines.test.TestScope
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -22,13 +25,16 @@ import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncWorkManagerGateway
 import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
 import mega.privacy.android.feature.sync.data.mapper.SyncByWifiToNetworkTypeMapper
+import mega.privacy.android.feature.sync.data.mapper.SyncStatusMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssueTypeMapper
 import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
 import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
+import mega.privacy.android.feature.sync.domain.entity.SyncStatus
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSync
 import nz.mega.sdk.MegaSyncList
+import nz.mega.sdk.MegaSyncStats
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -40,6 +46,8 @@ import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.stub
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.util.stream.Stream
@@ -54,6 +62,7 @@ class SyncRepositoryImplTest {
     private val syncWorkManagerGateway: SyncWorkManagerGateway = mock()
     private val megaApiGateway: MegaApiGateway = mock()
     private val folderPairMapper: FolderPairMapper = FolderPairMapper(mock(), mock())
+    private val syncStatusMapper: SyncStatusMapper = mock()
     private val stalledIssuesMapper: StalledIssuesMapper = StalledIssuesMapper(
         StalledIssueTypeMapper()
     )
@@ -77,6 +86,7 @@ class SyncRepositoryImplTest {
             syncStatsCacheGateway = syncStatsCacheGateway,
             megaApiGateway = megaApiGateway,
             folderPairMapper = folderPairMapper,
+            syncStatusMapper = syncStatusMapper,
             stalledIssuesMapper = stalledIssuesMapper,
             ioDispatcher = unconfinedTestDispatcher,
             syncErrorMapper = syncErrorMapper,
@@ -196,9 +206,128 @@ class SyncRepositoryImplTest {
         verify(syncWorkManagerGateway).cancelSyncWorkerRequest()
     }
 
+    @Test
+    fun `test that stats updates patch the folder pair without fetching all the syncs`() =
+        runTest {
+            val syncUpdates = MutableSharedFlow<MegaSyncListenerEvent>()
+            val repository = createRepositoryWithSyncs(syncUpdates, MutableSharedFlow())
+            val syncStats = mock<MegaSyncStats> {
+                on { backupId }.thenReturn(BACKUP_ID)
+                on { isSyncing }.thenReturn(true)
+            }
+
+            repository.monitorFolderPairChanges().test {
+                assertThat(awaitItem().single().syncStatus).isEqualTo(SyncStatus.SYNCED)
+                syncUpdates.emit(MegaSyncListenerEvent.OnSyncStatsUpdated(syncStats))
+                assertThat(awaitItem().single().syncStatus).isEqualTo(SyncStatus.SYNCING)
+            }
+            verify(syncGateway).getFolderPairs()
+        }
+
+    @Test
+    fun `test that state updates patch the folder pair and deleted syncs are removed`() =
+        runTest {
+            val syncUpdates = MutableSharedFlow<MegaSyncListenerEvent>()
+            val repository = createRepositoryWithSyncs(syncUpdates, MutableSharedFlow())
+            val pausedSync = createMegaSync(MegaSync.SyncRunningState.RUNSTATE_SUSPENDED)
+
+            repository.monitorFolderPairChanges().test {
+                assertThat(awaitItem().single().syncStatus).isEqualTo(SyncStatus.SYNCED)
+                syncUpdates.emit(MegaSyncListenerEvent.OnSyncStateChanged(pausedSync))
+                assertThat(awaitItem().single().syncStatus).isEqualTo(SyncStatus.PAUSED)
+                syncUpdates.emit(MegaSyncListenerEvent.OnSyncDeleted(pausedSync))
+                assertThat(awaitItem()).isEmpty()
+            }
+            verify(syncGateway).getFolderPairs()
+        }
+
+    @Test
+    fun `test that state updates show the current name of the remote folder`() = runTest {
+        val syncUpdates = MutableSharedFlow<MegaSyncListenerEvent>()
+        val repository = createRepositoryWithSyncs(syncUpdates, MutableSharedFlow())
+        val runningSync = createMegaSync(MegaSync.SyncRunningState.RUNSTATE_RUNNING)
+        val renamedFolder = mock<MegaNode> { on { name }.thenReturn("renamed") }
+
+        repository.monitorFolderPairChanges().test {
+            assertThat(awaitItem().single().remoteFolder.name).isEqualTo("remote")
+            megaApiGateway.stub {
+                onBlocking { getMegaNodeByHandle(REMOTE_FOLDER_ID) }.thenReturn(renamedFolder)
+            }
+            syncUpdates.emit(MegaSyncListenerEvent.OnSyncStateChanged(runningSync))
+            assertThat(awaitItem().single().remoteFolder.name).isEqualTo("renamed")
+        }
+        verify(syncGateway).getFolderPairs()
+    }
+
+    @Test
+    fun `test that stalled issues are only fetched again when the global sync state changes`() =
+        runTest {
+            val syncUpdates = MutableSharedFlow<MegaSyncListenerEvent>()
+            val globalUpdates = MutableSharedFlow<GlobalUpdate>()
+            val repository = createRepositoryWithSyncs(syncUpdates, globalUpdates)
+            val syncStats = mock<MegaSyncStats> { on { backupId }.thenReturn(BACKUP_ID) }
+
+            repository.monitorStalledIssues()
+            repeat(10) {
+                syncUpdates.emit(MegaSyncListenerEvent.OnSyncStatsUpdated(syncStats))
+            }
+            verify(syncGateway, times(1)).getSyncStalledIssues()
+
+            globalUpdates.emit(GlobalUpdate.OnGlobalSyncStateChanged)
+            verify(syncGateway, times(2)).getSyncStalledIssues()
+        }
+
+    private fun TestScope.createRepositoryWithSyncs(
+        syncUpdates: Flow<MegaSyncListenerEvent>,
+        globalUpdates: Flow<GlobalUpdate>,
+    ): SyncRepositoryImpl {
+        val megaSync = createMegaSync(MegaSync.SyncRunningState.RUNSTATE_RUNNING)
+        val megaSyncList = mock<MegaSyncList> {
+            on { size() }.thenReturn(1)
+            on { get(0) }.thenReturn(megaSync)
+        }
+        val remoteFolder = mock<MegaNode> { on { name }.thenReturn("remote") }
+        syncGateway.stub {
+            on { syncUpdate }.thenReturn(syncUpdates)
+            onBlocking { getFolderPairs() }.thenReturn(megaSyncList)
+        }
+        megaApiGateway.stub {
+            on { this.globalUpdates }.thenReturn(globalUpdates)
+            onBlocking { getMegaNodeByHandle(REMOTE_FOLDER_ID) }.thenReturn(remoteFolder)
+        }
+        val dispatcher = UnconfinedTestDispatcher(testScheduler)
+        return SyncRepositoryImpl(
+            syncGateway = syncGateway,
+            syncStatsCacheGateway = syncStatsCacheGateway,
+            megaApiGateway = megaApiGateway,
+            folderPairMapper = FolderPairMapper(SyncStatusMapper(), syncErrorMapper),
+            syncStatusMapper = SyncStatusMapper(),
+            stalledIssuesMapper = stalledIssuesMapper,
+            ioDispatcher = dispatcher,
+            syncErrorMapper = syncErrorMapper,
+            syncTypeMapper = syncTypeMapper,
+            syncWorkManagerGateway = syncWorkManagerGateway,
+            syncByWifiToNetworkTypeMapper = syncByWifiToNetworkTypeMapper,
+            appScope = backgroundScope,
+        )
+    }
+
+    private fun createMegaSync(runState: MegaSync.SyncRunningState) = mock<MegaSync> {
+        on { backupId }.thenReturn(BACKUP_ID)
+        on { name }.thenReturn("sync")
+        on { localFolder }.thenReturn("/local")
+        on { megaHandle }.thenReturn(REMOTE_FOLDER_ID)
+        on { this.runState }.thenReturn(runState.swigValue())
+    }
+
     private fun provideSyncTypeMapperParametersDirect(): Stream<Arguments> = Stream.of(
         Arguments.of(SyncType.TYPE_TWOWAY, MegaSync.SyncType.TYPE_TWOWAY),
         Arguments.of(SyncType.TYPE_BACKUP, MegaSync.SyncType.TYPE_BACKUP),
         Arguments.of(SyncType.TYPE_UNKNOWN, MegaSync.SyncType.TYPE_UNKNOWN),
     )
+
+    companion object {
+        private const val BACKUP_ID = 1L
+        private const val REMOTE_FOLDER_ID = 2L
+    }
 }